@@ -0,0 +1,80 @@
+package com.amf.banking.benchmark;
+
+import com.amf.banking.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Aritmética de saldo da transferência: validação, débito e crédito com BigDecimal x centavos em long (Money)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalanceArithmeticBenchmark {
+
+    private BigDecimal sourceBalance;
+    private BigDecimal destinationBalance;
+    private BigDecimal amount;
+
+    private long sourceCents;
+    private long destinationCents;
+    private long amountCents;
+
+    @Setup
+    public void setUp() {
+        sourceBalance = new BigDecimal("15234.87");
+        destinationBalance = new BigDecimal("982.10");
+        amount = new BigDecimal("150.75");
+
+        sourceCents = Money.toCents(sourceBalance);
+        destinationCents = Money.toCents(destinationBalance);
+        amountCents = Money.toCents(amount);
+    }
+
+    @Benchmark
+    public void transferArithmetic(Blackhole blackhole) {
+        if (amount.compareTo(BigDecimal.ZERO) > 0 && sourceBalance.compareTo(amount) >= 0) {
+            blackhole.consume(sourceBalance.subtract(amount));
+            blackhole.consume(destinationBalance.add(amount));
+        }
+    }
+
+    @Benchmark
+    public void transferArithmeticCents(Blackhole blackhole) {
+        if (amountCents > 0 && sourceCents >= amountCents) {
+            blackhole.consume(Money.subtract(sourceCents, amountCents));
+            blackhole.consume(Money.add(destinationCents, amountCents));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal statementTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < 100; i++) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long statementTotalCents() {
+        long total = 0;
+        for (int i = 0; i < 100; i++) {
+            total = Money.add(total, amountCents);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,139 @@
+package com.amf.banking.benchmark;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.mapper.AccountMapper;
+import com.amf.banking.mapper.ClientMapper;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Client;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.AccountType;
+import com.amf.banking.model.enums.TransactionType;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Custo por linha do mapeamento entidade -> DTO: ModelMapper (antes) x mappers escritos à mão (depois)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private ClientMapper clientMapper;
+    private AccountMapper accountMapper;
+    private TransactionMapper transactionMapper;
+
+    private Client client;
+    private Account account;
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true);
+
+        clientMapper = new ClientMapper();
+        accountMapper = new AccountMapper();
+        transactionMapper = new TransactionMapper();
+
+        client = Client.builder()
+                .id("65f1c0a2e4b0a1b2c3d4e5f6")
+                .fullName("João da Silva")
+                .cpf("12345678901")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        account = Account.builder()
+                .id("65f1c0a2e4b0a1b2c3d4e5f7")
+                .accountNumber("1234567890")
+                .client(client)
+                .accountType(AccountType.CORRENTE)
+                .balance(new BigDecimal("1000.00"))
+                .status(AccountStatus.ATIVA)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        Account destination = Account.builder()
+                .id("65f1c0a2e4b0a1b2c3d4e5f8")
+                .accountNumber("0987654321")
+                .client(client)
+                .accountType(AccountType.POUPANCA)
+                .balance(new BigDecimal("500.00"))
+                .status(AccountStatus.ATIVA)
+                .build();
+
+        transaction = Transaction.builder()
+                .id("65f1c0a2e4b0a1b2c3d4e5f9")
+                .sourceAccount(account)
+                .destinationAccount(destination)
+                .amount(new BigDecimal("150.75"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .transactionDate(LocalDateTime.now())
+                .description("Aluguel")
+                .build();
+    }
+
+    @Benchmark
+    public ClientDTO clientModelMapper() {
+        return modelMapper.map(client, ClientDTO.class);
+    }
+
+    @Benchmark
+    public ClientDTO clientHandWritten() {
+        return clientMapper.toDTO(client);
+    }
+
+    @Benchmark
+    public AccountDTO accountModelMapper() {
+        AccountDTO dto = modelMapper.map(account, AccountDTO.class);
+        dto.setClientId(account.getClient().getId());
+        dto.setClientName(account.getClient().getFullName());
+        return dto;
+    }
+
+    @Benchmark
+    public AccountDTO accountHandWritten() {
+        return accountMapper.toDTO(account);
+    }
+
+    @Benchmark
+    public TransactionDTO transactionModelMapper() {
+        TransactionDTO dto = modelMapper.map(transaction, TransactionDTO.class);
+        dto.setSourceAccountId(transaction.getSourceAccount().getId());
+        dto.setSourceAccountNumber(transaction.getSourceAccount().getAccountNumber());
+        dto.setDestinationAccountId(transaction.getDestinationAccount().getId());
+        dto.setDestinationAccountNumber(transaction.getDestinationAccount().getAccountNumber());
+        return dto;
+    }
+
+    @Benchmark
+    public TransactionDTO transactionHandWritten() {
+        return transactionMapper.toDTO(transaction);
+    }
+}
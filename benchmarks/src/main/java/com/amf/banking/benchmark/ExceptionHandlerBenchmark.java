@@ -0,0 +1,66 @@
+package com.amf.banking.benchmark;
+
+import com.amf.banking.exception.BusinessException;
+import com.amf.banking.exception.ErrorResponse;
+import com.amf.banking.exception.GlobalExceptionHandler;
+import com.amf.banking.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+// Caminhos de erro: custo de lançar a exceção de negócio (stack trace incluído) e montar o ErrorResponse
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("POST", "/api/v1/transactions");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> insufficientBalance() {
+        try {
+            throw new BusinessException("Saldo insuficiente na conta origem");
+        } catch (BusinessException e) {
+            return handler.handleBusinessException(e, request);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> accountNotFound() {
+        try {
+            throw new ResourceNotFoundException("Conta não encontrada com ID: 65f1c0a2e4b0a1b2c3d4e5f7");
+        } catch (ResourceNotFoundException e) {
+            return handler.handleResourceNotFoundException(e, request);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> unexpectedError() {
+        try {
+            throw new IllegalStateException("falha inesperada");
+        } catch (IllegalStateException e) {
+            return handler.handleGenericException(e, request);
+        }
+    }
+}
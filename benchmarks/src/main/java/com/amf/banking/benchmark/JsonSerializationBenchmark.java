@@ -0,0 +1,78 @@
+package com.amf.banking.benchmark;
+
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.model.enums.TransactionType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização Jackson de extratos (List<TransactionDTO>) com a mesma configuração de datas da aplicação
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter statementWriter;
+    private List<TransactionDTO> statement;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        statementWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, TransactionDTO.class));
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        statement = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            statement.add(TransactionDTO.builder()
+                    .id(String.format("65f1c0a2e4b0a1b2c3%06d", i))
+                    .sourceAccountId("65f1c0a2e4b0a1b2c3d4e5f7")
+                    .sourceAccountNumber("1234567890")
+                    .destinationAccountId("65f1c0a2e4b0a1b2c3d4e5f8")
+                    .destinationAccountNumber("0987654321")
+                    .amount(BigDecimal.valueOf(1000 + i, 2))
+                    .transactionType(TransactionType.TRANSFERENCIA)
+                    .transactionDate(start.plusMinutes(i))
+                    .description("Transferência " + i)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public String serializeStatement() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(statement);
+    }
+
+    @Benchmark
+    public byte[] serializeStatementWithTypedWriter() throws JsonProcessingException {
+        return statementWriter.writeValueAsBytes(statement);
+    }
+}
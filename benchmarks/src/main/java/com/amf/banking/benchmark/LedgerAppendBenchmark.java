@@ -0,0 +1,92 @@
+package com.amf.banking.benchmark;
+
+import com.amf.banking.ledger.MappedLedgerStore;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.TransactionType;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Vazão de MappedLedgerStore.append com várias threads: com fsync=true cada append espera o group commit,
+// então a vazão depende de quantas transações cada force() consegue agrupar
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class LedgerAppendBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    @Param({"true", "false"})
+    private boolean fsync;
+
+    private final Account[] accounts = new Account[ACCOUNTS];
+    private Path directory;
+    private MappedLedgerStore store;
+
+    @Setup(Level.Trial)
+    public void setUpAccounts() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts[i] = Account.builder().id(new ObjectId().toHexString()).build();
+        }
+    }
+
+    // Ledger novo a cada iteração para que os segmentos não se acumulem no disco
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ledger-benchmark");
+        store = new MappedLedgerStore(directory, 131072, fsync);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next = (int) (Math.random() * ACCOUNTS);
+    }
+
+    @Benchmark
+    public Transaction append(Cursor cursor) {
+        int source = cursor.next++ & (ACCOUNTS - 1);
+        int destination = (source + 1) & (ACCOUNTS - 1);
+        return store.append(Transaction.builder()
+                .sourceAccount(accounts[source])
+                .destinationAccount(accounts[destination])
+                .amount(new BigDecimal("10.50"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .description("Benchmark")
+                .build());
+    }
+}
@@ -0,0 +1,176 @@
+package com.amf.banking.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.amf.banking.benchmark.support.BenchmarkServices;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.logging.SampledLogTurboFilter;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Client;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.AccountType;
+import com.amf.banking.repository.inmemory.InMemoryAccountRepository;
+import com.amf.banking.repository.inmemory.InMemoryTransactionRepository;
+import com.amf.banking.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Custo dos logs INFO de createTransfer em cada configuração de logging:
+// SYNC é o appender síncrono anterior; ASYNC, a fila do logback-spring.xml; SAMPLED_OUT, uma requisição
+// fora da amostra (descartada pelo turbo filter); OFF, a referência sem log algum
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingOverheadBenchmark {
+
+    public enum LoggingMode { SYNC, ASYNC, SAMPLED_OUT, OFF }
+
+    @Param({"SYNC", "ASYNC", "SAMPLED_OUT", "OFF"})
+    private LoggingMode mode;
+
+    private Path logFile;
+    private Logger applicationLogger;
+    private Appender<ILoggingEvent> appender;
+    private SampledLogTurboFilter turboFilter;
+    private TransactionService transactionService;
+    private TransactionDTO forward;
+    private TransactionDTO backward;
+
+    @Setup(Level.Trial)
+    public void setUpLogging() throws IOException {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+
+        // Arquivo em vez do console: mesma formatação e I/O, sem poluir a saída do JMH
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+        appender = file;
+
+        if (mode != LoggingMode.SYNC) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        if (mode == LoggingMode.SAMPLED_OUT) {
+            turboFilter = new SampledLogTurboFilter();
+            turboFilter.setContext(context);
+            turboFilter.start();
+            context.addTurboFilter(turboFilter);
+        }
+
+        applicationLogger = context.getLogger("com.amf.banking");
+        applicationLogger.setAdditive(false);
+        applicationLogger.setLevel(mode == LoggingMode.OFF ? ch.qos.logback.classic.Level.WARN
+                : ch.qos.logback.classic.Level.INFO);
+        applicationLogger.addAppender(appender);
+    }
+
+    // Recria o estado a cada iteração para que o repositório de transações não cresça indefinidamente
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemoryAccountRepository accountRepository = new InMemoryAccountRepository();
+        InMemoryTransactionRepository transactionRepository = new InMemoryTransactionRepository();
+        transactionService = BenchmarkServices.transactionService(accountRepository, transactionRepository);
+
+        Client client = Client.builder().id("client1").fullName("João da Silva").cpf("12345678901").build();
+        Account source = accountRepository.save(account(client, "1234567890"));
+        Account destination = accountRepository.save(account(client, "0987654321"));
+
+        forward = transfer(source.getId(), destination.getId());
+        backward = transfer(destination.getId(), source.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        applicationLogger.detachAppender(appender);
+        applicationLogger.setLevel(null);
+        applicationLogger.setAdditive(true);
+        appender.stop();
+        if (turboFilter != null) {
+            ((LoggerContext) LoggerFactory.getILoggerFactory()).getTurboFilterList().remove(turboFilter);
+        }
+        Files.deleteIfExists(logFile);
+    }
+
+    // MDC por thread de benchmark, como o LogSamplingInterceptor faz por requisição (vale também com -t N)
+    @State(Scope.Thread)
+    public static class RequestContext {
+
+        @Setup(Level.Trial)
+        public void setUp(LoggingOverheadBenchmark benchmark) {
+            if (benchmark.mode == LoggingMode.SAMPLED_OUT) {
+                MDC.put("sampled", "false");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            MDC.remove("sampled");
+        }
+    }
+
+    @Benchmark
+    public TransactionDTO createTransferRoundTrip(RequestContext requestContext) {
+        transactionService.createTransfer(forward);
+        return transactionService.createTransfer(backward);
+    }
+
+    private static Account account(Client client, String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .client(client)
+                .accountType(AccountType.CORRENTE)
+                .balance(new BigDecimal("1000000000.00"))
+                .status(AccountStatus.ATIVA)
+                .build();
+    }
+
+    private static TransactionDTO transfer(String sourceAccountId, String destinationAccountId) {
+        return TransactionDTO.builder()
+                .sourceAccountId(sourceAccountId)
+                .destinationAccountId(destinationAccountId)
+                .amount(new BigDecimal("10.50"))
+                .description("Benchmark")
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.amf.banking.benchmark;
+
+import com.amf.banking.benchmark.support.BenchmarkServices;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Client;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.AccountType;
+import com.amf.banking.repository.inmemory.InMemoryAccountRepository;
+import com.amf.banking.repository.inmemory.InMemoryTransactionRepository;
+import com.amf.banking.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// TransactionService.createTransfer contra repositórios em memória: mede apenas a lógica da camada de serviço
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferBenchmark {
+
+    // "event-sourced" soma a gravação dos eventos de saldo (e snapshots) a cada transferência
+    @Param({"materialized", "event-sourced"})
+    private String balanceMode;
+
+    private TransactionService transactionService;
+    private TransactionDTO forward;
+    private TransactionDTO backward;
+
+    // Recria o estado a cada iteração para que o repositório de transações não cresça indefinidamente
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemoryAccountRepository accountRepository = new InMemoryAccountRepository();
+        InMemoryTransactionRepository transactionRepository = new InMemoryTransactionRepository();
+
+        transactionService = BenchmarkServices.transactionService(accountRepository, transactionRepository, balanceMode);
+
+        Client client = Client.builder().id("client1").fullName("João da Silva").cpf("12345678901").build();
+        Account source = accountRepository.save(account(client, "1234567890"));
+        Account destination = accountRepository.save(account(client, "0987654321"));
+
+        forward = transfer(source.getId(), destination.getId());
+        backward = transfer(destination.getId(), source.getId());
+    }
+
+    @Benchmark
+    public TransactionDTO createTransfer() {
+        return transactionService.createTransfer(forward);
+    }
+
+    @Benchmark
+    public TransactionDTO createTransferRoundTrip() {
+        transactionService.createTransfer(forward);
+        return transactionService.createTransfer(backward);
+    }
+
+    private static Account account(Client client, String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .client(client)
+                .accountType(AccountType.CORRENTE)
+                .balance(new BigDecimal("1000000000.00"))
+                .status(AccountStatus.ATIVA)
+                .build();
+    }
+
+    private static TransactionDTO transfer(String sourceAccountId, String destinationAccountId) {
+        return TransactionDTO.builder()
+                .sourceAccountId(sourceAccountId)
+                .destinationAccountId(destinationAccountId)
+                .amount(new BigDecimal("10.50"))
+                .description("Benchmark")
+                .build();
+    }
+}
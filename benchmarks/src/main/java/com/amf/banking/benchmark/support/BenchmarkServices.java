@@ -0,0 +1,57 @@
+package com.amf.banking.benchmark.support;
+
+import com.amf.banking.balance.BalanceJournal;
+import com.amf.banking.concurrent.SingleFlight;
+import com.amf.banking.ledger.RepositoryLedgerStore;
+import com.amf.banking.mapper.AccountMapper;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.metrics.TransferMetrics;
+import com.amf.banking.projection.ReadModel;
+import com.amf.banking.ratelimit.RateLimiter;
+import com.amf.banking.repository.inmemory.InMemoryAccountEventRepository;
+import com.amf.banking.repository.inmemory.InMemoryAccountRepository;
+import com.amf.banking.repository.inmemory.InMemoryAccountSnapshotRepository;
+import com.amf.banking.repository.inmemory.InMemoryClientPortfolioRepository;
+import com.amf.banking.repository.inmemory.InMemoryClientRepository;
+import com.amf.banking.repository.inmemory.InMemoryStatementRowRepository;
+import com.amf.banking.repository.inmemory.InMemoryTransactionRepository;
+import com.amf.banking.service.AccountService;
+import com.amf.banking.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+
+// TransactionService sobre os repositórios do perfil "inmemory", com as dependências de infraestrutura neutralizadas
+public final class BenchmarkServices {
+
+    private BenchmarkServices() {
+    }
+
+    public static TransactionService transactionService(InMemoryAccountRepository accountRepository,
+                                                        InMemoryTransactionRepository transactionRepository) {
+        return transactionService(accountRepository, transactionRepository, BalanceJournal.MATERIALIZED);
+    }
+
+    // balanceMode: valores de banking.balances.mode ("materialized" ou "event-sourced")
+    public static TransactionService transactionService(InMemoryAccountRepository accountRepository,
+                                                        InMemoryTransactionRepository transactionRepository,
+                                                        String balanceMode) {
+        BalanceJournal balanceJournal = new BalanceJournal(new InMemoryAccountEventRepository(),
+                new InMemoryAccountSnapshotRepository(), balanceMode, 100);
+        // Projeções de leitura desligadas: sem ouvintes, os eventos de escrita são descartados
+        ReadModel readModel = new ReadModel(new InMemoryStatementRowRepository(), new InMemoryClientPortfolioRepository(),
+                new TransactionMapper(), new AccountMapper(), false);
+        ApplicationEventPublisher eventPublisher = event -> {
+        };
+        AccountService accountService = new AccountService(accountRepository, new InMemoryClientRepository(), new AccountMapper(),
+                new SingleFlight<>("account", Duration.ZERO, 1, new SimpleMeterRegistry()), balanceJournal,
+                readModel, eventPublisher);
+        // Limitador desligado: os benchmarks repetem a mesma conta origem em laço
+        RateLimiter rateLimiter = new RateLimiter("source-account", false, 1, 1, 1, new SimpleMeterRegistry());
+        return new TransactionService(new RepositoryLedgerStore(transactionRepository), balanceJournal, accountService,
+                new TransactionMapper(), rateLimiter, new TransferMetrics(new SimpleMeterRegistry()), ObservationRegistry.NOOP,
+                readModel, eventPublisher);
+    }
+}
@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Mede a capacidade da release: sobe a aplicação contra o MongoDB local e executa a carga mista em modelo aberto
+# (ScenarioLoadTest) subindo a taxa de chegada em etapas. O relatório fica em loadtest-capacity.json.
+# Pré-requisitos: MongoDB local (docker-compose up -d) e os JARs construídos:
+#   mvn package -DskipTests && mvn -f loadtest/pom.xml package
+# Com Java 21 no PATH o gerador usa virtual threads.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+APP_JAR=target/banking-system-1.0.0-exec.jar
+LOAD_JAR=loadtest/target/loadtest.jar
+RATES=${RATES:-50,100,200,400,800}
+DURATION=${DURATION:-60s}
+SLO_P99=${SLO_P99:-250ms}
+
+# Rate limit e admissão descartariam a carga que o teste quer medir
+java -Dbanking.rate-limit.enabled=false -Dbanking.admission.enabled=false -jar "$APP_JAR" > loadtest-capacity-app.log 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+wait_for_app() {
+    for _ in $(seq 1 60); do
+        if curl -sf http://localhost:8080/api/v1/accounts > /dev/null; then
+            return 0
+        fi
+        sleep 2
+    done
+    echo "Aplicação não respondeu" >&2
+    return 1
+}
+
+wait_for_app
+
+java -cp "$LOAD_JAR" com.amf.banking.loadtest.ScenarioLoadTest \
+    --label=capacity --rates="$RATES" --duration="$DURATION" --slo-p99="$SLO_P99" "$@"
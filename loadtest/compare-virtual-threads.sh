@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Compara throughput e p99 do pool de threads de plataforma do Tomcat com o perfil "virtual-threads".
+# Pré-requisitos: Java 21 no PATH, MongoDB local (docker-compose up -d) e os JARs construídos:
+#   mvn -Pjava21 package -DskipTests && mvn -f loadtest/pom.xml package
+# PROFILES=inmemory dispensa o MongoDB, mas sem I/O bloqueante no banco mede só o custo das threads.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+APP_JAR=target/banking-system-1.0.0-exec.jar
+LOAD_JAR=loadtest/target/loadtest.jar
+CLIENTS=${CLIENTS:-1000}
+DURATION=${DURATION:-60s}
+PROFILES=${PROFILES:-}
+
+wait_for_app() {
+    for _ in $(seq 1 60); do
+        if curl -sf http://localhost:8080/api/v1/accounts > /dev/null; then
+            return 0
+        fi
+        sleep 2
+    done
+    echo "Aplicação não respondeu" >&2
+    return 1
+}
+
+run_case() {
+    local label=$1
+    shift
+    # Rate limit e admissão descartariam a carga que o teste quer medir
+    java -Dbanking.rate-limit.enabled=false -Dbanking.admission.enabled=false "$@" -jar "$APP_JAR" > "loadtest-$label-app.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    wait_for_app
+    java -jar "$LOAD_JAR" --label="$label" --clients="$CLIENTS" --duration="$DURATION"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_case platform ${PROFILES:+-Dspring.profiles.active=$PROFILES}
+run_case virtual -Djdk.tracePinnedThreads=short -Dspring.profiles.active=virtual-threads${PROFILES:+,$PROFILES}
+
+printf '\n%-10s %14s %10s %10s %8s\n' "execução" "req/s" "p50 (ms)" "p99 (ms)" "erros"
+for label in platform virtual; do
+    python3 - "$label" <<'PY'
+import json, sys
+r = json.load(open(f"loadtest-{sys.argv[1]}.json"))
+print(f"{r['label']:<10} {r['throughputPerSecond']:>14.1f} {r['p50Ms']:>10.2f} {r['p99Ms']:>10.2f} {r['errors']:>8}")
+PY
+done
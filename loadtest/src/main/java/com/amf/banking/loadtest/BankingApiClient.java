@@ -0,0 +1,92 @@
+package com.amf.banking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class BankingApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public BankingApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public String createClient(String fullName) throws IOException, InterruptedException {
+        // CPF aleatório; repete em caso de colisão
+        while (true) {
+            String cpf = String.format("%011d", ThreadLocalRandom.current().nextLong(100_000_000_000L));
+            HttpResponse<String> response = post("/api/v1/clients", Map.of(
+                    "fullName", fullName,
+                    "cpf", cpf,
+                    "birthDate", "1990-01-01"));
+            if (response.statusCode() == 201) {
+                return objectMapper.readTree(response.body()).get("id").asText();
+            }
+            if (response.statusCode() != 400) {
+                throw new IOException("Falha ao criar cliente: HTTP " + response.statusCode() + " " + response.body());
+            }
+        }
+    }
+
+    public String createAccount(String clientId) throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/api/v1/accounts", Map.of(
+                "clientId", clientId,
+                "accountType", "CORRENTE"));
+        if (response.statusCode() != 201) {
+            throw new IOException("Falha ao criar conta: HTTP " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("id").asText();
+    }
+
+    public int transfer(String sourceAccountId, String destinationAccountId, BigDecimal amount)
+            throws IOException, InterruptedException {
+        return post("/api/v1/transactions", Map.of(
+                "sourceAccountId", sourceAccountId,
+                "destinationAccountId", destinationAccountId,
+                "amount", amount,
+                "description", "Teste de carga")).statusCode();
+    }
+
+    public HttpResponse<String> post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    public int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    public JsonNode getJson(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        return objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+}
@@ -0,0 +1,128 @@
+package com.amf.banking.loadtest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Cenários bancários da carga mista e a massa de dados que eles exigem:
+//   transfer  - rajada de transferências entre poucas contas "quentes" (disputa pelas mesmas contas)
+//   statement - extrato de contas com histórico longo
+//   opening   - cadastro de cliente seguido da abertura de conta
+//   balance   - consulta de saldo espalhada por todas as contas
+public final class BankingScenarios {
+
+    public static final String DEFAULT_MIX = "transfer:40,statement:15,opening:5,balance:40";
+
+    // Valor mínimo: o saldo de abertura sustenta um longo passeio aleatório entre as contas quentes
+    private static final BigDecimal TRANSFER_AMOUNT = new BigDecimal("0.01");
+
+    private final List<String> hotAccounts;
+    private final List<String> historyAccounts;
+    private final List<String> allAccounts;
+
+    private BankingScenarios(List<String> hotAccounts, List<String> historyAccounts, List<String> allAccounts) {
+        this.hotAccounts = hotAccounts;
+        this.historyAccounts = historyAccounts;
+        this.allAccounts = allAccounts;
+    }
+
+    public static BankingScenarios setUp(BankingApiClient api, ExecutorService executor, int hotAccounts,
+                                         int historyAccounts, int historyDepth, int pollAccounts)
+            throws IOException, InterruptedException, ExecutionException {
+
+        if (hotAccounts < 2 || historyAccounts < 1) {
+            throw new IllegalArgumentException("São necessárias ao menos 2 contas quentes e 1 conta com histórico");
+        }
+        List<String> hot = openAccounts(api, "Quente", hotAccounts);
+        List<String> history = openAccounts(api, "Histórico", historyAccounts);
+        List<String> counterparts = openAccounts(api, "Contraparte", historyAccounts);
+        List<String> poll = openAccounts(api, "Saldo", pollAccounts);
+
+        // Cada conta com histórico troca transferências com a sua contraparte, alternando o sentido para
+        // que nenhum saldo se esgote; os pares são semeados em paralelo
+        List<Future<Void>> seeding = new ArrayList<>();
+        for (int i = 0; i < historyAccounts; i++) {
+            String account = history.get(i);
+            String counterpart = counterparts.get(i);
+            seeding.add(executor.submit(() -> {
+                for (int n = 0; n < historyDepth; n++) {
+                    int status = n % 2 == 0
+                            ? api.transfer(account, counterpart, TRANSFER_AMOUNT)
+                            : api.transfer(counterpart, account, TRANSFER_AMOUNT);
+                    if (status != 201) {
+                        throw new IOException("Falha ao semear histórico: HTTP " + status);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<Void> future : seeding) {
+            future.get();
+        }
+
+        List<String> all = new ArrayList<>(hot);
+        all.addAll(history);
+        all.addAll(counterparts);
+        all.addAll(poll);
+        return new BankingScenarios(hot, history, all);
+    }
+
+    // mix no formato "cenario:peso,..."; cenários ausentes ficam fora da carga
+    public List<Scenario> scenarios(BankingApiClient api, String mix) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : parseMix(mix).entrySet()) {
+            scenarios.add(new Scenario(entry.getKey(), entry.getValue(), operation(api, entry.getKey())));
+        }
+        return scenarios;
+    }
+
+    private Scenario.Operation operation(BankingApiClient api, String name) {
+        return switch (name) {
+            case "transfer" -> () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int source = random.nextInt(hotAccounts.size());
+                int destination = (source + 1 + random.nextInt(hotAccounts.size() - 1)) % hotAccounts.size();
+                return api.transfer(hotAccounts.get(source), hotAccounts.get(destination), TRANSFER_AMOUNT) == 201;
+            };
+            case "statement" -> () -> api.get("/api/v1/transactions/account/" + random(historyAccounts)) == 200;
+            case "opening" -> () -> {
+                api.createAccount(api.createClient("Cliente Carga Abertura"));
+                return true;
+            };
+            case "balance" -> () -> api.get("/api/v1/accounts/" + random(allAccounts) + "/balance") == 200;
+            default -> throw new IllegalArgumentException("Cenário desconhecido: " + name);
+        };
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Mix inválido (use cenario:peso): " + part);
+            }
+            weights.put(pair[0], Integer.parseInt(pair[1]));
+        }
+        return weights;
+    }
+
+    private static List<String> openAccounts(BankingApiClient api, String prefix, int count)
+            throws IOException, InterruptedException {
+        List<String> accountIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accountIds.add(api.createAccount(api.createClient("Cliente Carga " + prefix + " " + i)));
+        }
+        return accountIds;
+    }
+
+    private static String random(List<String> accountIds) {
+        return accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+    }
+}
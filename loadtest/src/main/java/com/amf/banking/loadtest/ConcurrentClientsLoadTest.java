@@ -0,0 +1,114 @@
+package com.amf.banking.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Modelo fechado: N clientes concorrentes repetem leituras de conta, saldo e extrato sem pausa.
+// Usado para comparar o pool de threads de plataforma do Tomcat com o perfil "virtual-threads".
+//
+//   java -jar loadtest/target/loadtest.jar --label=platform --clients=1000 --duration=60s
+public class ConcurrentClientsLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        String label = options.string("label", "run");
+        int clients = options.integer("clients", 1000);
+        int accounts = options.integer("accounts", 20);
+        Duration warmup = options.duration("warmup", Duration.ofSeconds(10));
+        Duration duration = options.duration("duration", Duration.ofSeconds(60));
+
+        BankingApiClient api = new BankingApiClient(options.string("base-url", "http://localhost:8080"));
+
+        List<String> accountIds = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            accountIds.add(api.createAccount(api.createClient("Cliente Carga " + i)));
+        }
+        System.out.printf("Setup: %d contas criadas. Aquecimento de %ds com %d clientes...%n",
+                accounts, warmup.toSeconds(), clients);
+
+        run(api, accountIds, clients, warmup);
+        System.out.printf("Medindo por %ds...%n", duration.toSeconds());
+        LatencySamples result = run(api, accountIds, clients, duration);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("clients", clients);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("requests", result.count());
+        report.put("errors", result.errors());
+        report.put("throughputPerSecond", result.count() / (double) duration.toSeconds());
+        report.put("p50Ms", result.percentileMillis(50));
+        report.put("p90Ms", result.percentileMillis(90));
+        report.put("p99Ms", result.percentileMillis(99));
+        report.put("maxMs", result.percentileMillis(100));
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        File output = new File(options.string("output", "loadtest-" + label + ".json"));
+        objectMapper.writeValue(output, report);
+
+        System.out.println(objectMapper.writeValueAsString(report));
+        System.out.println("Relatório gravado em " + output.getAbsolutePath());
+    }
+
+    private static LatencySamples run(BankingApiClient api, List<String> accountIds, int clients, Duration duration)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<LatencySamples> perClient = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int i = 0; i < clients; i++) {
+            LatencySamples samples = new LatencySamples();
+            perClient.add(samples);
+
+            Thread client = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        String path = nextRequest(accountIds);
+                        long start = System.nanoTime();
+                        try {
+                            int status = api.get(path);
+                            if (status == 200) {
+                                samples.record(System.nanoTime() - start);
+                            } else {
+                                samples.recordError();
+                            }
+                        } catch (Exception e) {
+                            samples.recordError();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + i);
+            client.setDaemon(true);
+            client.start();
+        }
+
+        done.await();
+        return LatencySamples.merge(perClient);
+    }
+
+    // 50% saldo, 30% dados da conta, 20% extrato
+    private static String nextRequest(List<String> accountIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String accountId = accountIds.get(random.nextInt(accountIds.size()));
+        int roll = random.nextInt(100);
+        if (roll < 50) {
+            return "/api/v1/accounts/" + accountId + "/balance";
+        }
+        if (roll < 80) {
+            return "/api/v1/accounts/" + accountId;
+        }
+        return "/api/v1/transactions/account/" + accountId;
+    }
+}
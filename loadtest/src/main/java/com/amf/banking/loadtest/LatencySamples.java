@@ -0,0 +1,51 @@
+package com.amf.banking.loadtest;
+
+import java.util.Arrays;
+
+// Latências (ns) gravadas por uma única thread; as instâncias são combinadas ao final da execução
+public class LatencySamples {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    public void record(long latencyNanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = latencyNanos;
+    }
+
+    public void recordError() {
+        errors++;
+    }
+
+    public static LatencySamples merge(Iterable<LatencySamples> all) {
+        LatencySamples merged = new LatencySamples();
+        for (LatencySamples samples : all) {
+            for (int i = 0; i < samples.size; i++) {
+                merged.record(samples.samples[i]);
+            }
+            merged.errors += samples.errors;
+        }
+        Arrays.sort(merged.samples, 0, merged.size);
+        return merged;
+    }
+
+    public int count() {
+        return size;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    // Requer amostras ordenadas (resultado de merge)
+    public double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return samples[Math.max(0, Math.min(index, size - 1))] / 1_000_000.0;
+    }
+}
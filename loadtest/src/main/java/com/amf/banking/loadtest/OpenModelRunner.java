@@ -0,0 +1,99 @@
+package com.amf.banking.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Modelo aberto: as chegadas seguem a taxa alvo independentemente do tempo de resposta da API, e a latência é
+// medida a partir do instante planejado da chegada, de forma que a fila no servidor aparece no p99 (sem
+// coordinated omission). Cada chegada sorteia um cenário pelo peso e roda em sua própria thread.
+public class OpenModelRunner {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final boolean poisson;
+
+    public OpenModelRunner(List<Scenario> scenarios, ExecutorService executor, int maxInFlight, boolean poisson) {
+        this.scenarios = List.copyOf(scenarios);
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("A soma dos pesos dos cenários deve ser positiva");
+        }
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.poisson = poisson;
+    }
+
+    public Map<String, ScenarioStats> run(double ratePerSecond, Duration duration) throws InterruptedException {
+        Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario.name(), new ScenarioStats()));
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long intended = System.nanoTime();
+        long end = intended + duration.toNanos();
+
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Scenario scenario = pick(random);
+            ScenarioStats scenarioStats = stats.get(scenario.name());
+            if (inFlight.tryAcquire()) {
+                long intendedStart = intended;
+                executor.execute(() -> {
+                    try {
+                        if (scenario.operation().execute()) {
+                            scenarioStats.record(System.nanoTime() - intendedStart);
+                        } else {
+                            scenarioStats.recordError();
+                        }
+                    } catch (Exception e) {
+                        scenarioStats.recordError();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } else {
+                scenarioStats.recordDropped();
+            }
+
+            // Se o agendador atrasar, as chegadas pendentes saem em rajada: a taxa média é preservada
+            intended += poisson
+                    ? (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos)
+                    : (long) meanIntervalNanos;
+        }
+
+        // Aguarda as requisições em voo antes de fechar os histogramas
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            System.out.println("Aviso: requisições ainda em voo ao final da etapa");
+        } else {
+            inFlight.release(maxInFlight);
+        }
+        return stats;
+    }
+
+    private Scenario pick(ThreadLocalRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("Sorteio fora dos pesos");
+    }
+}
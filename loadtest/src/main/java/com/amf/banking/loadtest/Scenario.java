@@ -0,0 +1,12 @@
+package com.amf.banking.loadtest;
+
+// Cenário da carga mista: nome no relatório, peso no sorteio das chegadas e a operação executada a cada chegada
+public record Scenario(String name, int weight, Operation operation) {
+
+    @FunctionalInterface
+    public interface Operation {
+
+        // true quando a API respondeu com o status esperado
+        boolean execute() throws Exception;
+    }
+}
@@ -0,0 +1,162 @@
+package com.amf.banking.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+// Modelo aberto com carga mista (ver BankingScenarios): cada etapa de --rates mantém a taxa de chegada por
+// --duration e a capacidade é a maior taxa cujo p99 ficou dentro de --slo-p99 com no máximo --max-error-ratio
+// de erros e descartes. Em Java 21 as requisições rodam em virtual threads.
+//
+//   java -cp loadtest/target/loadtest.jar com.amf.banking.loadtest.ScenarioLoadTest --rates=50,100,200,400
+public class ScenarioLoadTest {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        String label = options.string("label", "scenarios");
+        List<Double> rates = rates(options.string("rates", "100"));
+        Duration warmup = options.duration("warmup", Duration.ofSeconds(10));
+        Duration duration = options.duration("duration", Duration.ofSeconds(60));
+        Duration sloP99 = options.duration("slo-p99", Duration.ofMillis(250));
+        double maxErrorRatio = Double.parseDouble(options.string("max-error-ratio", "0.01"));
+        String mix = options.string("mix", BankingScenarios.DEFAULT_MIX);
+        boolean poisson = !"constant".equals(options.string("arrivals", "poisson"));
+
+        BankingApiClient api = new BankingApiClient(options.string("base-url", "http://localhost:8080"));
+        ExecutorService executor = VirtualThreads.newPerTaskExecutor();
+
+        System.out.printf("Setup: criando contas e semeando histórico (threads %s)...%n",
+                VirtualThreads.available() ? "virtuais" : "de plataforma");
+        BankingScenarios fixture = BankingScenarios.setUp(api, executor,
+                options.integer("hot-accounts", 4),
+                options.integer("history-accounts", 4),
+                options.integer("history", 1000),
+                options.integer("accounts", 50));
+        OpenModelRunner runner = new OpenModelRunner(fixture.scenarios(api, mix), executor,
+                options.integer("max-in-flight", 10_000), poisson);
+
+        System.out.printf("Aquecimento de %ds a %.0f req/s...%n", warmup.toSeconds(), rates.get(0));
+        runner.run(rates.get(0), warmup);
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        Double capacity = null;
+        for (double rate : rates) {
+            System.out.printf("Medindo %.0f req/s por %ds...%n", rate, duration.toSeconds());
+            Map<String, ScenarioStats> stats = runner.run(rate, duration);
+
+            Map<String, Object> scenarios = new LinkedHashMap<>();
+            Histogram total = new Histogram(3);
+            long errors = 0;
+            long dropped = 0;
+            for (Map.Entry<String, ScenarioStats> entry : stats.entrySet()) {
+                ScenarioStats scenario = entry.getValue();
+                scenarios.put(entry.getKey(),
+                        summary(scenario.histogram(), scenario.errors(), scenario.dropped(), duration));
+                total.add(scenario.histogram());
+                errors += scenario.errors();
+                dropped += scenario.dropped();
+                writeDistribution(options, label, rate, entry.getKey(), scenario.histogram());
+            }
+
+            Map<String, Object> totalSummary = summary(total, errors, dropped, duration);
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("targetRatePerSecond", rate);
+            step.put("total", totalSummary);
+            step.put("scenarios", scenarios);
+            steps.add(step);
+            printStep(rate, scenarios, totalSummary);
+
+            long attempts = total.getTotalCount() + errors + dropped;
+            boolean withinSlo = total.getValueAtPercentile(99) / MICROS_PER_MILLI <= sloP99.toMillis()
+                    && (errors + dropped) <= maxErrorRatio * attempts;
+            if (withinSlo) {
+                capacity = rate;
+            }
+        }
+        executor.shutdownNow();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("virtualThreads", VirtualThreads.available());
+        report.put("arrivals", poisson ? "poisson" : "constant");
+        report.put("mix", mix);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("sloP99Ms", sloP99.toMillis());
+        report.put("maxErrorRatio", maxErrorRatio);
+        report.put("capacityPerSecond", capacity);
+        report.put("steps", steps);
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        File output = new File(options.string("output", "loadtest-" + label + ".json"));
+        objectMapper.writeValue(output, report);
+
+        System.out.println(capacity == null
+                ? "Capacidade: nenhuma etapa dentro do SLO"
+                : String.format("Capacidade: %.0f req/s (p99 <= %d ms)", capacity, sloP99.toMillis()));
+        System.out.println("Relatório gravado em " + output.getAbsolutePath());
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errors, long dropped, Duration duration) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("dropped", dropped);
+        summary.put("throughputPerSecond", histogram.getTotalCount() / (double) duration.toSeconds());
+        summary.put("p50Ms", histogram.getValueAtPercentile(50) / MICROS_PER_MILLI);
+        summary.put("p90Ms", histogram.getValueAtPercentile(90) / MICROS_PER_MILLI);
+        summary.put("p99Ms", histogram.getValueAtPercentile(99) / MICROS_PER_MILLI);
+        summary.put("p999Ms", histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI);
+        summary.put("maxMs", histogram.getMaxValue() / MICROS_PER_MILLI);
+        return summary;
+    }
+
+    private static void printStep(double rate, Map<String, Object> scenarios, Map<String, Object> total) {
+        System.out.printf("%n%-10s %10s %10s %10s %10s %10s %8s %10s%n",
+                "cenário", "req/s", "p50 (ms)", "p99 (ms)", "p99.9 (ms)", "max (ms)", "erros", "descartes");
+        scenarios.forEach((name, summary) -> printRow(name, summary));
+        printRow("total", total);
+        System.out.printf("taxa alvo: %.0f req/s%n%n", rate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printRow(String name, Object value) {
+        Map<String, Object> summary = (Map<String, Object>) value;
+        System.out.printf("%-10s %10.1f %10.2f %10.2f %10.2f %10.2f %8d %10d%n", name,
+                summary.get("throughputPerSecond"), summary.get("p50Ms"), summary.get("p99Ms"),
+                summary.get("p999Ms"), summary.get("maxMs"), summary.get("errors"), summary.get("dropped"));
+    }
+
+    // Distribuição completa no formato .hgrm (HdrHistogram plotter), habilitada com --hgrm-dir
+    private static void writeDistribution(LoadTestOptions options, String label, double rate, String scenario,
+                                          Histogram histogram) throws FileNotFoundException {
+        String directory = options.string("hgrm-dir", null);
+        if (directory == null) {
+            return;
+        }
+        File file = new File(directory, String.format("loadtest-%s-%.0f-%s.hgrm", label, rate, scenario));
+        try (PrintStream out = new PrintStream(file)) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static List<Double> rates(String value) {
+        List<Double> rates = new ArrayList<>();
+        for (String rate : value.split(",")) {
+            rates.add(Double.parseDouble(rate.trim()));
+        }
+        return rates;
+    }
+}
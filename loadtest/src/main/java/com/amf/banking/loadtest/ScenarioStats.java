@@ -0,0 +1,44 @@
+package com.amf.banking.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latências (µs) de um cenário gravadas por várias threads; histogram() encerra a coleta
+public class ScenarioStats {
+
+    private final Recorder recorder = new Recorder(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private Histogram histogram;
+
+    public void record(long latencyNanos) {
+        recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    // Chegada descartada porque o limite de requisições em voo foi atingido
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    public synchronized Histogram histogram() {
+        if (histogram == null) {
+            histogram = recorder.getIntervalHistogram();
+        }
+        return histogram;
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,32 @@
+package com.amf.banking.loadtest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// O módulo compila para Java 17; em Java 21+ cada requisição roda em uma virtual thread
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean available() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    public static ExecutorService newPerTaskExecutor() {
+        if (available()) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Falha ao criar executor de virtual threads", e);
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "load-request-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
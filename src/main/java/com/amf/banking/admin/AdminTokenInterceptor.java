@@ -0,0 +1,35 @@
+package com.amf.banking.admin;
+
+import com.amf.banking.exception.ForbiddenException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// Rotas administrativas exigem o cabeçalho X-Admin-Token; sem token configurado, ficam fechadas
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    static final String HEADER = "X-Admin-Token";
+
+    private final byte[] token;
+
+    public AdminTokenInterceptor(String token) {
+        this.token = token == null ? new byte[0] : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (token.length == 0) {
+            throw new ForbiddenException("Endpoints administrativos desabilitados");
+        }
+
+        String provided = request.getHeader(HEADER);
+        // Comparação em tempo constante: não revela quantos caracteres do token conferem
+        if (provided == null || !MessageDigest.isEqual(token, provided.getBytes(StandardCharsets.UTF_8))) {
+            throw new ForbiddenException("Token administrativo inválido");
+        }
+        return true;
+    }
+}
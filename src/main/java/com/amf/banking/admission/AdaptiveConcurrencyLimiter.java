@@ -0,0 +1,171 @@
+package com.amf.banking.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Limite de concorrência AIMD guiado pela latência observada do MongoDB: a cada janela, se a
+// latência média passou do limiar o limite é multiplicado por backoffRatio; se ficou abaixo
+// e o limite estava sendo usado, cresce em uma unidade. Comandos em andamento há mais que o limiar
+// entram na média com a idade atual, para um MongoDB travado (sem nenhuma resposta) também reduzir o limite.
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private final AtomicLong windowStart = new AtomicLong();
+    private final LongAdder windowLatencyNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final Map<Integer, Long> runningCommands = new ConcurrentHashMap<>();
+
+    private final Map<AdmissionPriority, Counter> accepted = new EnumMap<>(AdmissionPriority.class);
+    private final Map<AdmissionPriority, Counter> rejected = new EnumMap<>(AdmissionPriority.class);
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                                      double backoffRatio, Duration window, MeterRegistry meterRegistry) {
+        this(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio, window, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                               double backoffRatio, Duration window, MeterRegistry meterRegistry, LongSupplier clock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limites de admissão devem respeitar 1 <= mínimo <= inicial <= máximo");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio deve estar entre 0 e 1");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.windowStart.set(clock.getAsLong());
+
+        for (AdmissionPriority priority : AdmissionPriority.values()) {
+            accepted.put(priority, requests(meterRegistry, priority, "accepted"));
+            rejected.put(priority, requests(meterRegistry, priority, "rejected"));
+        }
+        Gauge.builder("banking.admission.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Limite adaptativo de requisições simultâneas")
+                .register(meterRegistry);
+        Gauge.builder("banking.admission.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requisições admitidas em andamento")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire(AdmissionPriority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.getShare()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                accepted.get(priority).increment();
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    // Os três abaixo são alimentados pelo CommandListener do driver (síncrono e reativo). O requestId
+    // é único no processo, então os dois clientes compartilham o mapa sem colisão
+    public void onCommandStarted(int requestId) {
+        runningCommands.put(requestId, clock.getAsLong());
+    }
+
+    public void onCommandFinished(int requestId) {
+        runningCommands.remove(requestId);
+    }
+
+    public void onLatencySample(long latencyNanos) {
+        windowLatencyNanos.add(latencyNanos);
+        windowSamples.increment();
+        closeWindowIfDue();
+    }
+
+    // Também chamado pelo agendador: sem respostas do MongoDB não chegam amostras para fechar a janela
+    @Scheduled(fixedDelayString = "${banking.admission.window-ms:200}")
+    public void closeWindowIfDue() {
+        long now = clock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            updateLimit(now);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Só a thread que fechou a janela chega aqui. As somas são aproximadas: amostras que
+    // chegam durante o reset podem cair na janela seguinte, o que não muda a tendência.
+    private void updateLimit(long now) {
+        long samples = windowSamples.sumThenReset();
+        long totalLatency = windowLatencyNanos.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        // Só os que já passaram do limiar: os recém-iniciados puxariam a média para baixo
+        for (long startedAt : runningCommands.values()) {
+            long age = now - startedAt;
+            if (age > latencyThresholdNanos) {
+                totalLatency += age;
+                samples++;
+            }
+        }
+        if (samples == 0) {
+            return;
+        }
+
+        long averageLatency = totalLatency / samples;
+        int current = limit;
+        if (averageLatency > latencyThresholdNanos) {
+            int reduced = Math.max(minLimit, (int) (current * backoffRatio));
+            if (reduced != current) {
+                limit = reduced;
+                log.warn("Mongo average latency {} ms above threshold, admission limit {} -> {}",
+                        Duration.ofNanos(averageLatency).toMillis(), current, reduced);
+            }
+        } else if (maxInFlight * 2 >= current && current < maxLimit) {
+            limit = current + 1;
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, AdmissionPriority priority, String outcome) {
+        return Counter.builder("banking.admission.requests")
+                .description("Requisições avaliadas pelo controle de admissão")
+                .tag("priority", priority.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
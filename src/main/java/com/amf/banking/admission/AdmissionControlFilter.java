@@ -0,0 +1,73 @@
+package com.amf.banking.admission;
+
+import com.amf.banking.web.FilterSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+// Descarta cedo, com 503, o excedente do limite adaptativo, antes de ocupar uma thread no MongoDB
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Pattern TRANSFER = Pattern.compile("^/api/v[12]/transactions/?$");
+    private static final Pattern LISTING = Pattern.compile(
+            "^/api/v[12]/(accounts|clients|transactions)/?$"
+                    + "|^/api/v[12]/accounts/client/[^/]+$"
+                    + "|^/api/v[12]/transactions/account/[^/]+$"
+                    + "|^/api/v[12]/clients/search$");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/api/swagger-ui");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        AdmissionPriority priority = classify(request);
+        if (!limiter.tryAcquire(priority)) {
+            log.warn("Shedding {} {} (priority {}, limit {})", request.getMethod(), request.getRequestURI(),
+                    priority, limiter.getLimit());
+            FilterSupport.writeError(request, response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Serviço sobrecarregado, tente novamente em instantes", 1);
+            return;
+        }
+
+        boolean chainCompleted = false;
+        try {
+            filterChain.doFilter(request, response);
+            chainCompleted = true;
+        } finally {
+            if (chainCompleted && !FilterSupport.isEventStream(request)) {
+                FilterSupport.releaseWhenComplete(request, limiter::release);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+
+    static AdmissionPriority classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (FilterSupport.isRead(request)) {
+            return LISTING.matcher(path).matches() ? AdmissionPriority.LOW : AdmissionPriority.NORMAL;
+        }
+        return TRANSFER.matcher(path).matches() ? AdmissionPriority.CRITICAL : AdmissionPriority.NORMAL;
+    }
+}
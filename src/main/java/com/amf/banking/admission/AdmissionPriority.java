@@ -0,0 +1,19 @@
+package com.amf.banking.admission;
+
+// Fração do limite adaptativo que cada classe de requisição pode ocupar: quando o limite
+// cai, listagens são descartadas primeiro e transferências por último
+public enum AdmissionPriority {
+    CRITICAL(1.0),
+    NORMAL(0.9),
+    LOW(0.75);
+
+    private final double share;
+
+    AdmissionPriority(double share) {
+        this.share = share;
+    }
+
+    public double getShare() {
+        return share;
+    }
+}
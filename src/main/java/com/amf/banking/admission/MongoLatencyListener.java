@@ -0,0 +1,50 @@
+package com.amf.banking.admission;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Repassa ao limitador o início e a duração de cada comando do driver; falhas (timeouts inclusive) também contam.
+// Ficam de fora os getMore de cursores que esperam dados (change streams, cursores tailable): o driver só
+// manda maxTimeMS no getMore desses cursores, e a espera de até maxAwaitTime não é latência do banco
+public class MongoLatencyListener implements CommandListener {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Set<Integer> awaitingRequests = ConcurrentHashMap.newKeySet();
+
+    public MongoLatencyListener(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if ("getMore".equals(event.getCommandName()) && event.getCommand().containsKey("maxTimeMS")) {
+            awaitingRequests.add(event.getRequestId());
+        } else {
+            limiter.onCommandStarted(event.getRequestId());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        sample(event, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        sample(event, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void sample(CommandEvent event, long elapsedNanos) {
+        if (!awaitingRequests.remove(event.getRequestId())) {
+            limiter.onCommandFinished(event.getRequestId());
+            limiter.onLatencySample(elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.amf.banking.balance;
+
+import com.amf.banking.exception.BusinessException;
+import com.amf.banking.exception.ConcurrentUpdateException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.AccountEvent;
+import com.amf.banking.model.AccountSnapshot;
+import com.amf.banking.model.Money;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.AccountEventType;
+import com.amf.banking.repository.AccountEventRepository;
+import com.amf.banking.repository.AccountSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Saldos event-sourced (banking.balances.mode=event-sourced): cada alteração de saldo vira um AccountEvent com
+// versão sequencial por conta e o saldo resultante, e a cada snapshot-interval eventos o saldo é fotografado em
+// AccountSnapshot. O saldo em uma data é uma única consulta ao último lançamento; a reconstrução (replay) lê um
+// snapshot e no máximo snapshot-interval eventos. O saldo materializado em Account continua servindo as
+// leituras; os eventos são gravados antes dele.
+@Slf4j
+@Component
+public class BalanceJournal {
+
+    public static final String MATERIALIZED = "materialized";
+    public static final String EVENT_SOURCED = "event-sourced";
+
+    private static final long OPENING_VERSION = 1;
+
+    private final AccountEventRepository accountEventRepository;
+    private final AccountSnapshotRepository accountSnapshotRepository;
+    private final boolean enabled;
+    private final int snapshotInterval;
+
+    public BalanceJournal(
+            AccountEventRepository accountEventRepository,
+            AccountSnapshotRepository accountSnapshotRepository,
+            @Value("${banking.balances.mode:" + MATERIALIZED + "}") String mode,
+            @Value("${banking.balances.snapshot-interval:100}") int snapshotInterval) {
+        if (!MATERIALIZED.equals(mode) && !EVENT_SOURCED.equals(mode)) {
+            throw new IllegalArgumentException("Modo de saldo inválido: " + mode);
+        }
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("Intervalo de snapshot deve ser positivo: " + snapshotInterval);
+        }
+        this.accountEventRepository = accountEventRepository;
+        this.accountSnapshotRepository = accountSnapshotRepository;
+        this.enabled = EVENT_SOURCED.equals(mode);
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Versão inicial da conta nova: o evento de abertura é gravado em opened(), depois que a conta tem ID
+    public Long openingVersion() {
+        return enabled ? OPENING_VERSION : null;
+    }
+
+    public void opened(Account account) {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime occurredAt = account.getCreatedAt() != null ? account.getCreatedAt() : LocalDateTime.now();
+        List<AccountEvent> events = new ArrayList<>(1);
+        List<AccountSnapshot> snapshots = new ArrayList<>(1);
+        long balance = Money.storedToCents(account.getBalance());
+        add(events, snapshots, account.getId(), OPENING_VERSION, AccountEventType.ABERTURA,
+                balance, balance, null, occurredAt);
+        write(events, snapshots);
+    }
+
+    // Débito na origem e crédito no destino, com a versão seguinte de cada conta, gravados antes do ledger: o
+    // índice único (accountId, version) é o que serializa transferências simultâneas na mesma conta, e quem perde
+    // a disputa sai aqui, sem transação gravada. Uma conta por insert; se a segunda falhar, a primeira é desfeita.
+    // Os saldos "antes" são os lidos pela transferência; as versões novas ficam nas instâncias de Account.
+    public TransferPostings reserveTransfer(Account source, long sourceBalanceBefore,
+                                            Account destination, long destinationBalanceBefore, long amount) {
+        if (!enabled) {
+            return TransferPostings.NONE;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AccountSnapshot> snapshots = new ArrayList<>(2);
+        List<AccountEvent> sourceEvents = new ArrayList<>(2);
+        List<AccountEvent> destinationEvents = new ArrayList<>(2);
+        append(sourceEvents, snapshots, source, sourceBalanceBefore, AccountEventType.DEBITO, amount, now);
+        append(destinationEvents, snapshots, destination, destinationBalanceBefore, AccountEventType.CREDITO, amount, now);
+
+        claim(sourceEvents, List.of());
+        claim(destinationEvents, sourceEvents);
+
+        List<AccountEvent> events = new ArrayList<>(sourceEvents);
+        events.addAll(destinationEvents);
+        return new TransferPostings(events, snapshots);
+    }
+
+    // Liga os lançamentos à transação gravada. A transferência já está no ledger: uma falha aqui só deixa o
+    // saldo após a linha do extrato em branco, e um snapshot perdido só alonga o replay
+    public void transferred(TransferPostings postings, Transaction transaction) {
+        if (postings.events().isEmpty()) {
+            return;
+        }
+        postings.events().forEach(event -> {
+            event.setOccurredAt(transaction.getTransactionDate());
+            if (event.getType() != AccountEventType.ABERTURA) {
+                event.setTransactionId(transaction.getId());
+            }
+        });
+        postings.snapshots().forEach(snapshot -> snapshot.setOccurredAt(transaction.getTransactionDate()));
+        try {
+            accountEventRepository.saveAll(postings.events());
+            if (!postings.snapshots().isEmpty()) {
+                accountSnapshotRepository.insert(postings.snapshots());
+                log.debug("Balance snapshots taken for {} accounts", postings.snapshots().size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not link balance postings to transaction {}: {}", transaction.getId(), e.getMessage());
+        }
+    }
+
+    // Devolve as versões reservadas quando a transação não chegou ao ledger
+    public void release(TransferPostings postings) {
+        if (!postings.events().isEmpty()) {
+            accountEventRepository.deleteAll(postings.events());
+        }
+    }
+
+    // Saldo atual segundo os eventos: último snapshot + eventos posteriores
+    public BalanceState rebuild(String accountId) {
+        requireEnabled();
+        Optional<AccountSnapshot> snapshot = accountSnapshotRepository.findFirstByAccountIdOrderByVersionDesc(accountId);
+        BalanceState start = snapshot.map(BalanceJournal::stateOf).orElse(BalanceState.EMPTY);
+        return fold(start, accountEventRepository.findByAccountIdAndVersionGreaterThanOrderByVersionAsc(
+                accountId, start.version()));
+    }
+
+    // Saldo ao fim de asOf: balanceAfter do último lançamento até a data
+    public BalanceState balanceAsOf(String accountId, LocalDateTime asOf) {
+        requireEnabled();
+        AccountEvent posting = accountEventRepository
+                .findFirstByAccountIdAndOccurredAtLessThanEqualOrderByOccurredAtDescVersionDesc(accountId, asOf)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Sem histórico de saldo para a conta " + accountId + " em " + asOf));
+        if (posting.getBalanceAfter() != null) {
+            return new BalanceState(posting.getVersion(), Money.storedToCents(posting.getBalanceAfter()));
+        }
+        return replayAsOf(accountId, asOf);
+    }
+
+    // Saldo após cada transação da conta no intervalo (datas nulas: todo o histórico), por ID da transação
+    public Map<String, BigDecimal> balancesAfter(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (!enabled) {
+            return Map.of();
+        }
+        List<AccountEvent> postings = startDate != null && endDate != null
+                ? accountEventRepository.findByAccountIdAndDateRange(accountId, startDate, endDate)
+                : accountEventRepository.findByAccountIdAndVersionGreaterThanOrderByVersionAsc(accountId, 0);
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (AccountEvent posting : postings) {
+            if (posting.getTransactionId() != null && posting.getBalanceAfter() != null) {
+                balances.put(posting.getTransactionId(), posting.getBalanceAfter());
+            }
+        }
+        return balances;
+    }
+
+    // Eventos anteriores ao saldo corrente: último snapshot até a data + eventos posteriores até a data
+    private BalanceState replayAsOf(String accountId, LocalDateTime asOf) {
+        Optional<AccountSnapshot> snapshot = accountSnapshotRepository
+                .findFirstByAccountIdAndOccurredAtLessThanEqualOrderByVersionDesc(accountId, asOf);
+        BalanceState start = snapshot.map(BalanceJournal::stateOf).orElse(BalanceState.EMPTY);
+        return fold(start, accountEventRepository
+                .findByAccountIdAndVersionGreaterThanAndOccurredAtLessThanEqualOrderByVersionAsc(
+                        accountId, start.version(), asOf));
+    }
+
+    private void append(List<AccountEvent> events, List<AccountSnapshot> snapshots, Account account,
+                        long balanceBefore, AccountEventType type, long amount, LocalDateTime occurredAt) {
+        long version = account.getBalanceVersion() == null ? 0 : account.getBalanceVersion();
+        if (version == 0) {
+            // Conta anterior ao modo event-sourced (ou criada pela API v2): o saldo atual vira a abertura
+            version = add(events, snapshots, account.getId(), OPENING_VERSION, AccountEventType.ABERTURA,
+                    balanceBefore, balanceBefore, null, occurredAt);
+        }
+        long balanceAfter = type == AccountEventType.DEBITO
+                ? Money.subtract(balanceBefore, amount)
+                : Money.add(balanceBefore, amount);
+        version = add(events, snapshots, account.getId(), version + 1, type, amount, balanceAfter, null, occurredAt);
+        account.setBalanceVersion(version);
+    }
+
+    private long add(List<AccountEvent> events, List<AccountSnapshot> snapshots, String accountId, long version,
+                     AccountEventType type, long amount, long balanceAfter, String transactionId,
+                     LocalDateTime occurredAt) {
+        // ID atribuído aqui: um insert parcial ainda pode ser desfeito pelos IDs
+        events.add(AccountEvent.builder()
+                .id(new ObjectId().toHexString())
+                .accountId(accountId)
+                .version(version)
+                .type(type)
+                .amount(Money.toBigDecimal(amount))
+                .balanceAfter(Money.toBigDecimal(balanceAfter))
+                .transactionId(transactionId)
+                .occurredAt(occurredAt)
+                .build());
+        if (version % snapshotInterval == 0) {
+            snapshots.add(AccountSnapshot.builder()
+                    .accountId(accountId)
+                    .version(version)
+                    .balance(Money.toBigDecimal(balanceAfter))
+                    .occurredAt(occurredAt)
+                    .build());
+        }
+        return version;
+    }
+
+    private void claim(List<AccountEvent> events, List<AccountEvent> claimed) {
+        try {
+            accountEventRepository.insert(events);
+        } catch (DuplicateKeyException e) {
+            accountEventRepository.deleteAll(events);
+            if (!claimed.isEmpty()) {
+                accountEventRepository.deleteAll(claimed);
+            }
+            log.info("Balance version conflict on account {}", events.get(0).getAccountId());
+            throw new ConcurrentUpdateException("Saldo da conta alterado por outra transferência; tente novamente");
+        }
+    }
+
+    private void write(List<AccountEvent> events, List<AccountSnapshot> snapshots) {
+        accountEventRepository.insert(events);
+        if (!snapshots.isEmpty()) {
+            accountSnapshotRepository.insert(snapshots);
+            log.debug("Balance snapshots taken for {} accounts", snapshots.size());
+        }
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new BusinessException("Histórico de saldo requer banking.balances.mode=" + EVENT_SOURCED);
+        }
+    }
+
+    private static BalanceState stateOf(AccountSnapshot snapshot) {
+        return new BalanceState(snapshot.getVersion(), Money.storedToCents(snapshot.getBalance()));
+    }
+
+    private static BalanceState fold(BalanceState start, List<AccountEvent> events) {
+        long version = start.version();
+        long balance = start.balanceCents();
+        for (AccountEvent event : events) {
+            long amount = Money.storedToCents(event.getAmount());
+            balance = switch (event.getType()) {
+                case ABERTURA -> amount;
+                case CREDITO -> Money.add(balance, amount);
+                case DEBITO -> Money.subtract(balance, amount);
+            };
+            version = event.getVersion();
+        }
+        return new BalanceState(version, balance);
+    }
+}
@@ -0,0 +1,7 @@
+package com.amf.banking.balance;
+
+// Saldo reconstruído a partir dos eventos: versão do último evento aplicado (0 = nenhum) e saldo em centavos
+public record BalanceState(long version, long balanceCents) {
+
+    public static final BalanceState EMPTY = new BalanceState(0, 0);
+}
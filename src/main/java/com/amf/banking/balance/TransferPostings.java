@@ -0,0 +1,12 @@
+package com.amf.banking.balance;
+
+import com.amf.banking.model.AccountEvent;
+import com.amf.banking.model.AccountSnapshot;
+
+import java.util.List;
+
+// Lançamentos de uma transferência já gravados (versões reservadas) e os snapshots que entram na confirmação
+public record TransferPostings(List<AccountEvent> events, List<AccountSnapshot> snapshots) {
+
+    public static final TransferPostings NONE = new TransferPostings(List.of(), List.of());
+}
@@ -0,0 +1,213 @@
+package com.amf.banking.changestream;
+
+import com.mongodb.DBRef;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
+
+// Acompanha, por change stream, as escritas de todos os nós em contas, clientes e transações e as repassa como
+// DataChangedEvent para os caches locais. O resume token fica só em memória: os caches também ficam, então um
+// processo novo começa vazio e não tem o que invalidar do período em que esteve fora. Em uma reconexão, a
+// leitura continua do token; se o histórico do oplog já não o alcança, os caches locais são descartados por
+// inteiro e a leitura recomeça do momento atual. Requer replica set.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banking.change-streams.enabled", havingValue = "true")
+public class ChangeStreamWatcher {
+
+    public static final String ACCOUNTS = "accounts";
+    public static final String CLIENTS = "clients";
+    public static final String TRANSACTIONS = "transactions";
+
+    // ChangeStreamHistoryLost e ChangeStreamFatalError: o token não pode mais ser retomado
+    private static final Set<Integer> UNRESUMABLE = Set.of(280, 286);
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Counter resets;
+    private final Map<String, Counter> events;
+
+    private volatile boolean running;
+    private Thread worker;
+    private volatile BsonDocument resumeToken;
+
+    public ChangeStreamWatcher(
+            MongoTemplate mongoTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.resets = Counter.builder("banking.changestream.resets")
+                .description("Vezes em que o change stream não pôde ser retomado e os caches locais foram descartados")
+                .register(meterRegistry);
+        this.events = Stream.of(ACCOUNTS, CLIENTS, TRANSACTIONS).collect(Collectors.toMap(Function.identity(),
+                collection -> Counter.builder("banking.changestream.events")
+                        .description("Escritas recebidas pelo change stream")
+                        .tag("collection", collection)
+                        .register(meterRegistry)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "change-stream-watcher");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Change stream watcher started");
+    }
+
+    // Com token, o cursor já está aberto: escritas a partir daqui chegam aos caches
+    boolean isStreaming() {
+        return resumeToken != null;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = worker;
+        }
+        if (current != null) {
+            current.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open().cursor()) {
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        handle(change);
+                    }
+                    // Mesmo sem eventos o token avança (eventos de outras coleções, heartbeats do servidor)
+                    if (cursor.getResumeToken() != null) {
+                        resumeToken = cursor.getResumeToken();
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (UNRESUMABLE.contains(e.getErrorCode())) {
+                    log.warn("Change stream cannot resume from token ({}), discarding local caches", e.getErrorCodeName());
+                    reset();
+                } else {
+                    retryLater(e);
+                }
+            } catch (MongoInterruptedException e) {
+                return;
+            } catch (MongoException e) {
+                retryLater(e);
+            } catch (RuntimeException e) {
+                log.error("Unexpected change stream failure", e);
+                retryLater(e);
+            }
+        }
+    }
+
+    private ChangeStreamIterable<Document> open() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", ACCOUNTS, CLIENTS, TRANSACTIONS))), Document.class)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        // startAfter (e não resumeAfter) também retoma depois de um evento "invalidate"
+        return resumeToken != null ? stream.startAfter(resumeToken) : stream;
+    }
+
+    private void handle(ChangeStreamDocument<Document> change) {
+        OperationType operation = change.getOperationType();
+        if (operation == OperationType.INVALIDATE || operation == OperationType.DROP
+                || operation == OperationType.DROP_DATABASE || operation == OperationType.RENAME) {
+            eventPublisher.publishEvent(DataChangedEvent.everything());
+            return;
+        }
+        if (change.getNamespace() == null || change.getDocumentKey() == null) {
+            return;
+        }
+
+        String collection = change.getNamespace().getCollectionName();
+        String documentId = id(change.getDocumentKey().get("_id"));
+        Set<String> accountIds = TRANSACTIONS.equals(collection) ? accountsOf(change.getFullDocument()) : Set.of();
+        Counter counter = events.get(collection);
+        if (counter != null) {
+            counter.increment();
+        }
+        eventPublisher.publishEvent(DataChangedEvent.of(collection, documentId, accountIds));
+    }
+
+    private void reset() {
+        resumeToken = null;
+        resets.increment();
+        eventPublisher.publishEvent(DataChangedEvent.everything());
+    }
+
+    // Sem o token em memória não há garantia de continuidade: o cache pode ter perdido invalidações durante a queda
+    private void retryLater(RuntimeException e) {
+        log.warn("Change stream interrupted, retrying in {} ms: {}", RETRY_DELAY_MS, e.getMessage());
+        if (resumeToken == null) {
+            eventPublisher.publishEvent(DataChangedEvent.everything());
+        }
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static Set<String> accountsOf(Document transaction) {
+        Set<String> accountIds = new HashSet<>();
+        if (transaction != null) {
+            for (String field : List.of("sourceAccount", "destinationAccount")) {
+                Object reference = transaction.get(field);
+                if (reference instanceof DBRef dbRef) {
+                    accountIds.add(dbRef.getId().toString());
+                } else if (reference instanceof Document document && document.get("$id") != null) {
+                    accountIds.add(document.get("$id").toString());
+                }
+            }
+        }
+        return accountIds;
+    }
+
+    private static String id(BsonValue id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+}
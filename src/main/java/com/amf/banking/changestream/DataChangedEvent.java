@@ -0,0 +1,16 @@
+package com.amf.banking.changestream;
+
+import java.util.Set;
+
+// Escrita vista no change stream do MongoDB, feita por qualquer nó. accountIds são as contas cujo saldo a escrita
+// altera (transações); all indica que eventos podem ter sido perdidos e todo cache local deve ser descartado.
+public record DataChangedEvent(String collection, String documentId, Set<String> accountIds, boolean all) {
+
+    public static DataChangedEvent of(String collection, String documentId, Set<String> accountIds) {
+        return new DataChangedEvent(collection, documentId, accountIds, false);
+    }
+
+    public static DataChangedEvent everything() {
+        return new DataChangedEvent(null, null, Set.of(), true);
+    }
+}
@@ -0,0 +1,41 @@
+package com.amf.banking.changestream;
+
+import com.amf.banking.concurrent.SingleFlight;
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.ClientDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Descarta as leituras em cache deste nó afetadas por escritas de qualquer nó
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalCacheInvalidator {
+
+    private final SingleFlight<String, AccountDTO> accountReads;
+    private final SingleFlight<String, ClientDTO> clientReads;
+
+    @EventListener
+    public void on(DataChangedEvent event) {
+        if (event.all()) {
+            log.info("Discarding all local read caches");
+            accountReads.invalidateAll();
+            clientReads.invalidateAll();
+            return;
+        }
+
+        switch (event.collection()) {
+            case ChangeStreamWatcher.ACCOUNTS -> accountReads.invalidate(event.documentId());
+            case ChangeStreamWatcher.TRANSACTIONS -> event.accountIds().forEach(accountReads::invalidate);
+            case ChangeStreamWatcher.CLIENTS -> {
+                // O CPF anterior não vem no evento (as chaves por CPF ficariam velhas) e o nome do cliente aparece nas contas
+                clientReads.invalidateAll();
+                accountReads.invalidateAll();
+            }
+            default -> {
+            }
+        }
+    }
+}
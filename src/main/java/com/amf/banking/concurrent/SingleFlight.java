@@ -0,0 +1,143 @@
+package com.amf.banking.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Leituras idênticas e simultâneas compartilham uma única execução do loader. Quem chega
+// enquanto a consulta está em andamento (ou dentro da janela de resultado) recebe o mesmo
+// objeto, então os valores devolvidos não devem ser alterados por quem chama.
+public class SingleFlight<K, V> {
+
+    private static final long SWEEP_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final long resultWindowNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter windowHits;
+
+    public SingleFlight(String name, Duration resultWindow, int maxEntries, MeterRegistry meterRegistry) {
+        this(name, resultWindow, maxEntries, meterRegistry, System::nanoTime);
+    }
+
+    SingleFlight(String name, Duration resultWindow, int maxEntries, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.resultWindowNanos = resultWindow.toNanos();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.lastSweep.set(clock.getAsLong());
+        this.executed = calls(meterRegistry, name, "executed");
+        this.coalesced = calls(meterRegistry, name, "coalesced");
+        this.windowHits = calls(meterRegistry, name, "window");
+        meterRegistry.gauge("banking.singleflight.entries", Tags.of("name", name), flights, Map::size);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        long now = clock.getAsLong();
+        Flight<V> existing = flights.get(key);
+        if (existing != null) {
+            if (!existing.future.isDone()) {
+                coalesced.increment();
+                return await(existing);
+            }
+            if (existing.isFresh(now, resultWindowNanos)) {
+                windowHits.increment();
+                return await(existing);
+            }
+            flights.remove(key, existing);
+        }
+
+        if (flights.size() >= maxEntries) {
+            sweepExpired(now);
+        }
+
+        Flight<V> flight = new Flight<>();
+        Flight<V> leader = flights.putIfAbsent(key, flight);
+        if (leader != null) {
+            // Outra thread abriu a consulta entre o get e o putIfAbsent
+            coalesced.increment();
+            return await(leader);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.get();
+            flight.completedAt = clock.getAsLong();
+            flight.future.complete(value);
+            if (resultWindowNanos <= 0) {
+                flights.remove(key, flight);
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            // Erros são repassados a quem já estava esperando, mas nunca ficam na janela
+            flights.remove(key, flight);
+            flight.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Chamado após escritas: a próxima leitura vai ao banco. Quem já aguardava a consulta antiga recebe o valor antigo.
+    public void invalidate(K key) {
+        flights.remove(key);
+    }
+
+    public void invalidateAll() {
+        flights.clear();
+    }
+
+    int size() {
+        return flights.size();
+    }
+
+    private V await(Flight<V> flight) {
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void sweepExpired(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        flights.values().removeIf(flight -> flight.future.isDone() && !flight.isFresh(now, resultWindowNanos));
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("banking.singleflight.calls")
+                .description("Leituras atendidas pelo single-flight")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private boolean isFresh(long now, long windowNanos) {
+            return now - completedAt < windowNanos;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.amf.banking.config;
+
+import com.amf.banking.admin.AdminTokenInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AdminConfig implements WebMvcConfigurer {
+
+    private final String adminToken;
+
+    public AdminConfig(@Value("${banking.admin.token:}") String adminToken) {
+        this.adminToken = adminToken;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdminTokenInterceptor(adminToken)).addPathPatterns("/api/admin/**");
+    }
+}
@@ -0,0 +1,53 @@
+package com.amf.banking.config;
+
+import com.amf.banking.admission.AdaptiveConcurrencyLimiter;
+import com.amf.banking.admission.AdmissionControlFilter;
+import com.amf.banking.admission.MongoLatencyListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter admissionLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${banking.admission.initial-limit:64}") int initialLimit,
+            @Value("${banking.admission.min-limit:8}") int minLimit,
+            @Value("${banking.admission.max-limit:256}") int maxLimit,
+            @Value("${banking.admission.latency-threshold-ms:100}") long latencyThresholdMs,
+            @Value("${banking.admission.backoff-ratio:0.8}") double backoffRatio,
+            @Value("${banking.admission.window-ms:200}") long windowMs) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, Duration.ofMillis(latencyThresholdMs),
+                backoffRatio, Duration.ofMillis(windowMs), meterRegistry);
+    }
+
+    // Vale para os clientes síncrono e reativo criados pelo Spring Boot
+    @Bean
+    public MongoClientSettingsBuilderCustomizer admissionLatencyListener(AdaptiveConcurrencyLimiter admissionLimiter) {
+        return builder -> builder.addCommandListener(new MongoLatencyListener(admissionLimiter));
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdaptiveConcurrencyLimiter admissionLimiter,
+            ObjectMapper objectMapper,
+            @Value("${banking.admission.enabled:true}") boolean enabled) {
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(admissionLimiter, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        // Depois do rate limit por cliente: um integrador abusivo não deve consumir o limite global
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
@@ -0,0 +1,46 @@
+package com.amf.banking.config;
+
+import com.amf.banking.diagnostics.InMemoryQueryCountingAspect;
+import com.amf.banking.diagnostics.MongoCommandDiagnosticsListener;
+import com.amf.banking.diagnostics.QueryBudgetFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+public class DiagnosticsConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoDiagnosticsListener(
+            @Value("${banking.mongo.slow-command-ms:100}") long slowCommandMs) {
+        return builder -> builder.addCommandListener(
+                new MongoCommandDiagnosticsListener(Duration.ofMillis(slowCommandMs)));
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            @Value("${banking.mongo.query-budget:10}") int queryBudget,
+            @Value("${banking.mongo.query-budget-enabled:true}") boolean enabled) {
+
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(
+                new QueryBudgetFilter(queryBudget));
+        registration.addUrlPatterns("/api/*");
+        // Depois do rate limit e do controle de admissão: só conta requisições que chegam ao controller
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
+    // Sem MongoDB, as chamadas aos repositórios em memória fazem o papel dos comandos
+    @Bean
+    @Profile("inmemory")
+    public InMemoryQueryCountingAspect inMemoryQueryCountingAspect() {
+        return new InMemoryQueryCountingAspect();
+    }
+}
@@ -0,0 +1,30 @@
+package com.amf.banking.config;
+
+import com.amf.banking.logging.LogSamplingInterceptor;
+import com.amf.banking.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class LoggingConfig implements WebMvcConfigurer {
+
+    private final LogSamplingInterceptor logSamplingInterceptor;
+
+    public LoggingConfig(
+            MeterRegistry meterRegistry,
+            @Value("${banking.logging.sampling.enabled:true}") boolean enabled,
+            @Value("${banking.logging.sampling.per-endpoint-per-second:5}") long perEndpointPerSecond) {
+        // Token bucket por endpoint; desligado, todas as requisições entram na amostra
+        RateLimiter sampler = new RateLimiter("log-sampling", enabled, perEndpointPerSecond, perEndpointPerSecond,
+                1_000, meterRegistry);
+        this.logSamplingInterceptor = new LogSamplingInterceptor(sampler);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(logSamplingInterceptor).addPathPatterns("/api/**");
+    }
+}
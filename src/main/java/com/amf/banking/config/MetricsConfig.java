@@ -0,0 +1,17 @@
+package com.amf.banking.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Habilita @Observed nos serviços: o timer banking.service e, com tracing, um span por método.
+// Histogramas e percentis são configurados em management.metrics.distribution.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+}
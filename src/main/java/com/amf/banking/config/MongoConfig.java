@@ -1,9 +1,13 @@
 package com.amf.banking.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
 
 @Configuration
+@Profile("!inmemory")
 @EnableMongoAuditing
+@EnableReactiveMongoAuditing
 public class MongoConfig {
 }
@@ -0,0 +1,62 @@
+package com.amf.banking.config;
+
+import com.amf.banking.ratelimit.Bulkhead;
+import com.amf.banking.ratelimit.RateLimitFilter;
+import com.amf.banking.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+public class RateLimitConfig {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public RateLimitConfig(
+            MeterRegistry meterRegistry,
+            @Value("${banking.rate-limit.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    @Bean
+    public RateLimiter sourceAccountRateLimiter(
+            @Value("${banking.rate-limit.source-account.capacity:10}") long capacity,
+            @Value("${banking.rate-limit.source-account.refill-per-second:2}") double refillPerSecond,
+            @Value("${banking.rate-limit.source-account.max-keys:100000}") int maxKeys) {
+        return new RateLimiter("source-account", enabled, capacity, refillPerSecond, maxKeys, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${banking.rate-limit.client.capacity:50}") long clientCapacity,
+            @Value("${banking.rate-limit.client.refill-per-second:20}") double clientRefillPerSecond,
+            @Value("${banking.rate-limit.client.max-keys:10000}") int clientMaxKeys,
+            @Value("${banking.rate-limit.client.trusted-ids:}") Set<String> trustedClientIds,
+            @Value("${banking.rate-limit.bulkhead.read-permits:64}") int readPermits,
+            @Value("${banking.rate-limit.bulkhead.write-permits:16}") int writePermits,
+            @Value("${banking.rate-limit.bulkhead.max-wait-ms:50}") long maxWaitMs) {
+
+        RateLimiter clientRateLimiter = new RateLimiter("api-client", enabled, clientCapacity, clientRefillPerSecond,
+                clientMaxKeys, meterRegistry);
+        Bulkhead readBulkhead = new Bulkhead("read", readPermits, Duration.ofMillis(maxWaitMs), meterRegistry);
+        Bulkhead writeBulkhead = new Bulkhead("write", writePermits, Duration.ofMillis(maxWaitMs), meterRegistry);
+
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(clientRateLimiter, readBulkhead, writeBulkhead, objectMapper,
+                        trustedClientIds));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
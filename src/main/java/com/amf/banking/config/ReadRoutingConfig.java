@@ -0,0 +1,67 @@
+package com.amf.banking.config;
+
+import com.amf.banking.readrouting.CausalReadFilter;
+import com.amf.banking.readrouting.ReadRoutingMongoDatabaseFactory;
+import com.amf.banking.readrouting.SecondaryReadAspect;
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Leituras somente leitura da API v1 em secundários, com sessão causal por requisição. Requer replica set
+@Configuration
+@Profile("!inmemory")
+@ConditionalOnProperty(name = "banking.read-routing.enabled", havingValue = "true")
+public class ReadRoutingConfig {
+
+    // Envolve a fábrica criada pelo Spring Boot; MongoTemplate e repositórios passam a usar o roteamento
+    @Bean
+    public static BeanPostProcessor readRoutingDatabaseFactory(
+            @Value("${banking.read-routing.read-preference:secondaryPreferred}") String readPreference,
+            @Value("${banking.read-routing.max-staleness-seconds:90}") long maxStalenessSeconds) {
+
+        ReadPreference secondaries = readPreference(readPreference, maxStalenessSeconds);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof MongoDatabaseFactory factory && !(bean instanceof ReadRoutingMongoDatabaseFactory)) {
+                    return new ReadRoutingMongoDatabaseFactory(factory, secondaries);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<CausalReadFilter> causalReadFilter(MongoDatabaseFactory mongoDatabaseFactory) {
+        FilterRegistrationBean<CausalReadFilter> registration = new FilterRegistrationBean<>(
+                new CausalReadFilter(mongoDatabaseFactory));
+        registration.addUrlPatterns("/api/v1/*");
+        // Depois dos filtros que rejeitam requisições: só abre sessão para quem chega ao controller
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 40);
+        return registration;
+    }
+
+    @Bean
+    public SecondaryReadAspect secondaryReadAspect(MeterRegistry meterRegistry) {
+        return new SecondaryReadAspect(meterRegistry);
+    }
+
+    // O MongoDB aceita max staleness a partir de 90 s; 0 desliga o limite
+    private static ReadPreference readPreference(String mode, long maxStalenessSeconds) {
+        if (maxStalenessSeconds <= 0) {
+            return ReadPreference.valueOf(mode);
+        }
+        return ReadPreference.valueOf(mode, List.of(), maxStalenessSeconds, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,38 @@
+package com.amf.banking.config;
+
+import com.amf.banking.concurrent.SingleFlight;
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.ClientDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class SingleFlightConfig {
+
+    private final MeterRegistry meterRegistry;
+    private final Duration resultWindow;
+    private final int maxEntries;
+
+    public SingleFlightConfig(
+            MeterRegistry meterRegistry,
+            @Value("${banking.single-flight.result-window-ms:50}") long resultWindowMs,
+            @Value("${banking.single-flight.max-entries:10000}") int maxEntries) {
+        this.meterRegistry = meterRegistry;
+        this.resultWindow = Duration.ofMillis(resultWindowMs);
+        this.maxEntries = maxEntries;
+    }
+
+    @Bean
+    public SingleFlight<String, AccountDTO> accountReads() {
+        return new SingleFlight<>("account", resultWindow, maxEntries, meterRegistry);
+    }
+
+    @Bean
+    public SingleFlight<String, ClientDTO> clientReads() {
+        return new SingleFlight<>("client", resultWindow, maxEntries, meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.amf.banking.config;
+
+import com.amf.banking.tracing.FileSpanExporter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Spans de controller (http.server.requests, automático no Spring Boot), serviços (@Observed) e comandos do MongoDB.
+// A amostragem fica em management.tracing.sampling.probability; com 0, os spans não são gravados nem exportados.
+@Configuration
+public class TracingConfig {
+
+    // Um span por comando, filho do span do serviço que está na thread (ou no contexto do Reactor, na API v2)
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTracing(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return builder -> {
+            ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+            builder.addCommandListener(new MongoObservationCommandListener(registry))
+                    .contextProvider(ContextProviderFactory.create(registry));
+        };
+    }
+
+    // Os comandos já são medidos por mongodb.driver.commands; a observação do Spring Data fica só para os spans
+    @Bean
+    public MeterFilter mongoObservationMeterFilter() {
+        return MeterFilter.denyNameStartsWith("spring.data.mongodb.command");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "banking.tracing.file.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter(@Value("${banking.tracing.file.path:traces.jsonl}") String path) throws IOException {
+        return new FileSpanExporter(Path.of(path));
+    }
+}
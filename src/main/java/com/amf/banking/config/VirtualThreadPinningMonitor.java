@@ -0,0 +1,80 @@
+package com.amf.banking.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Registra no log quando uma virtual thread fica presa à carrier thread (synchronized ou código nativo)
+// além do limite configurado. Usa o evento JFR jdk.VirtualThreadPinned, disponível a partir do Java 21.
+@Slf4j
+@Component
+@Profile("virtual-threads")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int STACK_DEPTH = 8;
+
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${banking.virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("Virtual threads profile active on Java {}; virtual threads require Java 21", Runtime.version().feature());
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::logPinnedEvent);
+        stream.startAsync();
+
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void logPinnedEvent(RecordedEvent event) {
+        log.warn("Virtual thread pinned for {} ms on thread '{}':\n{}",
+                event.getDuration().toMillis(),
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                formatStackTrace(event));
+    }
+
+    private String formatStackTrace(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t(sem stack trace)";
+        }
+
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(STACK_DEPTH)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -2,15 +2,20 @@ package com.amf.banking.controller;
 
 import com.amf.banking.dto.AccountDTO;
 import com.amf.banking.dto.BalanceDTO;
+import com.amf.banking.feed.AccountFeedHub;
 import com.amf.banking.service.AccountService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,6 +25,7 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountFeedHub accountFeedHub;
 
     @PostMapping
     @Operation(summary = "Criar nova conta", description = "Cria uma nova conta bancária para um cliente")
@@ -57,9 +63,27 @@ public class AccountController {
     }
 
     @GetMapping("/{id}/balance")
-    @Operation(summary = "Consultar saldo", description = "Retorna o saldo atual de uma conta")
-    public ResponseEntity<BalanceDTO> getAccountBalance(@PathVariable String id) {
-        BalanceDTO balance = accountService.getAccountBalance(id);
+    @Operation(summary = "Consultar saldo", description = "Retorna o saldo atual de uma conta ou, com asOf, o saldo naquela data (modo event-sourced)")
+    public ResponseEntity<BalanceDTO> getAccountBalance(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        BalanceDTO balance = asOf == null
+                ? accountService.getAccountBalance(id)
+                : accountService.getAccountBalance(id, asOf);
         return ResponseEntity.ok(balance);
     }
+
+    @GetMapping(path = "/{id}/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar conta em tempo real",
+            description = "Stream SSE: evento \"balance\" com o saldo atual e, a cada transferência, evento \"transaction\" com a movimentação e o novo saldo")
+    public SseEmitter getAccountFeed(@PathVariable String id) {
+        return accountFeedHub.subscribeAccount(id);
+    }
+
+    @GetMapping(path = "/client/{clientId}/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar contas do cliente em tempo real",
+            description = "Stream SSE com os mesmos eventos do feed da conta, para todas as contas do cliente")
+    public SseEmitter getClientFeed(@PathVariable String clientId) {
+        return accountFeedHub.subscribeClient(clientId);
+    }
 }
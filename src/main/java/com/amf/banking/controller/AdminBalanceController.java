@@ -0,0 +1,24 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.dto.BalanceDTO;
+import com.amf.banking.service.AccountService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/accounts")
+@RequiredArgsConstructor
+@Tag(name = "Administração", description = "Reconstrução de saldos a partir dos eventos (cabeçalho X-Admin-Token)")
+public class AdminBalanceController {
+
+    private final AccountService accountService;
+
+    @PostMapping("/{id}/balance/replay")
+    @Operation(summary = "Reconstruir saldo", description = "Relê snapshot e eventos da conta e corrige o saldo materializado se divergir")
+    public ResponseEntity<BalanceDTO> replayBalance(@PathVariable String id) {
+        return ResponseEntity.ok(accountService.replayBalance(id));
+    }
+}
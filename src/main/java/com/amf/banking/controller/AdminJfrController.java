@@ -0,0 +1,65 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.dto.JfrRecordingDTO;
+import com.amf.banking.profiling.JfrRecorder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/jfr/recordings")
+@RequiredArgsConstructor
+@Tag(name = "Administração", description = "Gravações Java Flight Recorder sob demanda (cabeçalho X-Admin-Token)")
+public class AdminJfrController {
+
+    private final JfrRecorder jfrRecorder;
+
+    @PostMapping
+    @Operation(summary = "Iniciar gravação JFR", description = "Inicia uma gravação com duração e configuração (default ou profile)")
+    public ResponseEntity<JfrRecordingDTO> startRecording(
+            @RequestParam(defaultValue = "60") long durationSeconds,
+            @RequestParam(defaultValue = "profile") String settings) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(jfrRecorder.start(durationSeconds, settings));
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar gravações JFR", description = "Retorna as gravações iniciadas por este endpoint")
+    public ResponseEntity<List<JfrRecordingDTO>> listRecordings() {
+        return ResponseEntity.ok(jfrRecorder.list());
+    }
+
+    @PostMapping("/{id}/stop")
+    @Operation(summary = "Parar gravação JFR", description = "Encerra a gravação antes do fim da duração")
+    public ResponseEntity<JfrRecordingDTO> stopRecording(@PathVariable long id) {
+        return ResponseEntity.ok(jfrRecorder.stop(id));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Baixar gravação JFR", description = "Arquivo .jfr para o JDK Mission Control ou jfr print")
+    public ResponseEntity<Resource> downloadRecording(@PathVariable long id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("banking-" + id + ".jfr")
+                        .build()
+                        .toString())
+                .body(new InputStreamResource(jfrRecorder.download(id)));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Excluir gravação JFR", description = "Fecha a gravação e apaga os dados em disco")
+    public ResponseEntity<Void> deleteRecording(@PathVariable long id) {
+        jfrRecorder.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.dto.ProjectionRebuildDTO;
+import com.amf.banking.projection.ReadModelProjector;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/projections")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "banking.projections.enabled", havingValue = "true")
+@Tag(name = "Administração", description = "Reconstrução das projeções de leitura (cabeçalho X-Admin-Token)")
+public class AdminProjectionController {
+
+    private final ReadModelProjector readModelProjector;
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Reconstruir projeções", description = "Recria as linhas de extrato a partir do ledger e as carteiras a partir das contas")
+    public ResponseEntity<ProjectionRebuildDTO> rebuild() {
+        return ResponseEntity.ok(readModelProjector.rebuild());
+    }
+}
@@ -1,6 +1,8 @@
 package com.amf.banking.controller;
 
 import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.dto.ClientDeletionJobDTO;
+import com.amf.banking.dto.PageDTO;
 import com.amf.banking.service.ClientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -41,6 +43,16 @@ public class ClientController {
         return ResponseEntity.ok(client);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Buscar clientes por nome", description = "Busca paginada por prefixo das palavras do nome, ignorando acentos e maiúsculas")
+    public ResponseEntity<PageDTO<ClientDTO>> searchClients(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageDTO<ClientDTO> clients = clientService.searchClients(q, page, size);
+        return ResponseEntity.ok(clients);
+    }
+
     @GetMapping
     @Operation(summary = "Listar todos os clientes", description = "Retorna a lista de todos os clientes cadastrados")
     public ResponseEntity<List<ClientDTO>> getAllClients() {
@@ -58,9 +70,16 @@ public class ClientController {
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Deletar cliente", description = "Remove um cliente do sistema")
-    public ResponseEntity<Void> deleteClient(@PathVariable String id) {
-        clientService.deleteClient(id);
-        return ResponseEntity.noContent().build();
+    @Operation(summary = "Deletar cliente", description = "Agenda a remoção do cliente; suas contas são encerradas em segundo plano")
+    public ResponseEntity<ClientDeletionJobDTO> deleteClient(@PathVariable String id) {
+        ClientDeletionJobDTO job = clientService.deleteClient(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    @Operation(summary = "Consultar exclusão de cliente", description = "Retorna o andamento de um job de exclusão de cliente")
+    public ResponseEntity<ClientDeletionJobDTO> getDeletionJob(@PathVariable String jobId) {
+        ClientDeletionJobDTO job = clientService.getDeletionJob(jobId);
+        return ResponseEntity.ok(job);
     }
 }
@@ -0,0 +1,40 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.BalanceDTO;
+import com.amf.banking.service.ReactiveAccountService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("!inmemory")
+@RequestMapping("/api/v2/accounts")
+@RequiredArgsConstructor
+@Tag(name = "Contas (v2)", description = "Consultas não bloqueantes de contas bancárias")
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService accountService;
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar conta por ID", description = "Retorna os dados de uma conta específica")
+    public Mono<AccountDTO> getAccountById(@PathVariable String id) {
+        return accountService.getAccountById(id);
+    }
+
+    @GetMapping("/client/{clientId}")
+    @Operation(summary = "Listar contas por cliente", description = "Transmite as contas ativas de um cliente")
+    public Flux<AccountDTO> getAccountsByClientId(@PathVariable String clientId) {
+        return accountService.getAccountsByClientId(clientId);
+    }
+
+    @GetMapping("/{id}/balance")
+    @Operation(summary = "Consultar saldo", description = "Retorna o saldo atual de uma conta")
+    public Mono<BalanceDTO> getAccountBalance(@PathVariable String id) {
+        return accountService.getAccountBalance(id);
+    }
+}
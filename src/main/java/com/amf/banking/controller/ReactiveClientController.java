@@ -0,0 +1,32 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.service.ReactiveClientService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("!inmemory")
+@RequestMapping("/api/v2/clients")
+@RequiredArgsConstructor
+@Tag(name = "Clientes (v2)", description = "Consultas não bloqueantes de clientes")
+public class ReactiveClientController {
+
+    private final ReactiveClientService clientService;
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar cliente por ID", description = "Retorna os dados de um cliente específico")
+    public Mono<ClientDTO> getClientById(@PathVariable String id) {
+        return clientService.getClientById(id);
+    }
+
+    @GetMapping("/cpf/{cpf}")
+    @Operation(summary = "Buscar cliente por CPF", description = "Retorna os dados de um cliente pelo CPF")
+    public Mono<ClientDTO> getClientByCpf(@PathVariable String cpf) {
+        return clientService.getClientByCpf(cpf);
+    }
+}
@@ -0,0 +1,49 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.service.ReactiveTransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// Transferências v2 gravam direto no MongoDB, sem ledger nem eventos de saldo: indisponíveis com
+// banking.ledger.store diferente de "repository" ou banking.balances.mode=event-sourced
+@RestController
+@Profile("!inmemory")
+@ConditionalOnExpression("'${banking.ledger.store:repository}' == 'repository' and '${banking.balances.mode:materialized}' == 'materialized'")
+@RequestMapping("/api/v2/transactions")
+@RequiredArgsConstructor
+@Tag(name = "Transações (v2)", description = "Transferências e extrato não bloqueantes")
+public class ReactiveTransactionController {
+
+    private final ReactiveTransactionService transactionService;
+
+    @PostMapping
+    @Operation(summary = "Realizar transferência", description = "Realiza uma transferência entre duas contas")
+    public Mono<ResponseEntity<TransactionDTO>> createTransfer(@Valid @RequestBody TransactionDTO transactionDTO) {
+        return transactionService.createTransfer(transactionDTO)
+                .map(transaction -> ResponseEntity.status(HttpStatus.CREATED).body(transaction));
+    }
+
+    // Sem "produces": o Accept escolhe entre NDJSON, SSE ou lista JSON, e os erros continuam saindo em JSON
+    @GetMapping("/account/{accountId}")
+    @Operation(summary = "Consultar extrato", description = "Transmite o extrato de uma conta sob demanda do cliente (NDJSON ou SSE)")
+    public Flux<TransactionDTO> getAccountTransactions(
+            @PathVariable String accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        return transactionService.getAccountTransactions(accountId, startDate, endDate);
+    }
+}
@@ -1,5 +1,6 @@
 package com.amf.banking.controller;
 
+import com.amf.banking.dto.TransactionChangesDTO;
 import com.amf.banking.dto.TransactionDTO;
 import com.amf.banking.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -47,6 +48,17 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/account/{accountId}/changes")
+    @Operation(summary = "Consultar novas movimentações",
+            description = "Retorna, em ordem, as movimentações da conta com sequência maior que sinceSeq; use nextSinceSeq na próxima consulta")
+    public ResponseEntity<TransactionChangesDTO> getAccountChanges(
+            @PathVariable String accountId,
+            @RequestParam(defaultValue = "0") long sinceSeq,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        return ResponseEntity.ok(transactionService.getAccountChanges(accountId, sinceSeq, limit));
+    }
+
     @GetMapping
     @Operation(summary = "Listar todas as transações", description = "Retorna a lista de todas as transações")
     public ResponseEntity<List<TransactionDTO>> getAllTransactions() {
@@ -0,0 +1,26 @@
+package com.amf.banking.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+// No perfil "inmemory", cada chamada a um repositório conta como um comando no QueryCounter, como faria uma
+// consulta ao MongoDB. Chamadas internas do repositório não passam pelo proxy e não são contadas, então
+// orçamento de consultas e QueryCountAssertions valem sem um banco de verdade
+@Aspect
+public class InMemoryQueryCountingAspect {
+
+    private static final String PREFIX = "InMemory";
+
+    @Around("within(com.amf.banking.repository.inmemory..*) && execution(public * *(..))")
+    public Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+        QueryCounter.record(joinPoint.getSignature().getName(), repositoryOf(joinPoint.getTarget()));
+        return joinPoint.proceed();
+    }
+
+    // Ex.: InMemoryTransactionRepository -> TransactionRepository
+    private static String repositoryOf(Object target) {
+        String name = target.getClass().getSimpleName();
+        return name.startsWith(PREFIX) ? name.substring(PREFIX.length()) : name;
+    }
+}
@@ -0,0 +1,66 @@
+package com.amf.banking.diagnostics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Alimenta o QueryCounter e registra em log os comandos acima do limite de lentidão.
+// Só nome do comando e coleção vão para o log: o filtro pode conter CPF e outros dados do cliente.
+@Slf4j
+public class MongoCommandDiagnosticsListener implements CommandListener {
+
+    private final long slowCommandNanos;
+    private final Map<Integer, String> collectionsByRequestId = new ConcurrentHashMap<>();
+
+    public MongoCommandDiagnosticsListener(Duration slowCommandThreshold) {
+        this.slowCommandNanos = slowCommandThreshold.toNanos();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String collection = collectionOf(event.getCommandName(), event.getCommand());
+        QueryCounter.record(event.getCommandName(), collection);
+        // Os eventos de término não trazem o comando; a coleção é guardada até lá
+        collectionsByRequestId.put(event.getRequestId(), collection);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finish(event.getRequestId(), event.getCommandName(), event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finish(event.getRequestId(), event.getCommandName(), event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+    }
+
+    private void finish(int requestId, String commandName, String database, long elapsedNanos, boolean failed) {
+        String collection = collectionsByRequestId.remove(requestId);
+        if (elapsedNanos < slowCommandNanos) {
+            return;
+        }
+        log.warn("Slow MongoDB command{}: {} on {}.{} took {} ms", failed ? " (failed)" : "", commandName,
+                database, collection == null ? "" : collection, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    // find/insert/update/delete/aggregate/count levam a coleção como valor do próprio comando; getMore usa "collection"
+    static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue value = command.get(commandName);
+        if (value != null && value.isString()) {
+            return value.asString().getValue();
+        }
+        BsonValue collection = command.get("collection");
+        return collection != null && collection.isString() ? collection.asString().getValue() : "";
+    }
+}
@@ -0,0 +1,35 @@
+package com.amf.banking.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Conta os comandos do MongoDB de cada requisição e avisa quando passam do orçamento (sinal típico de N+1)
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final int queryBudget;
+
+    public QueryBudgetFilter(int queryBudget) {
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        try (QueryCounter.Scope scope = QueryCounter.open(request.getMethod() + " " + request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+
+            if (scope.getCount() > queryBudget) {
+                log.warn("Request {} issued {} MongoDB commands (budget {}): {}",
+                        scope.getLabel(), scope.getCount(), queryBudget, scope.getCommands());
+            }
+        }
+    }
+}
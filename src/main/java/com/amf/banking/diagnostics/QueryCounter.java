@@ -0,0 +1,68 @@
+package com.amf.banking.diagnostics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Conta os comandos do MongoDB emitidos pela thread atual dentro de um escopo (requisição HTTP ou teste).
+// Os comandos da API v2 rodam nas threads do driver reativo e ficam fora da contagem.
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Scope open(String label) {
+        Scope scope = new Scope(label, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // Escopos aninhados (teste envolvendo a requisição) também recebem o comando
+    static void record(String commandName, String collection) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.record(commandName, collection);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final String label;
+        private final Scope parent;
+        private final Map<String, Integer> commands = new LinkedHashMap<>();
+        private int count;
+
+        private Scope(String label, Scope parent) {
+            this.label = label;
+            this.parent = parent;
+        }
+
+        private void record(String commandName, String collection) {
+            count++;
+            commands.merge(collection.isEmpty() ? commandName : commandName + " " + collection, 1, Integer::sum);
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        // Ex.: {find transactions=1, find accounts=1}
+        public Map<String, Integer> getCommands() {
+            return Collections.unmodifiableMap(commands);
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
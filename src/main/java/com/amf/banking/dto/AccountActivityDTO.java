@@ -0,0 +1,25 @@
+package com.amf.banking.dto;
+
+import com.amf.banking.model.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountActivityDTO {
+    private String accountId;
+    private String accountNumber;
+    private Money balance;
+
+    // Ausentes no evento inicial, que traz só o saldo atual
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long sequence;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private TransactionDTO transaction;
+}
@@ -1,5 +1,6 @@
 package com.amf.banking.dto;
 
+import com.amf.banking.model.enums.AccountStatus;
 import com.amf.banking.model.enums.AccountType;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
@@ -33,6 +34,8 @@ public class AccountDTO {
 
     private BigDecimal balance;
 
+    private AccountStatus status;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -1,11 +1,13 @@
 package com.amf.banking.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @Builder
@@ -14,4 +16,8 @@ import java.math.BigDecimal;
 public class BalanceDTO {
     private String accountNumber;
     private BigDecimal balance;
+
+    // Preenchido só na consulta de saldo histórico
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime asOf;
 }
@@ -0,0 +1,28 @@
+package com.amf.banking.dto;
+
+import com.amf.banking.model.enums.DeletionJobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClientDeletionJobDTO {
+    private String id;
+    private String clientId;
+    private DeletionJobStatus status;
+    private long accountsClosed;
+    private String lastError;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,23 @@
+package com.amf.banking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JfrRecordingDTO {
+    private long id;
+    private String name;
+    private String state;
+    private String settings;
+    private long durationSeconds;
+    private Instant startTime;
+    private Instant stopTime;
+    private long sizeBytes;
+}
@@ -0,0 +1,19 @@
+package com.amf.banking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDTO<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -0,0 +1,16 @@
+package com.amf.banking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionRebuildDTO {
+    private long statementRows;
+    private long portfolios;
+    private long durationMs;
+}
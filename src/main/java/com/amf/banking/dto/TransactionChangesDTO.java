@@ -0,0 +1,19 @@
+package com.amf.banking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionChangesDTO {
+    private List<TransactionDTO> changes;
+    // Valor de sinceSeq para a próxima consulta
+    private long nextSinceSeq;
+    private boolean hasMore;
+}
@@ -41,4 +41,10 @@ public class TransactionDTO {
     private LocalDateTime transactionDate;
 
     private String description;
+
+    // Extrato no modo event-sourced: saldo da conta consultada após a transação
+    private BigDecimal balanceAfter;
+
+    // Sincronização incremental: sequência da movimentação na conta consultada
+    private Long sequence;
 }
@@ -0,0 +1,8 @@
+package com.amf.banking.exception;
+
+// Outra escrita alterou o mesmo recurso ao mesmo tempo; nada foi aplicado e a requisição pode ser repetida (409)
+public class ConcurrentUpdateException extends BusinessException {
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
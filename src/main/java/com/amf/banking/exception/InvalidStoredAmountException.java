@@ -0,0 +1,9 @@
+package com.amf.banking.exception;
+
+// Valor monetário gravado fora do formato (mais de duas casas decimais, ausente ou fora do intervalo); o
+// registro precisa ser corrigido e a operação não é repetível (500)
+public class InvalidStoredAmountException extends IllegalStateException {
+    public InvalidStoredAmountException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.amf.banking.exception;
+
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String limiter;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, String limiter, long retryAfterNanos) {
+        super(message);
+        this.limiter = limiter;
+        this.retryAfterSeconds = toRetryAfterSeconds(retryAfterNanos);
+    }
+
+    public String getLimiter() {
+        return limiter;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    // Retry-After só aceita segundos inteiros; arredonda para cima e nunca devolve 0
+    public static long toRetryAfterSeconds(long nanos) {
+        return Math.max(1L, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
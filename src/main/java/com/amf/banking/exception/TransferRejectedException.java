@@ -0,0 +1,18 @@
+package com.amf.banking.exception;
+
+import com.amf.banking.model.enums.TransferFailureReason;
+
+// Regra de negócio que impediu uma transferência; o motivo alimenta as métricas de transferência
+public class TransferRejectedException extends BusinessException {
+
+    private final TransferFailureReason reason;
+
+    public TransferRejectedException(TransferFailureReason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public TransferFailureReason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,260 @@
+package com.amf.banking.feed;
+
+import com.amf.banking.changestream.ChangeStreamWatcher;
+import com.amf.banking.changestream.DataChangedEvent;
+import com.amf.banking.dto.AccountActivityDTO;
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.exception.RateLimitExceededException;
+import com.amf.banking.ledger.LedgerStore;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Money;
+import com.amf.banking.projection.BalanceChange;
+import com.amf.banking.projection.TransferCompletedEvent;
+import com.amf.banking.service.AccountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Distribui, via SSE, as movimentações e os novos saldos de cada transferência (v1 e v2) para quem acompanha
+// a conta ou o cliente dono dela. A publicação só enfileira no buffer de cada assinante; um pool pequeno faz
+// as escritas nos sockets, e quem deixa uma escrita parada além de write-timeout-ms é descartado.
+// Sem change streams, só as transferências feitas neste nó chegam ao feed. Com eles (e o ledger no MongoDB),
+// as transferências de todos os nós, inclusive as deste, chegam pelas inserções em transactions.
+@Slf4j
+@Component
+public class AccountFeedHub {
+
+    static final String BALANCE_EVENT = "balance";
+    static final String TRANSACTION_EVENT = "transaction";
+
+    private static final long RETRY_AFTER_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final AccountService accountService;
+    private final LedgerStore ledgerStore;
+    private final TransactionMapper transactionMapper;
+    private final boolean fromChangeStream;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final long writeTimeoutNanos;
+
+    private final ForkJoinPool dispatcher;
+    private final Map<String, Set<FeedSubscriber>> accountSubscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<FeedSubscriber>> clientSubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final Counter slowConsumerEvictions;
+
+    public AccountFeedHub(
+            AccountService accountService,
+            LedgerStore ledgerStore,
+            TransactionMapper transactionMapper,
+            MeterRegistry meterRegistry,
+            @Value("#{${banking.change-streams.enabled:false} and '${banking.ledger.store:repository}' == 'repository'}")
+            boolean fromChangeStream,
+            @Value("${banking.feed.buffer-size:256}") int bufferSize,
+            @Value("${banking.feed.max-subscribers:10000}") int maxSubscribers,
+            @Value("${banking.feed.timeout-ms:1800000}") long timeoutMs,
+            @Value("${banking.feed.write-timeout-ms:5000}") long writeTimeoutMs,
+            @Value("${banking.feed.dispatch-threads:4}") int dispatchThreads) {
+        this.accountService = accountService;
+        this.ledgerStore = ledgerStore;
+        this.transactionMapper = transactionMapper;
+        this.fromChangeStream = fromChangeStream;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+
+        // ForkJoinPool em modo FIFO: compensa as threads presas em escritas (FeedSubscriber.send)
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = new ForkJoinPool(dispatchThreads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("account-feed-" + threadCount.incrementAndGet());
+            return thread;
+        }, null, true);
+
+        this.slowConsumerEvictions = Counter.builder("banking.feed.evictions")
+                .description("Assinantes do feed descartados por não acompanharem os eventos")
+                .register(meterRegistry);
+        Gauge.builder("banking.feed.subscribers", subscribers, AtomicInteger::get)
+                .description("Conexões SSE abertas no feed de contas")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribeAccount(String accountId) {
+        log.info("Opening live feed for account ID: {}", accountId);
+        return subscribe(accountSubscribers, accountId,
+                () -> List.of(snapshot(accountService.getAccountById(accountId))));
+    }
+
+    public SseEmitter subscribeClient(String clientId) {
+        log.info("Opening live feed for client ID: {}", clientId);
+        return subscribe(clientSubscribers, clientId,
+                () -> accountService.getAccountsByClientId(clientId).stream().map(this::snapshot).toList());
+    }
+
+    @EventListener
+    public void on(TransferCompletedEvent event) {
+        if (fromChangeStream) {
+            return;
+        }
+        publish(event.source(), event.transaction());
+        publish(event.destination(), event.transaction());
+    }
+
+    // Transferência de qualquer nó vista no change stream. Os saldos são lidos agora: podem já incluir uma
+    // transferência seguinte, e como o evento traz o saldo final, o feed nunca mostra um saldo que já passou
+    @EventListener
+    public void on(DataChangedEvent event) {
+        if (!fromChangeStream || event.all() || !ChangeStreamWatcher.TRANSACTIONS.equals(event.collection())
+                || !watches(event.accountIds())) {
+            return;
+        }
+        try {
+            ledgerStore.findById(event.documentId()).ifPresent(transaction -> {
+                Account source = accountService.findAccountById(transaction.getSourceAccount().getId().toString());
+                Account destination = accountService.findAccountById(transaction.getDestinationAccount().getId().toString());
+                TransactionDTO dto = transactionMapper.toDTO(transaction, source.getAccountNumber(), destination.getAccountNumber());
+                publish(BalanceChange.of(source, transaction.getSourceSequence()), dto);
+                publish(BalanceChange.of(destination, transaction.getDestinationSequence()), dto);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay transaction {} to the live feed", event.documentId(), e);
+        }
+    }
+
+    // Comentário periódico: mantém proxies com a conexão aberta e revela clientes que já saíram
+    @Scheduled(fixedDelayString = "${banking.feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        accountSubscribers.values().forEach(group -> group.forEach(subscriber -> offer(subscriber, FeedEvent.HEARTBEAT)));
+        clientSubscribers.values().forEach(group -> group.forEach(subscriber -> offer(subscriber, FeedEvent.HEARTBEAT)));
+    }
+
+    // Cliente que não lê o socket prende a escrita até o timeout do contêiner: descartado antes disso
+    @Scheduled(fixedDelayString = "${banking.feed.write-check-ms:1000}")
+    public void evictStalledWriters() {
+        long now = System.nanoTime();
+        accountSubscribers.values().forEach(group -> group.forEach(subscriber -> evictIfStalled(subscriber, now)));
+        clientSubscribers.values().forEach(group -> group.forEach(subscriber -> evictIfStalled(subscriber, now)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    int subscriberCount() {
+        return subscribers.get();
+    }
+
+    // Separado para os testes substituírem o emitter
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // O assinante entra antes da leitura do estado atual: uma transferência concorrente nunca se perde, mas
+    // pode chegar como evento já incluída no saldo inicial. O evento traz o saldo final, então reaplicá-lo não muda nada
+    private SseEmitter subscribe(Map<String, Set<FeedSubscriber>> groups, String key, Supplier<List<AccountActivityDTO>> current) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new RateLimitExceededException("Limite de conexões de tempo real atingido", "feed", RETRY_AFTER_NANOS);
+        }
+
+        FeedSubscriber subscriber = new FeedSubscriber(newEmitter(), bufferSize, dispatcher,
+                closed -> unregister(groups, key, closed));
+        groups.compute(key, (k, group) -> {
+            Set<FeedSubscriber> members = group != null ? group : ConcurrentHashMap.newKeySet();
+            members.add(subscriber);
+            return members;
+        });
+
+        List<AccountActivityDTO> snapshot;
+        try {
+            snapshot = current.get();
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        subscriber.start(snapshot.stream().map(activity -> new FeedEvent(BALANCE_EVENT, activity)).toList());
+        return subscriber.emitter();
+    }
+
+    private void unregister(Map<String, Set<FeedSubscriber>> groups, String key, FeedSubscriber subscriber) {
+        groups.computeIfPresent(key, (k, group) -> {
+            group.remove(subscriber);
+            return group.isEmpty() ? null : group;
+        });
+        subscribers.decrementAndGet();
+    }
+
+    private void publish(BalanceChange change, TransactionDTO transaction) {
+        Set<FeedSubscriber> byAccount = accountSubscribers.get(change.accountId());
+        Set<FeedSubscriber> byClient = change.clientId() == null ? null : clientSubscribers.get(change.clientId());
+        if (byAccount == null && byClient == null) {
+            return;
+        }
+
+        FeedEvent event = new FeedEvent(TRANSACTION_EVENT, AccountActivityDTO.builder()
+                .accountId(change.accountId())
+                .accountNumber(change.accountNumber())
+                .balance(change.balance())
+                .sequence(change.sequence())
+                .transaction(transaction)
+                .build());
+        if (byAccount != null) {
+            byAccount.forEach(subscriber -> offer(subscriber, event));
+        }
+        if (byClient != null) {
+            byClient.forEach(subscriber -> offer(subscriber, event));
+        }
+    }
+
+    // Feed do cliente: o dono das contas só é conhecido depois da leitura
+    private boolean watches(Set<String> accountIds) {
+        return !clientSubscribers.isEmpty() || accountIds.stream().anyMatch(accountSubscribers::containsKey);
+    }
+
+    private void offer(FeedSubscriber subscriber, FeedEvent event) {
+        if (!subscriber.offer(event)) {
+            slowConsumerEvictions.increment();
+            log.warn("Evicting slow live feed subscriber ({} pending events)", bufferSize);
+        }
+    }
+
+    private void evictIfStalled(FeedSubscriber subscriber, long now) {
+        if (subscriber.isWriteStalled(now, writeTimeoutNanos) && !subscriber.isClosed()) {
+            subscriber.close();
+            slowConsumerEvictions.increment();
+            log.warn("Evicting live feed subscriber with a write pending for more than {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+        }
+    }
+
+    private AccountActivityDTO snapshot(AccountDTO account) {
+        return AccountActivityDTO.builder()
+                .accountId(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .balance(Money.ofStored(account.getBalance()))
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.amf.banking.feed;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Evento pendente de um assinante. O SseEventBuilder do Spring não pode ser reutilizado entre emitters,
+// então cada envio monta o seu a partir daqui.
+record FeedEvent(String name, Object data) {
+
+    static final FeedEvent HEARTBEAT = new FeedEvent(null, null);
+
+    SseEmitter.SseEventBuilder toSse() {
+        if (name == null) {
+            return SseEmitter.event().comment("keep-alive");
+        }
+        return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+    }
+}
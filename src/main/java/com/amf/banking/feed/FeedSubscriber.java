@@ -0,0 +1,181 @@
+package com.amf.banking.feed;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Um assinante do feed: buffer limitado, esvaziado por no máximo uma tarefa por vez no dispatcher.
+// Quem publica só enfileira e nunca escreve no socket; buffer cheio (cliente lento) descarta o assinante.
+// Os eventos iniciais (um por conta) ficam fora do buffer, que limita só o que chega depois.
+final class FeedSubscriber {
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final SseEmitter emitter;
+    private final BlockingDeque<FeedEvent> buffer;
+    private final Queue<FeedEvent> initial = new ConcurrentLinkedQueue<>();
+    private final Executor dispatcher;
+    private final Consumer<FeedSubscriber> onClose;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile boolean started;
+    private volatile long writeStartedAt = IDLE;
+
+    FeedSubscriber(SseEmitter emitter, int capacity, Executor dispatcher, Consumer<FeedSubscriber> onClose) {
+        this.emitter = emitter;
+        this.buffer = new LinkedBlockingDeque<>(capacity);
+        this.dispatcher = dispatcher;
+        this.onClose = onClose;
+
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    // false quando o buffer estava cheio e o assinante foi descartado
+    boolean offer(FeedEvent event) {
+        if (closed.get()) {
+            return true;
+        }
+        if (!buffer.offerLast(event)) {
+            close();
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    // Os eventos iniciais saem antes dos que chegaram enquanto o estado atual era lido
+    void start(List<FeedEvent> events) {
+        initial.addAll(events);
+        started = true;
+        schedule();
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            initial.clear();
+            buffer.clear();
+            onClose.accept(this);
+            // O emitter é completado pelo dispatcher, nunca na thread de quem publicou
+            schedule();
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    // Escrita em andamento há mais de timeoutNanos: o cliente parou de ler o socket
+    boolean isWriteStalled(long now, long timeoutNanos) {
+        long startedAt = writeStartedAt;
+        return startedAt != IDLE && now - startedAt > timeoutNanos;
+    }
+
+    private void schedule() {
+        if ((started || closed.get()) && draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            FeedEvent event;
+            while (!closed.get() && (event = next()) != null) {
+                send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Conexão encerrada pelo cliente
+            close();
+        } finally {
+            draining.set(false);
+        }
+
+        if (closed.get()) {
+            complete();
+        } else if (!initial.isEmpty() || !buffer.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private FeedEvent next() {
+        FeedEvent event = initial.poll();
+        return event != null ? event : buffer.pollFirst();
+    }
+
+    // A escrita bloqueia enquanto o cliente não lê o socket. Dentro de managedBlock, o ForkJoinPool do
+    // dispatcher põe outra thread no lugar desta até a escrita terminar, e os demais assinantes seguem
+    private void send(FeedEvent event) throws IOException {
+        Write write = new Write(event);
+        writeStartedAt = System.nanoTime();
+        try {
+            ForkJoinPool.managedBlock(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing live feed event", e);
+        } finally {
+            writeStartedAt = IDLE;
+        }
+        if (write.failure != null) {
+            throw write.failure;
+        }
+    }
+
+    private void complete() {
+        if (completed.compareAndSet(false, true)) {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Já encerrado pelo contêiner
+            }
+        }
+    }
+
+    private final class Write implements ForkJoinPool.ManagedBlocker {
+
+        private final FeedEvent event;
+        private IOException failure;
+        private boolean done;
+
+        private Write(FeedEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                emitter.send(event.toSse());
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                done = true;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done;
+        }
+    }
+}
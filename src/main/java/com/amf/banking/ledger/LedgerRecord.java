@@ -0,0 +1,178 @@
+package com.amf.banking.ledger;
+
+import com.amf.banking.model.Money;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.TransactionType;
+import com.amf.banking.model.reactive.TransactionDocument;
+import com.mongodb.DBRef;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+// Registro de largura fixa de uma transação no ledger mapeado. O checksum cobre o registro inteiro e é
+// conferido na recuperação: um registro rasgado por queda do processo encerra o replay.
+//
+//   0  int      CRC32C dos bytes [4, SIZE)
+//   4  long     sequência (posição global no ledger; também forma o ID da transação)
+//   12 long     data em microssegundos desde 1970 (LocalDateTime lido como UTC)
+//   20 byte[12] conta origem (ObjectId)
+//   32 byte[12] conta destino (ObjectId)
+//   44 long     valor em centavos
+//   52 byte     tipo (ordinal; -1 = nulo)
+//   53 short    tamanho da descrição em bytes UTF-8 (-1 = nula)
+//   55 byte[]   descrição
+//   496 long    sequência da movimentação na conta origem (0 = sem sequência)
+//   504 long    sequência da movimentação na conta destino (0 = sem sequência)
+final class LedgerRecord {
+
+    static final int SIZE = 512;
+
+    private static final int CHECKSUM = 0;
+    private static final int SEQUENCE = 4;
+    private static final int TIMESTAMP = 12;
+    private static final int SOURCE = 20;
+    private static final int DESTINATION = 32;
+    private static final int AMOUNT = 44;
+    private static final int TYPE = 52;
+    private static final int DESCRIPTION_LENGTH = 53;
+    private static final int DESCRIPTION = 55;
+    // No fim do registro: em registros gravados antes delas, a área (sobra da descrição) está zerada
+    private static final int SOURCE_SEQUENCE = SIZE - 16;
+    private static final int DESTINATION_SEQUENCE = SIZE - 8;
+
+    static final int MAX_DESCRIPTION_BYTES = SOURCE_SEQUENCE - DESCRIPTION;
+
+    private static final String ACCOUNTS = "accounts";
+    private static final String ZEROS = "000000000000000000000000";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private LedgerRecord() {
+    }
+
+    static byte[] description(Transaction transaction) {
+        return transaction.getDescription() == null
+                ? null
+                : transaction.getDescription().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Tudo menos sequência, data e checksum, que só são conhecidos sob o lock de escrita (seal)
+    static byte[] encode(Transaction transaction, byte[] description) {
+        if (description != null && description.length > MAX_DESCRIPTION_BYTES) {
+            throw new IllegalArgumentException("Descrição excede " + MAX_DESCRIPTION_BYTES + " bytes");
+        }
+        ByteBuffer record = ByteBuffer.allocate(SIZE);
+        record.put(SOURCE, objectId(transaction.getSourceAccount().getId()).toByteArray());
+        record.put(DESTINATION, objectId(transaction.getDestinationAccount().getId()).toByteArray());
+        record.putLong(AMOUNT, Money.toCents(transaction.getAmount()));
+        record.put(TYPE, transaction.getTransactionType() == null ? -1 : (byte) transaction.getTransactionType().ordinal());
+        record.putShort(DESCRIPTION_LENGTH, description == null ? -1 : (short) description.length);
+        if (description != null) {
+            record.put(DESCRIPTION, description);
+        }
+        record.putLong(SOURCE_SEQUENCE, transaction.getSourceSequence() == null ? 0 : transaction.getSourceSequence());
+        record.putLong(DESTINATION_SEQUENCE, transaction.getDestinationSequence() == null ? 0 : transaction.getDestinationSequence());
+        return record.array();
+    }
+
+    static void seal(byte[] record, long sequence, long timestampMicros) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putLong(SEQUENCE, sequence);
+        buffer.putLong(TIMESTAMP, timestampMicros);
+        CRC32C crc = new CRC32C();
+        crc.update(record, SEQUENCE, SIZE - SEQUENCE);
+        buffer.putInt(CHECKSUM, (int) crc.getValue());
+    }
+
+    // Registro íntegro e na posição esperada; slots zerados ou rasgados falham no checksum
+    static boolean isValid(ByteBuffer segment, int offset, long expectedSequence) {
+        if (segment.getLong(offset + SEQUENCE) != expectedSequence) {
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(offset + SEQUENCE, SIZE - SEQUENCE));
+        return segment.getInt(offset + CHECKSUM) == (int) crc.getValue();
+    }
+
+    static TransactionDocument decode(ByteBuffer segment, int offset) {
+        byte type = segment.get(offset + TYPE);
+        short descriptionLength = segment.getShort(offset + DESCRIPTION_LENGTH);
+        String description = null;
+        if (descriptionLength >= 0) {
+            byte[] bytes = new byte[descriptionLength];
+            segment.get(offset + DESCRIPTION, bytes);
+            description = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return TransactionDocument.builder()
+                .id(id(segment.getLong(offset + SEQUENCE)))
+                .sourceAccount(new DBRef(ACCOUNTS, objectId(segment, offset + SOURCE)))
+                .destinationAccount(new DBRef(ACCOUNTS, objectId(segment, offset + DESTINATION)))
+                .amount(Money.toBigDecimal(segment.getLong(offset + AMOUNT)))
+                .transactionType(type < 0 ? null : TYPES[type])
+                .transactionDate(toDateTime(segment.getLong(offset + TIMESTAMP)))
+                .description(description)
+                .sourceSequence(accountSequence(segment.getLong(offset + SOURCE_SEQUENCE)))
+                .destinationSequence(accountSequence(segment.getLong(offset + DESTINATION_SEQUENCE)))
+                .build();
+    }
+
+    private static Long accountSequence(long value) {
+        return value == 0 ? null : value;
+    }
+
+    static String sourceAccountId(ByteBuffer segment, int offset) {
+        return objectId(segment, offset + SOURCE).toHexString();
+    }
+
+    static String destinationAccountId(ByteBuffer segment, int offset) {
+        return objectId(segment, offset + DESTINATION).toHexString();
+    }
+
+    static long timestamp(ByteBuffer segment, int offset) {
+        return segment.getLong(offset + TIMESTAMP);
+    }
+
+    // ID com o mesmo formato de um ObjectId (24 dígitos hexadecimais), derivado da sequência:
+    // a busca por ID vai direto ao registro, sem índice
+    static String id(long sequence) {
+        String hex = Long.toHexString(sequence);
+        return ZEROS.substring(hex.length()) + hex;
+    }
+
+    // -1 para IDs que não vieram deste ledger
+    static long sequenceOf(String id) {
+        if (id == null || id.length() != 24 || !id.startsWith("00000000")) {
+            return -1;
+        }
+        try {
+            return Math.max(-1, Long.parseLong(id.substring(8), 16));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime toDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static ObjectId objectId(String accountId) {
+        if (accountId == null || !ObjectId.isValid(accountId)) {
+            throw new IllegalArgumentException("ID de conta inválido para o ledger: " + accountId);
+        }
+        return new ObjectId(accountId);
+    }
+
+    private static ObjectId objectId(ByteBuffer segment, int offset) {
+        byte[] bytes = new byte[12];
+        segment.get(offset, bytes);
+        return new ObjectId(bytes);
+    }
+}
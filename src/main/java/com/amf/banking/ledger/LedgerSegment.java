@@ -0,0 +1,85 @@
+package com.amf.banking.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Arquivo de tamanho fixo com capacity registros, mapeado inteiro em memória. O nome traz a primeira sequência.
+final class LedgerSegment implements Closeable {
+
+    static final String PREFIX = "ledger-";
+    static final String SUFFIX = ".seg";
+
+    private final long baseSequence;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private LedgerSegment(long baseSequence, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+        this.baseSequence = baseSequence;
+        this.capacity = capacity;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static LedgerSegment open(Path directory, long baseSequence, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file(directory, baseSequence),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // Mapear além do fim estende o arquivo: o segmento nasce com o tamanho final, preenchido com zeros
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * LedgerRecord.SIZE);
+            return new LedgerSegment(baseSequence, capacity, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static Path file(Path directory, long baseSequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, baseSequence, SUFFIX));
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    long endSequence() {
+        return baseSequence + capacity;
+    }
+
+    int offset(long sequence) {
+        return (int) (sequence - baseSequence) * LedgerRecord.SIZE;
+    }
+
+    // Leituras usam apenas métodos absolutos, que não alteram a posição do buffer compartilhado
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    void write(long sequence, byte[] record) {
+        buffer.put(offset(sequence), record);
+    }
+
+    // Zera os registros a partir de sequence: descarta a cauda rasgada encontrada na recuperação
+    void truncate(long sequence) {
+        byte[] zeros = new byte[LedgerRecord.SIZE];
+        for (long next = sequence; next < endSequence(); next++) {
+            buffer.put(offset(next), zeros);
+        }
+        buffer.force();
+    }
+
+    void force(long fromSequence, long toSequence) {
+        buffer.force(offset(fromSequence), (int) (toSequence - fromSequence) * LedgerRecord.SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
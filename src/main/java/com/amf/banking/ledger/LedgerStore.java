@@ -0,0 +1,35 @@
+package com.amf.banking.ledger;
+
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.reactive.TransactionDocument;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Armazenamento das transações sob TransactionService, escolhido por banking.ledger.store:
+// "repository" (TransactionRepository: MongoDB ou perfil inmemory) ou "mapped" (segmentos locais mapeados em memória).
+// As leituras devolvem as contas como DBRef bruto; os números de conta são resolvidos em lote pelo serviço.
+public interface LedgerStore {
+
+    // Chamado antes de alterar os saldos: rejeita o que o armazenamento não consegue gravar
+    default void validate(Transaction transaction) {
+    }
+
+    // Grava a transação e devolve a mesma instância com ID e data atribuídos
+    Transaction append(Transaction transaction);
+
+    Optional<TransactionDocument> findById(String id);
+
+    // Datas nulas: extrato completo, em ordem cronológica
+    List<TransactionDocument> findStatement(String accountId, LocalDateTime startDate, LocalDateTime endDate);
+
+    List<TransactionDocument> findAll();
+
+    // Percorre o ledger inteiro em páginas de até pageSize transações, sem carregar tudo de uma vez
+    void forEachPage(int pageSize, Consumer<List<TransactionDocument>> page);
+
+    // Até limit movimentações da conta com sequência maior que sinceSequence, em ordem de sequência
+    List<TransactionDocument> findChanges(String accountId, long sinceSequence, int limit);
+}
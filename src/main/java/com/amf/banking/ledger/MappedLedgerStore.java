@@ -0,0 +1,444 @@
+package com.amf.banking.ledger;
+
+import com.amf.banking.exception.TransferRejectedException;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.TransferFailureReason;
+import com.amf.banking.model.reactive.TransactionDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Ledger embarcado para implantações de um só nó: transações anexadas em segmentos mapeados em memória com
+// registros de largura fixa (LedgerRecord). Uma thread de fsync faz group commit: cada force() cobre todas as
+// transações escritas desde o anterior, e append() só retorna depois que a sua está em disco. Só então ela entra
+// nos índices e fica visível para as consultas; depois de uma falha de fsync, novos appends são recusados.
+// Na abertura, os segmentos são relidos em ordem para reconstruir os índices por conta; o replay para no
+// primeiro registro inválido e a cauda após ele é zerada.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banking.ledger.store", havingValue = "mapped")
+public class MappedLedgerStore implements LedgerStore, Closeable {
+
+    private static final int REORDER_WINDOW = 64;
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final boolean fsync;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Map<String, OffsetIndex> accountIndex = new ConcurrentHashMap<>();
+    private volatile LedgerSegment[] segments = new LedgerSegment[0];
+    private volatile long nextSequence;
+    // Registros visíveis para leitura e já no índice por conta: com fsync, só os que já estão no disco
+    private volatile long published;
+    private long lastTimestamp;
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition flushRequested = syncLock.newCondition();
+    private final Condition durableAdvanced = syncLock.newCondition();
+    private long requested;
+    private long durable;
+    private volatile RuntimeException flushFailure;
+    private volatile boolean open = true;
+    private final Thread flusher;
+
+    public MappedLedgerStore(
+            @Value("${banking.ledger.mapped.directory:data/ledger}") Path directory,
+            @Value("${banking.ledger.mapped.segment-records:131072}") int segmentRecords,
+            @Value("${banking.ledger.mapped.fsync:true}") boolean fsync) throws IOException {
+        if (segmentRecords < 1 || (long) segmentRecords * LedgerRecord.SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Registros por segmento fora do intervalo: " + segmentRecords);
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        recover();
+        requested = nextSequence;
+        durable = nextSequence;
+
+        flusher = new Thread(this::flushLoop, "ledger-fsync");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Ledger opened at {} with {} transactions in {} segments",
+                directory.toAbsolutePath(), nextSequence, segments.length);
+    }
+
+    @Override
+    public void validate(Transaction transaction) {
+        byte[] description = LedgerRecord.description(transaction);
+        if (description != null && description.length > LedgerRecord.MAX_DESCRIPTION_BYTES) {
+            throw new TransferRejectedException(TransferFailureReason.DESCRICAO_INVALIDA,
+                    "Descrição deve ter no máximo " + LedgerRecord.MAX_DESCRIPTION_BYTES + " bytes");
+        }
+    }
+
+    @Override
+    public Transaction append(Transaction transaction) {
+        // Codificação fora do lock; sob ele ficam só sequência, data, checksum e a cópia para o segmento
+        byte[] record = LedgerRecord.encode(transaction, LedgerRecord.description(transaction));
+        long sequence;
+        long timestamp;
+
+        appendLock.lock();
+        try {
+            if (!open) {
+                throw new IllegalStateException("Ledger fechado");
+            }
+            // O que veio depois de uma falha de fsync pode não estar no disco: o ledger para até ser reaberto
+            if (flushFailure != null) {
+                throw new IllegalStateException("Ledger indisponível após falha no fsync", flushFailure);
+            }
+            sequence = nextSequence;
+            // Datas não decrescentes: a busca por período faz busca binária sobre as sequências da conta
+            timestamp = Math.max(LedgerRecord.toMicros(LocalDateTime.now()), lastTimestamp);
+            LedgerRecord.seal(record, sequence, timestamp);
+            segmentFor(sequence).write(sequence, record);
+            lastTimestamp = timestamp;
+            nextSequence = sequence + 1;
+            if (!fsync) {
+                publish(sequence, sequence + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir segmento do ledger", e);
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (fsync) {
+            awaitDurable(sequence + 1);
+        }
+        transaction.setId(LedgerRecord.id(sequence));
+        transaction.setTransactionDate(LedgerRecord.toDateTime(timestamp));
+        return transaction;
+    }
+
+    @Override
+    public Optional<TransactionDocument> findById(String id) {
+        long sequence = LedgerRecord.sequenceOf(id);
+        if (sequence < 0 || sequence >= published) {
+            return Optional.empty();
+        }
+        return Optional.of(read(sequence));
+    }
+
+    @Override
+    public List<TransactionDocument> findStatement(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        OffsetIndex index = ObjectId.isValid(accountId) ? accountIndex.get(accountId) : null;
+        if (index == null) {
+            return List.of();
+        }
+        long[] sequences = index.snapshot();
+        int from = 0;
+        int to = sequences.length;
+        if (startDate != null && endDate != null) {
+            from = firstAtOrAfter(sequences, LedgerRecord.toMicros(startDate));
+            to = firstAtOrAfter(sequences, LedgerRecord.toMicros(endDate) + 1);
+        }
+        return Arrays.stream(sequences, from, Math.max(from, to))
+                .mapToObj(this::read)
+                .toList();
+    }
+
+    @Override
+    public List<TransactionDocument> findAll() {
+        long end = published;
+        List<TransactionDocument> transactions = new ArrayList<>((int) Math.min(end, Integer.MAX_VALUE));
+        for (long sequence = 0; sequence < end; sequence++) {
+            transactions.add(read(sequence));
+        }
+        return transactions;
+    }
+
+    @Override
+    public void forEachPage(int pageSize, Consumer<List<TransactionDocument>> page) {
+        long end = published;
+        for (long from = 0; from < end; from += pageSize) {
+            List<TransactionDocument> transactions = new ArrayList<>(pageSize);
+            for (long sequence = from; sequence < Math.min(from + pageSize, end); sequence++) {
+                transactions.add(read(sequence));
+            }
+            page.accept(transactions);
+        }
+    }
+
+    // As sequências da conta crescem com a posição no índice, exceto por transferências simultâneas na mesma
+    // conta, que reservam a sequência antes do append e podem ser gravadas fora de ordem (até REORDER_WINDOW
+    // posições). A busca binária acha onde as sequências passam de sinceSequence; a leitura começa REORDER_WINDOW
+    // posições antes e, completada a página, segue mais REORDER_WINDOW posições atrás de sequências menores
+    @Override
+    public List<TransactionDocument> findChanges(String accountId, long sinceSequence, int limit) {
+        OffsetIndex index = ObjectId.isValid(accountId) ? accountIndex.get(accountId) : null;
+        if (index == null) {
+            return List.of();
+        }
+        long[] positions = index.snapshot();
+        List<TransactionDocument> changes = new ArrayList<>();
+        int end = positions.length;
+        for (int position = Math.max(0, firstAbove(accountId, positions, sinceSequence) - REORDER_WINDOW);
+             position < end; position++) {
+            TransactionDocument transaction = read(positions[position]);
+            Long sequence = transaction.sequenceOf(accountId);
+            if (sequence != null && sequence > sinceSequence) {
+                changes.add(transaction);
+                if (changes.size() == limit) {
+                    end = Math.min(positions.length, position + 1 + REORDER_WINDOW);
+                }
+            }
+        }
+        changes.sort(Comparator.comparing(transaction -> transaction.sequenceOf(accountId)));
+        return changes.size() > limit ? changes.subList(0, limit) : changes;
+    }
+
+    // Primeira posição do índice cuja sequência da conta passa de sinceSequence; registros sem sequência
+    // (anteriores às sequências por conta) ficam no começo
+    private int firstAbove(String accountId, long[] positions, long sinceSequence) {
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Long sequence = read(positions[middle]).sequenceOf(accountId);
+            if (sequence != null && sequence > sinceSequence) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    long size() {
+        return published;
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (!open) {
+                return;
+            }
+            open = false;
+        } finally {
+            appendLock.unlock();
+        }
+
+        syncLock.lock();
+        try {
+            flushRequested.signal();
+        } finally {
+            syncLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (LedgerSegment segment : segments) {
+            segment.close();
+        }
+        log.info("Ledger closed with {} transactions", nextSequence);
+    }
+
+    private void awaitDurable(long target) {
+        syncLock.lock();
+        try {
+            if (requested < target) {
+                requested = target;
+                flushRequested.signal();
+            }
+            while (durable < target) {
+                if (flushFailure != null) {
+                    throw new IllegalStateException("Falha no fsync do ledger", flushFailure);
+                }
+                durableAdvanced.awaitUninterruptibly();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long from;
+            long to;
+            syncLock.lock();
+            try {
+                while (open && requested <= durable) {
+                    flushRequested.awaitUninterruptibly();
+                }
+                // Inclui o que já foi escrito por quem ainda não pediu o fsync: o próximo lote fica menor
+                to = Math.max(requested, nextSequence);
+                if (to <= durable) {
+                    return;
+                }
+                from = durable;
+            } finally {
+                syncLock.unlock();
+            }
+
+            RuntimeException failure = null;
+            try {
+                force(from, to);
+                publish(from, to);
+            } catch (RuntimeException e) {
+                log.error("Ledger fsync failed for sequences {} to {}", from, to, e);
+                failure = e;
+            }
+
+            syncLock.lock();
+            try {
+                if (failure == null) {
+                    durable = to;
+                } else {
+                    flushFailure = failure;
+                }
+                durableAdvanced.signalAll();
+            } finally {
+                syncLock.unlock();
+            }
+            if (failure != null) {
+                return;
+            }
+        }
+    }
+
+    // Separado para os testes simularem falha no fsync
+    void force(long from, long to) {
+        LedgerSegment[] current = segments;
+        for (long start = from; start < to; ) {
+            LedgerSegment segment = current[(int) (start / segmentRecords)];
+            long end = Math.min(to, segment.endSequence());
+            segment.force(start, end);
+            start = end;
+        }
+    }
+
+    // Chamado sob appendLock; um segmento novo é criado quando o atual enche
+    private LedgerSegment segmentFor(long sequence) throws IOException {
+        int position = (int) (sequence / segmentRecords);
+        LedgerSegment[] current = segments;
+        if (position < current.length) {
+            return current[position];
+        }
+        LedgerSegment segment = LedgerSegment.open(directory, (long) position * segmentRecords, segmentRecords);
+        LedgerSegment[] grown = Arrays.copyOf(current, position + 1);
+        grown[position] = segment;
+        segments = grown;
+        return segment;
+    }
+
+    // Um escritor por vez, em ordem de sequência: a recuperação, o flusher depois do fsync ou, sem fsync, o
+    // append sob appendLock. Quem espera awaitDurable só retorna depois daqui, já visível nas consultas
+    private void publish(long from, long to) {
+        for (long sequence = Math.max(from, published); sequence < to; sequence++) {
+            LedgerSegment segment = segments[(int) (sequence / segmentRecords)];
+            int offset = segment.offset(sequence);
+            index(sequence, LedgerRecord.sourceAccountId(segment.buffer(), offset),
+                    LedgerRecord.destinationAccountId(segment.buffer(), offset));
+        }
+        published = to;
+    }
+
+    private void index(long sequence, String sourceAccountId, String destinationAccountId) {
+        accountIndex.computeIfAbsent(sourceAccountId, id -> new OffsetIndex()).add(sequence);
+        if (!destinationAccountId.equals(sourceAccountId)) {
+            accountIndex.computeIfAbsent(destinationAccountId, id -> new OffsetIndex()).add(sequence);
+        }
+    }
+
+    private TransactionDocument read(long sequence) {
+        LedgerSegment segment = segments[(int) (sequence / segmentRecords)];
+        return LedgerRecord.decode(segment.buffer(), segment.offset(sequence));
+    }
+
+    private long timestamp(long sequence) {
+        LedgerSegment segment = segments[(int) (sequence / segmentRecords)];
+        return LedgerRecord.timestamp(segment.buffer(), segment.offset(sequence));
+    }
+
+    // Primeira posição cuja data é >= micros
+    private int firstAtOrAfter(long[] sequences, long micros) {
+        int low = 0;
+        int high = sequences.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamp(sequences[middle]) < micros) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(file -> file.getFileName().toString().startsWith(LedgerSegment.PREFIX)
+                            && file.getFileName().toString().endsWith(LedgerSegment.SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        List<LedgerSegment> recovered = new ArrayList<>();
+        long sequence = 0;
+        boolean tail = false;
+        for (Path file : files) {
+            if (tail || baseSequenceOf(file) != sequence) {
+                // Depois da cauda nada foi confirmado: segmentos seguintes são descartados
+                log.warn("Discarding ledger segment {} after recovery point {}", file.getFileName(), sequence);
+                Files.delete(file);
+                continue;
+            }
+            LedgerSegment segment = LedgerSegment.open(directory, sequence, segmentRecords);
+            ByteBuffer buffer = segment.buffer();
+            while (sequence < segment.endSequence() && LedgerRecord.isValid(buffer, segment.offset(sequence), sequence)) {
+                int offset = segment.offset(sequence);
+                index(sequence, LedgerRecord.sourceAccountId(buffer, offset), LedgerRecord.destinationAccountId(buffer, offset));
+                lastTimestamp = LedgerRecord.timestamp(buffer, offset);
+                sequence++;
+            }
+            recovered.add(segment);
+            if (sequence < segment.endSequence()) {
+                segment.truncate(sequence);
+                tail = true;
+            }
+        }
+        segments = recovered.toArray(LedgerSegment[]::new);
+        nextSequence = sequence;
+        published = sequence;
+    }
+
+    private static long baseSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(LedgerSegment.PREFIX.length(), name.length() - LedgerSegment.SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
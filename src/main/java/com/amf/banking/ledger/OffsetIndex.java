@@ -0,0 +1,26 @@
+package com.amf.banking.ledger;
+
+import java.util.Arrays;
+
+// Sequências de uma conta em ordem crescente. Um único escritor (sob o lock de escrita do ledger) e leitores sem
+// bloqueio: o elemento é gravado antes de o tamanho volátil ser publicado, e o array só é trocado por uma cópia.
+final class OffsetIndex {
+
+    private volatile long[] sequences = new long[8];
+    private volatile int size;
+
+    void add(long sequence) {
+        long[] current = sequences;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+            sequences = current;
+        }
+        current[size] = sequence;
+        size = size + 1;
+    }
+
+    long[] snapshot() {
+        int length = size;
+        return Arrays.copyOf(sequences, length);
+    }
+}
@@ -0,0 +1,60 @@
+package com.amf.banking.ledger;
+
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.reactive.TransactionDocument;
+import com.amf.banking.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "banking.ledger.store", havingValue = "repository", matchIfMissing = true)
+public class RepositoryLedgerStore implements LedgerStore {
+
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    public Transaction append(Transaction transaction) {
+        return transactionRepository.save(transaction);
+    }
+
+    @Override
+    public Optional<TransactionDocument> findById(String id) {
+        return transactionRepository.findDocumentById(id);
+    }
+
+    @Override
+    public List<TransactionDocument> findStatement(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        return transactionRepository.findStatement(accountId, startDate, endDate);
+    }
+
+    @Override
+    public List<TransactionDocument> findAll() {
+        return transactionRepository.findAllDocuments();
+    }
+
+    // Paginação por _id (keyset): cada página é uma consulta indexada, sem skip
+    @Override
+    public void forEachPage(int pageSize, Consumer<List<TransactionDocument>> page) {
+        String afterId = null;
+        List<TransactionDocument> transactions;
+        do {
+            transactions = transactionRepository.findDocumentsAfter(afterId, pageSize);
+            if (!transactions.isEmpty()) {
+                page.accept(transactions);
+                afterId = transactions.get(transactions.size() - 1).getId();
+            }
+        } while (transactions.size() == pageSize);
+    }
+
+    @Override
+    public List<TransactionDocument> findChanges(String accountId, long sinceSequence, int limit) {
+        return transactionRepository.findChanges(accountId, sinceSequence, limit);
+    }
+}
@@ -0,0 +1,50 @@
+package com.amf.banking.logging;
+
+import com.amf.banking.ratelimit.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Amostragem dos logs do caminho de sucesso por endpoint: cada rota registra no máximo N requisições por segundo.
+// Rotas pouco usadas continuam com todos os logs; as quentes deixam de pagar formatação e I/O a cada chamada.
+public class LogSamplingInterceptor implements AsyncHandlerInterceptor {
+
+    static final String ENDPOINT_KEY = "endpoint";
+    static final String SAMPLED_KEY = "sampled";
+    static final String NOT_SAMPLED = "false";
+
+    private final RateLimiter sampler;
+
+    public LogSamplingInterceptor(RateLimiter sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Padrão da rota ("/api/v1/accounts/{id}"), não a URI: IDs diferentes caem no mesmo endpoint
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+
+        MDC.put(ENDPOINT_KEY, endpoint);
+        MDC.put(SAMPLED_KEY, String.valueOf(sampler.tryAcquire(endpoint) == 0));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        clear();
+    }
+
+    // API v2: a thread do servlet é liberada antes de o Flux terminar
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        clear();
+    }
+
+    private static void clear() {
+        MDC.remove(ENDPOINT_KEY);
+        MDC.remove(SAMPLED_KEY);
+    }
+}
@@ -0,0 +1,25 @@
+package com.amf.banking.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+// Descarta os logs INFO/DEBUG da aplicação em requisições fora da amostra (ver LogSamplingInterceptor).
+// Turbo filter: decide antes de o evento ser criado, sem formatar a mensagem. WARN e ERROR sempre passam.
+public class SampledLogTurboFilter extends TurboFilter {
+
+    private static final String APPLICATION_LOGGERS = "com.amf.banking.";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || !logger.getName().startsWith(APPLICATION_LOGGERS)) {
+            return FilterReply.NEUTRAL;
+        }
+        return LogSamplingInterceptor.NOT_SAMPLED.equals(MDC.get(LogSamplingInterceptor.SAMPLED_KEY))
+                ? FilterReply.DENY
+                : FilterReply.NEUTRAL;
+    }
+}
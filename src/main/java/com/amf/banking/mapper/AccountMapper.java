@@ -0,0 +1,81 @@
+package com.amf.banking.mapper;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Client;
+import com.amf.banking.model.readmodel.ClientPortfolio;
+import com.amf.banking.model.readmodel.PortfolioAccount;
+import com.amf.banking.model.reactive.AccountDocument;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountMapper {
+
+    public AccountDTO toDTO(Account account) {
+        AccountDTO.AccountDTOBuilder builder = AccountDTO.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .accountType(account.getAccountType())
+                .balance(account.getBalance())
+                .status(account.getStatus())
+                .createdAt(account.getCreatedAt())
+                .updatedAt(account.getUpdatedAt());
+
+        // Contas encerradas podem referenciar um cliente já removido
+        Client client = account.getClient();
+        if (client != null) {
+            builder.clientId(client.getId())
+                    .clientName(client.getFullName());
+        }
+
+        return builder.build();
+    }
+
+    // API v2: o cliente já vem resolvido pelo repositório reativo (pode ser null)
+    public AccountDTO toDTO(AccountDocument account, Client client) {
+        AccountDTO.AccountDTOBuilder builder = AccountDTO.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .accountType(account.getAccountType())
+                .balance(account.getBalance())
+                .status(account.getStatus())
+                .createdAt(account.getCreatedAt())
+                .updatedAt(account.getUpdatedAt());
+
+        if (client != null) {
+            builder.clientId(client.getId())
+                    .clientName(client.getFullName());
+        } else if (account.getClient() != null) {
+            builder.clientId(account.getClient().getId().toString());
+        }
+
+        return builder.build();
+    }
+
+    // Projeção da carteira: o cliente vem do documento da carteira, sem resolver @DBRef
+    public AccountDTO toDTO(PortfolioAccount account, ClientPortfolio portfolio) {
+        return AccountDTO.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .clientId(portfolio.getClientId())
+                .clientName(portfolio.getClientName())
+                .accountType(account.getAccountType())
+                .balance(account.getBalance())
+                .status(account.getStatus())
+                .createdAt(account.getCreatedAt())
+                .updatedAt(account.getUpdatedAt())
+                .build();
+    }
+
+    public PortfolioAccount toPortfolioAccount(Account account) {
+        return PortfolioAccount.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .accountType(account.getAccountType())
+                .balance(account.getBalance())
+                .status(account.getStatus())
+                .createdAt(account.getCreatedAt())
+                .updatedAt(account.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.amf.banking.mapper;
+
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.model.Client;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ClientMapper {
+
+    public ClientDTO toDTO(Client client) {
+        return ClientDTO.builder()
+                .id(client.getId())
+                .fullName(client.getFullName())
+                .cpf(client.getCpf())
+                .birthDate(client.getBirthDate())
+                .createdAt(client.getCreatedAt())
+                .updatedAt(client.getUpdatedAt())
+                .build();
+    }
+
+    public Client toEntity(ClientDTO clientDTO) {
+        return Client.builder()
+                .id(clientDTO.getId())
+                .fullName(clientDTO.getFullName())
+                .cpf(clientDTO.getCpf())
+                .birthDate(clientDTO.getBirthDate())
+                .createdAt(clientDTO.getCreatedAt())
+                .updatedAt(clientDTO.getUpdatedAt())
+                .build();
+    }
+}
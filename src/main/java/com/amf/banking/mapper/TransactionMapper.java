@@ -0,0 +1,72 @@
+package com.amf.banking.mapper;
+
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.readmodel.StatementRow;
+import com.amf.banking.model.reactive.TransactionDocument;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionMapper {
+
+    public TransactionDTO toDTO(Transaction transaction) {
+        return TransactionDTO.builder()
+                .id(transaction.getId())
+                .sourceAccountId(transaction.getSourceAccount().getId())
+                .sourceAccountNumber(transaction.getSourceAccount().getAccountNumber())
+                .destinationAccountId(transaction.getDestinationAccount().getId())
+                .destinationAccountNumber(transaction.getDestinationAccount().getAccountNumber())
+                .amount(transaction.getAmount())
+                .transactionType(transaction.getTransactionType())
+                .transactionDate(transaction.getTransactionDate())
+                .description(transaction.getDescription())
+                .build();
+    }
+
+    // API v2: os números de conta são resolvidos em lote pelo serviço reativo
+    public TransactionDTO toDTO(TransactionDocument transaction, String sourceAccountNumber, String destinationAccountNumber) {
+        return TransactionDTO.builder()
+                .id(transaction.getId())
+                .sourceAccountId(transaction.getSourceAccount().getId().toString())
+                .sourceAccountNumber(sourceAccountNumber)
+                .destinationAccountId(transaction.getDestinationAccount().getId().toString())
+                .destinationAccountNumber(destinationAccountNumber)
+                .amount(transaction.getAmount())
+                .transactionType(transaction.getTransactionType())
+                .transactionDate(transaction.getTransactionDate())
+                .description(transaction.getDescription())
+                .build();
+    }
+
+    // Projeção do extrato: os números de conta já estão na linha
+    public TransactionDTO toDTO(StatementRow row) {
+        return TransactionDTO.builder()
+                .id(row.getTransactionId())
+                .sourceAccountId(row.getSourceAccountId())
+                .sourceAccountNumber(row.getSourceAccountNumber())
+                .destinationAccountId(row.getDestinationAccountId())
+                .destinationAccountNumber(row.getDestinationAccountNumber())
+                .amount(row.getAmount())
+                .transactionType(row.getTransactionType())
+                .transactionDate(row.getTransactionDate())
+                .description(row.getDescription())
+                .build();
+    }
+
+    // Linha do extrato da conta accountId (origem ou destino da transação)
+    public StatementRow toStatementRow(TransactionDTO transaction, String accountId) {
+        return StatementRow.builder()
+                .id(StatementRow.id(transaction.getId(), accountId))
+                .accountId(accountId)
+                .transactionId(transaction.getId())
+                .sourceAccountId(transaction.getSourceAccountId())
+                .sourceAccountNumber(transaction.getSourceAccountNumber())
+                .destinationAccountId(transaction.getDestinationAccountId())
+                .destinationAccountNumber(transaction.getDestinationAccountNumber())
+                .amount(transaction.getAmount())
+                .transactionType(transaction.getTransactionType())
+                .transactionDate(transaction.getTransactionDate())
+                .description(transaction.getDescription())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.amf.banking.metrics;
+
+import com.amf.banking.exception.ConcurrentUpdateException;
+import com.amf.banking.exception.InvalidStoredAmountException;
+import com.amf.banking.exception.RateLimitExceededException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.exception.TransferRejectedException;
+import com.amf.banking.model.enums.TransferFailureReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Contadores de transferências (v1 e v2) por resultado e motivo de falha
+@Component
+public class TransferMetrics {
+
+    private static final String METRIC = "banking.transfers";
+
+    private final Counter succeeded;
+    private final Map<TransferFailureReason, Counter> failed = new EnumMap<>(TransferFailureReason.class);
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        this.succeeded = Counter.builder(METRIC)
+                .description("Transferências processadas")
+                .tag("outcome", "success")
+                .tag("reason", "none")
+                .register(meterRegistry);
+        for (TransferFailureReason reason : TransferFailureReason.values()) {
+            failed.put(reason, Counter.builder(METRIC)
+                    .description("Transferências processadas")
+                    .tag("outcome", "failure")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void recordSuccess() {
+        succeeded.increment();
+    }
+
+    public void recordFailure(Throwable error) {
+        failed.get(reasonOf(error)).increment();
+    }
+
+    // Também usado nos eventos JFR de transferência
+    public static TransferFailureReason reasonOf(Throwable error) {
+        if (error instanceof TransferRejectedException rejected) {
+            return rejected.getReason();
+        }
+        if (error instanceof ResourceNotFoundException) {
+            return TransferFailureReason.CONTA_NAO_ENCONTRADA;
+        }
+        if (error instanceof ConcurrentUpdateException) {
+            return TransferFailureReason.CONFLITO_CONCORRENTE;
+        }
+        if (error instanceof RateLimitExceededException) {
+            return TransferFailureReason.LIMITE_EXCEDIDO;
+        }
+        if (error instanceof InvalidStoredAmountException) {
+            return TransferFailureReason.VALOR_GRAVADO_INVALIDO;
+        }
+        // Money.toCents rejeita valores com mais de duas casas decimais
+        if (error instanceof IllegalArgumentException) {
+            return TransferFailureReason.VALOR_INVALIDO;
+        }
+        return TransferFailureReason.ERRO_INTERNO;
+    }
+}
@@ -1,5 +1,6 @@
 package com.amf.banking.model;
 
+import com.amf.banking.model.enums.AccountStatus;
 import com.amf.banking.model.enums.AccountType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,6 +36,13 @@ public class Account {
 
     private BigDecimal balance;
 
+    // Versão do último evento de saldo aplicado (modo event-sourced); nula para contas sem eventos
+    private Long balanceVersion;
+
+    private AccountStatus status;
+
+    private LocalDateTime closedAt;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -0,0 +1,48 @@
+package com.amf.banking.model;
+
+import com.amf.banking.model.enums.AccountEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Evento de saldo de uma conta (modo event-sourced). A versão é sequencial por conta e o índice único
+// impede que duas escritas concorrentes usem a mesma. ABERTURA define o saldo; CREDITO e DEBITO o alteram.
+// Cada transferência gera dois lançamentos (débito na origem, crédito no destino) com o saldo resultante,
+// de modo que o saldo em uma data é o balanceAfter do último lançamento até ela (índice account_occurred).
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "account_events")
+@CompoundIndexes({
+        @CompoundIndex(name = "account_version", def = "{'accountId': 1, 'version': 1}", unique = true),
+        @CompoundIndex(name = "account_occurred", def = "{'accountId': 1, 'occurredAt': -1, 'version': -1}")
+})
+public class AccountEvent {
+
+    @Id
+    private String id;
+
+    private String accountId;
+
+    private long version;
+
+    private AccountEventType type;
+
+    private BigDecimal amount;
+
+    // Saldo da conta após o lançamento; nulo em eventos gravados antes do saldo corrente
+    private BigDecimal balanceAfter;
+
+    private String transactionId;
+
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,37 @@
+package com.amf.banking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Saldo de uma conta após o evento de número version; occurredAt é a data desse evento
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "account_snapshots")
+@CompoundIndex(name = "account_version", def = "{'accountId': 1, 'version': -1}", unique = true)
+public class AccountSnapshot {
+
+    @Id
+    private String id;
+
+    private String accountId;
+
+    private long version;
+
+    private BigDecimal balance;
+
+    private LocalDateTime occurredAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
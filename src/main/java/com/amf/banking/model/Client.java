@@ -12,6 +12,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -23,6 +24,7 @@ public class Client {
     @Id
     private String id;
 
+    @Indexed
     private String fullName;
 
     @Indexed(unique = true)
@@ -30,6 +32,10 @@ public class Client {
 
     private LocalDate birthDate;
 
+    // Palavras do nome normalizadas (sem acento, minúsculas) para busca por prefixo
+    @Indexed
+    private List<String> searchTokens;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -0,0 +1,56 @@
+package com.amf.banking.model;
+
+import com.amf.banking.model.enums.DeletionJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "client_deletion_jobs")
+// No máximo um job ativo por cliente: dois DELETE simultâneos não criam dois jobs
+@CompoundIndex(name = "active_client", def = "{'clientId': 1}", unique = true,
+        partialFilter = "{'status': {'$in': ['PENDENTE', 'EM_ANDAMENTO', 'FALHOU']}}")
+public class ClientDeletionJob {
+
+    @Id
+    private String id;
+
+    private String clientId;
+
+    @Indexed
+    private DeletionJobStatus status;
+
+    private long accountsClosed;
+
+    private String lastError;
+
+    // Falhas seguidas; FALHOU volta a rodar em nextAttemptAt até o limite de tentativas (nulo: esgotado)
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    // Instância que reivindicou o job e até quando: vencido o prazo, outra instância pode retomá-lo
+    private String owner;
+
+    private LocalDateTime leaseUntil;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+}
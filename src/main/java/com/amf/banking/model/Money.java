@@ -0,0 +1,133 @@
+package com.amf.banking.model;
+
+import com.amf.banking.exception.InvalidStoredAmountException;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+
+// Valor monetário imutável em centavos. Os métodos estáticos operam sobre long e não alocam, para uso no
+// caminho crítico; a conversão para BigDecimal acontece só na fronteira (API e MongoDB).
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return ofCents(toCents(amount));
+    }
+
+    public static Money ofStored(BigDecimal amount) {
+        return ofCents(storedToCents(amount));
+    }
+
+    // Entrada da API: mais de duas casas decimais é erro do cliente
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Valor monetário é obrigatório");
+        }
+
+        BigDecimal normalized = amount;
+        if (normalized.scale() > SCALE) {
+            normalized = normalized.stripTrailingZeros();
+            if (normalized.scale() > SCALE) {
+                throw new IllegalArgumentException("Valor deve ter no máximo duas casas decimais: " + amount.toPlainString());
+            }
+        }
+
+        return exactCents(normalized, amount);
+    }
+
+    // Valores já gravados (saldos, eventos): mais de duas casas indica documento corrompido ou editado à mão.
+    // A operação falha em vez de arredondar, para o valor arredondado nunca ser gravado de volta
+    public static long storedToCents(BigDecimal amount) {
+        if (amount == null) {
+            throw new InvalidStoredAmountException("Valor monetário ausente no registro gravado");
+        }
+
+        try {
+            return toCents(amount);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidStoredAmountException("Valor monetário inválido no registro gravado: " + amount.toPlainString());
+        }
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long add(long cents, long otherCents) {
+        return Math.addExact(cents, otherCents);
+    }
+
+    public static long subtract(long cents, long otherCents) {
+        return Math.subtractExact(cents, otherCents);
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    // Serializado como número, igual aos campos BigDecimal das outras respostas
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(cents);
+    }
+
+    public Money plus(Money other) {
+        return ofCents(add(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(subtract(cents, other.cents));
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents));
+    }
+
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return cents < other.cents;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && cents == other.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private static long exactCents(BigDecimal normalized, BigDecimal amount) {
+        try {
+            return normalized.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor fora do intervalo suportado: " + amount.toPlainString());
+        }
+    }
+}
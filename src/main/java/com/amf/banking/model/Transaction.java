@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -18,6 +20,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "transactions")
+@CompoundIndexes({
+        @CompoundIndex(name = "source_sequence", def = "{'sourceAccount.$id': 1, 'sourceSequence': 1}"),
+        @CompoundIndex(name = "destination_sequence", def = "{'destinationAccount.$id': 1, 'destinationSequence': 1}")
+})
 public class Transaction {
 
     @Id
@@ -37,4 +43,9 @@ public class Transaction {
     private LocalDateTime transactionDate;
 
     private String description;
+
+    // Sequência da movimentação em cada conta (AccountSequenceRepository); nula em transações anteriores a ela
+    private Long sourceSequence;
+
+    private Long destinationSequence;
 }
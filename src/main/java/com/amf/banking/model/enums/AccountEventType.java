@@ -0,0 +1,7 @@
+package com.amf.banking.model.enums;
+
+public enum AccountEventType {
+    ABERTURA,
+    CREDITO,
+    DEBITO
+}
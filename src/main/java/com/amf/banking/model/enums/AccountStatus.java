@@ -0,0 +1,6 @@
+package com.amf.banking.model.enums;
+
+public enum AccountStatus {
+    ATIVA,
+    ENCERRADA
+}
@@ -0,0 +1,8 @@
+package com.amf.banking.model.enums;
+
+public enum DeletionJobStatus {
+    PENDENTE,
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU
+}
@@ -0,0 +1,15 @@
+package com.amf.banking.model.enums;
+
+public enum TransferFailureReason {
+    VALOR_INVALIDO,
+    DESCRICAO_INVALIDA,
+    CONTA_OBRIGATORIA,
+    MESMA_CONTA,
+    CONTA_ENCERRADA,
+    SALDO_INSUFICIENTE,
+    CONTA_NAO_ENCONTRADA,
+    LIMITE_EXCEDIDO,
+    CONFLITO_CONCORRENTE,
+    VALOR_GRAVADO_INVALIDO,
+    ERRO_INTERNO
+}
@@ -0,0 +1,41 @@
+package com.amf.banking.model.reactive;
+
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.AccountType;
+import com.mongodb.DBRef;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Visão reativa da coleção "accounts". O driver reativo não resolve @DBRef,
+// então a referência ao cliente é lida como DBRef bruto.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "accounts")
+public class AccountDocument {
+
+    @Id
+    private String id;
+
+    private String accountNumber;
+
+    private DBRef client;
+
+    private AccountType accountType;
+
+    private BigDecimal balance;
+
+    private AccountStatus status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
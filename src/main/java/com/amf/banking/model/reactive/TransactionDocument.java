@@ -0,0 +1,50 @@
+package com.amf.banking.model.reactive;
+
+import com.amf.banking.model.enums.TransactionType;
+import com.mongodb.DBRef;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Visão reativa da coleção "transactions", com as contas como DBRef bruto (ver AccountDocument)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "transactions")
+public class TransactionDocument {
+
+    @Id
+    private String id;
+
+    private DBRef sourceAccount;
+
+    private DBRef destinationAccount;
+
+    private BigDecimal amount;
+
+    private TransactionType transactionType;
+
+    @CreatedDate
+    private LocalDateTime transactionDate;
+
+    private String description;
+
+    private Long sourceSequence;
+
+    private Long destinationSequence;
+
+    // Sequência da movimentação na conta informada (origem ou destino)
+    public Long sequenceOf(String accountId) {
+        return sourceAccount != null && accountId.equals(sourceAccount.getId().toString())
+                ? sourceSequence
+                : destinationSequence;
+    }
+}
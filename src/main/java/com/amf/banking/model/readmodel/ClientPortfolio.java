@@ -0,0 +1,35 @@
+package com.amf.banking.model.readmodel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Projeção da carteira de um cliente (ID = ID do cliente): contas não encerradas já com o nome do cliente,
+// sem o @DBRef de Account. Serve as listagens de contas por cliente e de todas as contas.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "client_portfolios")
+public class ClientPortfolio {
+
+    @Id
+    private String clientId;
+
+    private String clientName;
+
+    private List<PortfolioAccount> accounts;
+
+    private int accountCount;
+
+    private BigDecimal totalBalance;
+
+    private LocalDateTime projectedAt;
+}
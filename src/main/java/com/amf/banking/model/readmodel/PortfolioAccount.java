@@ -0,0 +1,32 @@
+package com.amf.banking.model.readmodel;
+
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.AccountType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioAccount {
+
+    private String id;
+
+    private String accountNumber;
+
+    private AccountType accountType;
+
+    private BigDecimal balance;
+
+    private AccountStatus status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
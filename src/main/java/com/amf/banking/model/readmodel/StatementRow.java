@@ -0,0 +1,51 @@
+package com.amf.banking.model.readmodel;
+
+import com.amf.banking.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Projeção do extrato: uma linha por conta envolvida na transação, já com os números das contas.
+// O ID (transação:conta) torna a projeção idempotente; o índice cobre o filtro e a ordem do extrato.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "statement_rows")
+@CompoundIndex(name = "account_date", def = "{'accountId': 1, 'transactionDate': 1}")
+public class StatementRow {
+
+    @Id
+    private String id;
+
+    private String accountId;
+
+    private String transactionId;
+
+    private String sourceAccountId;
+
+    private String sourceAccountNumber;
+
+    private String destinationAccountId;
+
+    private String destinationAccountNumber;
+
+    private BigDecimal amount;
+
+    private TransactionType transactionType;
+
+    private LocalDateTime transactionDate;
+
+    private String description;
+
+    public static String id(String transactionId, String accountId) {
+        return transactionId + ":" + accountId;
+    }
+}
@@ -0,0 +1,155 @@
+package com.amf.banking.profiling;
+
+import com.amf.banking.dto.JfrRecordingDTO;
+import com.amf.banking.exception.BusinessException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Gravações JFR sob demanda no próprio processo, sem reiniciar nem anexar ferramentas externas.
+// Só as configurações embarcadas no JDK são aceitas: "default" (~1% de overhead) e "profile" (~2%).
+// Todas as operações usam o mesmo lock: um delete não fecha a gravação no meio de um dump ou stop.
+@Slf4j
+@Component
+public class JfrRecorder {
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final Duration maxDuration;
+    private final int maxRunning;
+    private final int maxRetained;
+    private final Map<Long, Recording> recordings = new TreeMap<>();
+
+    public JfrRecorder(
+            @Value("${banking.jfr.max-duration-seconds:600}") long maxDurationSeconds,
+            @Value("${banking.jfr.max-running:1}") int maxRunning,
+            @Value("${banking.jfr.max-retained:5}") int maxRetained) {
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxRunning = maxRunning;
+        this.maxRetained = maxRetained;
+    }
+
+    public synchronized JfrRecordingDTO start(long durationSeconds, String settings) {
+        if (durationSeconds < 1 || durationSeconds > maxDuration.toSeconds()) {
+            throw new BusinessException("Duração deve estar entre 1 e " + maxDuration.toSeconds() + " segundos");
+        }
+        if (!SETTINGS.contains(settings)) {
+            throw new BusinessException("Configuração JFR inválida: use " + String.join(" ou ", SETTINGS.stream().sorted().toList()));
+        }
+        long running = recordings.values().stream().filter(r -> r.getState() == RecordingState.RUNNING).count();
+        if (running >= maxRunning) {
+            throw new BusinessException("Limite de gravações JFR simultâneas atingido");
+        }
+        evictFinished();
+
+        Recording recording = new Recording(configuration(settings));
+        recording.setName("banking-" + settings);
+        recording.setDuration(Duration.ofSeconds(durationSeconds));
+        recording.setToDisk(true);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+
+        log.info("Started JFR recording {} with settings {} for {} s", recording.getId(), settings, durationSeconds);
+        return toDTO(recording, settings);
+    }
+
+    public synchronized List<JfrRecordingDTO> list() {
+        return recordings.values().stream()
+                .map(recording -> toDTO(recording, settingsOf(recording)))
+                .toList();
+    }
+
+    public synchronized JfrRecordingDTO stop(long id) {
+        Recording recording = find(id);
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped JFR recording {}", id);
+        }
+        return toDTO(recording, settingsOf(recording));
+    }
+
+    // Em andamento, o arquivo traz o que foi gravado até agora. O arquivo temporário some ao fechar o stream.
+    public synchronized InputStream download(long id) {
+        Recording recording = find(id);
+        try {
+            Path file = Files.createTempFile("banking-jfr-" + id + "-", ".jfr");
+            recording.dump(file);
+            return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao exportar gravação JFR " + id, e);
+        }
+    }
+
+    public synchronized void delete(long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            throw new ResourceNotFoundException("Gravação JFR não encontrada com ID: " + id);
+        }
+        recording.close();
+        log.info("Deleted JFR recording {}", id);
+    }
+
+    private Recording find(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            throw new ResourceNotFoundException("Gravação JFR não encontrada com ID: " + id);
+        }
+        return recording;
+    }
+
+    // Mantém no máximo maxRetained gravações: fecha as encerradas mais antigas (liberando o disco)
+    private void evictFinished() {
+        recordings.values().stream()
+                .filter(recording -> recording.getState() != RecordingState.RUNNING)
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .limit(Math.max(0, recordings.size() - maxRetained + 1))
+                .toList()
+                .forEach(recording -> {
+                    recordings.remove(recording.getId());
+                    recording.close();
+                });
+    }
+
+    private static Configuration configuration(String settings) {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Configuração JFR indisponível: " + settings, e);
+        }
+    }
+
+    private static String settingsOf(Recording recording) {
+        return recording.getName().substring("banking-".length());
+    }
+
+    private static JfrRecordingDTO toDTO(Recording recording, String settings) {
+        return JfrRecordingDTO.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .settings(settings)
+                .durationSeconds(recording.getDuration() == null ? 0 : recording.getDuration().toSeconds())
+                .startTime(recording.getStartTime())
+                .stopTime(recording.getStopTime())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.amf.banking.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+// Evento JFR do extrato v1: consulta das transações e resolução dos números de conta
+@Name("com.amf.banking.StatementQuery")
+@Label("Consulta de extrato")
+@Category("AMF Banking")
+@Description("Extrato v1 com conta, período e quantidade de linhas")
+@StackTrace(false)
+@Setter
+public class StatementQueryEvent extends Event {
+
+    @Label("Conta")
+    private String accountId;
+
+    @Label("Com período")
+    private boolean dateRange;
+
+    @Label("Linhas")
+    private int rowCount;
+}
@@ -0,0 +1,34 @@
+package com.amf.banking.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+// Evento JFR de TransactionService.createTransfer; a duração cobre validação, leituras e gravações
+@Name("com.amf.banking.Transfer")
+@Label("Transferência")
+@Category("AMF Banking")
+@Description("Transferência v1 com contas, valor e resultado")
+@StackTrace(false)
+@Setter
+public class TransferEvent extends Event {
+
+    @Label("Conta origem")
+    private String sourceAccountId;
+
+    @Label("Conta destino")
+    private String destinationAccountId;
+
+    @Label("Valor")
+    private double amount;
+
+    @Label("Sucesso")
+    private boolean success;
+
+    @Label("Motivo da falha")
+    private String failureReason;
+}
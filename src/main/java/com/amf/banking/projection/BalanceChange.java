@@ -0,0 +1,18 @@
+package com.amf.banking.projection;
+
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Money;
+
+// Uma das contas de uma transferência, com o saldo já atualizado e a sequência da movimentação nessa conta
+public record BalanceChange(String accountId, String accountNumber, String clientId, Money balance, Long sequence) {
+
+    public static BalanceChange of(Account account, Money balance, Long sequence) {
+        String clientId = account.getClient() == null ? null : account.getClient().getId();
+        return new BalanceChange(account.getId(), account.getAccountNumber(), clientId, balance, sequence);
+    }
+
+    // Saldo lido do documento, e não calculado pela transferência
+    public static BalanceChange of(Account account, Long sequence) {
+        return of(account, Money.ofStored(account.getBalance()), sequence);
+    }
+}
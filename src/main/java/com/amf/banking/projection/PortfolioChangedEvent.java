@@ -0,0 +1,9 @@
+package com.amf.banking.projection;
+
+// Contas ou dados de um cliente mudaram fora de uma transferência: abertura, encerramento, cadastro, exclusão
+public record PortfolioChangedEvent(String clientId, long publishedNanos) {
+
+    public static PortfolioChangedEvent of(String clientId) {
+        return new PortfolioChangedEvent(clientId, System.nanoTime());
+    }
+}
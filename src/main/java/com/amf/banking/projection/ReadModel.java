@@ -0,0 +1,72 @@
+package com.amf.banking.projection;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.mapper.AccountMapper;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.model.readmodel.ClientPortfolio;
+import com.amf.banking.repository.ClientPortfolioRepository;
+import com.amf.banking.repository.StatementRowRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// Lado de leitura (CQRS): extrato e listagens de contas servidos pelas projeções de ReadModelProjector,
+// uma consulta indexada por leitura e sem @DBRef. As projeções são atualizadas de forma assíncrona, então
+// uma leitura logo após a escrita pode não refleti-la ainda (ver banking.projection.lag).
+@Component
+public class ReadModel {
+
+    private final StatementRowRepository statementRowRepository;
+    private final ClientPortfolioRepository clientPortfolioRepository;
+    private final TransactionMapper transactionMapper;
+    private final AccountMapper accountMapper;
+    private final boolean enabled;
+
+    public ReadModel(
+            StatementRowRepository statementRowRepository,
+            ClientPortfolioRepository clientPortfolioRepository,
+            TransactionMapper transactionMapper,
+            AccountMapper accountMapper,
+            @Value("${banking.projections.enabled:false}") boolean enabled) {
+        this.statementRowRepository = statementRowRepository;
+        this.clientPortfolioRepository = clientPortfolioRepository;
+        this.transactionMapper = transactionMapper;
+        this.accountMapper = accountMapper;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Datas nulas: extrato completo, em ordem cronológica
+    public List<TransactionDTO> statement(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        return (startDate != null && endDate != null
+                ? statementRowRepository.findByAccountIdAndDateRange(accountId, startDate, endDate)
+                : statementRowRepository.findByAccountIdOrderByTransactionDateAsc(accountId))
+                .stream()
+                .map(transactionMapper::toDTO)
+                .toList();
+    }
+
+    // Vazio quando a carteira ainda não foi projetada (ou o cliente não existe)
+    public Optional<List<AccountDTO>> accountsOfClient(String clientId) {
+        return clientPortfolioRepository.findById(clientId).map(this::accounts);
+    }
+
+    public List<AccountDTO> allAccounts() {
+        return clientPortfolioRepository.findAll().stream()
+                .flatMap(portfolio -> accounts(portfolio).stream())
+                .toList();
+    }
+
+    private List<AccountDTO> accounts(ClientPortfolio portfolio) {
+        return portfolio.getAccounts().stream()
+                .map(account -> accountMapper.toDTO(account, portfolio))
+                .toList();
+    }
+}
@@ -0,0 +1,361 @@
+package com.amf.banking.projection;
+
+import com.amf.banking.dto.ProjectionRebuildDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.exception.BusinessException;
+import com.amf.banking.ledger.LedgerStore;
+import com.amf.banking.mapper.AccountMapper;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Client;
+import com.amf.banking.model.Money;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.readmodel.ClientPortfolio;
+import com.amf.banking.model.readmodel.StatementRow;
+import com.amf.banking.model.reactive.TransactionDocument;
+import com.amf.banking.repository.AccountRepository;
+import com.amf.banking.repository.ClientPortfolioRepository;
+import com.amf.banking.repository.ClientRepository;
+import com.amf.banking.repository.StatementRowRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Atualiza as projeções de leitura (extrato e carteiras) a partir dos eventos de escrita, fora da thread da
+// requisição. Uma única thread aplica os eventos em ordem; com a fila cheia, quem publica espera vaga
+// (backpressure sem descarte e sem furar a ordem). As projeções são idempotentes: reaplicar um evento não
+// duplica linhas, então uma falha é repetida com backoff; esgotadas as tentativas, a projeção fica marcada
+// como suja (banking.projection.dirty) até a próxima reconstrução.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banking.projections.enabled", havingValue = "true")
+public class ReadModelProjector {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final StatementRowRepository statementRowRepository;
+    private final ClientPortfolioRepository clientPortfolioRepository;
+    private final ClientRepository clientRepository;
+    private final AccountRepository accountRepository;
+    private final LedgerStore ledgerStore;
+    private final TransactionMapper transactionMapper;
+    private final AccountMapper accountMapper;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retries;
+    private final int maxAttempts;
+    private final long retryDelayMs;
+    // Algum evento não foi projetado e só uma reconstrução corrige
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // Carteiras com atualização já enfileirada -> instante da escrita mais antiga ainda não projetada
+    private final Map<String, Long> pendingPortfolios = new ConcurrentHashMap<>();
+
+    private final Timer statementLag;
+    private final Timer portfolioLag;
+    private final Counter failures;
+
+    public ReadModelProjector(
+            StatementRowRepository statementRowRepository,
+            ClientPortfolioRepository clientPortfolioRepository,
+            ClientRepository clientRepository,
+            AccountRepository accountRepository,
+            LedgerStore ledgerStore,
+            TransactionMapper transactionMapper,
+            AccountMapper accountMapper,
+            MeterRegistry meterRegistry,
+            @Value("${banking.projections.queue-capacity:10000}") int queueCapacity,
+            @Value("${banking.projections.max-attempts:5}") int maxAttempts,
+            @Value("${banking.projections.retry-delay-ms:500}") long retryDelayMs) {
+        this.statementRowRepository = statementRowRepository;
+        this.clientPortfolioRepository = clientPortfolioRepository;
+        this.clientRepository = clientRepository;
+        this.accountRepository = accountRepository;
+        this.ledgerStore = ledgerStore;
+        this.transactionMapper = transactionMapper;
+        this.accountMapper = accountMapper;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMs = retryDelayMs;
+
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "read-model-projector");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                blockUntilQueued());
+        this.retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-model-projector-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.statementLag = lag(meterRegistry, "statement");
+        this.portfolioLag = lag(meterRegistry, "portfolio");
+        this.failures = Counter.builder("banking.projection.failures")
+                .description("Eventos que falharam ao atualizar as projeções de leitura")
+                .register(meterRegistry);
+        Gauge.builder("banking.projection.pending", executor, e -> e.getQueue().size())
+                .description("Eventos de escrita aguardando projeção")
+                .register(meterRegistry);
+        Gauge.builder("banking.projection.dirty", dirty, flag -> flag.get() ? 1 : 0)
+                .description("1 quando algum evento não foi projetado; zera na reconstrução das projeções")
+                .register(meterRegistry);
+    }
+
+    // Com a fila cheia, a thread que publica espera vaga: executar o evento nela (CallerRunsPolicy) o aplicaria
+    // antes dos que já estão na fila. Com o projetor parado ou a espera interrompida, o evento é descartado e
+    // a projeção fica suja
+    private RejectedExecutionHandler blockUntilQueued() {
+        return (runnable, pool) -> {
+            if (pool.isShutdown()) {
+                markDirty("projector stopped");
+                return;
+            }
+            try {
+                pool.getQueue().put(runnable);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                markDirty("interrupted while waiting for queue space");
+            }
+        };
+    }
+
+    private static Timer lag(MeterRegistry meterRegistry, String projection) {
+        return Timer.builder("banking.projection.lag")
+                .description("Tempo entre a escrita e a atualização da projeção de leitura")
+                .tag("projection", projection)
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void on(TransferCompletedEvent event) {
+        executor.execute(() -> projectStatement(event, 1));
+        event.clientIds().forEach(clientId -> schedulePortfolio(clientId, event.publishedNanos()));
+    }
+
+    @EventListener
+    public void on(PortfolioChangedEvent event) {
+        schedulePortfolio(event.clientId(), event.publishedNanos());
+    }
+
+    // A fila e a marca de sujeira vivem só na memória: eventos enfileirados ou desistidos antes de uma parada
+    // (inclusive queda do processo) não deixam rastro. Por isso toda subida reconstrói as projeções a partir do
+    // ledger, na frente da fila: eventos publicados durante a reconstrução são aplicados depois dela
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        executor.execute(() -> {
+            try {
+                rebuildNow();
+            } catch (RuntimeException e) {
+                failures.increment();
+                dirty.set(true);
+                log.error("Startup read model rebuild failed", e);
+            }
+        });
+    }
+
+    // Executa na fila do projetor para não intercalar com eventos em andamento
+    public ProjectionRebuildDTO rebuild() {
+        try {
+            return executor.submit(this::rebuildNow).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Reconstrução das projeções interrompida");
+        } catch (ExecutionException e) {
+            failures.increment();
+            dirty.set(true);
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException("Projetor de leitura parado");
+        }
+    }
+
+    // A fila tem uma única thread: quando esta tarefa roda, tudo o que foi enfileirado antes já foi aplicado
+    void awaitIdle() throws InterruptedException, ExecutionException {
+        executor.submit(() -> {
+        }).get();
+    }
+
+    boolean isDirty() {
+        return dirty.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        retries.shutdownNow();
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Read model projector stopped with {} pending events", executor.shutdownNow().size());
+        }
+    }
+
+    private void projectStatement(TransferCompletedEvent event, int attempt) {
+        TransactionDTO transaction = event.transaction();
+        try {
+            statementRowRepository.saveAll(List.of(
+                    transactionMapper.toStatementRow(transaction, transaction.getSourceAccountId()),
+                    transactionMapper.toStatementRow(transaction, transaction.getDestinationAccountId())));
+            statementLag.record(System.nanoTime() - event.publishedNanos(), TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            retry("statement rows of transaction " + transaction.getId(), attempt, e,
+                    () -> executor.execute(() -> projectStatement(event, attempt + 1)));
+        }
+    }
+
+    // Várias escritas do mesmo cliente antes da projeção viram uma única releitura da carteira
+    private void schedulePortfolio(String clientId, long publishedNanos) {
+        schedulePortfolio(clientId, publishedNanos, 1);
+    }
+
+    private void schedulePortfolio(String clientId, long publishedNanos, int attempt) {
+        if (pendingPortfolios.putIfAbsent(clientId, publishedNanos) == null) {
+            executor.execute(() -> projectPortfolio(clientId, attempt));
+        }
+    }
+
+    private void projectPortfolio(String clientId, int attempt) {
+        Long publishedNanos = pendingPortfolios.remove(clientId);
+        try {
+            clientRepository.findById(clientId).ifPresentOrElse(
+                    client -> clientPortfolioRepository.save(portfolio(client,
+                            accountRepository.findByClientIdAndStatusNot(clientId, AccountStatus.ENCERRADA))),
+                    () -> clientPortfolioRepository.deleteById(clientId));
+            if (publishedNanos != null) {
+                portfolioLag.record(System.nanoTime() - publishedNanos, TimeUnit.NANOSECONDS);
+            }
+        } catch (RuntimeException e) {
+            // A carteira é relida por inteiro: se outra escrita já a enfileirou, a nova tentativa se junta a ela
+            long since = publishedNanos != null ? publishedNanos : System.nanoTime();
+            retry("portfolio of client " + clientId, attempt, e,
+                    () -> schedulePortfolio(clientId, since, attempt + 1));
+        }
+    }
+
+    // Reenfileira depois de retryDelayMs * 2^(attempt-1), pela thread de retentativas: a do projetor nunca
+    // espera vaga na própria fila
+    private void retry(String projection, int attempt, RuntimeException error, Runnable requeue) {
+        failures.increment();
+        if (attempt >= maxAttempts) {
+            log.error("Giving up projecting {} after {} attempts; rebuild the projections to repair it",
+                    projection, attempt, error);
+            dirty.set(true);
+            return;
+        }
+        long delayMs = retryDelayMs << Math.min(attempt - 1, 20);
+        log.warn("Failed to project {} (attempt {}), retrying in {} ms", projection, attempt, delayMs, error);
+        try {
+            retries.schedule(requeue, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            markDirty("projector stopped");
+        }
+    }
+
+    private void markDirty(String reason) {
+        dirty.set(true);
+        log.warn("Read model event dropped ({}); projections are stale until rebuilt", reason);
+    }
+
+    // O extrato é montado em uma área de preparo e trocado no fim, lendo o ledger em páginas: as leituras
+    // continuam vendo a projeção anterior e a memória usada não cresce com o tamanho do ledger
+    private ProjectionRebuildDTO rebuildNow() {
+        long start = System.nanoTime();
+        log.info("Rebuilding read model projections");
+        // Falhas a partir daqui voltam a sujar a projeção; as anteriores são cobertas por esta reconstrução
+        dirty.set(false);
+
+        statementRowRepository.beginRebuild();
+        long[] statementRows = {0};
+        ledgerStore.forEachPage(BATCH_SIZE, transactions -> {
+            Map<String, String> accountNumbers = accountNumbers(transactions);
+            List<StatementRow> rows = new ArrayList<>(transactions.size() * 2);
+            for (TransactionDocument document : transactions) {
+                TransactionDTO transaction = transactionMapper.toDTO(document,
+                        accountNumbers.get(document.getSourceAccount().getId().toString()),
+                        accountNumbers.get(document.getDestinationAccount().getId().toString()));
+                rows.add(transactionMapper.toStatementRow(transaction, transaction.getSourceAccountId()));
+                rows.add(transactionMapper.toStatementRow(transaction, transaction.getDestinationAccountId()));
+            }
+            statementRowRepository.insertStaged(rows);
+            statementRows[0] += rows.size();
+        });
+        statementRowRepository.completeRebuild();
+
+        Map<String, List<Account>> accountsByClient = accountRepository.findByStatusNot(AccountStatus.ENCERRADA).stream()
+                .filter(account -> account.getClient() != null)
+                .collect(Collectors.groupingBy(account -> account.getClient().getId()));
+        List<ClientPortfolio> portfolios = clientRepository.findAll().stream()
+                .map(client -> portfolio(client, accountsByClient.getOrDefault(client.getId(), List.of())))
+                .toList();
+        // Grava por cima (o ID é o do cliente) e só depois remove carteiras de clientes que não existem mais
+        clientPortfolioRepository.saveAll(portfolios);
+        Set<String> clientIds = portfolios.stream().map(ClientPortfolio::getClientId).collect(Collectors.toSet());
+        clientPortfolioRepository.deleteAllById(clientPortfolioRepository.findAll().stream()
+                .map(ClientPortfolio::getClientId)
+                .filter(clientId -> !clientIds.contains(clientId))
+                .toList());
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Read model rebuilt: {} statement rows, {} portfolios in {} ms", statementRows[0], portfolios.size(), durationMs);
+        return ProjectionRebuildDTO.builder()
+                .statementRows(statementRows[0])
+                .portfolios(portfolios.size())
+                .durationMs(durationMs)
+                .build();
+    }
+
+    // Números de conta de uma página do ledger, consultados em lotes
+    private Map<String, String> accountNumbers(List<TransactionDocument> transactions) {
+        Set<String> accountIds = new HashSet<>();
+        transactions.forEach(transaction -> {
+            accountIds.add(transaction.getSourceAccount().getId().toString());
+            accountIds.add(transaction.getDestinationAccount().getId().toString());
+        });
+
+        Map<String, String> accountNumbers = new HashMap<>();
+        List<String> ids = new ArrayList<>(accountIds);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            accountNumbers.putAll(accountRepository.findAccountNumbers(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()))));
+        }
+        return accountNumbers;
+    }
+
+    private ClientPortfolio portfolio(Client client, List<Account> accounts) {
+        return ClientPortfolio.builder()
+                .clientId(client.getId())
+                .clientName(client.getFullName())
+                .accounts(accounts.stream().map(accountMapper::toPortfolioAccount).toList())
+                .accountCount(accounts.size())
+                .totalBalance(accounts.stream().map(account -> Money.ofStored(account.getBalance()))
+                        .reduce(Money.ZERO, Money::plus).toBigDecimal())
+                .projectedAt(LocalDateTime.now())
+                .build();
+    }
+}
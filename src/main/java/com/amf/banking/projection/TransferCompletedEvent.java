@@ -0,0 +1,21 @@
+package com.amf.banking.projection;
+
+import com.amf.banking.dto.TransactionDTO;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Transferência gravada (v1 ou v2). clientIds são os donos das duas contas, cujas carteiras mudaram de saldo;
+// publishedNanos marca a gravação para a métrica de atraso das projeções.
+public record TransferCompletedEvent(TransactionDTO transaction, BalanceChange source, BalanceChange destination,
+                                     Set<String> clientIds, long publishedNanos) {
+
+    public static TransferCompletedEvent of(TransactionDTO transaction, BalanceChange source, BalanceChange destination) {
+        Set<String> clientIds = Stream.of(source.clientId(), destination.clientId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        return new TransferCompletedEvent(transaction, source, destination, clientIds, System.nanoTime());
+    }
+}
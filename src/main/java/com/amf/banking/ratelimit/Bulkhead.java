@@ -0,0 +1,68 @@
+package com.amf.banking.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Limita chamadas simultâneas de uma classe de tráfego (leitura/escrita), para que uma não esgote a outra
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore semaphore;
+    private final Counter permitted;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Bulkhead " + name + " precisa de pelo menos uma permissão");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.semaphore = new Semaphore(maxConcurrent);
+        this.permitted = calls(meterRegistry, "permitted");
+        this.rejected = calls(meterRegistry, "rejected");
+        Gauge.builder("banking.bulkhead.active", this, Bulkhead::getActiveCalls)
+                .description("Chamadas em andamento no bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean tryAcquire() {
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        (acquired ? permitted : rejected).increment();
+        return acquired;
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrent - semaphore.availablePermits();
+    }
+
+    private Counter calls(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("banking.bulkhead.calls")
+                .description("Chamadas avaliadas pelo bulkhead")
+                .tag("bulkhead", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,100 @@
+package com.amf.banking.ratelimit;
+
+import com.amf.banking.exception.RateLimitExceededException;
+import com.amf.banking.web.FilterSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Set;
+
+// Aplica, antes de chegar aos controllers, o token bucket por cliente da API (só em escritas e transferências)
+// e o bulkhead de leitura/escrita
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private final RateLimiter clientRateLimiter;
+    private final Bulkhead readBulkhead;
+    private final Bulkhead writeBulkhead;
+    private final ObjectMapper objectMapper;
+    private final Set<String> trustedClientIds;
+
+    public RateLimitFilter(RateLimiter clientRateLimiter, Bulkhead readBulkhead, Bulkhead writeBulkhead,
+                           ObjectMapper objectMapper, Set<String> trustedClientIds) {
+        this.clientRateLimiter = clientRateLimiter;
+        this.readBulkhead = readBulkhead;
+        this.writeBulkhead = writeBulkhead;
+        this.objectMapper = objectMapper;
+        this.trustedClientIds = Set.copyOf(trustedClientIds);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/api/swagger-ui");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // Leituras ficam só com o bulkhead e o controle de admissão: clientes atrás do mesmo endereço (NAT) não
+        // disputam o balde para consultar saldo
+        boolean read = FilterSupport.isRead(request);
+        if (!read) {
+            String clientKey = clientKey(request);
+            long wait = clientRateLimiter.tryAcquire(clientKey);
+            if (wait > 0) {
+                log.warn("Rate limit exceeded for API client {} on {} {}", clientKey, request.getMethod(), request.getRequestURI());
+                FilterSupport.writeError(request, response, objectMapper, HttpStatus.TOO_MANY_REQUESTS,
+                        "Limite de requisições excedido para o cliente da API",
+                        RateLimitExceededException.toRetryAfterSeconds(wait));
+                return;
+            }
+        }
+
+        Bulkhead bulkhead = read ? readBulkhead : writeBulkhead;
+        if (!bulkhead.tryAcquire()) {
+            log.warn("Bulkhead {} full, rejecting {} {}", bulkhead.getName(), request.getMethod(), request.getRequestURI());
+            FilterSupport.writeError(request, response, objectMapper, HttpStatus.TOO_MANY_REQUESTS,
+                    "Muitas requisições simultâneas, tente novamente em instantes", 1);
+            return;
+        }
+
+        boolean chainCompleted = false;
+        try {
+            filterChain.doFilter(request, response);
+            chainCompleted = true;
+        } finally {
+            if (chainCompleted && !FilterSupport.isEventStream(request)) {
+                FilterSupport.releaseWhenComplete(request, bulkhead::release);
+            } else {
+                bulkhead.release();
+            }
+        }
+    }
+
+    // O cabeçalho é escolhido pelo cliente: trocar de valor a cada requisição furaria o limite. Vale o usuário
+    // autenticado; o cabeçalho só para integradores da lista configurada; nos demais casos, o endereço de origem.
+    // Atrás de um balanceador, getRemoteAddr() já é o do cliente: o Tomcat aplica o X-Forwarded-For vindo dos
+    // proxies de server.tomcat.remoteip.internal-proxies (server.forward-headers-strategy=native)
+    private String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        if (clientId != null && trustedClientIds.contains(clientId.trim())) {
+            return "client:" + clientId.trim();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+}
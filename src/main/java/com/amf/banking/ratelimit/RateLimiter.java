@@ -0,0 +1,105 @@
+package com.amf.banking.ratelimit;
+
+import com.amf.banking.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Um token bucket por chave (cliente da API, conta origem...), em memória
+public class RateLimiter {
+
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+    private final boolean enabled;
+    private final long capacity;
+    private final double refillPerSecond;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastEviction = new AtomicLong();
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public RateLimiter(String name, boolean enabled, long capacity, double refillPerSecond, int maxKeys,
+                       MeterRegistry meterRegistry) {
+        this(name, enabled, capacity, refillPerSecond, maxKeys, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(String name, boolean enabled, long capacity, double refillPerSecond, int maxKeys,
+                MeterRegistry meterRegistry, LongSupplier clock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacidade e reposição do limitador " + name + " devem ser positivas");
+        }
+        this.name = name;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.lastEviction.set(clock.getAsLong());
+        this.allowed = requests(meterRegistry, "allowed");
+        this.rejected = requests(meterRegistry, "rejected");
+        meterRegistry.gauge("banking.ratelimit.keys", Tags.of("limiter", name),
+                buckets, Map::size);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Retorna 0 se a requisição pode seguir; caso contrário, os nanos até o próximo token
+    public long tryAcquire(String key) {
+        if (!enabled) {
+            return 0;
+        }
+
+        long now = clock.getAsLong();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evictFullBuckets(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerSecond, now));
+        }
+
+        long wait = bucket.tryConsume(now);
+        (wait == 0 ? allowed : rejected).increment();
+        return wait;
+    }
+
+    public void acquire(String key) {
+        long wait = tryAcquire(key);
+        if (wait > 0) {
+            throw new RateLimitExceededException("Limite de requisições excedido, tente novamente em instantes", name, wait);
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    // Baldes cheios valem o mesmo que um balde novo. No máximo uma varredura por segundo,
+    // para que uma rajada de chaves novas não vire O(n) por requisição.
+    private void evictFullBuckets(long now) {
+        long last = lastEviction.get();
+        if (now - last < EVICTION_INTERVAL_NANOS || !lastEviction.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("banking.ratelimit.requests")
+                .description("Requisições avaliadas pelo token bucket")
+                .tag("limiter", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
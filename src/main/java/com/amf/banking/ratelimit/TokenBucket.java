@@ -0,0 +1,38 @@
+package com.amf.banking.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket no formato GCRA: o estado inteiro é o "instante teórico de chegada" (TAT),
+// então consumir um token é um único compareAndSet, sem locks nem thread de reposição.
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long capacity, double refillPerSecond, long now) {
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = Math.multiplyExact(capacity, emissionIntervalNanos);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    // Retorna 0 se um token foi consumido; caso contrário, quantos nanos faltam para o próximo
+    long tryConsume(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long wait = next - burstNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Balde cheio: equivale a um balde novo, pode ser descartado
+    boolean isFull(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+}
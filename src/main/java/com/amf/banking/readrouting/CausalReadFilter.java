@@ -0,0 +1,88 @@
+package com.amf.banking.readrouting;
+
+import com.amf.banking.web.FilterSupport;
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonTimestamp;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Abre uma sessão causalmente consistente por requisição da API v1. A sessão parte do maior entre o tempo de
+// operação da última escrita vista por este nó e o do cabeçalho X-Read-After: um secundário só responde depois
+// de alcançar esse ponto, então quem acabou de escrever lê a própria escrita, aqui ou em outro nó. Leituras
+// coalescidas pelo single-flight rodam na sessão de outra requisição e não respeitam esse piso: com o cabeçalho
+// ou em secundário, o serviço consulta por conta própria (ReadRouting.requiresOwnRead). Feeds SSE ficam de fora,
+// para não prender uma sessão durante toda a conexão
+@Slf4j
+public class CausalReadFilter extends OncePerRequestFilter {
+
+    public static final String READ_AFTER_HEADER = "X-Read-After";
+
+    private static final ClientSessionOptions CAUSAL = ClientSessionOptions.builder()
+            .causallyConsistent(true)
+            .build();
+
+    private final MongoDatabaseFactory mongoDatabaseFactory;
+    private final AtomicReference<BsonTimestamp> lastWrite = new AtomicReference<>();
+
+    public CausalReadFilter(MongoDatabaseFactory mongoDatabaseFactory) {
+        this.mongoDatabaseFactory = mongoDatabaseFactory;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return FilterSupport.isEventStream(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ClientSession session = mongoDatabaseFactory.getSession(CAUSAL);
+        try {
+            BsonTimestamp readAfter = parse(request.getHeader(READ_AFTER_HEADER));
+            advance(session, lastWrite.get());
+            advance(session, readAfter);
+            ReadRouting.bind(session, readAfter != null);
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRouting.unbind();
+            BsonTimestamp operationTime = session.getOperationTime();
+            if (operationTime != null && !FilterSupport.isRead(request)) {
+                lastWrite.accumulateAndGet(operationTime, CausalReadFilter::latest);
+            }
+            session.close();
+        }
+    }
+
+    private static void advance(ClientSession session, BsonTimestamp operationTime) {
+        if (operationTime != null) {
+            session.advanceOperationTime(operationTime);
+        }
+    }
+
+    // Valor inválido não impede a requisição: a leitura só perde a garantia pedida pelo cliente
+    private static BsonTimestamp parse(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return new BsonTimestamp(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring invalid {} header: {}", READ_AFTER_HEADER, header);
+            return null;
+        }
+    }
+
+    private static BsonTimestamp latest(BsonTimestamp current, BsonTimestamp candidate) {
+        return current == null || candidate.compareTo(current) > 0 ? candidate : current;
+    }
+}
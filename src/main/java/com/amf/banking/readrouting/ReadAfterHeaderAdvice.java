@@ -0,0 +1,36 @@
+package com.amf.banking.readrouting;
+
+import com.mongodb.client.ClientSession;
+import org.bson.BsonTimestamp;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Devolve em X-Read-After o tempo de operação da sessão: repassado na próxima requisição, garante a leitura
+// das próprias escritas mesmo que ela caia em outro nó da aplicação
+@RestControllerAdvice
+@ConditionalOnProperty(name = "banking.read-routing.enabled", havingValue = "true")
+public class ReadAfterHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        ClientSession session = ReadRouting.currentSession();
+        BsonTimestamp operationTime = session == null ? null : session.getOperationTime();
+        if (operationTime != null) {
+            response.getHeaders().set(CausalReadFilter.READ_AFTER_HEADER, String.valueOf(operationTime.getValue()));
+        }
+        return body;
+    }
+}
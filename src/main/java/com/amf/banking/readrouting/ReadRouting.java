@@ -0,0 +1,56 @@
+package com.amf.banking.readrouting;
+
+import com.mongodb.client.ClientSession;
+
+// Estado do roteamento de leituras na thread da requisição: a sessão causal aberta pelo CausalReadFilter e o
+// destino decidido pelo primeiro método de serviço chamado (os aninhados herdam a decisão)
+public final class ReadRouting {
+
+    enum Target { PRIMARY, SECONDARY }
+
+    private static final ThreadLocal<ClientSession> SESSION = new ThreadLocal<>();
+    private static final ThreadLocal<Target> TARGET = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> READ_AFTER = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static ClientSession currentSession() {
+        return SESSION.get();
+    }
+
+    // Resultados compartilhados (single-flight) vêm da sessão de outra requisição, sem o piso causal desta:
+    // quem pediu X-Read-After ou lê de um secundário precisa fazer a própria consulta
+    public static boolean requiresOwnRead() {
+        return Boolean.TRUE.equals(READ_AFTER.get()) || onSecondary();
+    }
+
+    static void bind(ClientSession session, boolean readAfter) {
+        SESSION.set(session);
+        if (readAfter) {
+            READ_AFTER.set(Boolean.TRUE);
+        }
+    }
+
+    static void unbind() {
+        SESSION.remove();
+        TARGET.remove();
+        READ_AFTER.remove();
+    }
+
+    static Target target() {
+        return TARGET.get();
+    }
+
+    static void target(Target target) {
+        if (target == null) {
+            TARGET.remove();
+        } else {
+            TARGET.set(target);
+        }
+    }
+
+    static boolean onSecondary() {
+        return TARGET.get() == Target.SECONDARY;
+    }
+}
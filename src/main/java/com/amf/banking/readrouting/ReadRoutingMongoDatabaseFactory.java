@@ -0,0 +1,63 @@
+package com.amf.banking.readrouting;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+// Entrega ao MongoTemplate o banco ligado à sessão causal da requisição e, nas leituras liberadas pelo
+// SecondaryReadAspect, com a read preference dos secundários e read concern majority. Fora de uma requisição
+// da API (Vaadin, jobs, projeções) tudo segue para o primário, como antes
+public class ReadRoutingMongoDatabaseFactory implements MongoDatabaseFactory {
+
+    private final MongoDatabaseFactory delegate;
+    private final ReadPreference secondaryReadPreference;
+
+    public ReadRoutingMongoDatabaseFactory(MongoDatabaseFactory delegate, ReadPreference secondaryReadPreference) {
+        this.delegate = delegate;
+        this.secondaryReadPreference = secondaryReadPreference;
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() throws DataAccessException {
+        return route(currentFactory().getMongoDatabase());
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+        return route(currentFactory().getMongoDatabase(dbName));
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    // Sessões explícitas (MongoTemplate.withSession) ficam com quem as abriu
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return delegate.withSession(session);
+    }
+
+    private MongoDatabaseFactory currentFactory() {
+        ClientSession session = ReadRouting.currentSession();
+        return session == null ? delegate : delegate.withSession(session);
+    }
+
+    // O proxy da sessão também envolve o banco derivado, então a sessão segue junto com a read preference
+    private MongoDatabase route(MongoDatabase database) {
+        if (!ReadRouting.onSecondary()) {
+            return database;
+        }
+        return database.withReadPreference(secondaryReadPreference).withReadConcern(ReadConcern.MAJORITY);
+    }
+}
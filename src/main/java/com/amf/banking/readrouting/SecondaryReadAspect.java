@@ -0,0 +1,55 @@
+package com.amf.banking.readrouting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+
+// Marca como leitura em secundário os métodos @Transactional(readOnly = true) de AccountService, ClientService
+// e TransactionService chamados por uma requisição da API. Quem chega primeiro decide: as leituras feitas
+// dentro de uma escrita (ex.: contas lidas por createTransfer) continuam no primário
+@Aspect
+public class SecondaryReadAspect {
+
+    private final Counter secondaryReads;
+
+    public SecondaryReadAspect(MeterRegistry meterRegistry) {
+        this.secondaryReads = Counter.builder("banking.read-routing.secondary-reads")
+                .description("Chamadas de serviço somente leitura encaminhadas aos secundários")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(public * com.amf.banking.service.AccountService.*(..)) "
+            + "|| execution(public * com.amf.banking.service.ClientService.*(..)) "
+            + "|| execution(public * com.amf.banking.service.TransactionService.*(..))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ReadRouting.currentSession() == null || ReadRouting.target() != null) {
+            return joinPoint.proceed();
+        }
+
+        ReadRouting.Target target = isReadOnly(joinPoint) ? ReadRouting.Target.SECONDARY : ReadRouting.Target.PRIMARY;
+        if (target == ReadRouting.Target.SECONDARY) {
+            secondaryReads.increment();
+        }
+        ReadRouting.target(target);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadRouting.target(null);
+        }
+    }
+
+    private static boolean isReadOnly(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Method targetMethod = AopUtils.getMostSpecificMethod(method, joinPoint.getTarget().getClass());
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(targetMethod, Transactional.class);
+        return transactional != null && transactional.readOnly();
+    }
+}
@@ -0,0 +1,14 @@
+package com.amf.banking.repository;
+
+import java.math.BigDecimal;
+
+public interface AccountBalanceRepository {
+
+    // Grava só saldo, versão do saldo e updatedAt, e só se o saldo gravado ainda for o lido e a conta não
+    // estiver encerrada: um save() da conta inteira desfaria saldos gravados por transferências concorrentes
+    // (v1 ou v2) e reabriria contas encerradas no meio. Devolve false se a condição não bateu
+    boolean compareAndSetBalance(String accountId, BigDecimal expected, BigDecimal balance, Long balanceVersion);
+
+    // Compensação: soma ao saldo atual, qualquer que seja, em vez de exigir o valor gravado pela própria operação
+    void addToBalance(String accountId, long cents);
+}
@@ -0,0 +1,58 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.exception.ConcurrentUpdateException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Money;
+import com.amf.banking.model.enums.AccountStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class AccountBalanceRepositoryImpl implements AccountBalanceRepository {
+
+    private static final int MAX_ADD_ATTEMPTS = 20;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean compareAndSetBalance(String accountId, BigDecimal expected, BigDecimal balance, Long balanceVersion) {
+        Query query = new Query(Criteria.where("_id").is(accountId)
+                .and("balance").is(expected)
+                .and("status").ne(AccountStatus.ENCERRADA));
+        Update update = new Update()
+                .set("balance", balance)
+                .set("updatedAt", LocalDateTime.now());
+        if (balanceVersion != null) {
+            update.set("balanceVersion", balanceVersion);
+        }
+        return mongoTemplate.updateFirst(query, update, Account.class).getMatchedCount() == 1;
+    }
+
+    // O saldo é persistido como texto (BigDecimal), então não há $inc: relê e tenta de novo até a condição bater
+    @Override
+    public void addToBalance(String accountId, long cents) {
+        for (int attempt = 0; attempt < MAX_ADD_ATTEMPTS; attempt++) {
+            Query byId = new Query(Criteria.where("_id").is(accountId));
+            byId.fields().include("balance");
+            Account current = mongoTemplate.findOne(byId, Account.class);
+            if (current == null) {
+                throw new ResourceNotFoundException("Conta não encontrada com ID: " + accountId);
+            }
+            Query query = new Query(Criteria.where("_id").is(accountId).and("balance").is(current.getBalance()));
+            Update update = new Update()
+                    .set("balance", Money.toBigDecimal(Money.add(Money.storedToCents(current.getBalance()), cents)))
+                    .set("updatedAt", LocalDateTime.now());
+            if (mongoTemplate.updateFirst(query, update, Account.class).getMatchedCount() == 1) {
+                return;
+            }
+        }
+        throw new ConcurrentUpdateException("Saldo da conta alterado por outra operação; tente novamente");
+    }
+}
@@ -0,0 +1,11 @@
+package com.amf.banking.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface AccountClosureRepository {
+
+    // Encerra as contas alterando só status e closedAt: um save() da conta inteira desfaria saldos gravados
+    // por transferências concorrentes. Devolve quantas contas foram de fato encerradas
+    long closeAccounts(Collection<String> accountIds, LocalDateTime closedAt);
+}
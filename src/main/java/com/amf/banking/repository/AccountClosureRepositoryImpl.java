@@ -0,0 +1,28 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.Account;
+import com.amf.banking.model.enums.AccountStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class AccountClosureRepositoryImpl implements AccountClosureRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long closeAccounts(Collection<String> accountIds, LocalDateTime closedAt) {
+        Query query = new Query(Criteria.where("_id").in(accountIds).and("status").ne(AccountStatus.ENCERRADA));
+        Update update = new Update()
+                .set("status", AccountStatus.ENCERRADA)
+                .set("closedAt", closedAt)
+                .set("updatedAt", closedAt);
+        return mongoTemplate.updateMulti(query, update, Account.class).getModifiedCount();
+    }
+}
@@ -0,0 +1,23 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.AccountEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountEventRepository extends MongoRepository<AccountEvent, String> {
+    List<AccountEvent> findByAccountIdAndVersionGreaterThanOrderByVersionAsc(String accountId, long version);
+    List<AccountEvent> findByAccountIdAndVersionGreaterThanAndOccurredAtLessThanEqualOrderByVersionAsc(
+            String accountId, long version, LocalDateTime occurredAt);
+    Optional<AccountEvent> findFirstByAccountIdAndOccurredAtLessThanEqualOrderByOccurredAtDescVersionDesc(
+            String accountId, LocalDateTime occurredAt);
+
+    // Intervalo fechado, como o extrato
+    @Query(value = "{ 'accountId': ?0, 'occurredAt': { $gte: ?1, $lte: ?2 } }", sort = "{ 'version': 1 }")
+    List<AccountEvent> findByAccountIdAndDateRange(String accountId, LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -0,0 +1,9 @@
+package com.amf.banking.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface AccountNumberRepository {
+    // ID da conta -> número da conta; IDs inexistentes ficam fora do mapa
+    Map<String, String> findAccountNumbers(Collection<String> accountIds);
+}
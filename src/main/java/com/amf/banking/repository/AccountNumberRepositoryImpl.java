@@ -0,0 +1,39 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.reactive.AccountDocument;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class AccountNumberRepositoryImpl implements AccountNumberRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Map<String, String> findAccountNumbers(Collection<String> accountIds) {
+        List<ObjectId> ids = accountIds.stream()
+                .filter(ObjectId::isValid)
+                .map(ObjectId::new)
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        // Uma única consulta, só com o número da conta (sem resolver o DBRef do cliente)
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().include("accountNumber");
+
+        Map<String, String> numbers = new HashMap<>();
+        mongoTemplate.find(query, AccountDocument.class)
+                .forEach(account -> numbers.put(account.getId(), account.getAccountNumber()));
+        return numbers;
+    }
+}
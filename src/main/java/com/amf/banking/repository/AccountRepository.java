@@ -1,6 +1,8 @@
 package com.amf.banking.repository;
 
 import com.amf.banking.model.Account;
+import com.amf.banking.model.enums.AccountStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,8 +10,12 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends MongoRepository<Account, String> {
+public interface AccountRepository extends MongoRepository<Account, String>, AccountNumberRepository,
+        AccountSequenceRepository, AccountClosureRepository, AccountBalanceRepository {
     Optional<Account> findByAccountNumber(String accountNumber);
     List<Account> findByClientId(String clientId);
     boolean existsByAccountNumber(String accountNumber);
+    List<Account> findByStatusNot(AccountStatus status);
+    List<Account> findByClientIdAndStatusNot(String clientId, AccountStatus status);
+    List<Account> findByClientIdAndStatusNot(String clientId, AccountStatus status, Pageable pageable);
 }
@@ -0,0 +1,21 @@
+package com.amf.banking.repository;
+
+import java.util.Set;
+
+public interface AccountSequenceRepository {
+
+    // Contadores à parte de "accounts": o save() da conta regrava o documento inteiro e desfaria o $inc
+    String COLLECTION = "account_sequences";
+
+    // Sequências anuladas, guardadas no próprio contador da conta
+    String VOIDED_FIELD = "voided";
+
+    // Próxima sequência de movimentação da conta (1, 2, 3...), atribuída de forma atômica
+    long nextMovementSequence(String accountId);
+
+    // Sequência reservada por uma transferência que falhou antes de gravar a transação: uma lacuna definitiva,
+    // que a leitura das movimentações pode pular sem esperar
+    void voidMovementSequence(String accountId, long sequence);
+
+    Set<Long> findVoidedSequences(String accountId);
+}
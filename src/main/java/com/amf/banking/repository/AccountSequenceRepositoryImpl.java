@@ -0,0 +1,50 @@
+package com.amf.banking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class AccountSequenceRepositoryImpl implements AccountSequenceRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long nextMovementSequence(String accountId) {
+        // findAndModify com $inc e upsert: uma ida ao banco, sem corrida entre leitura e escrita
+        Document counter = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(accountId)),
+                new Update().inc("value", 1L),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class,
+                COLLECTION);
+        return counter.get("value", Number.class).longValue();
+    }
+
+    // Falhas depois da reserva são raras: o array de anuladas no contador fica pequeno
+    @Override
+    public void voidMovementSequence(String accountId, long sequence) {
+        mongoTemplate.upsert(
+                new Query(Criteria.where("_id").is(accountId)),
+                new Update().addToSet(VOIDED_FIELD, sequence),
+                COLLECTION);
+    }
+
+    @Override
+    public Set<Long> findVoidedSequences(String accountId) {
+        Document counter = mongoTemplate.findById(accountId, Document.class, COLLECTION);
+        Set<Long> voided = new HashSet<>();
+        if (counter != null) {
+            counter.getList(VOIDED_FIELD, Number.class, List.of()).forEach(sequence -> voided.add(sequence.longValue()));
+        }
+        return voided;
+    }
+}
@@ -0,0 +1,15 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.AccountSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface AccountSnapshotRepository extends MongoRepository<AccountSnapshot, String> {
+    Optional<AccountSnapshot> findFirstByAccountIdOrderByVersionDesc(String accountId);
+    Optional<AccountSnapshot> findFirstByAccountIdAndOccurredAtLessThanEqualOrderByVersionDesc(
+            String accountId, LocalDateTime occurredAt);
+}
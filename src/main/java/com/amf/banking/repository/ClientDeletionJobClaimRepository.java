@@ -0,0 +1,16 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.ClientDeletionJob;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ClientDeletionJobClaimRepository {
+
+    // Reivindica atomicamente o job mais antigo que pode rodar (PENDENTE, EM_ANDAMENTO com prazo vencido ou
+    // FALHOU com nova tentativa vencida): duas instâncias nunca recebem o mesmo job
+    Optional<ClientDeletionJob> claimNext(String owner, LocalDateTime now, LocalDateTime leaseUntil);
+
+    // Grava o job só se ele ainda pertencer a owner; false: o prazo venceu e outra instância o retomou
+    boolean saveClaimed(ClientDeletionJob job, String owner);
+}
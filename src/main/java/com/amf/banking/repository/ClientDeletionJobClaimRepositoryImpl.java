@@ -0,0 +1,44 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.ClientDeletionJob;
+import com.amf.banking.model.enums.DeletionJobStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ClientDeletionJobClaimRepositoryImpl implements ClientDeletionJobClaimRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<ClientDeletionJob> claimNext(String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        // Sem leaseUntil (jobs anteriores ao prazo) conta como vencido
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("status").is(DeletionJobStatus.PENDENTE),
+                Criteria.where("status").is(DeletionJobStatus.EM_ANDAMENTO).and("leaseUntil").not().gt(now),
+                Criteria.where("status").is(DeletionJobStatus.FALHOU).and("nextAttemptAt").lte(now)))
+                .with(Sort.by("createdAt"));
+        Update update = new Update()
+                .set("status", DeletionJobStatus.EM_ANDAMENTO)
+                .set("owner", owner)
+                .set("leaseUntil", leaseUntil)
+                .set("updatedAt", now)
+                .unset("nextAttemptAt");
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), ClientDeletionJob.class));
+    }
+
+    @Override
+    public boolean saveClaimed(ClientDeletionJob job, String owner) {
+        Query query = new Query(Criteria.where("_id").is(job.getId()).and("owner").is(owner));
+        return mongoTemplate.findAndReplace(query, job) != null;
+    }
+}
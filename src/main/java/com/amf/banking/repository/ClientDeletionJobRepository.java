@@ -0,0 +1,15 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.ClientDeletionJob;
+import com.amf.banking.model.enums.DeletionJobStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface ClientDeletionJobRepository extends MongoRepository<ClientDeletionJob, String>,
+        ClientDeletionJobClaimRepository {
+    Optional<ClientDeletionJob> findFirstByClientIdAndStatusIn(String clientId, Collection<DeletionJobStatus> statuses);
+}
@@ -0,0 +1,9 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.readmodel.ClientPortfolio;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClientPortfolioRepository extends MongoRepository<ClientPortfolio, String> {
+}
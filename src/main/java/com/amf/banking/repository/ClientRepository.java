@@ -1,13 +1,19 @@
 package com.amf.banking.repository;
 
 import com.amf.banking.model.Client;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface ClientRepository extends MongoRepository<Client, String> {
+public interface ClientRepository extends MongoRepository<Client, String>, ClientSearchRepository {
     Optional<Client> findByCpf(String cpf);
     boolean existsByCpf(String cpf);
+    Slice<Client> findBySearchTokensIsNull(Pageable pageable);
+
+    // Slice: busca pageSize + 1 documentos, sem o count de findAll(Pageable)
+    Slice<Client> findAllBy(Pageable pageable);
 }
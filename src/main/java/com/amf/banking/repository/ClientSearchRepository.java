@@ -0,0 +1,11 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.Client;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public interface ClientSearchRepository {
+    Slice<Client> searchByTokenPrefixes(List<String> tokenPrefixes, Pageable pageable);
+}
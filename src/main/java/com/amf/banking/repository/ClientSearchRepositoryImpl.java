@@ -0,0 +1,40 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+public class ClientSearchRepositoryImpl implements ClientSearchRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Slice<Client> searchByTokenPrefixes(List<String> tokenPrefixes, Pageable pageable) {
+        // Regex ancorada no início ("^joa") permite que o MongoDB use o índice de searchTokens. Sem ordenação
+        // no pageable, a página sai direto do índice (IXSCAN + FETCH, sem SORT)
+        List<Pattern> patterns = tokenPrefixes.stream()
+                .map(prefix -> Pattern.compile("^" + Pattern.quote(prefix)))
+                .toList();
+
+        Query query = new Query(Criteria.where("searchTokens").all(patterns))
+                .with(pageable.getSort())
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1);
+
+        List<Client> clients = mongoTemplate.find(query, Client.class);
+
+        boolean hasNext = clients.size() > pageable.getPageSize();
+        List<Client> content = hasNext ? clients.subList(0, pageable.getPageSize()) : clients;
+
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
@@ -0,0 +1,16 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.readmodel.StatementRow;
+
+import java.util.List;
+
+public interface StatementRowRebuildRepository {
+
+    // Reconstrução sem janela vazia: as linhas vão para uma área de preparo e só substituem as atuais em
+    // completeRebuild(); até lá, as leituras do extrato continuam vendo a projeção anterior
+    void beginRebuild();
+
+    void insertStaged(List<StatementRow> rows);
+
+    void completeRebuild();
+}
@@ -0,0 +1,46 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.readmodel.StatementRow;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StatementRowRebuildRepositoryImpl implements StatementRowRebuildRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void beginRebuild() {
+        String staging = stagingCollection();
+        mongoTemplate.dropCollection(staging);
+        // Os índices de StatementRow são criados antes da carga e acompanham a coleção no rename
+        IndexOperations indexOps = mongoTemplate.indexOps(staging);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(StatementRow.class)
+                .forEach(indexOps::ensureIndex);
+    }
+
+    @Override
+    public void insertStaged(List<StatementRow> rows) {
+        mongoTemplate.insert(rows, stagingCollection());
+    }
+
+    // renameCollection com dropTarget troca a coleção de uma vez no servidor
+    @Override
+    public void completeRebuild() {
+        String collection = mongoTemplate.getCollectionName(StatementRow.class);
+        mongoTemplate.getCollection(stagingCollection()).renameCollection(
+                new MongoNamespace(mongoTemplate.getDb().getName(), collection),
+                new RenameCollectionOptions().dropTarget(true));
+    }
+
+    private String stagingCollection() {
+        return mongoTemplate.getCollectionName(StatementRow.class) + "_rebuild";
+    }
+}
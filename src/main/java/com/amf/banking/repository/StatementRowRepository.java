@@ -0,0 +1,18 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.readmodel.StatementRow;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StatementRowRepository extends MongoRepository<StatementRow, String>, StatementRowRebuildRepository {
+    List<StatementRow> findByAccountIdOrderByTransactionDateAsc(String accountId);
+
+    // Intervalo fechado, como o extrato lido do ledger
+    @Query(value = "{ 'accountId': ?0, 'transactionDate': { $gte: ?1, $lte: ?2 } }", sort = "{ 'transactionDate': 1 }")
+    List<StatementRow> findByAccountIdAndDateRange(String accountId, LocalDateTime startDate, LocalDateTime endDate);
+}
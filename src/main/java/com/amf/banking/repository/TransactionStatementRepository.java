@@ -0,0 +1,23 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.reactive.TransactionDocument;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransactionStatementRepository {
+    // Datas nulas: extrato completo
+    List<TransactionDocument> findStatement(String accountId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Contas como DBRef bruto: os números são resolvidos em lote por quem chama
+    Optional<TransactionDocument> findDocumentById(String id);
+
+    List<TransactionDocument> findAllDocuments();
+
+    // Até limit transações com _id maior que afterId (nulo: desde o começo), em ordem de _id
+    List<TransactionDocument> findDocumentsAfter(String afterId, int limit);
+
+    // Até limit movimentações da conta com sequência maior que sinceSequence, em ordem de sequência
+    List<TransactionDocument> findChanges(String accountId, long sinceSequence, int limit);
+}
@@ -0,0 +1,81 @@
+package com.amf.banking.repository;
+
+import com.amf.banking.model.reactive.TransactionDocument;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class TransactionStatementRepositoryImpl implements TransactionStatementRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<TransactionDocument> findStatement(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (!ObjectId.isValid(accountId)) {
+            return List.of();
+        }
+
+        // Lê as contas como DBRef bruto: nenhuma consulta extra por transação
+        ObjectId id = new ObjectId(accountId);
+        Criteria criteria = new Criteria().orOperator(
+                Criteria.where("sourceAccount.$id").is(id),
+                Criteria.where("destinationAccount.$id").is(id));
+        if (startDate != null && endDate != null) {
+            criteria = criteria.and("transactionDate").gte(startDate).lte(endDate);
+        }
+
+        Query query = new Query(criteria).with(Sort.by("transactionDate"));
+        return mongoTemplate.find(query, TransactionDocument.class);
+    }
+
+    @Override
+    public List<TransactionDocument> findChanges(String accountId, long sinceSequence, int limit) {
+        if (!ObjectId.isValid(accountId)) {
+            return List.of();
+        }
+
+        // Uma consulta por lado da transação, cada uma pelo seu índice (conta + sequência), intercaladas aqui
+        ObjectId id = new ObjectId(accountId);
+        List<TransactionDocument> changes = new ArrayList<>(
+                changes(id, "sourceAccount.$id", "sourceSequence", sinceSequence, limit));
+        changes.addAll(changes(id, "destinationAccount.$id", "destinationSequence", sinceSequence, limit));
+        changes.sort(Comparator.comparing(transaction -> transaction.sequenceOf(accountId)));
+        return changes.size() > limit ? changes.subList(0, limit) : changes;
+    }
+
+    private List<TransactionDocument> changes(ObjectId accountId, String accountField, String sequenceField,
+                                              long sinceSequence, int limit) {
+        Query query = new Query(Criteria.where(accountField).is(accountId).and(sequenceField).gt(sinceSequence))
+                .with(Sort.by(sequenceField))
+                .limit(limit);
+        return mongoTemplate.find(query, TransactionDocument.class);
+    }
+
+    @Override
+    public Optional<TransactionDocument> findDocumentById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, TransactionDocument.class));
+    }
+
+    @Override
+    public List<TransactionDocument> findAllDocuments() {
+        return mongoTemplate.findAll(TransactionDocument.class);
+    }
+
+    @Override
+    public List<TransactionDocument> findDocumentsAfter(String afterId, int limit) {
+        Query query = afterId == null
+                ? new Query()
+                : Query.query(Criteria.where("_id").gt(new ObjectId(afterId)));
+        return mongoTemplate.find(query.with(Sort.by("_id")).limit(limit), TransactionDocument.class);
+    }
+}
@@ -0,0 +1,77 @@
+package com.amf.banking.repository.inmemory;
+
+import com.amf.banking.model.AccountEvent;
+import com.amf.banking.repository.AccountEventRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryAccountEventRepository extends InMemoryRepository<AccountEvent> implements AccountEventRepository {
+
+    private final VersionIndex byAccountAndVersion = new VersionIndex();
+
+    public InMemoryAccountEventRepository() {
+        super(AccountEvent::getId, AccountEvent::setId);
+    }
+
+    @Override
+    public List<AccountEvent> findByAccountIdAndVersionGreaterThanOrderByVersionAsc(String accountId, long version) {
+        return resolve(byAccountAndVersion.after(accountId, version)).toList();
+    }
+
+    @Override
+    public List<AccountEvent> findByAccountIdAndVersionGreaterThanAndOccurredAtLessThanEqualOrderByVersionAsc(
+            String accountId, long version, LocalDateTime occurredAt) {
+        return resolve(byAccountAndVersion.after(accountId, version))
+                .filter(event -> !event.getOccurredAt().isAfter(occurredAt))
+                .toList();
+    }
+
+    // Em cada conta as versões crescem junto com a data, então a maior versão até a data é a mais recente
+    @Override
+    public Optional<AccountEvent> findFirstByAccountIdAndOccurredAtLessThanEqualOrderByOccurredAtDescVersionDesc(
+            String accountId, LocalDateTime occurredAt) {
+        return resolve(byAccountAndVersion.descending(accountId))
+                .filter(event -> !event.getOccurredAt().isAfter(occurredAt))
+                .findFirst();
+    }
+
+    @Override
+    public List<AccountEvent> findByAccountIdAndDateRange(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        return resolve(byAccountAndVersion.after(accountId, 0))
+                .filter(event -> !event.getOccurredAt().isBefore(startDate) && !event.getOccurredAt().isAfter(endDate))
+                .toList();
+    }
+
+    @Override
+    protected void checkUnique(String id, AccountEvent event) {
+        if (byAccountAndVersion.conflicts(id, event.getAccountId(), event.getVersion())) {
+            throw new DuplicateKeyException("Versão " + event.getVersion() + " já registrada para a conta " + event.getAccountId());
+        }
+    }
+
+    @Override
+    protected void stamp(AccountEvent event, boolean isNew, LocalDateTime now) {
+    }
+
+    @Override
+    protected void index(String id, AccountEvent event) {
+        byAccountAndVersion.put(id, event.getAccountId(), event.getVersion());
+    }
+
+    @Override
+    protected void unindex(String id) {
+        byAccountAndVersion.remove(id);
+    }
+
+    @Override
+    protected void clearIndexes() {
+        byAccountAndVersion.clear();
+    }
+}
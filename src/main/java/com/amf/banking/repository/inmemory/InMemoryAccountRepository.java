@@ -0,0 +1,163 @@
+package com.amf.banking.repository.inmemory;
+
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Money;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.repository.AccountRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryAccountRepository extends InMemoryRepository<Account> implements AccountRepository {
+
+    private final SecondaryIndex<String> byAccountNumber = new SecondaryIndex<>();
+    private final SecondaryIndex<String> byClientId = new SecondaryIndex<>();
+    private final Map<String, AtomicLong> movementSequences = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> voidedSequences = new ConcurrentHashMap<>();
+
+    public InMemoryAccountRepository() {
+        super(Account::getId, Account::setId);
+    }
+
+    @Override
+    public Optional<Account> findByAccountNumber(String accountNumber) {
+        return byAccountNumber.first(accountNumber).flatMap(this::findById);
+    }
+
+    @Override
+    public List<Account> findByClientId(String clientId) {
+        return resolve(byClientId.get(clientId)).toList();
+    }
+
+    @Override
+    public boolean existsByAccountNumber(String accountNumber) {
+        return !byAccountNumber.get(accountNumber).isEmpty();
+    }
+
+    @Override
+    public List<Account> findByStatusNot(AccountStatus status) {
+        return findAll().stream()
+                .filter(account -> account.getStatus() != status)
+                .toList();
+    }
+
+    @Override
+    public List<Account> findByClientIdAndStatusNot(String clientId, AccountStatus status) {
+        return resolve(byClientId.get(clientId))
+                .filter(account -> account.getStatus() != status)
+                .toList();
+    }
+
+    @Override
+    public List<Account> findByClientIdAndStatusNot(String clientId, AccountStatus status, Pageable pageable) {
+        return page(resolve(byClientId.get(clientId)).filter(account -> account.getStatus() != status), pageable);
+    }
+
+    @Override
+    public Map<String, String> findAccountNumbers(Collection<String> accountIds) {
+        Map<String, String> numbers = new HashMap<>();
+        accountIds.forEach(id -> findById(id).ifPresent(account -> numbers.put(id, account.getAccountNumber())));
+        return numbers;
+    }
+
+    @Override
+    public long nextMovementSequence(String accountId) {
+        return movementSequences.computeIfAbsent(accountId, ignored -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void voidMovementSequence(String accountId, long sequence) {
+        voidedSequences.computeIfAbsent(accountId, ignored -> ConcurrentHashMap.newKeySet()).add(sequence);
+    }
+
+    @Override
+    public Set<Long> findVoidedSequences(String accountId) {
+        return Set.copyOf(voidedSequences.getOrDefault(accountId, Set.of()));
+    }
+
+    @Override
+    public long closeAccounts(Collection<String> accountIds, LocalDateTime closedAt) {
+        return accountIds.stream()
+                .filter(id -> update(id, account -> {
+                    if (account.getStatus() == AccountStatus.ENCERRADA) {
+                        return false;
+                    }
+                    account.setStatus(AccountStatus.ENCERRADA);
+                    account.setClosedAt(closedAt);
+                    return true;
+                }))
+                .count();
+    }
+
+    @Override
+    public boolean compareAndSetBalance(String accountId, BigDecimal expected, BigDecimal balance, Long balanceVersion) {
+        return update(accountId, account -> {
+            if (account.getStatus() == AccountStatus.ENCERRADA || !account.getBalance().equals(expected)) {
+                return false;
+            }
+            account.setBalance(balance);
+            if (balanceVersion != null) {
+                account.setBalanceVersion(balanceVersion);
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public void addToBalance(String accountId, long cents) {
+        if (!update(accountId, account -> {
+            account.setBalance(Money.toBigDecimal(Money.add(Money.storedToCents(account.getBalance()), cents)));
+            return true;
+        })) {
+            throw new ResourceNotFoundException("Conta não encontrada com ID: " + accountId);
+        }
+    }
+
+    @Override
+    protected void checkUnique(String id, Account account) {
+        if (byAccountNumber.conflicts(id, account.getAccountNumber())) {
+            throw new DuplicateKeyException("Número de conta já cadastrado: " + account.getAccountNumber());
+        }
+    }
+
+    @Override
+    protected void stamp(Account account, boolean isNew, LocalDateTime now) {
+        if (isNew) {
+            account.setCreatedAt(now);
+        }
+        account.setUpdatedAt(now);
+    }
+
+    @Override
+    protected void index(String id, Account account) {
+        byAccountNumber.put(id, account.getAccountNumber());
+        byClientId.put(id, account.getClient() == null ? null : account.getClient().getId());
+    }
+
+    @Override
+    protected void unindex(String id) {
+        byAccountNumber.remove(id);
+        byClientId.remove(id);
+    }
+
+    @Override
+    protected void clearIndexes() {
+        byAccountNumber.clear();
+        byClientId.clear();
+    }
+}
@@ -0,0 +1,65 @@
+package com.amf.banking.repository.inmemory;
+
+import com.amf.banking.model.AccountSnapshot;
+import com.amf.banking.repository.AccountSnapshotRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryAccountSnapshotRepository extends InMemoryRepository<AccountSnapshot>
+        implements AccountSnapshotRepository {
+
+    private final VersionIndex byAccountAndVersion = new VersionIndex();
+
+    public InMemoryAccountSnapshotRepository() {
+        super(AccountSnapshot::getId, AccountSnapshot::setId);
+    }
+
+    @Override
+    public Optional<AccountSnapshot> findFirstByAccountIdOrderByVersionDesc(String accountId) {
+        return resolve(byAccountAndVersion.descending(accountId)).findFirst();
+    }
+
+    @Override
+    public Optional<AccountSnapshot> findFirstByAccountIdAndOccurredAtLessThanEqualOrderByVersionDesc(
+            String accountId, LocalDateTime occurredAt) {
+        return resolve(byAccountAndVersion.descending(accountId))
+                .filter(snapshot -> !snapshot.getOccurredAt().isAfter(occurredAt))
+                .findFirst();
+    }
+
+    @Override
+    protected void checkUnique(String id, AccountSnapshot snapshot) {
+        if (byAccountAndVersion.conflicts(id, snapshot.getAccountId(), snapshot.getVersion())) {
+            throw new DuplicateKeyException("Snapshot da versão " + snapshot.getVersion()
+                    + " já registrado para a conta " + snapshot.getAccountId());
+        }
+    }
+
+    @Override
+    protected void stamp(AccountSnapshot snapshot, boolean isNew, LocalDateTime now) {
+        if (isNew) {
+            snapshot.setCreatedAt(now);
+        }
+    }
+
+    @Override
+    protected void index(String id, AccountSnapshot snapshot) {
+        byAccountAndVersion.put(id, snapshot.getAccountId(), snapshot.getVersion());
+    }
+
+    @Override
+    protected void unindex(String id) {
+        byAccountAndVersion.remove(id);
+    }
+
+    @Override
+    protected void clearIndexes() {
+        byAccountAndVersion.clear();
+    }
+}
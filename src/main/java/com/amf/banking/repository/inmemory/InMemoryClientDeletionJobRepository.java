@@ -0,0 +1,108 @@
+package com.amf.banking.repository.inmemory;
+
+import com.amf.banking.model.ClientDeletionJob;
+import com.amf.banking.model.enums.DeletionJobStatus;
+import com.amf.banking.repository.ClientDeletionJobRepository;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryClientDeletionJobRepository extends InMemoryRepository<ClientDeletionJob>
+        implements ClientDeletionJobRepository {
+
+    private static final Set<DeletionJobStatus> ACTIVE_STATUSES =
+            EnumSet.of(DeletionJobStatus.PENDENTE, DeletionJobStatus.EM_ANDAMENTO, DeletionJobStatus.FALHOU);
+
+    private final SecondaryIndex<String> byClientId = new SecondaryIndex<>();
+
+    public InMemoryClientDeletionJobRepository() {
+        super(ClientDeletionJob::getId, ClientDeletionJob::setId);
+    }
+
+    @Override
+    public Optional<ClientDeletionJob> findFirstByClientIdAndStatusIn(String clientId,
+                                                                      Collection<DeletionJobStatus> statuses) {
+        return resolve(byClientId.get(clientId))
+                .filter(job -> statuses.contains(job.getStatus()))
+                .findFirst();
+    }
+
+    @Override
+    public Optional<ClientDeletionJob> claimNext(String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        return findAll().stream()
+                .sorted(Comparator.comparing(ClientDeletionJob::getCreatedAt))
+                .filter(candidate -> update(candidate.getId(), job -> {
+                    if (!runnable(job, now)) {
+                        return false;
+                    }
+                    job.setStatus(DeletionJobStatus.EM_ANDAMENTO);
+                    job.setOwner(owner);
+                    job.setLeaseUntil(leaseUntil);
+                    job.setNextAttemptAt(null);
+                    return true;
+                }))
+                .findFirst()
+                .flatMap(claimed -> findById(claimed.getId()));
+    }
+
+    @Override
+    public boolean saveClaimed(ClientDeletionJob job, String owner) {
+        return update(job.getId(), stored -> {
+            if (!owner.equals(stored.getOwner())) {
+                return false;
+            }
+            BeanUtils.copyProperties(job, stored, "createdAt");
+            return true;
+        });
+    }
+
+    @Override
+    protected void checkUnique(String id, ClientDeletionJob job) {
+        if (ACTIVE_STATUSES.contains(job.getStatus()) && resolve(byClientId.get(job.getClientId()))
+                .anyMatch(other -> !other.getId().equals(id) && ACTIVE_STATUSES.contains(other.getStatus()))) {
+            throw new DuplicateKeyException("Já existe um job de exclusão ativo para o cliente " + job.getClientId());
+        }
+    }
+
+    private static boolean runnable(ClientDeletionJob job, LocalDateTime now) {
+        return switch (job.getStatus()) {
+            case PENDENTE -> true;
+            case EM_ANDAMENTO -> job.getLeaseUntil() == null || !job.getLeaseUntil().isAfter(now);
+            case FALHOU -> job.getNextAttemptAt() != null && !job.getNextAttemptAt().isAfter(now);
+            case CONCLUIDA -> false;
+        };
+    }
+
+    @Override
+    protected void stamp(ClientDeletionJob job, boolean isNew, LocalDateTime now) {
+        if (isNew) {
+            job.setCreatedAt(now);
+        }
+        job.setUpdatedAt(now);
+    }
+
+    @Override
+    protected void index(String id, ClientDeletionJob job) {
+        byClientId.put(id, job.getClientId());
+    }
+
+    @Override
+    protected void unindex(String id) {
+        byClientId.remove(id);
+    }
+
+    @Override
+    protected void clearIndexes() {
+        byClientId.clear();
+    }
+}
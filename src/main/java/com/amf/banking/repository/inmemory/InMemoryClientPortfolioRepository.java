@@ -0,0 +1,34 @@
+package com.amf.banking.repository.inmemory;
+
+import com.amf.banking.model.readmodel.ClientPortfolio;
+import com.amf.banking.repository.ClientPortfolioRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryClientPortfolioRepository extends InMemoryRepository<ClientPortfolio>
+        implements ClientPortfolioRepository {
+
+    public InMemoryClientPortfolioRepository() {
+        super(ClientPortfolio::getClientId, ClientPortfolio::setClientId);
+    }
+
+    @Override
+    protected void stamp(ClientPortfolio portfolio, boolean isNew, LocalDateTime now) {
+    }
+
+    @Override
+    protected void index(String id, ClientPortfolio portfolio) {
+    }
+
+    @Override
+    protected void unindex(String id) {
+    }
+
+    @Override
+    protected void clearIndexes() {
+    }
+}
@@ -0,0 +1,84 @@
+package com.amf.banking.repository.inmemory;
+
+import com.amf.banking.model.Client;
+import com.amf.banking.repository.ClientRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryClientRepository extends InMemoryRepository<Client> implements ClientRepository {
+
+    private final SecondaryIndex<String> byCpf = new SecondaryIndex<>();
+
+    public InMemoryClientRepository() {
+        super(Client::getId, Client::setId);
+    }
+
+    @Override
+    public Optional<Client> findByCpf(String cpf) {
+        return byCpf.first(cpf).flatMap(this::findById);
+    }
+
+    @Override
+    public boolean existsByCpf(String cpf) {
+        return !byCpf.get(cpf).isEmpty();
+    }
+
+    @Override
+    public Slice<Client> findBySearchTokensIsNull(Pageable pageable) {
+        return slice(findAll().stream().filter(client -> client.getSearchTokens() == null), pageable);
+    }
+
+    @Override
+    public Slice<Client> findAllBy(Pageable pageable) {
+        return slice(findAll().stream(), pageable);
+    }
+
+    // Mesma semântica do $all com regex ancorada: cada prefixo casa com ao menos um token do nome
+    @Override
+    public Slice<Client> searchByTokenPrefixes(List<String> tokenPrefixes, Pageable pageable) {
+        return slice(findAll().stream()
+                .filter(client -> client.getSearchTokens() != null)
+                .filter(client -> tokenPrefixes.stream().allMatch(prefix ->
+                        client.getSearchTokens().stream().anyMatch(token -> token.startsWith(prefix)))),
+                pageable);
+    }
+
+    @Override
+    protected void checkUnique(String id, Client client) {
+        if (byCpf.conflicts(id, client.getCpf())) {
+            throw new DuplicateKeyException("CPF já cadastrado: " + client.getCpf());
+        }
+    }
+
+    @Override
+    protected void stamp(Client client, boolean isNew, LocalDateTime now) {
+        if (isNew) {
+            client.setCreatedAt(now);
+        }
+        client.setUpdatedAt(now);
+    }
+
+    @Override
+    protected void index(String id, Client client) {
+        byCpf.put(id, client.getCpf());
+    }
+
+    @Override
+    protected void unindex(String id) {
+        byCpf.remove(id);
+    }
+
+    @Override
+    protected void clearIndexes() {
+        byCpf.clear();
+    }
+}
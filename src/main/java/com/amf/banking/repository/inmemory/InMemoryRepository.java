@@ -0,0 +1,383 @@
+package com.amf.banking.repository.inmemory;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.beans.PropertyDescriptor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Base dos repositórios do perfil "inmemory": documentos em um ConcurrentHashMap, IDs no formato ObjectId e
+// auditoria (@CreatedDate/@LastModifiedDate) emulada em stamp(). Escritas são serializadas para manter os
+// índices secundários das subclasses consistentes com o mapa principal; leituras não bloqueiam. O mapa guarda
+// cópias e as leituras devolvem cópias, como documentos lidos do banco: alterar um objeto sem save() não vaza.
+public abstract class InMemoryRepository<T> implements MongoRepository<T, String> {
+
+    private final Map<String, T> documents = new ConcurrentHashMap<>();
+    private final Function<T, String> idGetter;
+    private final BiConsumer<T, String> idSetter;
+
+    protected InMemoryRepository(Function<T, String> idGetter, BiConsumer<T, String> idSetter) {
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+    }
+
+    // Auditoria: isNew vale para documentos ainda sem ID, como no MongoDB
+    protected abstract void stamp(T entity, boolean isNew, LocalDateTime now);
+
+    // Atualiza os índices secundários; chamado dentro do bloco de escrita
+    protected abstract void index(String id, T entity);
+
+    protected abstract void unindex(String id);
+
+    protected abstract void clearIndexes();
+
+    // Restrições de índice único; lança DuplicateKeyException como o driver
+    protected void checkUnique(String id, T entity) {
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        synchronized (documents) {
+            boolean isNew = idGetter.apply(entity) == null;
+            String id = isNew ? new ObjectId().toHexString() : idGetter.apply(entity);
+            checkUnique(id, entity);
+            if (isNew) {
+                idSetter.accept(entity, id);
+            }
+            stamp(entity, isNew, LocalDateTime.now());
+            T stored = copy(entity);
+            documents.put(id, stored);
+            index(id, stored);
+        }
+        return entity;
+    }
+
+    // Altera o documento guardado sob o bloco de escrita, como um update com $set no MongoDB
+    protected boolean update(String id, Predicate<T> change) {
+        synchronized (documents) {
+            T entity = documents.get(id);
+            if (entity == null || !change.test(entity)) {
+                return false;
+            }
+            stamp(entity, false, LocalDateTime.now());
+            index(id, entity);
+            return true;
+        }
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(documents.get(id)).map(this::copy);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return documents.values().stream().map(this::copy).toList();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        List<T> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return sorted(documents.values().stream(), sort).map(this::copy).toList();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return new PageImpl<>(page(documents.values().stream(), pageable).stream().map(this::copy).toList(),
+                pageable, documents.size());
+    }
+
+    @Override
+    public long count() {
+        return documents.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        synchronized (documents) {
+            documents.remove(id);
+            unindex(id);
+        }
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idGetter.apply(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        synchronized (documents) {
+            documents.clear();
+            clearIndexes();
+        }
+    }
+
+    // Resolve os IDs de um índice secundário para cópias dos documentos
+    protected Stream<T> resolve(Collection<String> ids) {
+        return ids.stream().map(documents::get).filter(Objects::nonNull).map(this::copy);
+    }
+
+    // Cópia rasa com listas duplicadas; referências (@DBRef) continuam compartilhadas
+    @SuppressWarnings("unchecked")
+    private T copy(T entity) {
+        T copy = (T) BeanUtils.instantiateClass(entity.getClass());
+        BeanUtils.copyProperties(entity, copy);
+        BeanWrapper wrapper = new BeanWrapperImpl(copy);
+        for (PropertyDescriptor property : wrapper.getPropertyDescriptors()) {
+            if (List.class.isAssignableFrom(property.getPropertyType()) && property.getWriteMethod() != null
+                    && wrapper.getPropertyValue(property.getName()) instanceof List<?> list) {
+                wrapper.setPropertyValue(property.getName(), new ArrayList<>(list));
+            }
+        }
+        return copy;
+    }
+
+    protected <S extends T> List<S> page(Stream<S> entities, Pageable pageable) {
+        Stream<S> sorted = sorted(entities, pageable.getSort());
+        return pageable.isPaged()
+                ? sorted.skip(pageable.getOffset()).limit(pageable.getPageSize()).toList()
+                : sorted.toList();
+    }
+
+    // Busca uma linha a mais para saber se há próxima página, como ClientSearchRepositoryImpl
+    protected Slice<T> slice(Stream<T> entities, Pageable pageable) {
+        Stream<T> sorted = sorted(entities, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(sorted.toList());
+        }
+        List<T> rows = sorted.skip(pageable.getOffset()).limit(pageable.getPageSize() + 1L).toList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    private <S extends T> Stream<S> sorted(Stream<S> entities, Sort sort) {
+        return sort.isSorted() ? entities.sorted(comparator(sort)) : entities;
+    }
+
+    // Ordenação por nome de propriedade; nulos primeiro na ordem ascendente, como no MongoDB
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<T> byProperty = Comparator.comparing(
+                    entity -> (Comparable) new BeanWrapperImpl(entity).getPropertyValue(order.getProperty()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    // Query by Example por igualdade de propriedades: respeita caminhos ignorados, tratamento de nulos e
+    // all/any do ExampleMatcher; matchers de string (contains, ignoreCase...) não são emulados
+    @SuppressWarnings("unchecked")
+    private <S extends T> Stream<S> matching(Example<S> example) {
+        ExampleMatcher matcher = example.getMatcher();
+        BeanWrapper probe = new BeanWrapperImpl(example.getProbe());
+        List<String> properties = Arrays.stream(probe.getPropertyDescriptors())
+                .map(PropertyDescriptor::getName)
+                .filter(name -> !"class".equals(name) && !matcher.isIgnoredPath(name))
+                .filter(name -> matcher.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE
+                        || probe.getPropertyValue(name) != null)
+                .toList();
+
+        return documents.values().stream()
+                .filter(example.getProbeType()::isInstance)
+                .filter(entity -> {
+                    BeanWrapper candidate = new BeanWrapperImpl(entity);
+                    Predicate<String> equal = name -> Objects.equals(
+                            probe.getPropertyValue(name), candidate.getPropertyValue(name));
+                    return properties.isEmpty() || (matcher.isAllMatching()
+                            ? properties.stream().allMatch(equal)
+                            : properties.stream().anyMatch(equal));
+                })
+                .map(entity -> (S) copy(entity));
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        return matching(example).findFirst();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        return matching(example).toList();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        return sorted(matching(example), sort).toList();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return new PageImpl<>(page(matching(example), pageable), pageable, count(example));
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        return matching(example).count();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        return matching(example).findAny().isPresent();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(new ExampleQuery<>(example, example.getProbeType(), Sort.unsorted(), 0));
+    }
+
+    // Consulta fluente sobre matching(); project() devolve o documento inteiro em vez de só os campos pedidos
+    private final class ExampleQuery<S extends T, R> implements FluentQuery.FetchableFluentQuery<R> {
+
+        private final Example<S> example;
+        private final Class<R> resultType;
+        private final Sort sort;
+        private final int limit;
+
+        private ExampleQuery(Example<S> example, Class<R> resultType, Sort sort, int limit) {
+            this.example = example;
+            this.resultType = resultType;
+            this.sort = sort;
+            this.limit = limit;
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> sortBy(Sort sort) {
+            return new ExampleQuery<>(example, resultType, this.sort.and(sort), limit);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> limit(int limit) {
+            return new ExampleQuery<>(example, resultType, sort, limit);
+        }
+
+        @Override
+        public <P> FluentQuery.FetchableFluentQuery<P> as(Class<P> resultType) {
+            if (!resultType.isAssignableFrom(example.getProbeType())) {
+                throw new UnsupportedOperationException("Projeções para outros tipos não são suportadas no perfil inmemory");
+            }
+            return new ExampleQuery<>(example, resultType, sort, limit);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> project(Collection<String> properties) {
+            return this;
+        }
+
+        @Override
+        public R oneValue() {
+            List<R> results = stream().limit(2).toList();
+            if (results.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, results.size());
+            }
+            return results.isEmpty() ? null : results.get(0);
+        }
+
+        @Override
+        public R firstValue() {
+            return stream().findFirst().orElse(null);
+        }
+
+        @Override
+        public List<R> all() {
+            return stream().toList();
+        }
+
+        @Override
+        public Page<R> page(Pageable pageable) {
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(all());
+            }
+            Pageable sorted = pageable.getSort().isSorted()
+                    ? pageable : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+            List<R> content = InMemoryRepository.this.page(matching(example), sorted).stream()
+                    .map(resultType::cast)
+                    .toList();
+            return new PageImpl<>(content, pageable, count());
+        }
+
+        @Override
+        public Stream<R> stream() {
+            Stream<S> results = sorted(matching(example), sort);
+            return (limit > 0 ? results.limit(limit) : results).map(resultType::cast);
+        }
+
+        @Override
+        public long count() {
+            return matching(example).count();
+        }
+
+        @Override
+        public boolean exists() {
+            return matching(example).findAny().isPresent();
+        }
+    }
+}
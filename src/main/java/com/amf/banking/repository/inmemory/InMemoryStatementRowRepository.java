@@ -0,0 +1,85 @@
+package com.amf.banking.repository.inmemory;
+
+import com.amf.banking.model.readmodel.StatementRow;
+import com.amf.banking.repository.StatementRowRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryStatementRowRepository extends InMemoryRepository<StatementRow> implements StatementRowRepository {
+
+    private static final Comparator<StatementRow> BY_DATE = Comparator.comparing(StatementRow::getTransactionDate)
+            .thenComparing(StatementRow::getId);
+
+    private final SecondaryIndex<String> byAccountId = new SecondaryIndex<>();
+    private final List<StatementRow> staged = new ArrayList<>();
+
+    public InMemoryStatementRowRepository() {
+        super(StatementRow::getId, StatementRow::setId);
+    }
+
+    @Override
+    public List<StatementRow> findByAccountIdOrderByTransactionDateAsc(String accountId) {
+        return rows(accountId).sorted(BY_DATE).toList();
+    }
+
+    @Override
+    public List<StatementRow> findByAccountIdAndDateRange(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        return rows(accountId)
+                .filter(row -> !row.getTransactionDate().isBefore(startDate) && !row.getTransactionDate().isAfter(endDate))
+                .sorted(BY_DATE)
+                .toList();
+    }
+
+    @Override
+    public synchronized void beginRebuild() {
+        staged.clear();
+    }
+
+    @Override
+    public synchronized void insertStaged(List<StatementRow> rows) {
+        staged.addAll(rows);
+    }
+
+    // Sem rename em memória: grava as linhas novas por cima (mesmo ID para a mesma transação e conta) e só
+    // depois remove as que sumiram, então o extrato nunca fica vazio no meio da troca
+    @Override
+    public synchronized void completeRebuild() {
+        saveAll(staged);
+        Set<String> rebuilt = staged.stream().map(StatementRow::getId).collect(Collectors.toSet());
+        deleteAllById(findAll().stream().map(StatementRow::getId).filter(id -> !rebuilt.contains(id)).toList());
+        staged.clear();
+    }
+
+    private Stream<StatementRow> rows(String accountId) {
+        return resolve(byAccountId.get(accountId));
+    }
+
+    @Override
+    protected void stamp(StatementRow row, boolean isNew, LocalDateTime now) {
+    }
+
+    @Override
+    protected void index(String id, StatementRow row) {
+        byAccountId.put(id, row.getAccountId());
+    }
+
+    @Override
+    protected void unindex(String id) {
+        byAccountId.remove(id);
+    }
+
+    @Override
+    protected void clearIndexes() {
+        byAccountId.clear();
+    }
+}
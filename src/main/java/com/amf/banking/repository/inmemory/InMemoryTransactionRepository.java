@@ -0,0 +1,212 @@
+package com.amf.banking.repository.inmemory;
+
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.reactive.TransactionDocument;
+import com.amf.banking.repository.TransactionRepository;
+import com.mongodb.DBRef;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryTransactionRepository extends InMemoryRepository<Transaction> implements TransactionRepository {
+
+    // Índice conta + data: equivalente aos índices compostos sourceAccount/destinationAccount + transactionDate
+    private final Map<String, NavigableSet<StatementKey>> byAccountAndDate = new ConcurrentHashMap<>();
+    // Índice conta + sequência: equivalente aos índices sourceAccount/destinationAccount + sequência
+    private final Map<String, NavigableMap<Long, String>> byAccountAndSequence = new ConcurrentHashMap<>();
+    private final Map<String, Posting> postings = new ConcurrentHashMap<>();
+
+    public InMemoryTransactionRepository() {
+        super(Transaction::getId, Transaction::setId);
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdAndDateRange(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        return resolve(statement(accountId, startDate, endDate).toList()).toList();
+    }
+
+    @Override
+    public List<Transaction> findByAccountId(String accountId) {
+        return findByAccountIdAndDateRange(accountId, null, null);
+    }
+
+    @Override
+    public List<TransactionDocument> findStatement(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (!ObjectId.isValid(accountId)) {
+            return List.of();
+        }
+        return findByAccountIdAndDateRange(accountId, startDate, endDate).stream()
+                .map(InMemoryTransactionRepository::toDocument)
+                .toList();
+    }
+
+    @Override
+    public List<TransactionDocument> findChanges(String accountId, long sinceSequence, int limit) {
+        NavigableMap<Long, String> sequences = byAccountAndSequence.get(accountId);
+        if (sequences == null) {
+            return List.of();
+        }
+        return resolve(sequences.tailMap(sinceSequence, false).values().stream().limit(limit).toList())
+                .map(InMemoryTransactionRepository::toDocument)
+                .toList();
+    }
+
+    @Override
+    public Optional<TransactionDocument> findDocumentById(String id) {
+        return findById(id).map(InMemoryTransactionRepository::toDocument);
+    }
+
+    @Override
+    public List<TransactionDocument> findAllDocuments() {
+        return findAll().stream().map(InMemoryTransactionRepository::toDocument).toList();
+    }
+
+    // IDs ObjectId em hexadecimal de largura fixa: a ordem de texto é a mesma do _id no MongoDB
+    @Override
+    public List<TransactionDocument> findDocumentsAfter(String afterId, int limit) {
+        return findAll().stream()
+                .filter(transaction -> afterId == null || transaction.getId().compareTo(afterId) > 0)
+                .sorted(Comparator.comparing(Transaction::getId))
+                .limit(limit)
+                .map(InMemoryTransactionRepository::toDocument)
+                .toList();
+    }
+
+    @Override
+    protected void stamp(Transaction transaction, boolean isNew, LocalDateTime now) {
+        if (isNew) {
+            transaction.setTransactionDate(now);
+        }
+    }
+
+    @Override
+    protected void index(String id, Transaction transaction) {
+        unindex(id);
+        Posting posting = new Posting(accountId(transaction.getSourceAccount()), transaction.getSourceSequence(),
+                accountId(transaction.getDestinationAccount()), transaction.getDestinationSequence(),
+                new StatementKey(transaction.getTransactionDate(), id));
+        postings.put(id, posting);
+        posting.accounts().forEach(accountId ->
+                byAccountAndDate.computeIfAbsent(accountId, ignored -> new ConcurrentSkipListSet<>()).add(posting.key()));
+        posting.sequences().forEach((accountId, sequence) ->
+                byAccountAndSequence.computeIfAbsent(accountId, ignored -> new ConcurrentSkipListMap<>()).put(sequence, id));
+    }
+
+    @Override
+    protected void unindex(String id) {
+        Posting posting = postings.remove(id);
+        if (posting != null) {
+            posting.accounts().forEach(accountId -> {
+                NavigableSet<StatementKey> keys = byAccountAndDate.get(accountId);
+                if (keys != null) {
+                    keys.remove(posting.key());
+                }
+            });
+            posting.sequences().forEach((accountId, sequence) -> {
+                NavigableMap<Long, String> sequences = byAccountAndSequence.get(accountId);
+                if (sequences != null) {
+                    sequences.remove(sequence, id);
+                }
+            });
+        }
+    }
+
+    @Override
+    protected void clearIndexes() {
+        byAccountAndDate.clear();
+        byAccountAndSequence.clear();
+        postings.clear();
+    }
+
+    // Datas nulas: extrato completo, em ordem cronológica
+    private Stream<String> statement(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        NavigableSet<StatementKey> keys = byAccountAndDate.get(accountId);
+        if (keys == null) {
+            return Stream.empty();
+        }
+        NavigableSet<StatementKey> range = startDate != null && endDate != null
+                ? keys.subSet(StatementKey.lowest(startDate), true, StatementKey.highest(endDate), true)
+                : keys;
+        return range.stream().map(StatementKey::id);
+    }
+
+    private static String accountId(Account account) {
+        return account == null ? null : account.getId();
+    }
+
+    private static TransactionDocument toDocument(Transaction transaction) {
+        return TransactionDocument.builder()
+                .id(transaction.getId())
+                .sourceAccount(dbRef(transaction.getSourceAccount().getId()))
+                .destinationAccount(dbRef(transaction.getDestinationAccount().getId()))
+                .amount(transaction.getAmount())
+                .transactionType(transaction.getTransactionType())
+                .transactionDate(transaction.getTransactionDate())
+                .description(transaction.getDescription())
+                .sourceSequence(transaction.getSourceSequence())
+                .destinationSequence(transaction.getDestinationSequence())
+                .build();
+    }
+
+    private static DBRef dbRef(String accountId) {
+        return new DBRef("accounts", new ObjectId(accountId));
+    }
+
+    private record Posting(String sourceAccountId, Long sourceSequence,
+                           String destinationAccountId, Long destinationSequence, StatementKey key) {
+
+        Stream<String> accounts() {
+            return Stream.of(sourceAccountId, destinationAccountId).filter(Objects::nonNull).distinct();
+        }
+
+        // Conta -> sequência, só para os lados que têm as duas
+        Map<String, Long> sequences() {
+            Map<String, Long> sequences = new HashMap<>(2);
+            if (sourceAccountId != null && sourceSequence != null) {
+                sequences.put(sourceAccountId, sourceSequence);
+            }
+            if (destinationAccountId != null && destinationSequence != null) {
+                sequences.put(destinationAccountId, destinationSequence);
+            }
+            return sequences;
+        }
+    }
+
+    // Ordena por data e desempata pelo ID; lowest/highest cobrem todos os IDs de uma data
+    private record StatementKey(LocalDateTime date, String id) implements Comparable<StatementKey> {
+
+        private static final Comparator<StatementKey> ORDER = Comparator
+                .comparing(StatementKey::date, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(StatementKey::id);
+
+        static StatementKey lowest(LocalDateTime date) {
+            return new StatementKey(date, "");
+        }
+
+        static StatementKey highest(LocalDateTime date) {
+            return new StatementKey(date, "\uffff");
+        }
+
+        @Override
+        public int compareTo(StatementKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.amf.banking.repository.inmemory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Índice secundário chave -> IDs. Guarda a chave indexada de cada ID para remover a entrada antiga quando o
+// documento é salvo de novo com outra chave ou alterado no lugar por InMemoryRepository.update.
+// Escritas são serializadas pelo repositório; leituras não bloqueiam.
+class SecondaryIndex<K> {
+
+    private final Map<K, Set<String>> idsByKey = new ConcurrentHashMap<>();
+    private final Map<String, K> keyById = new ConcurrentHashMap<>();
+
+    void put(String id, K key) {
+        remove(id);
+        if (key != null) {
+            idsByKey.computeIfAbsent(key, ignored -> ConcurrentHashMap.newKeySet()).add(id);
+            keyById.put(id, key);
+        }
+    }
+
+    void remove(String id) {
+        K previous = keyById.remove(id);
+        if (previous != null) {
+            idsByKey.computeIfPresent(previous, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    Set<String> get(K key) {
+        return key == null ? Set.of() : idsByKey.getOrDefault(key, Set.of());
+    }
+
+    Optional<String> first(K key) {
+        return get(key).stream().findFirst();
+    }
+
+    // Índice único: outro ID já usa a chave
+    boolean conflicts(String id, K key) {
+        return get(key).stream().anyMatch(existing -> !existing.equals(id));
+    }
+
+    void clear() {
+        idsByKey.clear();
+        keyById.clear();
+    }
+}
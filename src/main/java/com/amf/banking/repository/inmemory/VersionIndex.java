@@ -0,0 +1,60 @@
+package com.amf.banking.repository.inmemory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Índice conta + versão (eventos e snapshots de saldo): equivalente ao índice composto único accountId/version.
+// Como SecondaryIndex, guarda a chave de cada ID para remover a entrada mesmo após alteração no lugar.
+class VersionIndex {
+
+    private final Map<String, NavigableMap<Long, String>> idsByAccount = new ConcurrentHashMap<>();
+    private final Map<String, Key> keyById = new ConcurrentHashMap<>();
+
+    void put(String id, String accountId, long version) {
+        remove(id);
+        idsByAccount.computeIfAbsent(accountId, ignored -> new ConcurrentSkipListMap<>()).put(version, id);
+        keyById.put(id, new Key(accountId, version));
+    }
+
+    void remove(String id) {
+        Key previous = keyById.remove(id);
+        if (previous != null) {
+            idsByAccount.computeIfPresent(previous.accountId(), (accountId, ids) -> {
+                ids.remove(previous.version(), id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    boolean conflicts(String id, String accountId, long version) {
+        String existing = versions(accountId).get(version);
+        return existing != null && !existing.equals(id);
+    }
+
+    // IDs com versão maior que after, em ordem crescente
+    Collection<String> after(String accountId, long after) {
+        return versions(accountId).tailMap(after, false).values();
+    }
+
+    // IDs da maior para a menor versão
+    Collection<String> descending(String accountId) {
+        return versions(accountId).descendingMap().values();
+    }
+
+    void clear() {
+        idsByAccount.clear();
+        keyById.clear();
+    }
+
+    private NavigableMap<Long, String> versions(String accountId) {
+        return accountId == null ? Collections.emptyNavigableMap()
+                : idsByAccount.getOrDefault(accountId, Collections.emptyNavigableMap());
+    }
+
+    private record Key(String accountId, long version) {
+    }
+}
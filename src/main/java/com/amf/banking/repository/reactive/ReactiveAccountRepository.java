@@ -0,0 +1,15 @@
+package com.amf.banking.repository.reactive;
+
+import com.amf.banking.model.reactive.AccountDocument;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveAccountRepository extends ReactiveMongoRepository<AccountDocument, String> {
+
+    @Query("{ 'client.$id': ?0, 'status': { $ne: 'ENCERRADA' } }")
+    Flux<AccountDocument> findActiveByClientId(ObjectId clientId);
+}
@@ -0,0 +1,11 @@
+package com.amf.banking.repository.reactive;
+
+import com.amf.banking.model.Client;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveClientRepository extends ReactiveMongoRepository<Client, String> {
+    Mono<Client> findByCpf(String cpf);
+}
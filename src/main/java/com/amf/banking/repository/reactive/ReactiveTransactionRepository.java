@@ -0,0 +1,22 @@
+package com.amf.banking.repository.reactive;
+
+import com.amf.banking.model.reactive.TransactionDocument;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReactiveTransactionRepository extends ReactiveMongoRepository<TransactionDocument, String> {
+
+    @Query(value = "{ $or: [ { 'sourceAccount.$id': ?0 }, { 'destinationAccount.$id': ?0 } ] }",
+            sort = "{ 'transactionDate': 1 }")
+    Flux<TransactionDocument> findByAccountId(ObjectId accountId);
+
+    @Query(value = "{ $or: [ { 'sourceAccount.$id': ?0 }, { 'destinationAccount.$id': ?0 } ], 'transactionDate': { $gte: ?1, $lte: ?2 } }",
+            sort = "{ 'transactionDate': 1 }")
+    Flux<TransactionDocument> findByAccountIdAndDateRange(ObjectId accountId, LocalDateTime startDate, LocalDateTime endDate);
+}
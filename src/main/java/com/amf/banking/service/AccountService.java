@@ -1,31 +1,55 @@
 package com.amf.banking.service;
 
+import com.amf.banking.balance.BalanceJournal;
+import com.amf.banking.balance.BalanceState;
+import com.amf.banking.concurrent.SingleFlight;
 import com.amf.banking.dto.AccountDTO;
 import com.amf.banking.dto.BalanceDTO;
+import com.amf.banking.exception.BusinessException;
+import com.amf.banking.exception.ConcurrentUpdateException;
 import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.mapper.AccountMapper;
 import com.amf.banking.model.Account;
 import com.amf.banking.model.Client;
+import com.amf.banking.model.Money;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.projection.PortfolioChangedEvent;
+import com.amf.banking.projection.ReadModel;
+import com.amf.banking.readrouting.ReadRouting;
 import com.amf.banking.repository.AccountRepository;
 import com.amf.banking.repository.ClientRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Optional;
 import java.util.Random;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Observed(name = "banking.service")
 public class AccountService {
 
+    private static final long OPENING_BALANCE_CENTS = 10_000;
+
     private final AccountRepository accountRepository;
     private final ClientRepository clientRepository;
-    private final ModelMapper modelMapper;
+    private final AccountMapper accountMapper;
+    private final SingleFlight<String, AccountDTO> accountReads;
+    private final BalanceJournal balanceJournal;
+    private final ReadModel readModel;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AccountDTO createAccount(AccountDTO accountDTO) {
@@ -38,32 +62,25 @@ public class AccountService {
                 .accountNumber(generateAccountNumber())
                 .client(client)
                 .accountType(accountDTO.getAccountType())
-                .balance(BigDecimal.valueOf(100.00))
+                .balance(Money.toBigDecimal(OPENING_BALANCE_CENTS))
+                .status(AccountStatus.ATIVA)
+                .balanceVersion(balanceJournal.openingVersion())
                 .build();
 
         Account savedAccount = accountRepository.save(account);
+        balanceJournal.opened(savedAccount);
+        eventPublisher.publishEvent(PortfolioChangedEvent.of(client.getId()));
 
         log.info("Account created successfully with number: {}", savedAccount.getAccountNumber());
 
-        AccountDTO responseDTO = modelMapper.map(savedAccount, AccountDTO.class);
-        responseDTO.setClientId(client.getId());
-        responseDTO.setClientName(client.getFullName());
-
-        return responseDTO;
+        return accountMapper.toDTO(savedAccount);
     }
 
     @Transactional(readOnly = true)
     public AccountDTO getAccountById(String id) {
         log.info("Fetching account with ID: {}", id);
 
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Conta não encontrada com ID: " + id));
-
-        AccountDTO accountDTO = modelMapper.map(account, AccountDTO.class);
-        accountDTO.setClientId(account.getClient().getId());
-        accountDTO.setClientName(account.getClient().getFullName());
-
-        return accountDTO;
+        return readAccount(id);
     }
 
     @Transactional(readOnly = true)
@@ -73,28 +90,27 @@ public class AccountService {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Conta não encontrada com número: " + accountNumber));
 
-        AccountDTO accountDTO = modelMapper.map(account, AccountDTO.class);
-        accountDTO.setClientId(account.getClient().getId());
-        accountDTO.setClientName(account.getClient().getFullName());
-
-        return accountDTO;
+        return accountMapper.toDTO(account);
     }
 
     @Transactional(readOnly = true)
     public List<AccountDTO> getAccountsByClientId(String clientId) {
         log.info("Fetching accounts for client ID: {}", clientId);
 
+        // Carteira ainda não projetada (ou cliente inexistente): consulta a coleção de contas
+        if (readModel.isEnabled()) {
+            Optional<List<AccountDTO>> accounts = readModel.accountsOfClient(clientId);
+            if (accounts.isPresent()) {
+                return accounts.get();
+            }
+        }
+
         if (!clientRepository.existsById(clientId)) {
             throw new ResourceNotFoundException("Cliente não encontrado com ID: " + clientId);
         }
 
-        return accountRepository.findByClientId(clientId).stream()
-                .map(account -> {
-                    AccountDTO dto = modelMapper.map(account, AccountDTO.class);
-                    dto.setClientId(account.getClient().getId());
-                    dto.setClientName(account.getClient().getFullName());
-                    return dto;
-                })
+        return accountRepository.findByClientIdAndStatusNot(clientId, AccountStatus.ENCERRADA).stream()
+                .map(accountMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
@@ -102,13 +118,12 @@ public class AccountService {
     public List<AccountDTO> getAllAccounts() {
         log.info("Fetching all accounts");
 
-        return accountRepository.findAll().stream()
-                .map(account -> {
-                    AccountDTO dto = modelMapper.map(account, AccountDTO.class);
-                    dto.setClientId(account.getClient().getId());
-                    dto.setClientName(account.getClient().getFullName());
-                    return dto;
-                })
+        if (readModel.isEnabled()) {
+            return readModel.allAccounts();
+        }
+
+        return accountRepository.findByStatusNot(AccountStatus.ENCERRADA).stream()
+                .map(accountMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
@@ -116,8 +131,55 @@ public class AccountService {
     public BalanceDTO getAccountBalance(String id) {
         log.info("Fetching balance for account ID: {}", id);
 
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Conta não encontrada com ID: " + id));
+        // Compartilha a mesma consulta em voo de getAccountById
+        AccountDTO account = readAccount(id);
+
+        return BalanceDTO.builder()
+                .accountNumber(account.getAccountNumber())
+                .balance(account.getBalance())
+                .build();
+    }
+
+    // Saldo em uma data passada, reconstruído a partir dos eventos (modo event-sourced)
+    @Transactional(readOnly = true)
+    public BalanceDTO getAccountBalance(String id, LocalDateTime asOf) {
+        log.info("Fetching balance for account ID: {} as of {}", id, asOf);
+
+        Account account = findAccountById(id);
+        BalanceState state = balanceJournal.balanceAsOf(id, asOf);
+
+        return BalanceDTO.builder()
+                .accountNumber(account.getAccountNumber())
+                .balance(Money.toBigDecimal(state.balanceCents()))
+                .asOf(asOf)
+                .build();
+    }
+
+    // Reconstrói o saldo a partir dos eventos e corrige o saldo materializado se divergir
+    @Transactional
+    public BalanceDTO replayBalance(String id) {
+        log.info("Replaying balance events for account ID: {}", id);
+
+        Account account = findAccountById(id);
+        BalanceState state = balanceJournal.rebuild(id);
+        if (state.version() == 0) {
+            throw new BusinessException("Conta sem eventos de saldo: " + id);
+        }
+
+        // Comparado como BigDecimal: o replay também corrige um saldo gravado com mais de duas casas
+        BigDecimal materialized = account.getBalance();
+        BigDecimal rebuilt = Money.toBigDecimal(state.balanceCents());
+        if (materialized == null || materialized.compareTo(rebuilt) != 0
+                || !Long.valueOf(state.version()).equals(account.getBalanceVersion())) {
+            log.warn("Materialized balance of account {} diverged from events: {} at version {}, rebuilt {} at version {}",
+                    id, materialized, account.getBalanceVersion(), rebuilt, state.version());
+            account.setBalance(rebuilt);
+            account.setBalanceVersion(state.version());
+            saveAccount(account);
+            if (account.getClient() != null) {
+                eventPublisher.publishEvent(PortfolioChangedEvent.of(account.getClient().getId()));
+            }
+        }
 
         return BalanceDTO.builder()
                 .accountNumber(account.getAccountNumber())
@@ -125,6 +187,21 @@ public class AccountService {
                 .build();
     }
 
+    // Leitura com piso causal (X-Read-After ou secundário) não usa o resultado de outra requisição
+    private AccountDTO readAccount(String id) {
+        if (ReadRouting.requiresOwnRead()) {
+            return loadAccount(id);
+        }
+        return accountReads.execute(id, () -> loadAccount(id));
+    }
+
+    private AccountDTO loadAccount(String id) {
+        Account account = accountRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Conta não encontrada com ID: " + id));
+
+        return accountMapper.toDTO(account);
+    }
+
     private String generateAccountNumber() {
         String accountNumber;
         do {
@@ -139,8 +216,40 @@ public class AccountService {
                 .orElseThrow(() -> new ResourceNotFoundException("Conta não encontrada com ID: " + id));
     }
 
+    // ID -> número da conta em uma única consulta (extrato)
+    public Map<String, String> findAccountNumbers(Collection<String> ids) {
+        return accountRepository.findAccountNumbers(ids);
+    }
+
+    // Sequência da próxima movimentação da conta (sincronização incremental do extrato)
+    public long nextMovementSequence(String accountId) {
+        return accountRepository.nextMovementSequence(accountId);
+    }
+
+    public void voidMovementSequence(String accountId, long sequence) {
+        accountRepository.voidMovementSequence(accountId, sequence);
+    }
+
+    public Set<Long> findVoidedSequences(String accountId) {
+        return accountRepository.findVoidedSequences(accountId);
+    }
+
+    // Transferências gravam só o saldo, condicionado ao saldo lido: outra transferência (v1 ou v2) no meio → 409
+    public void compareAndSetBalance(Account account, BigDecimal expected) {
+        if (!accountRepository.compareAndSetBalance(account.getId(), expected, account.getBalance(), account.getBalanceVersion())) {
+            throw new ConcurrentUpdateException("Saldo da conta alterado por outra operação; tente novamente");
+        }
+        accountReads.invalidate(account.getId());
+    }
+
+    public void addToBalance(String accountId, long cents) {
+        accountRepository.addToBalance(accountId, cents);
+        accountReads.invalidate(accountId);
+    }
+
     @Transactional
     public void saveAccount(Account account) {
         accountRepository.save(account);
+        accountReads.invalidate(account.getId());
     }
 }
@@ -0,0 +1,160 @@
+package com.amf.banking.service;
+
+import com.amf.banking.concurrent.SingleFlight;
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.ClientDeletionJob;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.DeletionJobStatus;
+import com.amf.banking.projection.PortfolioChangedEvent;
+import com.amf.banking.repository.AccountRepository;
+import com.amf.banking.repository.ClientDeletionJobRepository;
+import com.amf.banking.repository.ClientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class ClientDeletionJobProcessor {
+
+    private final ClientDeletionJobRepository clientDeletionJobRepository;
+    private final AccountRepository accountRepository;
+    private final ClientRepository clientRepository;
+    private final SingleFlight<String, AccountDTO> accountReads;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long batchPauseMs;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration lease;
+    // Dono dos jobs reivindicados por esta instância
+    private final String owner = UUID.randomUUID().toString();
+
+    public ClientDeletionJobProcessor(
+            ClientDeletionJobRepository clientDeletionJobRepository,
+            AccountRepository accountRepository,
+            ClientRepository clientRepository,
+            SingleFlight<String, AccountDTO> accountReads,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${banking.client-deletion.batch-size:100}") int batchSize,
+            @Value("${banking.client-deletion.batch-pause-ms:200}") long batchPauseMs,
+            @Value("${banking.client-deletion.max-attempts:5}") int maxAttempts,
+            @Value("${banking.client-deletion.retry-delay-ms:30000}") long retryDelayMs,
+            @Value("${banking.client-deletion.lease-ms:60000}") long leaseMs) {
+        this.clientDeletionJobRepository = clientDeletionJobRepository;
+        this.accountRepository = accountRepository;
+        this.clientRepository = clientRepository;
+        this.accountReads = accountReads;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.batchPauseMs = batchPauseMs;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = Duration.ofMillis(retryDelayMs);
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    // Cada job é reivindicado atomicamente com um prazo renovado a cada lote: com várias instâncias, só uma
+    // processa o job. Um job EM_ANDAMENTO com prazo vencido (instância parada no meio) é retomado por qualquer
+    // uma; jobs que falharam voltam quando chega a próxima tentativa
+    @Scheduled(fixedDelayString = "${banking.client-deletion.poll-interval-ms:2000}")
+    public void processPendingJobs() {
+        while (!Thread.currentThread().isInterrupted()) {
+            LocalDateTime now = LocalDateTime.now();
+            Optional<ClientDeletionJob> job = clientDeletionJobRepository.claimNext(owner, now, now.plus(lease));
+            if (job.isEmpty()) {
+                return;
+            }
+            process(job.get());
+        }
+    }
+
+    void process(ClientDeletionJob job) {
+        log.info("Processing deletion job {} for client ID: {}", job.getId(), job.getClientId());
+
+        try {
+            List<Account> batch = nextBatch(job.getClientId());
+            while (!batch.isEmpty()) {
+                List<String> accountIds = batch.stream().map(Account::getId).toList();
+                long closed = accountRepository.closeAccounts(accountIds, LocalDateTime.now());
+                accountIds.forEach(accountReads::invalidate);
+                eventPublisher.publishEvent(PortfolioChangedEvent.of(job.getClientId()));
+
+                job.setAccountsClosed(job.getAccountsClosed() + closed);
+                job.setLeaseUntil(LocalDateTime.now().plus(lease));
+                if (!saveClaimed(job)) {
+                    return;
+                }
+                log.debug("Deletion job {} closed {} accounts so far", job.getId(), job.getAccountsClosed());
+
+                // Pausa entre lotes para não competir com as requisições em primeiro plano
+                Thread.sleep(batchPauseMs);
+                batch = nextBatch(job.getClientId());
+            }
+
+            clientRepository.deleteById(job.getClientId());
+            eventPublisher.publishEvent(PortfolioChangedEvent.of(job.getClientId()));
+
+            job.setStatus(DeletionJobStatus.CONCLUIDA);
+            job.setCompletedAt(LocalDateTime.now());
+            job.setLastError(null);
+            release(job);
+            if (saveClaimed(job)) {
+                log.info("Deletion job {} completed: client {} removed, {} accounts closed",
+                        job.getId(), job.getClientId(), job.getAccountsClosed());
+            }
+        } catch (InterruptedException e) {
+            // Permanece EM_ANDAMENTO e é retomado quando o prazo vencer
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failed(job, e);
+        }
+    }
+
+    // Nova tentativa com espera dobrada a cada falha; esgotadas as tentativas, só um novo DELETE reenvia o job
+    private void failed(ClientDeletionJob job, RuntimeException e) {
+        int attempts = job.getAttempts() + 1;
+        job.setStatus(DeletionJobStatus.FALHOU);
+        job.setLastError(e.getMessage());
+        job.setAttempts(attempts);
+        if (attempts < maxAttempts) {
+            job.setNextAttemptAt(LocalDateTime.now().plus(retryDelay.multipliedBy(1L << Math.min(attempts - 1, 10))));
+            log.warn("Deletion job {} failed for client ID: {} (attempt {} of {}), retrying at {}",
+                    job.getId(), job.getClientId(), attempts, maxAttempts, job.getNextAttemptAt(), e);
+        } else {
+            job.setNextAttemptAt(null);
+            log.error("Deletion job {} failed for client ID: {} after {} attempts",
+                    job.getId(), job.getClientId(), attempts, e);
+        }
+        release(job);
+        saveClaimed(job);
+    }
+
+    // Regrava o job só se esta instância ainda for a dona; senão outra o retomou e esta para
+    private boolean saveClaimed(ClientDeletionJob job) {
+        if (!clientDeletionJobRepository.saveClaimed(job, owner)) {
+            log.warn("Lost lease on deletion job {} for client ID: {}", job.getId(), job.getClientId());
+            return false;
+        }
+        return true;
+    }
+
+    private static void release(ClientDeletionJob job) {
+        job.setOwner(null);
+        job.setLeaseUntil(null);
+    }
+
+    private List<Account> nextBatch(String clientId) {
+        return accountRepository.findByClientIdAndStatusNot(
+                clientId, AccountStatus.ENCERRADA, PageRequest.of(0, batchSize));
+    }
+}
@@ -0,0 +1,43 @@
+package com.amf.banking.service;
+
+import com.amf.banking.model.Client;
+import com.amf.banking.repository.ClientRepository;
+import com.amf.banking.util.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClientSearchTokensBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ClientRepository clientRepository;
+
+    // Preenche searchTokens dos clientes cadastrados antes da busca por nome existir
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long updated = 0;
+        Slice<Client> batch = clientRepository.findBySearchTokensIsNull(PageRequest.of(0, BATCH_SIZE));
+
+        while (batch.hasContent()) {
+            batch.getContent().forEach(client ->
+                    client.setSearchTokens(TextNormalizer.tokenize(client.getFullName())));
+            clientRepository.saveAll(batch.getContent());
+            updated += batch.getNumberOfElements();
+
+            // Sempre a primeira página: os documentos atualizados deixam de casar com o filtro
+            batch = clientRepository.findBySearchTokensIsNull(PageRequest.of(0, BATCH_SIZE));
+        }
+
+        if (updated > 0) {
+            log.info("Search tokens backfilled for {} clients", updated);
+        }
+    }
+}
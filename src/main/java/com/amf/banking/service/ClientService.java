@@ -1,13 +1,27 @@
 package com.amf.banking.service;
 
+import com.amf.banking.concurrent.SingleFlight;
 import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.dto.ClientDeletionJobDTO;
+import com.amf.banking.dto.PageDTO;
 import com.amf.banking.exception.BusinessException;
 import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.mapper.ClientMapper;
 import com.amf.banking.model.Client;
+import com.amf.banking.model.ClientDeletionJob;
+import com.amf.banking.model.enums.DeletionJobStatus;
+import com.amf.banking.projection.PortfolioChangedEvent;
+import com.amf.banking.repository.ClientDeletionJobRepository;
 import com.amf.banking.repository.ClientRepository;
+import com.amf.banking.util.TextNormalizer;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,10 +31,19 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Observed(name = "banking.service")
 public class ClientService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    // FALHOU entra na busca: um novo DELETE reenvia o job que falhou em vez de abrir outro
+    private static final List<DeletionJobStatus> ACTIVE_DELETION_STATUSES =
+            List.of(DeletionJobStatus.PENDENTE, DeletionJobStatus.EM_ANDAMENTO, DeletionJobStatus.FALHOU);
+
     private final ClientRepository clientRepository;
-    private final ModelMapper modelMapper;
+    private final ClientDeletionJobRepository clientDeletionJobRepository;
+    private final ClientMapper clientMapper;
+    private final SingleFlight<String, ClientDTO> clientReads;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ClientDTO createClient(ClientDTO clientDTO) {
@@ -30,31 +53,28 @@ public class ClientService {
             throw new BusinessException("CPF já cadastrado no sistema");
         }
 
-        Client client = modelMapper.map(clientDTO, Client.class);
+        Client client = clientMapper.toEntity(clientDTO);
+        client.setSearchTokens(TextNormalizer.tokenize(client.getFullName()));
         Client savedClient = clientRepository.save(client);
 
         log.info("Client created successfully with ID: {}", savedClient.getId());
-        return modelMapper.map(savedClient, ClientDTO.class);
+        return clientMapper.toDTO(savedClient);
     }
 
     @Transactional(readOnly = true)
     public ClientDTO getClientById(String id) {
         log.info("Fetching client with ID: {}", id);
 
-        Client client = clientRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com ID: " + id));
-
-        return modelMapper.map(client, ClientDTO.class);
+        return clientReads.execute(byId(id), () -> clientMapper.toDTO(clientRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com ID: " + id))));
     }
 
     @Transactional(readOnly = true)
     public ClientDTO getClientByCpf(String cpf) {
         log.info("Fetching client with CPF: {}", cpf);
 
-        Client client = clientRepository.findByCpf(cpf)
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com CPF: " + cpf));
-
-        return modelMapper.map(client, ClientDTO.class);
+        return clientReads.execute(byCpf(cpf), () -> clientMapper.toDTO(clientRepository.findByCpf(cpf)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com CPF: " + cpf))));
     }
 
     @Transactional(readOnly = true)
@@ -62,10 +82,36 @@ public class ClientService {
         log.info("Fetching all clients");
 
         return clientRepository.findAll().stream()
-                .map(client -> modelMapper.map(client, ClientDTO.class))
+                .map(clientMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public PageDTO<ClientDTO> searchClients(String query, int page, int size) {
+        log.info("Searching clients with query: '{}' (page {}, size {})", query, page, size);
+
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("Paginação inválida: página deve ser >= 0 e tamanho entre 1 e " + MAX_PAGE_SIZE);
+        }
+
+        List<String> tokens = TextNormalizer.tokenize(query);
+
+        // Com termos, a ordem é a do índice de searchTokens: ordenar por fullName exigiria um SORT em memória
+        // depois da leitura do índice, já que o prefixo é um intervalo em um campo multivalorado
+        Slice<Client> clients = tokens.isEmpty()
+                ? clientRepository.findAllBy(PageRequest.of(page, size, Sort.by("fullName")))
+                : clientRepository.searchByTokenPrefixes(tokens, PageRequest.of(page, size));
+
+        return PageDTO.<ClientDTO>builder()
+                .content(clients.getContent().stream()
+                        .map(clientMapper::toDTO)
+                        .collect(Collectors.toList()))
+                .page(page)
+                .size(size)
+                .hasNext(clients.hasNext())
+                .build();
+    }
+
     @Transactional
     public ClientDTO updateClient(String id, ClientDTO clientDTO) {
         log.info("Updating client with ID: {}", id);
@@ -78,25 +124,91 @@ public class ClientService {
             throw new BusinessException("CPF já cadastrado no sistema");
         }
 
+        String previousCpf = existingClient.getCpf();
         existingClient.setFullName(clientDTO.getFullName());
         existingClient.setCpf(clientDTO.getCpf());
         existingClient.setBirthDate(clientDTO.getBirthDate());
+        existingClient.setSearchTokens(TextNormalizer.tokenize(clientDTO.getFullName()));
 
         Client updatedClient = clientRepository.save(existingClient);
+        clientReads.invalidate(byId(id));
+        clientReads.invalidate(byCpf(previousCpf));
+        clientReads.invalidate(byCpf(updatedClient.getCpf()));
+        // O nome do cliente é copiado na carteira projetada
+        eventPublisher.publishEvent(PortfolioChangedEvent.of(id));
 
         log.info("Client updated successfully with ID: {}", updatedClient.getId());
-        return modelMapper.map(updatedClient, ClientDTO.class);
+        return clientMapper.toDTO(updatedClient);
     }
 
     @Transactional
-    public void deleteClient(String id) {
-        log.info("Deleting client with ID: {}", id);
+    public ClientDeletionJobDTO deleteClient(String id) {
+        log.info("Scheduling deletion of client with ID: {}", id);
 
         if (!clientRepository.existsById(id)) {
             throw new ResourceNotFoundException("Cliente não encontrado com ID: " + id);
         }
 
-        clientRepository.deleteById(id);
-        log.info("Client deleted successfully with ID: {}", id);
+        // Reaproveita o job em andamento: a exclusão é idempotente
+        ClientDeletionJob job = clientDeletionJobRepository
+                .findFirstByClientIdAndStatusIn(id, ACTIVE_DELETION_STATUSES)
+                .orElseGet(() -> scheduleDeletion(id));
+        if (job.getStatus() == DeletionJobStatus.FALHOU) {
+            job.setStatus(DeletionJobStatus.PENDENTE);
+            job.setAttempts(0);
+            job.setNextAttemptAt(null);
+            job = clientDeletionJobRepository.save(job);
+        }
+
+        log.info("Client deletion job {} scheduled for client ID: {}", job.getId(), id);
+        return toDeletionJobDTO(job);
+    }
+
+    // O índice único de job ativo por cliente barra a segunda de duas requisições simultâneas: ela devolve o
+    // job que a primeira criou
+    private ClientDeletionJob scheduleDeletion(String clientId) {
+        try {
+            return clientDeletionJobRepository.save(ClientDeletionJob.builder()
+                    .clientId(clientId)
+                    .status(DeletionJobStatus.PENDENTE)
+                    .build());
+        } catch (DuplicateKeyException e) {
+            return clientDeletionJobRepository.findFirstByClientIdAndStatusIn(clientId, ACTIVE_DELETION_STATUSES)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ClientDeletionJobDTO getDeletionJob(String jobId) {
+        log.info("Fetching client deletion job with ID: {}", jobId);
+
+        ClientDeletionJob job = clientDeletionJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job de exclusão não encontrado com ID: " + jobId));
+
+        return toDeletionJobDTO(job);
+    }
+
+    // ID e CPF compartilham o mesmo single-flight
+    private static String byId(String id) {
+        return "id:" + id;
+    }
+
+    private static String byCpf(String cpf) {
+        return "cpf:" + cpf;
+    }
+
+    private ClientDeletionJobDTO toDeletionJobDTO(ClientDeletionJob job) {
+        return ClientDeletionJobDTO.builder()
+                .id(job.getId())
+                .clientId(job.getClientId())
+                .status(job.getStatus())
+                .accountsClosed(job.getAccountsClosed())
+                .lastError(job.getLastError())
+                .attempts(job.getAttempts())
+                .nextAttemptAt(job.getNextAttemptAt())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
     }
 }
@@ -0,0 +1,68 @@
+package com.amf.banking.service;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.BalanceDTO;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.mapper.AccountMapper;
+import com.amf.banking.model.reactive.AccountDocument;
+import com.amf.banking.repository.reactive.ReactiveAccountRepository;
+import com.amf.banking.repository.reactive.ReactiveClientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@Profile("!inmemory")
+@RequiredArgsConstructor
+public class ReactiveAccountService {
+
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveClientRepository clientRepository;
+    private final AccountMapper accountMapper;
+
+    public Mono<AccountDTO> getAccountById(String id) {
+        log.info("Fetching account with ID: {} (v2)", id);
+
+        return findAccountById(id).flatMap(this::toDTO);
+    }
+
+    public Mono<BalanceDTO> getAccountBalance(String id) {
+        log.info("Fetching balance for account ID: {} (v2)", id);
+
+        return findAccountById(id)
+                .map(account -> BalanceDTO.builder()
+                        .accountNumber(account.getAccountNumber())
+                        .balance(account.getBalance())
+                        .build());
+    }
+
+    public Flux<AccountDTO> getAccountsByClientId(String clientId) {
+        log.info("Fetching accounts for client ID: {} (v2)", clientId);
+
+        return clientRepository.findById(clientId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Cliente não encontrado com ID: " + clientId)))
+                .flatMapMany(client -> accountRepository.findActiveByClientId(new ObjectId(client.getId()))
+                        .map(account -> accountMapper.toDTO(account, client)));
+    }
+
+    Mono<AccountDocument> findAccountById(String id) {
+        return accountRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Conta não encontrada com ID: " + id)));
+    }
+
+    private Mono<AccountDTO> toDTO(AccountDocument account) {
+        if (account.getClient() == null) {
+            return Mono.just(accountMapper.toDTO(account, null));
+        }
+
+        // Contas encerradas podem referenciar um cliente já removido
+        return clientRepository.findById(account.getClient().getId().toString())
+                .map(client -> accountMapper.toDTO(account, client))
+                .switchIfEmpty(Mono.fromSupplier(() -> accountMapper.toDTO(account, null)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.amf.banking.service;
+
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.mapper.ClientMapper;
+import com.amf.banking.repository.reactive.ReactiveClientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@Profile("!inmemory")
+@RequiredArgsConstructor
+public class ReactiveClientService {
+
+    private final ReactiveClientRepository clientRepository;
+    private final ClientMapper clientMapper;
+
+    public Mono<ClientDTO> getClientById(String id) {
+        log.info("Fetching client with ID: {} (v2)", id);
+
+        return clientRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Cliente não encontrado com ID: " + id)))
+                .map(clientMapper::toDTO);
+    }
+
+    public Mono<ClientDTO> getClientByCpf(String cpf) {
+        log.info("Fetching client with CPF: {} (v2)", cpf);
+
+        return clientRepository.findByCpf(cpf)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Cliente não encontrado com CPF: " + cpf)))
+                .map(clientMapper::toDTO);
+    }
+}
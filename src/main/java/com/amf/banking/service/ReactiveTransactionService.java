@@ -0,0 +1,264 @@
+package com.amf.banking.service;
+
+import com.amf.banking.concurrent.SingleFlight;
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.exception.ConcurrentUpdateException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.exception.TransferRejectedException;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.metrics.TransferMetrics;
+import com.amf.banking.model.Money;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.TransactionType;
+import com.amf.banking.model.enums.TransferFailureReason;
+import com.amf.banking.model.reactive.AccountDocument;
+import com.amf.banking.model.reactive.TransactionDocument;
+import com.amf.banking.projection.BalanceChange;
+import com.amf.banking.projection.TransferCompletedEvent;
+import com.amf.banking.ratelimit.RateLimiter;
+import com.amf.banking.repository.AccountSequenceRepository;
+import com.amf.banking.repository.reactive.ReactiveAccountRepository;
+import com.amf.banking.repository.reactive.ReactiveTransactionRepository;
+import com.mongodb.DBRef;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@Profile("!inmemory")
+@ConditionalOnExpression("'${banking.ledger.store:repository}' == 'repository' and '${banking.balances.mode:materialized}' == 'materialized'")
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+
+    // Quantidade de transações do extrato por consulta de números de conta
+    static final int ACCOUNT_LOOKUP_BATCH_SIZE = 100;
+
+    private static final String ACCOUNTS_COLLECTION = "accounts";
+    private static final int MAX_COMPENSATION_RETRIES = 20;
+
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveAccountService accountService;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final TransactionMapper transactionMapper;
+    private final RateLimiter sourceAccountRateLimiter;
+    private final TransferMetrics transferMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight<String, AccountDTO> accountReads;
+
+    public Mono<TransactionDTO> createTransfer(TransactionDTO transactionDTO) {
+        log.info("Processing transfer from account {} to account {} (v2)",
+                transactionDTO.getSourceAccountId(),
+                transactionDTO.getDestinationAccountId());
+
+        return Mono.fromCallable(() -> {
+                    TransactionService.validateTransfer(transactionDTO);
+                    long amount = Money.toCents(transactionDTO.getAmount());
+                    sourceAccountRateLimiter.acquire(transactionDTO.getSourceAccountId());
+                    return amount;
+                })
+                .flatMap(amount -> Mono.zip(
+                                accountService.findAccountById(transactionDTO.getSourceAccountId()),
+                                accountService.findAccountById(transactionDTO.getDestinationAccountId()))
+                        .flatMap(accounts -> transfer(accounts.getT1(), accounts.getT2(), amount,
+                                transactionDTO.getDescription())))
+                .doOnNext(transaction -> {
+                    transferMetrics.recordSuccess();
+                    log.info("Transfer completed successfully. Transaction ID: {}", transaction.getId());
+                })
+                .doOnError(transferMetrics::recordFailure);
+    }
+
+    public Flux<TransactionDTO> getAccountTransactions(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        log.info("Streaming transactions for account ID: {} between {} and {} (v2)", accountId, startDate, endDate);
+
+        return accountService.findAccountById(accountId)
+                .flatMapMany(account -> {
+                    ObjectId id = new ObjectId(account.getId());
+                    Flux<TransactionDocument> transactions = startDate != null && endDate != null
+                            ? transactionRepository.findByAccountIdAndDateRange(id, startDate, endDate)
+                            : transactionRepository.findByAccountId(id);
+
+                    // concatMap preserva a ordem e só pede o próximo lote quando o anterior foi consumido
+                    return transactions
+                            .buffer(ACCOUNT_LOOKUP_BATCH_SIZE)
+                            .concatMap(batch -> withAccountNumbers(batch, account));
+                });
+    }
+
+    private Mono<TransactionDTO> transfer(AccountDocument sourceAccount, AccountDocument destinationAccount,
+                                          long amount, String description) {
+        if (sourceAccount.getId().equals(destinationAccount.getId())) {
+            return Mono.error(new TransferRejectedException(TransferFailureReason.MESMA_CONTA, "Não é possível transferir para a mesma conta"));
+        }
+
+        if (sourceAccount.getStatus() == AccountStatus.ENCERRADA) {
+            return Mono.error(new TransferRejectedException(TransferFailureReason.CONTA_ENCERRADA, "Conta origem está encerrada"));
+        }
+
+        if (destinationAccount.getStatus() == AccountStatus.ENCERRADA) {
+            return Mono.error(new TransferRejectedException(TransferFailureReason.CONTA_ENCERRADA, "Conta destino está encerrada"));
+        }
+
+        long sourceBalance = Money.storedToCents(sourceAccount.getBalance());
+        if (sourceBalance < amount) {
+            return Mono.error(new TransferRejectedException(TransferFailureReason.SALDO_INSUFICIENTE, "Saldo insuficiente na conta origem"));
+        }
+
+        long destinationBalance = Money.storedToCents(destinationAccount.getBalance());
+
+        TransactionDocument transaction = TransactionDocument.builder()
+                .sourceAccount(new DBRef(ACCOUNTS_COLLECTION, new ObjectId(sourceAccount.getId())))
+                .destinationAccount(new DBRef(ACCOUNTS_COLLECTION, new ObjectId(destinationAccount.getId())))
+                .amount(Money.toBigDecimal(amount))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .description(description)
+                .build();
+
+        return Mono.zip(nextMovementSequence(sourceAccount.getId()), nextMovementSequence(destinationAccount.getId()))
+                .doOnNext(sequences -> {
+                    transaction.setSourceSequence(sequences.getT1());
+                    transaction.setDestinationSequence(sequences.getT2());
+                })
+                .then(compareAndSetBalance(sourceAccount.getId(), sourceAccount.getBalance(),
+                        Money.toBigDecimal(Money.subtract(sourceBalance, amount))))
+                .then(compareAndSetBalance(destinationAccount.getId(), destinationAccount.getBalance(),
+                                Money.toBigDecimal(Money.add(destinationBalance, amount)))
+                        // Destino não gravado: devolve o débito da origem antes de propagar o erro
+                        .onErrorResume(error -> compensate(sourceAccount.getId(), amount, error)
+                                .then(Mono.error(error))))
+                .doOnSuccess(ignored -> {
+                    accountReads.invalidate(sourceAccount.getId());
+                    accountReads.invalidate(destinationAccount.getId());
+                })
+                .then(Mono.defer(() -> transactionRepository.save(transaction))
+                        // Saldos já movidos e sem registro da transação: desfaz os dois antes de propagar o erro
+                        .onErrorResume(error -> compensate(destinationAccount.getId(), -amount, error)
+                                .then(compensate(sourceAccount.getId(), amount, error))
+                                .then(Mono.error(error))))
+                // Sequências reservadas e sem transação: anuladas para não travar a leitura das movimentações
+                .onErrorResume(error -> voidSequences(transaction).then(Mono.error(error)))
+                .map(saved -> transactionMapper.toDTO(saved,
+                        sourceAccount.getAccountNumber(), destinationAccount.getAccountNumber()))
+                .doOnNext(saved -> eventPublisher.publishEvent(TransferCompletedEvent.of(saved,
+                        balanceChange(sourceAccount, Money.subtract(sourceBalance, amount), transaction.getSourceSequence()),
+                        balanceChange(destinationAccount, Money.add(destinationBalance, amount), transaction.getDestinationSequence()))));
+    }
+
+    private static BalanceChange balanceChange(AccountDocument account, long balance, Long sequence) {
+        String clientId = account.getClient() == null ? null : account.getClient().getId().toString();
+        return new BalanceChange(account.getId(), account.getAccountNumber(), clientId, Money.ofCents(balance), sequence);
+    }
+
+    // Mesmo contador usado pela API v1 (AccountSequenceRepository)
+    private Mono<Long> nextMovementSequence(String accountId) {
+        return mongoTemplate.findAndModify(
+                        Query.query(Criteria.where("_id").is(accountId)),
+                        new Update().inc("value", 1L),
+                        FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        Document.class,
+                        AccountSequenceRepository.COLLECTION)
+                .map(counter -> counter.get("value", Number.class).longValue());
+    }
+
+    private Mono<Void> voidSequences(TransactionDocument transaction) {
+        return Mono.when(
+                voidSequence(transaction.getSourceAccount().getId().toString(), transaction.getSourceSequence()),
+                voidSequence(transaction.getDestinationAccount().getId().toString(), transaction.getDestinationSequence()));
+    }
+
+    // Mesmo registro de AccountSequenceRepository.voidMovementSequence
+    private Mono<Void> voidSequence(String accountId, Long sequence) {
+        if (sequence == null) {
+            return Mono.empty();
+        }
+        return mongoTemplate.upsert(
+                        Query.query(Criteria.where("_id").is(accountId)),
+                        new Update().addToSet(AccountSequenceRepository.VOIDED_FIELD, sequence),
+                        AccountSequenceRepository.COLLECTION)
+                .then()
+                .onErrorResume(error -> {
+                    log.error("Failed to void movement sequence {} of account {}", sequence, accountId, error);
+                    return Mono.empty();
+                });
+    }
+
+    // Desfaz um saldo já gravado; uma falha aqui é registrada e anexada sem substituir o erro original
+    private Mono<Void> compensate(String accountId, long cents, Throwable cause) {
+        return addToBalance(accountId, cents)
+                .doOnSuccess(ignored -> accountReads.invalidate(accountId))
+                .onErrorResume(error -> {
+                    log.error("Failed to compensate balance of account {} by {} cents", accountId, cents, error);
+                    cause.addSuppressed(error);
+                    return Mono.empty();
+                });
+    }
+
+    // Soma ao saldo atual, qualquer que seja, em vez de exigir o valor gravado pela própria transferência:
+    // sem $inc (saldo em texto), relê e repete a condição até ela bater
+    private Mono<Void> addToBalance(String accountId, long cents) {
+        return Mono.defer(() -> accountRepository.findById(accountId))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Conta não encontrada com ID: " + accountId)))
+                .flatMap(account -> compareAndSetBalance(accountId, account.getBalance(),
+                        Money.toBigDecimal(Money.add(Money.storedToCents(account.getBalance()), cents))))
+                .retryWhen(Retry.max(MAX_COMPENSATION_RETRIES).filter(ConcurrentUpdateException.class::isInstance));
+    }
+
+    // Atualiza só saldo e updatedAt, e só se o saldo gravado ainda for o que foi lido: o saldo é persistido
+    // como texto (BigDecimal), então $inc/$gte não se aplicam e a condição é sobre o valor lido
+    private Mono<Void> compareAndSetBalance(String accountId, BigDecimal expected, BigDecimal balance) {
+        Query query = Query.query(Criteria.where("id").is(accountId).and("balance").is(expected));
+        Update update = new Update()
+                .set("balance", balance)
+                .set("updatedAt", LocalDateTime.now());
+
+        return mongoTemplate.updateFirst(query, update, AccountDocument.class)
+                .flatMap(result -> result.getMatchedCount() == 1
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ConcurrentUpdateException("Saldo da conta alterado por outra operação; tente novamente")));
+    }
+
+    private Flux<TransactionDTO> withAccountNumbers(List<TransactionDocument> batch, AccountDocument account) {
+        Set<String> counterpartIds = new HashSet<>();
+        for (TransactionDocument transaction : batch) {
+            counterpartIds.add(transaction.getSourceAccount().getId().toString());
+            counterpartIds.add(transaction.getDestinationAccount().getId().toString());
+        }
+        counterpartIds.remove(account.getId());
+
+        return accountRepository.findAllById(counterpartIds)
+                .collectMap(AccountDocument::getId, AccountDocument::getAccountNumber, HashMap::new)
+                .flatMapMany(numbers -> {
+                    Map<String, String> accountNumbers = new HashMap<>(numbers);
+                    accountNumbers.put(account.getId(), account.getAccountNumber());
+
+                    return Flux.fromIterable(batch)
+                            .map(transaction -> transactionMapper.toDTO(transaction,
+                                    accountNumbers.get(transaction.getSourceAccount().getId().toString()),
+                                    accountNumbers.get(transaction.getDestinationAccount().getId().toString())));
+                });
+    }
+}
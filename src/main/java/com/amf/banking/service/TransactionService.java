@@ -1,134 +1,379 @@
 package com.amf.banking.service;
 
+import com.amf.banking.balance.BalanceJournal;
+import com.amf.banking.balance.TransferPostings;
+import com.amf.banking.dto.TransactionChangesDTO;
 import com.amf.banking.dto.TransactionDTO;
 import com.amf.banking.exception.BusinessException;
 import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.exception.TransferRejectedException;
+import com.amf.banking.ledger.LedgerStore;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.metrics.TransferMetrics;
 import com.amf.banking.model.Account;
+import com.amf.banking.model.Money;
 import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.AccountStatus;
 import com.amf.banking.model.enums.TransactionType;
-import com.amf.banking.repository.TransactionRepository;
+import com.amf.banking.model.enums.TransferFailureReason;
+import com.amf.banking.model.reactive.TransactionDocument;
+import com.amf.banking.profiling.StatementQueryEvent;
+import com.amf.banking.profiling.TransferEvent;
+import com.amf.banking.projection.BalanceChange;
+import com.amf.banking.projection.ReadModel;
+import com.amf.banking.projection.TransferCompletedEvent;
+import com.amf.banking.ratelimit.RateLimiter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Observed(name = "banking.service")
 public class TransactionService {
 
-    private final TransactionRepository transactionRepository;
+    private static final int MAX_CHANGES = 500;
+    // Lacuna sem registro de falha: só fica para sempre se o processo cair entre a reserva e a gravação.
+    // Uma transferência em andamento não chega perto disso; passado esse tempo, a lacuna é pulada
+    private static final Duration ABANDONED_GAP = Duration.ofMinutes(10);
+
+    private final LedgerStore ledgerStore;
+    private final BalanceJournal balanceJournal;
     private final AccountService accountService;
-    private final ModelMapper modelMapper;
+    private final TransactionMapper transactionMapper;
+    private final RateLimiter sourceAccountRateLimiter;
+    private final TransferMetrics transferMetrics;
+    private final ObservationRegistry observationRegistry;
+    private final ReadModel readModel;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TransactionDTO createTransfer(TransactionDTO transactionDTO) {
         log.info("Processing transfer from account {} to account {}",
                 transactionDTO.getSourceAccountId(),
                 transactionDTO.getDestinationAccountId());
+        spanAttribute("source.account.id", transactionDTO.getSourceAccountId());
+        spanAttribute("destination.account.id", transactionDTO.getDestinationAccountId());
+
+        TransferEvent event = new TransferEvent();
+        event.begin();
+        try {
+            TransactionDTO transaction = executeTransfer(transactionDTO);
+            transferMetrics.recordSuccess();
+            commit(event, transactionDTO, null);
+            return transaction;
+        } catch (RuntimeException e) {
+            transferMetrics.recordFailure(e);
+            commit(event, transactionDTO, e);
+            throw e;
+        }
+    }
+
+    // Sem gravação JFR ativa, shouldCommit() é falso e nada é preenchido
+    private static void commit(TransferEvent event, TransactionDTO transactionDTO, RuntimeException error) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.setSourceAccountId(transactionDTO.getSourceAccountId());
+        event.setDestinationAccountId(transactionDTO.getDestinationAccountId());
+        event.setAmount(transactionDTO.getAmount() == null ? 0 : transactionDTO.getAmount().doubleValue());
+        event.setSuccess(error == null);
+        event.setFailureReason(error == null ? null : TransferMetrics.reasonOf(error).name());
+        event.commit();
+    }
 
+    private TransactionDTO executeTransfer(TransactionDTO transactionDTO) {
         validateTransfer(transactionDTO);
+        long amount = Money.toCents(transactionDTO.getAmount());
+        sourceAccountRateLimiter.acquire(transactionDTO.getSourceAccountId());
 
         Account sourceAccount = accountService.findAccountById(transactionDTO.getSourceAccountId());
         Account destinationAccount = accountService.findAccountById(transactionDTO.getDestinationAccountId());
 
         if (sourceAccount.getId().equals(destinationAccount.getId())) {
-            throw new BusinessException("Não é possível transferir para a mesma conta");
+            throw new TransferRejectedException(TransferFailureReason.MESMA_CONTA, "Não é possível transferir para a mesma conta");
         }
 
-        if (sourceAccount.getBalance().compareTo(transactionDTO.getAmount()) < 0) {
-            throw new BusinessException("Saldo insuficiente na conta origem");
+        if (sourceAccount.getStatus() == AccountStatus.ENCERRADA) {
+            throw new TransferRejectedException(TransferFailureReason.CONTA_ENCERRADA, "Conta origem está encerrada");
         }
 
-        sourceAccount.setBalance(sourceAccount.getBalance().subtract(transactionDTO.getAmount()));
-        destinationAccount.setBalance(destinationAccount.getBalance().add(transactionDTO.getAmount()));
+        if (destinationAccount.getStatus() == AccountStatus.ENCERRADA) {
+            throw new TransferRejectedException(TransferFailureReason.CONTA_ENCERRADA, "Conta destino está encerrada");
+        }
 
-        accountService.saveAccount(sourceAccount);
-        accountService.saveAccount(destinationAccount);
+        long sourceBalance = Money.storedToCents(sourceAccount.getBalance());
+        if (sourceBalance < amount) {
+            throw new TransferRejectedException(TransferFailureReason.SALDO_INSUFICIENTE, "Saldo insuficiente na conta origem");
+        }
 
         Transaction transaction = Transaction.builder()
                 .sourceAccount(sourceAccount)
                 .destinationAccount(destinationAccount)
-                .amount(transactionDTO.getAmount())
+                .amount(Money.toBigDecimal(amount))
                 .transactionType(TransactionType.TRANSFERENCIA)
                 .description(transactionDTO.getDescription())
                 .build();
+        ledgerStore.validate(transaction);
+
+        // Versões de saldo antes do ledger: um conflito com outra transferência termina aqui, sem nada gravado
+        long destinationBalance = Money.storedToCents(destinationAccount.getBalance());
+        TransferPostings postings = balanceJournal.reserveTransfer(
+                sourceAccount, sourceBalance, destinationAccount, destinationBalance, amount);
+
+        BigDecimal sourceRead = sourceAccount.getBalance();
+        BigDecimal destinationRead = destinationAccount.getBalance();
+        sourceAccount.setBalance(Money.toBigDecimal(Money.subtract(sourceBalance, amount)));
+        destinationAccount.setBalance(Money.toBigDecimal(Money.add(destinationBalance, amount)));
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
+        Transaction savedTransaction;
+        boolean sourceDebited = false;
+        boolean destinationCredited = false;
+        try {
+            // Reservadas depois de todas as validações: uma sequência sem transação só sobra se a gravação falhar
+            transaction.setSourceSequence(accountService.nextMovementSequence(sourceAccount.getId()));
+            transaction.setDestinationSequence(accountService.nextMovementSequence(destinationAccount.getId()));
+
+            // Saldos gravados só se ainda forem os lidos (como na v2): sem isso v1 e v2 sobrescrevem um ao
+            // outro e duas transferências v1 concorrentes deixam a origem negativa
+            accountService.compareAndSetBalance(sourceAccount, sourceRead);
+            sourceDebited = true;
+            accountService.compareAndSetBalance(destinationAccount, destinationRead);
+            destinationCredited = true;
+
+            savedTransaction = ledgerStore.append(transaction);
+        } catch (RuntimeException e) {
+            if (destinationCredited) {
+                compensate(destinationAccount.getId(), -amount, e);
+            }
+            if (sourceDebited) {
+                compensate(sourceAccount.getId(), amount, e);
+            }
+            sourceAccount.setBalance(sourceRead);
+            destinationAccount.setBalance(destinationRead);
+            voidSequences(transaction);
+            balanceJournal.release(postings);
+            throw e;
+        }
+        balanceJournal.transferred(postings, savedTransaction);
 
         log.info("Transfer completed successfully. Transaction ID: {}", savedTransaction.getId());
 
-        return buildTransactionDTO(savedTransaction);
+        TransactionDTO result = transactionMapper.toDTO(savedTransaction);
+        eventPublisher.publishEvent(TransferCompletedEvent.of(result,
+                BalanceChange.of(sourceAccount, Money.ofCents(Money.subtract(sourceBalance, amount)), transaction.getSourceSequence()),
+                BalanceChange.of(destinationAccount, Money.ofCents(Money.add(destinationBalance, amount)), transaction.getDestinationSequence())));
+        return result;
+    }
+
+    // Desfaz um saldo já gravado somando ao valor atual; uma falha aqui não substitui o erro original
+    private void compensate(String accountId, long cents, RuntimeException cause) {
+        try {
+            accountService.addToBalance(accountId, cents);
+        } catch (RuntimeException e) {
+            log.error("Failed to compensate balance of account {} by {} cents", accountId, cents, e);
+            cause.addSuppressed(e);
+        }
+    }
+
+    // Sequências reservadas e sem transação: getAccountChanges pula a lacuna em vez de esperar por ela
+    private void voidSequences(Transaction transaction) {
+        voidSequence(transaction.getSourceAccount().getId(), transaction.getSourceSequence());
+        voidSequence(transaction.getDestinationAccount().getId(), transaction.getDestinationSequence());
+    }
+
+    private void voidSequence(String accountId, Long sequence) {
+        if (sequence == null) {
+            return;
+        }
+        try {
+            accountService.voidMovementSequence(accountId, sequence);
+        } catch (RuntimeException e) {
+            log.error("Failed to void movement sequence {} of account {}; its changes feed waits {} before skipping it",
+                    sequence, accountId, ABANDONED_GAP, e);
+        }
     }
 
     @Transactional(readOnly = true)
     public TransactionDTO getTransactionById(String id) {
         log.info("Fetching transaction with ID: {}", id);
 
-        Transaction transaction = transactionRepository.findById(id)
+        TransactionDocument transaction = ledgerStore.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transação não encontrada com ID: " + id));
 
-        return buildTransactionDTO(transaction);
+        return toDTOs(List.of(transaction), accountNumbers(List.of(transaction), Set.of())).get(0);
     }
 
     @Transactional(readOnly = true)
     public List<TransactionDTO> getAccountTransactions(String accountId, LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Fetching transactions for account ID: {} between {} and {}", accountId, startDate, endDate);
 
-        Account account = accountService.findAccountById(accountId);
+        StatementQueryEvent event = new StatementQueryEvent();
+        event.begin();
 
-        List<Transaction> transactions;
-        if (startDate != null && endDate != null) {
-            // Usa o método com DBRef direto
-            transactions = transactionRepository.findBySourceAccountOrDestinationAccountAndTransactionDateBetween(
-                account, account, startDate, endDate);
-        } else {
-            // Usa o método com DBRef direto
-            transactions = transactionRepository.findBySourceAccountOrDestinationAccount(account, account);
+        // Projeção de leitura: uma consulta indexada, com os números de conta já gravados nas linhas
+        if (readModel.isEnabled()) {
+            List<TransactionDTO> statement = readModel.statement(accountId, startDate, endDate);
+            if (statement.isEmpty()) {
+                accountService.findAccountById(accountId);
+            }
+            statementQueried(event, accountId, startDate, endDate, statement.size());
+            return withRunningBalance(accountId, startDate, endDate, statement);
         }
 
-        log.info("Found {} transactions for account ID: {}", transactions.size(), accountId);
+        // Duas consultas por extrato: as transações (contas como DBRef bruto) e os números de conta em lote
+        List<TransactionDocument> transactions = ledgerStore.findStatement(accountId, startDate, endDate);
 
-        return transactions.stream()
-                .map(this::buildTransactionDTO)
-                .collect(Collectors.toList());
+        Map<String, String> accountNumbers = accountNumbers(transactions, Set.of(accountId));
+        if (!accountNumbers.containsKey(accountId)) {
+            throw new ResourceNotFoundException("Conta não encontrada com ID: " + accountId);
+        }
+
+        statementQueried(event, accountId, startDate, endDate, transactions.size());
+        return withRunningBalance(accountId, startDate, endDate, toDTOs(transactions, accountNumbers));
+    }
+
+    // Modo event-sourced: saldo após cada linha, lido dos lançamentos da conta no mesmo intervalo (sem replay)
+    private List<TransactionDTO> withRunningBalance(String accountId, LocalDateTime startDate, LocalDateTime endDate,
+                                                    List<TransactionDTO> statement) {
+        if (!balanceJournal.isEnabled() || statement.isEmpty()) {
+            return statement;
+        }
+        Map<String, BigDecimal> balances = balanceJournal.balancesAfter(accountId, startDate, endDate);
+        statement.forEach(transaction -> transaction.setBalanceAfter(balances.get(transaction.getId())));
+        return statement;
+    }
+
+    private void statementQueried(StatementQueryEvent event, String accountId,
+                                  LocalDateTime startDate, LocalDateTime endDate, int rows) {
+        log.info("Found {} transactions for account ID: {}", rows, accountId);
+        spanAttribute("account.id", accountId);
+        spanAttribute("statement.rows", String.valueOf(rows));
+        if (event.shouldCommit()) {
+            event.setAccountId(accountId);
+            event.setDateRange(startDate != null && endDate != null);
+            event.setRowCount(rows);
+            event.commit();
+        }
+    }
+
+    // Movimentações da conta com sequência maior que sinceSequence, sem lacunas: uma sequência ausente é de uma
+    // transferência ainda em andamento e encerra a resposta. Só são puladas as lacunas anuladas pela própria
+    // transferência que falhou (voidSequences) e, como último recurso, as mais antigas que ABANDONED_GAP.
+    // Assim o cliente nunca avança o cursor por cima de uma movimentação.
+    @Transactional(readOnly = true)
+    public TransactionChangesDTO getAccountChanges(String accountId, long sinceSequence, int limit) {
+        log.info("Fetching changes for account ID: {} since sequence {}", accountId, sinceSequence);
+
+        if (sinceSequence < 0 || limit < 1 || limit > MAX_CHANGES) {
+            throw new BusinessException("Consulta inválida: sinceSeq deve ser >= 0 e limit entre 1 e " + MAX_CHANGES);
+        }
+
+        List<TransactionDocument> found = ledgerStore.findChanges(accountId, sinceSequence, limit + 1);
+        Map<String, String> accountNumbers = accountNumbers(found, Set.of(accountId));
+        if (!accountNumbers.containsKey(accountId)) {
+            throw new ResourceNotFoundException("Conta não encontrada com ID: " + accountId);
+        }
+
+        LocalDateTime abandoned = LocalDateTime.now().minus(ABANDONED_GAP);
+        Set<Long> voided = null;
+        List<TransactionDocument> changes = new ArrayList<>();
+        long next = sinceSequence;
+        boolean hasMore = false;
+        for (TransactionDocument transaction : found) {
+            long sequence = transaction.sequenceOf(accountId);
+            if (sequence != next + 1) {
+                // Lido só quando aparece uma lacuna, que é rara
+                if (voided == null) {
+                    voided = accountService.findVoidedSequences(accountId);
+                }
+                if (!LongStream.range(next + 1, sequence).allMatch(voided::contains)
+                        && transaction.getTransactionDate().isAfter(abandoned)) {
+                    break;
+                }
+            }
+            if (changes.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            changes.add(transaction);
+            next = sequence;
+        }
+
+        List<TransactionDTO> dtos = toDTOs(changes, accountNumbers);
+        for (int i = 0; i < dtos.size(); i++) {
+            dtos.get(i).setSequence(changes.get(i).sequenceOf(accountId));
+        }
+        return TransactionChangesDTO.builder()
+                .changes(dtos)
+                .nextSinceSeq(next)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public List<TransactionDTO> getAllTransactions() {
         log.info("Fetching all transactions");
 
-        return transactionRepository.findAll().stream()
-                .map(this::buildTransactionDTO)
+        List<TransactionDocument> transactions = ledgerStore.findAll();
+        return toDTOs(transactions, accountNumbers(transactions, Set.of()));
+    }
+
+    // Números de conta de todas as transações (e das contas extras) em uma única consulta
+    private Map<String, String> accountNumbers(List<TransactionDocument> transactions, Set<String> extraAccountIds) {
+        Set<String> accountIds = new HashSet<>(extraAccountIds);
+        transactions.forEach(transaction -> {
+            accountIds.add(transaction.getSourceAccount().getId().toString());
+            accountIds.add(transaction.getDestinationAccount().getId().toString());
+        });
+        return accountService.findAccountNumbers(accountIds);
+    }
+
+    private List<TransactionDTO> toDTOs(List<TransactionDocument> transactions, Map<String, String> accountNumbers) {
+        return transactions.stream()
+                .map(transaction -> transactionMapper.toDTO(transaction,
+                        accountNumbers.get(transaction.getSourceAccount().getId().toString()),
+                        accountNumbers.get(transaction.getDestinationAccount().getId().toString())))
                 .collect(Collectors.toList());
     }
 
-    private void validateTransfer(TransactionDTO transactionDTO) {
-        if (transactionDTO.getAmount() == null || transactionDTO.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BusinessException("Valor da transferência deve ser maior que zero");
+    // Atributo do span do método atual (@Observed); sem observação corrente não há o que anotar
+    private void spanAttribute(String key, String value) {
+        Observation observation = observationRegistry.getCurrentObservation();
+        if (observation != null) {
+            observation.highCardinalityKeyValue(key, value);
+        }
+    }
+
+    // Compartilhado com ReactiveTransactionService (API v2)
+    static void validateTransfer(TransactionDTO transactionDTO) {
+        if (transactionDTO.getAmount() == null || transactionDTO.getAmount().signum() <= 0) {
+            throw new TransferRejectedException(TransferFailureReason.VALOR_INVALIDO, "Valor da transferência deve ser maior que zero");
         }
 
         if (transactionDTO.getSourceAccountId() == null || transactionDTO.getSourceAccountId().isEmpty()) {
-            throw new BusinessException("Conta origem é obrigatória");
+            throw new TransferRejectedException(TransferFailureReason.CONTA_OBRIGATORIA, "Conta origem é obrigatória");
         }
 
         if (transactionDTO.getDestinationAccountId() == null || transactionDTO.getDestinationAccountId().isEmpty()) {
-            throw new BusinessException("Conta destino é obrigatória");
+            throw new TransferRejectedException(TransferFailureReason.CONTA_OBRIGATORIA, "Conta destino é obrigatória");
         }
     }
-
-    private TransactionDTO buildTransactionDTO(Transaction transaction) {
-        TransactionDTO dto = modelMapper.map(transaction, TransactionDTO.class);
-        dto.setSourceAccountId(transaction.getSourceAccount().getId());
-        dto.setSourceAccountNumber(transaction.getSourceAccount().getAccountNumber());
-        dto.setDestinationAccountId(transaction.getDestinationAccount().getId());
-        dto.setDestinationAccountNumber(transaction.getDestinationAccount().getAccountNumber());
-        return dto;
-    }
 }
@@ -0,0 +1,40 @@
+package com.amf.banking.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private TextNormalizer() {
+    }
+
+    // Remove acentos, converte para minúsculas e colapsa separadores: "José  da Conceição" -> "jose da conceicao"
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String folded = DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> tokens = new LinkedHashSet<>(List.of(normalized.split(" ")));
+        return new ArrayList<>(tokens);
+    }
+}
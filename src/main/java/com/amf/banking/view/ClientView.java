@@ -13,6 +13,7 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 
@@ -30,6 +31,8 @@ public class ClientView extends VerticalLayout {
     private TextField cpf = new TextField("CPF");
     private DatePicker birthDate = new DatePicker("Data de Nascimento");
 
+    private TextField searchField = new TextField();
+
     private Button saveButton = new Button("Salvar");
     private Button clearButton = new Button("Limpar");
 
@@ -42,26 +45,36 @@ public class ClientView extends VerticalLayout {
         configureGrid();
         configureForm();
 
-        add(getFormLayout(), grid);
+        configureSearch();
+
+        add(getFormLayout(), searchField, grid);
         refreshGrid();
     }
 
+    private void configureSearch() {
+        searchField.setPlaceholder("Buscar por nome...");
+        searchField.setClearButtonVisible(true);
+        searchField.setWidth("400px");
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.addValueChangeListener(e -> grid.getDataProvider().refreshAll());
+    }
+
     private void configureGrid() {
         grid.setSizeFull();
-        grid.addColumn(ClientDTO::getFullName).setHeader("Nome Completo").setSortable(true);
-        grid.addColumn(ClientDTO::getCpf).setHeader("CPF").setSortable(true);
+        grid.addColumn(ClientDTO::getFullName).setHeader("Nome Completo");
+        grid.addColumn(ClientDTO::getCpf).setHeader("CPF");
         grid.addColumn(client -> {
             if (client.getBirthDate() != null) {
                 return client.getBirthDate().format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy"));
             }
             return "";
-        }).setHeader("Data de Nascimento").setSortable(true);
+        }).setHeader("Data de Nascimento");
         grid.addColumn(client -> {
             if (client.getCreatedAt() != null) {
                 return client.getCreatedAt().format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
             }
             return "";
-        }).setHeader("Criado em").setSortable(true);
+        }).setHeader("Criado em");
 
         grid.asSingleSelect().addValueChangeListener(event -> {
             if (event.getValue() != null) {
@@ -153,11 +166,17 @@ public class ClientView extends VerticalLayout {
     }
 
     private void refreshGrid() {
-        try {
-            grid.setItems(clientService.getAllClients());
-        } catch (Exception e) {
-            showNotification("Erro ao carregar clientes: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
-        }
+        // Carregamento paginado sob demanda: o grid busca apenas as páginas exibidas
+        grid.setItems(query -> {
+            try {
+                return clientService.searchClients(searchField.getValue(), query.getPage(), query.getPageSize())
+                        .getContent()
+                        .stream();
+            } catch (Exception e) {
+                showNotification("Erro ao carregar clientes: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
+                return java.util.stream.Stream.empty();
+            }
+        });
     }
 
     private void showNotification(String message, NotificationVariant variant) {
@@ -77,6 +77,13 @@ public class StatementView extends VerticalLayout {
                 .setHeader("Valor")
                 .setSortable(true);
 
+        // Preenchido apenas no modo de saldos event-sourced
+        grid.addColumn(transaction -> transaction.getBalanceAfter() != null
+                        ? String.format("R$ %.2f", transaction.getBalanceAfter())
+                        : "")
+                .setHeader("Saldo após")
+                .setSortable(true);
+
         grid.addColumn(transaction -> "Transferência")
                 .setHeader("Tipo")
                 .setSortable(true);
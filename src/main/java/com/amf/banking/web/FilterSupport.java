@@ -0,0 +1,99 @@
+package com.amf.banking.web;
+
+import com.amf.banking.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Utilitários dos filtros que rejeitam requisições antes de chegarem ao Spring MVC
+public final class FilterSupport {
+
+    private FilterSupport() {
+    }
+
+    public static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+
+    // Feeds SSE (/feed) ficam abertos por minutos: os limites de concorrência valem só para a abertura
+    public static boolean isEventStream(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/feed");
+    }
+
+    // Mesmo corpo de erro do GlobalExceptionHandler, que não alcança filtros
+    public static void writeError(HttpServletRequest request, HttpServletResponse response, ObjectMapper objectMapper,
+                                  HttpStatus status, String message, long retryAfterSeconds) throws IOException {
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    // Executa "release" uma única vez, quando a requisição termina de fato. Respostas
+    // assíncronas (API v2) continuam depois que a cadeia de filtros retorna.
+    public static void releaseWhenComplete(HttpServletRequest request, Runnable release) {
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new ReleaseOnComplete(release));
+        } else {
+            release.run();
+        }
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+
+        private final Runnable release;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnComplete(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Um novo ciclo assíncrono no mesmo request precisa continuar sendo observado
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                release.run();
+            }
+        }
+    }
+}
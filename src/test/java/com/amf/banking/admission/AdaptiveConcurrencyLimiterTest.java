@@ -0,0 +1,128 @@
+package com.amf.banking.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW_NANOS = Duration.ofMillis(100).toNanos();
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(20, 4, 40, Duration.ofMillis(50), 0.5,
+                Duration.ofMillis(100), meterRegistry, clock::get);
+    }
+
+    @Test
+    void slowMongoWindow_MultiplicativelyDecreasesLimit() {
+        closeWindowWithLatency(Duration.ofMillis(200));
+        assertEquals(10, limiter.getLimit());
+
+        closeWindowWithLatency(Duration.ofMillis(200));
+        closeWindowWithLatency(Duration.ofMillis(200));
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void fastWindowUnderLoad_AdditivelyIncreasesLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.NORMAL));
+        }
+
+        closeWindowWithLatency(Duration.ofMillis(5));
+
+        assertEquals(21, limiter.getLimit());
+    }
+
+    @Test
+    void fastWindowWhileIdle_KeepsLimit() {
+        closeWindowWithLatency(Duration.ofMillis(5));
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void fullStall_DecreasesLimitWithoutAnyCompletedCommand() {
+        for (int requestId = 1; requestId <= 5; requestId++) {
+            limiter.onCommandStarted(requestId);
+        }
+
+        // Nenhum comando termina: só o agendador fecha as janelas
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.closeWindowIfDue();
+        assertEquals(10, limiter.getLimit());
+
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.closeWindowIfDue();
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.closeWindowIfDue();
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void stallEnds_RunningCommandsNoLongerCount() {
+        limiter.onCommandStarted(1);
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.closeWindowIfDue();
+        assertEquals(10, limiter.getLimit());
+
+        limiter.onCommandFinished(1);
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.closeWindowIfDue();
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void oneSlowCommandAmongFastOnes_KeepsLimit() {
+        limiter.onCommandStarted(1);
+        for (int i = 0; i < 20; i++) {
+            limiter.onLatencySample(Duration.ofMillis(2).toNanos());
+        }
+
+        closeWindowWithLatency(Duration.ofMillis(2));
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void tryAcquire_ShedsListingsBeforeTransfers() {
+        // LOW usa até 75% do limite (15), NORMAL 90% (18), CRITICAL 100% (20)
+        for (int i = 0; i < 15; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.LOW));
+        }
+        assertFalse(limiter.tryAcquire(AdmissionPriority.LOW));
+        assertTrue(limiter.tryAcquire(AdmissionPriority.NORMAL));
+        assertTrue(limiter.tryAcquire(AdmissionPriority.NORMAL));
+        assertTrue(limiter.tryAcquire(AdmissionPriority.NORMAL));
+        assertFalse(limiter.tryAcquire(AdmissionPriority.NORMAL));
+        assertTrue(limiter.tryAcquire(AdmissionPriority.CRITICAL));
+        assertTrue(limiter.tryAcquire(AdmissionPriority.CRITICAL));
+        assertFalse(limiter.tryAcquire(AdmissionPriority.CRITICAL));
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire(AdmissionPriority.CRITICAL));
+        assertEquals(20, limiter.getInFlight());
+
+        assertEquals(1.0, meterRegistry.get("banking.admission.requests")
+                .tag("priority", "low").tag("outcome", "rejected").counter().count());
+        assertEquals(20.0, meterRegistry.get("banking.admission.limit").gauge().value());
+    }
+
+    private void closeWindowWithLatency(Duration latency) {
+        limiter.onLatencySample(latency.toNanos());
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.onLatencySample(latency.toNanos());
+    }
+}
@@ -0,0 +1,52 @@
+package com.amf.banking.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    @Test
+    void classify_TransfersAreCriticalAndListingsLow() {
+        assertEquals(AdmissionPriority.CRITICAL, AdmissionControlFilter.classify(request("POST", "/api/v1/transactions")));
+        assertEquals(AdmissionPriority.CRITICAL, AdmissionControlFilter.classify(request("POST", "/api/v2/transactions")));
+        assertEquals(AdmissionPriority.LOW, AdmissionControlFilter.classify(request("GET", "/api/v1/accounts")));
+        assertEquals(AdmissionPriority.LOW, AdmissionControlFilter.classify(request("GET", "/api/v1/transactions/account/1")));
+        assertEquals(AdmissionPriority.LOW, AdmissionControlFilter.classify(request("GET", "/api/v1/clients/search")));
+        assertEquals(AdmissionPriority.NORMAL, AdmissionControlFilter.classify(request("GET", "/api/v1/accounts/1/balance")));
+        assertEquals(AdmissionPriority.NORMAL, AdmissionControlFilter.classify(request("POST", "/api/v1/clients")));
+    }
+
+    @Test
+    void doFilter_ShedsWith503WhenLimitReached() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Duration.ofMillis(50), 0.5,
+                Duration.ofMillis(100), new SimpleMeterRegistry());
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        assertTrue(limiter.tryAcquire(AdmissionPriority.CRITICAL));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/transactions"), response, new MockFilterChain());
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+
+        limiter.release();
+        response = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/transactions"), response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
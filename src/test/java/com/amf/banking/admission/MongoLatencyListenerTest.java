@@ -0,0 +1,63 @@
+package com.amf.banking.admission;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+class MongoLatencyListenerTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+    private final MongoLatencyListener listener = new MongoLatencyListener(limiter);
+
+    @Test
+    void awaitingGetMore_IsNotALatencySample() {
+        // getMore de change stream: o servidor segura a resposta até maxTimeMS quando não há eventos
+        run(1, "getMore", new BsonDocument("getMore", new BsonInt64(42)).append("maxTimeMS", new BsonInt64(1000)),
+                Duration.ofSeconds(1));
+
+        verifyNoInteractions(limiter);
+    }
+
+    @Test
+    void queriesAndPlainGetMore_AreLatencySamples() {
+        run(2, "find", new BsonDocument("find", new BsonString("accounts")), Duration.ofMillis(3));
+        run(3, "getMore", new BsonDocument("getMore", new BsonInt64(42)), Duration.ofMillis(4));
+
+        verify(limiter).onLatencySample(Duration.ofMillis(3).toNanos());
+        verify(limiter).onLatencySample(Duration.ofMillis(4).toNanos());
+    }
+
+    @Test
+    void runningCommand_IsTrackedUntilItFinishes() {
+        listener.commandStarted(new CommandStartedEvent(null, 1, 4, CONNECTION, "banking", "find",
+                new BsonDocument("find", new BsonString("accounts"))));
+
+        verify(limiter).onCommandStarted(4);
+        verify(limiter, never()).onCommandFinished(anyInt());
+
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, 4, CONNECTION, "banking", "find",
+                new BsonDocument(), Duration.ofSeconds(2).toNanos()));
+
+        verify(limiter).onCommandFinished(4);
+    }
+
+    private void run(int requestId, String commandName, BsonDocument command, Duration elapsed) {
+        listener.commandStarted(new CommandStartedEvent(null, 1, requestId, CONNECTION, "banking", commandName, command));
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, CONNECTION, "banking", commandName,
+                new BsonDocument(), elapsed.toNanos()));
+    }
+}
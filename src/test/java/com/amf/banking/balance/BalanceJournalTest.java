@@ -0,0 +1,214 @@
+package com.amf.banking.balance;
+
+import com.amf.banking.exception.BusinessException;
+import com.amf.banking.exception.ConcurrentUpdateException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.AccountEvent;
+import com.amf.banking.model.Money;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.AccountEventType;
+import com.amf.banking.model.enums.TransactionType;
+import com.amf.banking.repository.inmemory.InMemoryAccountEventRepository;
+import com.amf.banking.repository.inmemory.InMemoryAccountSnapshotRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceJournalTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 10, 9, 0);
+
+    private final InMemoryAccountEventRepository eventRepository = new InMemoryAccountEventRepository();
+    private final InMemoryAccountSnapshotRepository snapshotRepository = new InMemoryAccountSnapshotRepository();
+    private final BalanceJournal journal = new BalanceJournal(eventRepository, snapshotRepository, "event-sourced", 3);
+
+    private int transactions;
+
+    @Test
+    void transfers_AppendVersionedEventsAndPeriodicSnapshots() {
+        Account source = open("65a000000000000000000001", 100_000);
+        Account destination = open("65a000000000000000000002", 0);
+
+        for (int i = 0; i < 5; i++) {
+            transfer(source, destination, 1_000, T0.plusMinutes(i + 1));
+        }
+
+        assertEquals(6L, source.getBalanceVersion());
+        List<AccountEvent> events = eventRepository.findByAccountIdAndVersionGreaterThanOrderByVersionAsc(source.getId(), 0);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), events.stream().map(AccountEvent::getVersion).toList());
+        assertEquals(AccountEventType.ABERTURA, events.get(0).getType());
+        assertEquals(AccountEventType.DEBITO, events.get(1).getType());
+        assertEquals("tx-1", events.get(1).getTransactionId());
+        assertEquals(6, snapshotRepository.findFirstByAccountIdOrderByVersionDesc(source.getId()).orElseThrow().getVersion());
+
+        assertEquals(new BalanceState(6, 95_000), journal.rebuild(source.getId()));
+        assertEquals(new BalanceState(6, 5_000), journal.rebuild(destination.getId()));
+    }
+
+    @Test
+    void rebuild_StartsFromLatestSnapshot() {
+        Account source = open("65a000000000000000000001", 100_000);
+        Account destination = open("65a000000000000000000002", 0);
+        for (int i = 0; i < 4; i++) {
+            transfer(source, destination, 500, T0.plusMinutes(i + 1));
+        }
+
+        // Eventos cobertos pelo snapshot da versão 3 não são relidos
+        eventRepository.findByAccountIdAndVersionGreaterThanOrderByVersionAsc(source.getId(), 0).stream()
+                .filter(event -> event.getVersion() <= 3)
+                .forEach(eventRepository::delete);
+
+        assertEquals(new BalanceState(5, 98_000), journal.rebuild(source.getId()));
+    }
+
+    @Test
+    void balanceAsOf_ReadsLastPostingUpToDate() {
+        Account source = open("65a000000000000000000001", 100_000);
+        Account destination = open("65a000000000000000000002", 0);
+        for (int i = 0; i < 7; i++) {
+            transfer(source, destination, 1_000, T0.plusHours(i + 1));
+        }
+        // O saldo corrente dos lançamentos dispensa snapshots e replay
+        snapshotRepository.deleteAll();
+
+        assertEquals(100_000, journal.balanceAsOf(source.getId(), T0.plusMinutes(30)).balanceCents());
+        assertEquals(new BalanceState(4, 97_000), journal.balanceAsOf(source.getId(), T0.plusHours(3)));
+        assertEquals(new BalanceState(6, 95_000), journal.balanceAsOf(source.getId(), T0.plusHours(5).plusMinutes(59)));
+        assertEquals(7_000, journal.balanceAsOf(destination.getId(), T0.plusDays(1)).balanceCents());
+        assertThrows(ResourceNotFoundException.class, () -> journal.balanceAsOf(source.getId(), T0.minusDays(1)));
+    }
+
+    @Test
+    void balanceAsOf_EventsWithoutBalanceAfter_ReplaysFromSnapshot() {
+        Account source = open("65a000000000000000000001", 100_000);
+        Account destination = open("65a000000000000000000002", 0);
+        for (int i = 0; i < 4; i++) {
+            transfer(source, destination, 1_000, T0.plusHours(i + 1));
+        }
+        // Eventos gravados antes do saldo corrente
+        eventRepository.findAll().forEach(event -> {
+            event.setBalanceAfter(null);
+            eventRepository.save(event);
+        });
+
+        assertEquals(new BalanceState(4, 97_000), journal.balanceAsOf(source.getId(), T0.plusHours(3)));
+        assertEquals(new BalanceState(5, 96_000), journal.balanceAsOf(source.getId(), T0.plusDays(1)));
+    }
+
+    @Test
+    void transfers_RecordDebitAndCreditPostingsWithRunningBalance() {
+        Account source = open("65a000000000000000000001", 100_000);
+        Account destination = open("65a000000000000000000002", 0);
+        transfer(source, destination, 1_000, T0.plusHours(1));
+        transfer(destination, source, 250, T0.plusHours(2));
+
+        List<AccountEvent> postings = eventRepository.findByAccountIdAndVersionGreaterThanOrderByVersionAsc(destination.getId(), 0);
+        assertEquals(List.of(AccountEventType.ABERTURA, AccountEventType.CREDITO, AccountEventType.DEBITO),
+                postings.stream().map(AccountEvent::getType).toList());
+        assertEquals(List.of(0L, 1_000L, 750L), postings.stream().map(event -> Money.toCents(event.getBalanceAfter())).toList());
+
+        assertEquals(Map.of("tx-1", Money.toBigDecimal(99_000), "tx-2", Money.toBigDecimal(99_250)),
+                journal.balancesAfter(source.getId(), null, null));
+        assertEquals(Map.of("tx-2", Money.toBigDecimal(750)),
+                journal.balancesAfter(destination.getId(), T0.plusMinutes(90), T0.plusHours(3)));
+    }
+
+    @Test
+    void transfer_AccountWithoutEvents_RecordsCurrentBalanceAsOpening() {
+        Account legacy = Account.builder().id("65a000000000000000000003").balance(Money.toBigDecimal(20_000)).build();
+        Account destination = open("65a000000000000000000002", 0);
+
+        transfer(legacy, destination, 2_500, T0.plusMinutes(1));
+
+        List<AccountEvent> events = eventRepository.findByAccountIdAndVersionGreaterThanOrderByVersionAsc(legacy.getId(), 0);
+        assertEquals(List.of(AccountEventType.ABERTURA, AccountEventType.DEBITO), events.stream().map(AccountEvent::getType).toList());
+        assertEquals(new BalanceState(2, 17_500), journal.rebuild(legacy.getId()));
+    }
+
+    @Test
+    void transfer_StaleVersion_IsRejectedByUniqueIndex() {
+        Account source = open("65a000000000000000000001", 100_000);
+        Account destination = open("65a000000000000000000002", 0);
+        Account staleCopy = Account.builder().id(source.getId()).balance(source.getBalance()).balanceVersion(1L).build();
+        transfer(source, destination, 1_000, T0.plusMinutes(1));
+
+        assertThrows(ConcurrentUpdateException.class, () -> transfer(staleCopy, destination, 1_000, T0.plusMinutes(2)));
+        assertEquals(new BalanceState(2, 99_000), journal.rebuild(source.getId()));
+        assertEquals(new BalanceState(2, 1_000), journal.rebuild(destination.getId()));
+    }
+
+    @Test
+    void reserveTransfer_DestinationConflict_ReleasesSourcePostings() {
+        Account source = open("65a000000000000000000001", 100_000);
+        Account destination = open("65a000000000000000000002", 0);
+        Account other = open("65a000000000000000000003", 50_000);
+        Account staleDestination = Account.builder().id(destination.getId()).balance(destination.getBalance())
+                .balanceVersion(1L).build();
+        transfer(other, destination, 1_000, T0.plusMinutes(1));
+
+        assertThrows(ConcurrentUpdateException.class,
+                () -> journal.reserveTransfer(source, 100_000, staleDestination, 0, 2_000));
+
+        assertEquals(new BalanceState(1, 100_000), journal.rebuild(source.getId()));
+        assertEquals(new BalanceState(2, 1_000), journal.rebuild(destination.getId()));
+    }
+
+    @Test
+    void release_RemovesReservedVersions() {
+        Account source = open("65a000000000000000000001", 100_000);
+        Account destination = open("65a000000000000000000002", 0);
+
+        TransferPostings postings = journal.reserveTransfer(source, 100_000, destination, 0, 1_000);
+        journal.release(postings);
+
+        assertEquals(new BalanceState(1, 100_000), journal.rebuild(source.getId()));
+        assertEquals(new BalanceState(1, 0), journal.rebuild(destination.getId()));
+    }
+
+    @Test
+    void materializedMode_RecordsNothing() {
+        BalanceJournal materialized = new BalanceJournal(eventRepository, snapshotRepository, "materialized", 3);
+        Account account = Account.builder().id("65a000000000000000000001").balance(Money.toBigDecimal(100)).build();
+
+        assertNull(materialized.openingVersion());
+        materialized.opened(account);
+
+        assertEquals(0, eventRepository.count());
+        assertThrows(BusinessException.class, () -> materialized.rebuild(account.getId()));
+        assertThrows(IllegalArgumentException.class, () -> new BalanceJournal(eventRepository, snapshotRepository, "outro", 3));
+    }
+
+    private Account open(String id, long balanceCents) {
+        Account account = Account.builder()
+                .id(id)
+                .balance(Money.toBigDecimal(balanceCents))
+                .balanceVersion(journal.openingVersion())
+                .createdAt(T0)
+                .build();
+        journal.opened(account);
+        return account;
+    }
+
+    // Mesma sequência de TransactionService: versões reservadas, ledger, lançamentos ligados à transação
+    private void transfer(Account source, Account destination, long amount, LocalDateTime date) {
+        long sourceBefore = Money.toCents(source.getBalance());
+        long destinationBefore = Money.toCents(destination.getBalance());
+        source.setBalance(Money.toBigDecimal(sourceBefore - amount));
+        destination.setBalance(Money.toBigDecimal(destinationBefore + amount));
+        Transaction transaction = Transaction.builder()
+                .id("tx-" + ++transactions)
+                .sourceAccount(source)
+                .destinationAccount(destination)
+                .amount(Money.toBigDecimal(amount))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .transactionDate(date)
+                .build();
+        TransferPostings postings = journal.reserveTransfer(source, sourceBefore, destination, destinationBefore, amount);
+        journal.transferred(postings, transaction);
+    }
+}
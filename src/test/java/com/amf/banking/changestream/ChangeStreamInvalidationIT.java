@@ -0,0 +1,85 @@
+package com.amf.banking.changestream;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.enums.AccountType;
+import com.amf.banking.service.AccountService;
+import com.amf.banking.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// O MongoDBContainer sobe um replica set de um nó, o mínimo para change streams. A janela do single-flight é longa
+// para que só a invalidação explique a leitura do valor novo.
+@SpringBootTest(properties = {
+        "banking.change-streams.enabled=true",
+        "banking.single-flight.result-window-ms=600000",
+        "banking.rate-limit.enabled=false",
+        "banking.admission.enabled=false"})
+@Testcontainers(disabledWithoutDocker = true)
+class ChangeStreamInvalidationIT {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ChangeStreamWatcher watcher;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    void writeFromAnotherNode_InvalidatesCachedAccount() throws InterruptedException {
+        ClientDTO client = clientService.createClient(ClientDTO.builder()
+                .fullName("João da Silva")
+                .cpf("52998224725")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .build());
+        String accountId = accountService.createAccount(AccountDTO.builder()
+                .clientId(client.getId())
+                .accountType(AccountType.CORRENTE)
+                .balance(new BigDecimal("100.00"))
+                .build()).getId();
+
+        await(watcher::isStreaming);
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountService.getAccountById(accountId).getBalance()));
+
+        // Escrita de outro nó: vai direto ao banco, sem passar pelo AccountService deste
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(accountId)),
+                Update.update("balance", new BigDecimal("250.00")), Account.class);
+
+        await(() -> new BigDecimal("250.00").compareTo(accountService.getAccountById(accountId).getBalance()) == 0);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condição não atingida em 15s");
+            Thread.sleep(100);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.amf.banking.changestream;
+
+import com.amf.banking.concurrent.SingleFlight;
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.ClientDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocalCacheInvalidatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, AccountDTO> accountReads =
+            new SingleFlight<>("account", Duration.ofMinutes(10), 100, meterRegistry);
+    private final SingleFlight<String, ClientDTO> clientReads =
+            new SingleFlight<>("client", Duration.ofMinutes(10), 100, meterRegistry);
+    private final LocalCacheInvalidator invalidator = new LocalCacheInvalidator(accountReads, clientReads);
+
+    private final AtomicInteger accountLoads = new AtomicInteger();
+    private final AtomicInteger clientLoads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        readAccount("a1");
+        readAccount("a2");
+        readClient("id:c1");
+    }
+
+    @Test
+    void accountChanged_InvalidatesOnlyThatAccount() {
+        invalidator.on(DataChangedEvent.of(ChangeStreamWatcher.ACCOUNTS, "a1", Set.of()));
+
+        readAccount("a1");
+        readAccount("a2");
+        readClient("id:c1");
+
+        assertEquals(3, accountLoads.get());
+        assertEquals(1, clientLoads.get());
+    }
+
+    @Test
+    void transactionInserted_InvalidatesBothAccounts() {
+        invalidator.on(DataChangedEvent.of(ChangeStreamWatcher.TRANSACTIONS, "t1", Set.of("a1", "a2")));
+
+        readAccount("a1");
+        readAccount("a2");
+
+        assertEquals(4, accountLoads.get());
+    }
+
+    @Test
+    void clientChanged_InvalidatesClientsAndAccounts() {
+        invalidator.on(DataChangedEvent.of(ChangeStreamWatcher.CLIENTS, "c2", Set.of()));
+
+        readAccount("a1");
+        readClient("id:c1");
+
+        assertEquals(3, accountLoads.get());
+        assertEquals(2, clientLoads.get());
+    }
+
+    @Test
+    void everything_InvalidatesAllCaches() {
+        invalidator.on(DataChangedEvent.everything());
+
+        readAccount("a1");
+        readAccount("a2");
+        readClient("id:c1");
+
+        assertEquals(4, accountLoads.get());
+        assertEquals(2, clientLoads.get());
+    }
+
+    private void readAccount(String id) {
+        accountReads.execute(id, () -> {
+            accountLoads.incrementAndGet();
+            return AccountDTO.builder().id(id).build();
+        });
+    }
+
+    private void readClient(String key) {
+        clientReads.execute(key, () -> {
+            clientLoads.incrementAndGet();
+            return ClientDTO.builder().id(key).build();
+        });
+    }
+}
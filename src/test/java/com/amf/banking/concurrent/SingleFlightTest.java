@@ -0,0 +1,137 @@
+package com.amf.banking.concurrent;
+
+import com.amf.banking.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void execute_ConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("account", Duration.ZERO, 100, meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("1", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "conta-1";
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("1", () -> {
+                    loads.incrementAndGet();
+                    return "outra";
+                })));
+            }
+            // Espera os seguidores chegarem antes de liberar a consulta
+            while (coalesced() < 7) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            assertEquals("conta-1", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                assertEquals("conta-1", follower.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    void execute_ServesResultWithinWindowThenReloads() {
+        SingleFlight<String, Integer> singleFlight =
+                new SingleFlight<>("account", Duration.ofMillis(50), 100, meterRegistry, clock::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, singleFlight.execute("1", loads::incrementAndGet));
+        clock.addAndGet(Duration.ofMillis(49).toNanos());
+        assertEquals(1, singleFlight.execute("1", loads::incrementAndGet));
+        clock.addAndGet(Duration.ofMillis(2).toNanos());
+        assertEquals(2, singleFlight.execute("1", loads::incrementAndGet));
+
+        assertEquals(1.0, meterRegistry.get("banking.singleflight.calls")
+                .tag("outcome", "window").counter().count());
+    }
+
+    @Test
+    void invalidate_ForcesNextCallToLoad() {
+        SingleFlight<String, Integer> singleFlight =
+                new SingleFlight<>("account", Duration.ofMinutes(1), 100, meterRegistry, clock::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("1", loads::incrementAndGet);
+        singleFlight.invalidate("1");
+
+        assertEquals(2, singleFlight.execute("1", loads::incrementAndGet));
+    }
+
+    @Test
+    void execute_FailuresAreNotKeptInWindow() {
+        SingleFlight<String, String> singleFlight =
+                new SingleFlight<>("account", Duration.ofMinutes(1), 100, meterRegistry, clock::get);
+
+        assertThrows(ResourceNotFoundException.class, () -> singleFlight.execute("1", () -> {
+            throw new ResourceNotFoundException("Conta não encontrada com ID: 1");
+        }));
+
+        assertEquals("conta-1", singleFlight.execute("1", () -> "conta-1"));
+    }
+
+    @Test
+    void execute_SweepsExpiredEntriesWhenFull() {
+        SingleFlight<String, String> singleFlight =
+                new SingleFlight<>("account", Duration.ofMillis(10), 2, meterRegistry, clock::get);
+
+        singleFlight.execute("1", () -> "a");
+        singleFlight.execute("2", () -> "b");
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        singleFlight.execute("3", () -> "c");
+
+        assertEquals(1, singleFlight.size());
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("banking.singleflight.calls").tag("outcome", "coalesced").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.amf.banking.controller;
 import com.amf.banking.dto.AccountDTO;
 import com.amf.banking.dto.BalanceDTO;
 import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.feed.AccountFeedHub;
 import com.amf.banking.model.enums.AccountType;
 import com.amf.banking.service.AccountService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,14 +12,17 @@ import org.junit.jupiter.api.Test;
 import com.amf.banking.config.MongoConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,6 +31,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@AutoConfigureObservability
 @WebMvcTest(
     controllers = AccountController.class,
     excludeAutoConfiguration = MongoAutoConfiguration.class,
@@ -43,6 +48,9 @@ class AccountControllerTest {
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private AccountFeedHub accountFeedHub;
+
     private AccountDTO accountDTO;
 
     @BeforeEach
@@ -160,6 +168,25 @@ class AccountControllerTest {
         verify(accountService, times(1)).getAccountBalance("1");
     }
 
+    @Test
+    void getAccountBalance_AsOf_UsesHistoricalBalance() throws Exception {
+        LocalDateTime asOf = LocalDateTime.of(2024, 1, 10, 18, 0);
+        BalanceDTO balanceDTO = BalanceDTO.builder()
+                .accountNumber("1234567890")
+                .balance(BigDecimal.valueOf(75.50))
+                .asOf(asOf)
+                .build();
+
+        when(accountService.getAccountBalance("1", asOf)).thenReturn(balanceDTO);
+
+        mockMvc.perform(get("/api/v1/accounts/1/balance").param("asOf", "2024-01-10T18:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(75.50))
+                .andExpect(jsonPath("$.asOf").exists());
+
+        verify(accountService, never()).getAccountBalance("1");
+    }
+
     @Test
     void createAccount_InvalidData_BadRequest() throws Exception {
         AccountDTO invalidAccount = AccountDTO.builder()
@@ -173,4 +200,23 @@ class AccountControllerTest {
 
         verify(accountService, never()).createAccount(any(AccountDTO.class));
     }
+
+    @Test
+    void getAccountFeed_OpensEventStream() throws Exception {
+        when(accountFeedHub.subscribeAccount("1")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/accounts/1/feed").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(accountFeedHub, times(1)).subscribeAccount("1");
+    }
+
+    @Test
+    void getClientFeed_ClientNotFound() throws Exception {
+        when(accountFeedHub.subscribeClient("999")).thenThrow(new ResourceNotFoundException("Cliente não encontrado"));
+
+        mockMvc.perform(get("/api/v1/accounts/client/999/feed").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Cliente não encontrado"));
+    }
 }
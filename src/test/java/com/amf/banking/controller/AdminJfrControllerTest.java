@@ -0,0 +1,78 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.config.MongoConfig;
+import com.amf.banking.dto.JfrRecordingDTO;
+import com.amf.banking.profiling.JfrRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureObservability
+@WebMvcTest(
+    controllers = AdminJfrController.class,
+    properties = "banking.admin.token=segredo",
+    excludeAutoConfiguration = MongoAutoConfiguration.class,
+    excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = MongoConfig.class)
+)
+class AdminJfrControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JfrRecorder jfrRecorder;
+
+    @Test
+    void withoutToken_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/admin/jfr/recordings"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Token administrativo inválido"));
+
+        mockMvc.perform(post("/api/admin/jfr/recordings").header("X-Admin-Token", "errado"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(jfrRecorder);
+    }
+
+    @Test
+    void startRecording_Success() throws Exception {
+        when(jfrRecorder.start(120, "default")).thenReturn(JfrRecordingDTO.builder()
+                .id(7).name("banking-default").state("RUNNING").settings("default").durationSeconds(120).build());
+
+        mockMvc.perform(post("/api/admin/jfr/recordings")
+                        .header("X-Admin-Token", "segredo")
+                        .param("durationSeconds", "120")
+                        .param("settings", "default"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+    }
+
+    @Test
+    void listAndDownloadRecording_Success() throws Exception {
+        when(jfrRecorder.list()).thenReturn(List.of(JfrRecordingDTO.builder().id(7).state("STOPPED").build()));
+        when(jfrRecorder.download(7)).thenReturn(new ByteArrayInputStream(new byte[]{'F', 'L', 'R', 0}));
+
+        mockMvc.perform(get("/api/admin/jfr/recordings").header("X-Admin-Token", "segredo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7));
+
+        mockMvc.perform(get("/api/admin/jfr/recordings/7").header("X-Admin-Token", "segredo"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"banking-7.jfr\""))
+                .andExpect(content().bytes(new byte[]{'F', 'L', 'R', 0}));
+    }
+}
@@ -1,7 +1,10 @@
 package com.amf.banking.controller;
 
 import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.dto.ClientDeletionJobDTO;
+import com.amf.banking.dto.PageDTO;
 import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.model.enums.DeletionJobStatus;
 import com.amf.banking.service.ClientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import com.amf.banking.config.MongoConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
@@ -26,6 +30,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@AutoConfigureObservability
 @WebMvcTest(
     controllers = ClientController.class,
     excludeAutoConfiguration = MongoAutoConfiguration.class,
@@ -146,15 +151,57 @@ class ClientControllerTest {
     }
 
     @Test
-    void deleteClient_Success() throws Exception {
-        doNothing().when(clientService).deleteClient("1");
+    void searchClients_Success() throws Exception {
+        PageDTO<ClientDTO> page = PageDTO.<ClientDTO>builder()
+                .content(List.of(clientDTO))
+                .page(0)
+                .size(20)
+                .hasNext(false)
+                .build();
+        when(clientService.searchClients("joao", 0, 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/clients/search").param("q", "joao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].fullName").value("João Silva"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(clientService, times(1)).searchClients("joao", 0, 20);
+    }
+
+    @Test
+    void deleteClient_Accepted() throws Exception {
+        ClientDeletionJobDTO job = ClientDeletionJobDTO.builder()
+                .id("job1")
+                .clientId("1")
+                .status(DeletionJobStatus.PENDENTE)
+                .build();
+        when(clientService.deleteClient("1")).thenReturn(job);
 
         mockMvc.perform(delete("/api/v1/clients/1"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job1"))
+                .andExpect(jsonPath("$.status").value("PENDENTE"));
 
         verify(clientService, times(1)).deleteClient("1");
     }
 
+    @Test
+    void getDeletionJob_Success() throws Exception {
+        ClientDeletionJobDTO job = ClientDeletionJobDTO.builder()
+                .id("job1")
+                .clientId("1")
+                .status(DeletionJobStatus.CONCLUIDA)
+                .accountsClosed(3)
+                .build();
+        when(clientService.getDeletionJob("job1")).thenReturn(job);
+
+        mockMvc.perform(get("/api/v1/clients/deletions/job1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONCLUIDA"))
+                .andExpect(jsonPath("$.accountsClosed").value(3));
+    }
+
     @Test
     void createClient_InvalidData_BadRequest() throws Exception {
         ClientDTO invalidClient = ClientDTO.builder()
@@ -0,0 +1,98 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.service.ClientDeletionJobProcessor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Aplicação completa no perfil "inmemory": nenhum MongoDB é necessário
+@SpringBootTest(properties = {"banking.rate-limit.enabled=false", "banking.admission.enabled=false"})
+@AutoConfigureMockMvc
+@ActiveProfiles("inmemory")
+class InMemoryProfileApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientDeletionJobProcessor clientDeletionJobProcessor;
+
+    @Test
+    void transferFlow_WorksWithoutMongo() throws Exception {
+        String clientId = create("/api/v1/clients", Map.of(
+                "fullName", "João da Silva", "cpf", "12345678901", "birthDate", "1990-01-01"));
+        String sourceId = create("/api/v1/accounts", Map.of("clientId", clientId, "accountType", "CORRENTE"));
+        String destinationId = create("/api/v1/accounts", Map.of("clientId", clientId, "accountType", "POUPANCA"));
+
+        create("/api/v1/transactions", Map.of(
+                "sourceAccountId", sourceId, "destinationAccountId", destinationId, "amount", "10.00"));
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/balance", sourceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(90.00));
+        mockMvc.perform(get("/api/v1/transactions/account/{accountId}", destinationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].sourceAccountId").value(sourceId));
+        mockMvc.perform(post("/api/v1/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "fullName", "Outro", "cpf", "12345678901", "birthDate", "1990-01-01"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void clientDeletion_SecondRequestReusesJobAndClosesAccounts() throws Exception {
+        String clientId = create("/api/v1/clients", Map.of(
+                "fullName", "Maria Souza", "cpf", "98765432100", "birthDate", "1985-05-05"));
+        String accountId = create("/api/v1/accounts", Map.of("clientId", clientId, "accountType", "CORRENTE"));
+
+        String jobId = deletionJobId(clientId);
+        assertEquals(jobId, deletionJobId(clientId));
+
+        clientDeletionJobProcessor.processPendingJobs();
+
+        mockMvc.perform(get("/api/v1/clients/deletions/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONCLUIDA"))
+                .andExpect(jsonPath("$.accountsClosed").value(1));
+        mockMvc.perform(get("/api/v1/accounts/{id}", accountId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ENCERRADA"));
+    }
+
+    private String deletionJobId(String clientId) throws Exception {
+        String response = mockMvc.perform(delete("/api/v1/clients/{id}", clientId))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asText();
+    }
+
+    private String create(String path, Map<String, String> body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("id").asText();
+    }
+}
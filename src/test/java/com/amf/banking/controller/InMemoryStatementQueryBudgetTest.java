@@ -0,0 +1,109 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.model.enums.AccountType;
+import com.amf.banking.service.AccountService;
+import com.amf.banking.service.ClientService;
+import com.amf.banking.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.amf.banking.diagnostics.QueryCountAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Mesmo orçamento de StatementQueryBudgetIT no perfil "inmemory", onde cada chamada a repositório conta como
+// um comando: roda em todo "mvn test", sem Docker
+@SpringBootTest(properties = {"banking.rate-limit.enabled=false", "banking.admission.enabled=false"})
+@AutoConfigureMockMvc
+@ActiveProfiles("inmemory")
+class InMemoryStatementQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private String sourceId;
+
+    @BeforeEach
+    void setUp() {
+        // O contexto é compartilhado com outros testes do perfil: CPF novo a cada execução
+        ClientDTO client = clientService.createClient(ClientDTO.builder()
+                .fullName("Maria Extrato")
+                .cpf(String.valueOf(ThreadLocalRandom.current().nextLong(10_000_000_000L, 99_999_999_999L)))
+                .birthDate(LocalDate.of(1985, 5, 20))
+                .build());
+        sourceId = accountService.createAccount(account(client)).getId();
+        String destinationId = accountService.createAccount(account(client)).getId();
+        String otherId = accountService.createAccount(account(client)).getId();
+
+        for (int i = 0; i < 5; i++) {
+            transactionService.createTransfer(transfer(sourceId, destinationId));
+            transactionService.createTransfer(transfer(otherId, sourceId));
+        }
+    }
+
+    @Test
+    void statement_UsesAtMostTwoQueries() throws Throwable {
+        assertMaxQueries(2, () -> mockMvc.perform(get("/api/v1/transactions/account/{accountId}", sourceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[0].sourceAccountNumber").isNotEmpty())
+                .andExpect(jsonPath("$[0].destinationAccountNumber").isNotEmpty()));
+    }
+
+    @Test
+    void statement_WithDateRange_UsesAtMostTwoQueries() throws Throwable {
+        assertMaxQueries(2, () -> mockMvc.perform(get("/api/v1/transactions/account/{accountId}", sourceId)
+                        .param("startDate", "2000-01-01T00:00:00")
+                        .param("endDate", "2100-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10)));
+    }
+
+    @Test
+    void statement_OverBudget_Fails() {
+        // Extrato e números das contas: dois comandos, um a mais que o orçamento
+        assertThrows(AssertionFailedError.class, () -> assertMaxQueries(1, () ->
+                mockMvc.perform(get("/api/v1/transactions/account/{accountId}", sourceId))
+                        .andExpect(status().isOk())));
+    }
+
+    private static AccountDTO account(ClientDTO client) {
+        return AccountDTO.builder()
+                .clientId(client.getId())
+                .accountType(AccountType.CORRENTE)
+                .build();
+    }
+
+    private static TransactionDTO transfer(String sourceAccountId, String destinationAccountId) {
+        return TransactionDTO.builder()
+                .sourceAccountId(sourceAccountId)
+                .destinationAccountId(destinationAccountId)
+                .amount(new BigDecimal("1.00"))
+                .description("Extrato")
+                .build();
+    }
+}
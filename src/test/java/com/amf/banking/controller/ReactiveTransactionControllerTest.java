@@ -0,0 +1,139 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.config.MongoConfig;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.exception.BusinessException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.service.ReactiveTransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureObservability
+@WebMvcTest(
+    controllers = ReactiveTransactionController.class,
+    excludeAutoConfiguration = MongoAutoConfiguration.class,
+    excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = MongoConfig.class)
+)
+class ReactiveTransactionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReactiveTransactionService transactionService;
+
+    private TransactionDTO transactionDTO;
+
+    @BeforeEach
+    void setUp() {
+        transactionDTO = TransactionDTO.builder()
+                .id("1")
+                .sourceAccountId("account1")
+                .sourceAccountNumber("1234567890")
+                .destinationAccountId("account2")
+                .destinationAccountNumber("0987654321")
+                .amount(BigDecimal.valueOf(50.00))
+                .description("Transferência teste")
+                .transactionDate(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void createTransfer_Success() throws Exception {
+        when(transactionService.createTransfer(any(TransactionDTO.class))).thenReturn(Mono.just(transactionDTO));
+
+        MvcResult result = mockMvc.perform(post("/api/v2/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value("1"))
+                .andExpect(jsonPath("$.amount").value(50.00));
+    }
+
+    @Test
+    void createTransfer_InsufficientBalance() throws Exception {
+        when(transactionService.createTransfer(any(TransactionDTO.class)))
+                .thenReturn(Mono.error(new BusinessException("Saldo insuficiente na conta origem")));
+
+        MvcResult result = mockMvc.perform(post("/api/v2/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Saldo insuficiente na conta origem"));
+    }
+
+    @Test
+    void getAccountTransactions_StreamsNdjson() throws Exception {
+        TransactionDTO transaction2 = TransactionDTO.builder()
+                .id("2")
+                .sourceAccountId("account1")
+                .destinationAccountId("account3")
+                .amount(BigDecimal.valueOf(30.00))
+                .build();
+
+        when(transactionService.getAccountTransactions(eq("account1"), any(), any()))
+                .thenReturn(Flux.just(transactionDTO, transaction2));
+
+        MvcResult result = mockMvc.perform(get("/api/v2/transactions/account/account1")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"id\":\"1\"")))
+                .andExpect(content().string(containsString("\"id\":\"2\"")));
+
+        verify(transactionService, times(1)).getAccountTransactions(eq("account1"), any(), any());
+    }
+
+    @Test
+    void getAccountTransactions_AccountNotFound() throws Exception {
+        when(transactionService.getAccountTransactions(eq("999"), any(), any()))
+                .thenReturn(Flux.error(new ResourceNotFoundException("Conta não encontrada com ID: 999")));
+
+        MvcResult result = mockMvc.perform(get("/api/v2/transactions/account/999")
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Conta não encontrada com ID: 999"));
+    }
+}
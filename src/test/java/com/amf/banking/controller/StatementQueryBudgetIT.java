@@ -0,0 +1,115 @@
+package com.amf.banking.controller;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.model.enums.AccountType;
+import com.amf.banking.service.AccountService;
+import com.amf.banking.service.ClientService;
+import com.amf.banking.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.amf.banking.diagnostics.QueryCountAssertions.assertMaxQueries;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Orçamento de consultas do extrato contra um MongoDB real: o número de comandos não pode crescer com as transações
+@SpringBootTest(properties = {"banking.rate-limit.enabled=false", "banking.admission.enabled=false"})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class StatementQueryBudgetIT {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private String sourceId;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+
+        ClientDTO client = clientService.createClient(ClientDTO.builder()
+                .fullName("João da Silva")
+                .cpf("12345678901")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .build());
+        sourceId = accountService.createAccount(account(client)).getId();
+        String destinationId = accountService.createAccount(account(client)).getId();
+        String otherId = accountService.createAccount(account(client)).getId();
+
+        for (int i = 0; i < 5; i++) {
+            transactionService.createTransfer(transfer(sourceId, destinationId));
+            transactionService.createTransfer(transfer(otherId, sourceId));
+        }
+    }
+
+    @Test
+    void statement_UsesAtMostTwoQueries() throws Throwable {
+        assertMaxQueries(2, () -> mockMvc.perform(get("/api/v1/transactions/account/{accountId}", sourceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[0].sourceAccountNumber").isNotEmpty())
+                .andExpect(jsonPath("$[0].destinationAccountNumber").isNotEmpty()));
+    }
+
+    @Test
+    void statement_WithDateRange_UsesAtMostTwoQueries() throws Throwable {
+        assertMaxQueries(2, () -> mockMvc.perform(get("/api/v1/transactions/account/{accountId}", sourceId)
+                        .param("startDate", "2000-01-01T00:00:00")
+                        .param("endDate", "2100-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10)));
+    }
+
+    @Test
+    void statement_UnknownAccount_ReturnsNotFound() throws Throwable {
+        assertMaxQueries(2, () -> mockMvc.perform(get("/api/v1/transactions/account/{accountId}", "65a000000000000000000099"))
+                .andExpect(status().isNotFound()));
+    }
+
+    private static AccountDTO account(ClientDTO client) {
+        return AccountDTO.builder()
+                .clientId(client.getId())
+                .accountType(AccountType.CORRENTE)
+                .build();
+    }
+
+    private static TransactionDTO transfer(String sourceAccountId, String destinationAccountId) {
+        return TransactionDTO.builder()
+                .sourceAccountId(sourceAccountId)
+                .destinationAccountId(destinationAccountId)
+                .amount(new BigDecimal("1.00"))
+                .description("Extrato")
+                .build();
+    }
+}
@@ -2,6 +2,9 @@ package com.amf.banking.controller;
 
 import com.amf.banking.dto.TransactionDTO;
 import com.amf.banking.exception.BusinessException;
+import com.amf.banking.exception.ConcurrentUpdateException;
+import com.amf.banking.exception.InvalidStoredAmountException;
+import com.amf.banking.exception.RateLimitExceededException;
 import com.amf.banking.exception.ResourceNotFoundException;
 import com.amf.banking.service.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import com.amf.banking.config.MongoConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
@@ -28,6 +32,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@AutoConfigureObservability
 @WebMvcTest(
     controllers = TransactionController.class,
     excludeAutoConfiguration = MongoAutoConfiguration.class,
@@ -89,6 +94,42 @@ class TransactionControllerTest {
         verify(transactionService, times(1)).createTransfer(any(TransactionDTO.class));
     }
 
+    @Test
+    void createTransfer_ConcurrentUpdate_Conflict() throws Exception {
+        when(transactionService.createTransfer(any(TransactionDTO.class)))
+                .thenThrow(new ConcurrentUpdateException("Saldo da conta alterado por outra transferência; tente novamente"));
+
+        mockMvc.perform(post("/api/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void createTransfer_InvalidStoredBalance_InternalError() throws Exception {
+        when(transactionService.createTransfer(any(TransactionDTO.class)))
+                .thenThrow(new InvalidStoredAmountException("Valor monetário inválido no registro gravado: 1000.005"));
+
+        mockMvc.perform(post("/api/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionDTO)))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("Saldo gravado inválido; a conta precisa ser corrigida antes desta operação"));
+    }
+
+    @Test
+    void createTransfer_RateLimited() throws Exception {
+        when(transactionService.createTransfer(any(TransactionDTO.class)))
+                .thenThrow(new RateLimitExceededException("Limite de requisições excedido", "source-account", 2_000_000_000L));
+
+        mockMvc.perform(post("/api/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
     @Test
     void getTransactionById_Success() throws Exception {
         when(transactionService.getTransactionById("1")).thenReturn(transactionDTO);
@@ -0,0 +1,95 @@
+package com.amf.banking.diagnostics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.amf.banking.diagnostics.QueryCountAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoCommandDiagnosticsListenerTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final MongoCommandDiagnosticsListener listener = new MongoCommandDiagnosticsListener(Duration.ofMillis(100));
+
+    @Test
+    void commandStarted_CountsCommandsPerScope() {
+        try (QueryCounter.Scope scope = QueryCounter.open("GET /api/v1/transactions/account/1")) {
+            listener.commandStarted(started(1, "find", new BsonDocument("find", new BsonString("transactions"))));
+            listener.commandStarted(started(2, "find", new BsonDocument("find", new BsonString("accounts"))));
+            listener.commandStarted(started(3, "find", new BsonDocument("find", new BsonString("accounts"))));
+
+            assertEquals(3, scope.getCount());
+            assertEquals(Map.of("find transactions", 1, "find accounts", 2), scope.getCommands());
+        }
+    }
+
+    @Test
+    void commandStarted_WithoutScope_IsIgnored() {
+        listener.commandStarted(started(1, "find", new BsonDocument("find", new BsonString("accounts"))));
+
+        try (QueryCounter.Scope scope = QueryCounter.open("test")) {
+            assertEquals(0, scope.getCount());
+        }
+    }
+
+    @Test
+    void nestedScopes_BothReceiveCommands() {
+        try (QueryCounter.Scope outer = QueryCounter.open("test")) {
+            try (QueryCounter.Scope inner = QueryCounter.open("GET /api/v1/accounts/1")) {
+                listener.commandStarted(started(1, "find", new BsonDocument("find", new BsonString("accounts"))));
+                assertEquals(1, inner.getCount());
+            }
+            listener.commandStarted(started(2, "insert", new BsonDocument("insert", new BsonString("transactions"))));
+
+            assertEquals(2, outer.getCount());
+        }
+    }
+
+    @Test
+    void commandSucceeded_SlowCommand_DoesNotAffectCount() {
+        try (QueryCounter.Scope scope = QueryCounter.open("test")) {
+            listener.commandStarted(started(1, "find", new BsonDocument("find", new BsonString("transactions"))));
+            listener.commandSucceeded(new CommandSucceededEvent(null, 1, 1, CONNECTION, "banking", "find",
+                    new BsonDocument(), TimeUnit.MILLISECONDS.toNanos(250)));
+
+            assertEquals(1, scope.getCount());
+        }
+    }
+
+    @Test
+    void assertMaxQueries_OverBudget_Fails() {
+        AssertionError error = assertThrows(AssertionError.class, () -> assertMaxQueries(1, () -> {
+            listener.commandStarted(started(1, "find", new BsonDocument("find", new BsonString("transactions"))));
+            listener.commandStarted(started(2, "find", new BsonDocument("find", new BsonString("accounts"))));
+        }));
+
+        assertTrue(error.getMessage().contains("find accounts=1"));
+    }
+
+    @Test
+    void collectionOf_ReadsCommandValueOrCollectionField() {
+        assertEquals("transactions",
+                MongoCommandDiagnosticsListener.collectionOf("find", new BsonDocument("find", new BsonString("transactions"))));
+        assertEquals("accounts", MongoCommandDiagnosticsListener.collectionOf("getMore",
+                new BsonDocument("getMore", new BsonInt64(42)).append("collection", new BsonString("accounts"))));
+        assertEquals("", MongoCommandDiagnosticsListener.collectionOf("ping", new BsonDocument("ping", new BsonInt64(1))));
+    }
+
+    private static CommandStartedEvent started(int requestId, String commandName, BsonDocument command) {
+        return new CommandStartedEvent(null, 1, requestId, CONNECTION, "banking", commandName, command);
+    }
+}
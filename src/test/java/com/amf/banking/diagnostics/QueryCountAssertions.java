@@ -0,0 +1,23 @@
+package com.amf.banking.diagnostics;
+
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Orçamento de consultas em testes: falha com o detalhamento por comando quando o bloco passa do limite
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void assertMaxQueries(int maxQueries, Executable executable) throws Throwable {
+        try (QueryCounter.Scope scope = QueryCounter.open("test")) {
+            executable.execute();
+
+            if (scope.getCount() > maxQueries) {
+                fail("Esperado no máximo " + maxQueries + " comandos MongoDB, executados " + scope.getCount()
+                        + ": " + scope.getCommands());
+            }
+        }
+    }
+}
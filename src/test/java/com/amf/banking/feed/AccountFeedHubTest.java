@@ -0,0 +1,312 @@
+package com.amf.banking.feed;
+
+import com.amf.banking.changestream.DataChangedEvent;
+import com.amf.banking.dto.AccountActivityDTO;
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.exception.RateLimitExceededException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.ledger.LedgerStore;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Client;
+import com.amf.banking.model.Money;
+import com.amf.banking.model.reactive.TransactionDocument;
+import com.amf.banking.projection.BalanceChange;
+import com.amf.banking.projection.TransferCompletedEvent;
+import com.amf.banking.service.AccountService;
+import com.mongodb.DBRef;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountFeedHubTest {
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private LedgerStore ledgerStore;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean blockSends;
+
+    private AccountFeedHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = hub(4, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hub.shutdown();
+    }
+
+    @Test
+    void subscribeAccount_SendsCurrentBalanceThenTransfers() throws InterruptedException {
+        when(accountService.getAccountById("a1")).thenReturn(account("a1", "1111111111", "100.00"));
+
+        hub.subscribeAccount("a1");
+        hub.on(transfer("t1", change("a1", "c1", "90.00", 4L), change("a2", "c2", "60.00", 9L)));
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.sent.size() == 2);
+        assertEquals(Money.of(new BigDecimal("100.00")), emitter.sent.get(0).getBalance());
+        assertNull(emitter.sent.get(0).getTransaction());
+        assertEquals(Money.of(new BigDecimal("90.00")), emitter.sent.get(1).getBalance());
+        assertEquals(4L, emitter.sent.get(1).getSequence());
+        assertEquals("t1", emitter.sent.get(1).getTransaction().getId());
+        assertEquals(1, hub.subscriberCount());
+    }
+
+    @Test
+    void subscribeClient_ReceivesOnlyBalancesOfOwnAccounts() throws InterruptedException {
+        when(accountService.getAccountsByClientId("c1")).thenReturn(List.of(
+                account("a1", "1111111111", "100.00"), account("a3", "3333333333", "5.00")));
+
+        hub.subscribeClient("c1");
+        hub.on(transfer("t1", change("a1", "c1", "90.00", 1L), change("a2", "c2", "60.00", 1L)));
+        hub.on(transfer("t2", change("a2", "c2", "50.00", 2L), change("a3", "c1", "15.00", 1L)));
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.sent.size() == 4);
+        assertEquals(List.of("a1", "a3", "a1", "a3"), emitter.sent.stream().map(AccountActivityDTO::getAccountId).toList());
+        assertEquals(Money.of(new BigDecimal("15.00")), emitter.sent.get(3).getBalance());
+    }
+
+    @Test
+    void slowConsumer_IsEvictedWithoutBlockingPublisher() throws InterruptedException {
+        hub.shutdown();
+        hub = hub(2, 10);
+        blockSends = true;
+        when(accountService.getAccountById("a1")).thenReturn(account("a1", "1111111111", "100.00"));
+
+        hub.subscribeAccount("a1");
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.sending);
+        for (int i = 0; i < 3; i++) {
+            hub.on(transfer("t" + i, change("a1", "c1", "90.00", (long) i + 1), change("a2", "c2", "60.00", 1L)));
+        }
+
+        assertEquals(0, hub.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("banking.feed.evictions").counter().count());
+        release.countDown();
+        await(() -> emitter.completed);
+    }
+
+    @Test
+    void subscribeClient_MoreAccountsThanBuffer_ReceivesAllBalances() throws InterruptedException {
+        hub.shutdown();
+        hub = hub(2, 10);
+        when(accountService.getAccountsByClientId("c1")).thenReturn(List.of(
+                account("a1", "1111111111", "1.00"), account("a2", "2222222222", "2.00"), account("a3", "3333333333", "3.00")));
+
+        hub.subscribeClient("c1");
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.sent.size() == 3);
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(0.0, meterRegistry.get("banking.feed.evictions").counter().count());
+    }
+
+    @Test
+    void stalledWrite_DoesNotHoldOtherSubscribersAndIsEvicted() throws InterruptedException {
+        blockSends = true;
+        when(accountService.getAccountById("a1")).thenReturn(account("a1", "1111111111", "100.00"));
+        when(accountService.getAccountById("a2")).thenReturn(account("a2", "2222222222", "50.00"));
+
+        hub.subscribeAccount("a1");
+        RecordingEmitter stalled = emitters.get(0);
+        await(() -> stalled.sending);
+        blockSends = false;
+        hub.subscribeAccount("a2");
+
+        // Um único thread no dispatcher: o segundo assinante só recebe se o pool compensar a escrita presa
+        RecordingEmitter healthy = emitters.get(1);
+        await(() -> healthy.sent.size() == 1);
+
+        Thread.sleep(60);
+        hub.evictStalledWriters();
+
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("banking.feed.evictions").counter().count());
+        release.countDown();
+        await(() -> stalled.completed);
+        assertFalse(healthy.completed);
+    }
+
+    @Test
+    void subscribe_LimitReached_ThrowsRateLimitExceeded() {
+        hub.shutdown();
+        hub = hub(4, 1);
+        when(accountService.getAccountById("a1")).thenReturn(account("a1", "1111111111", "100.00"));
+
+        hub.subscribeAccount("a1");
+
+        assertThrows(RateLimitExceededException.class, () -> hub.subscribeAccount("a1"));
+        assertEquals(1, hub.subscriberCount());
+    }
+
+    @Test
+    void changeStream_RelaysTransfersFromAnyNodeOnce() throws InterruptedException {
+        hub.shutdown();
+        hub = hub(4, 10, true);
+        String sourceId = new ObjectId().toHexString();
+        String destinationId = new ObjectId().toHexString();
+        when(accountService.getAccountById(destinationId)).thenReturn(account(destinationId, "2222222222", "50.00"));
+        when(ledgerStore.findById("t1")).thenReturn(Optional.of(TransactionDocument.builder()
+                .id("t1")
+                .sourceAccount(new DBRef("accounts", new ObjectId(sourceId)))
+                .destinationAccount(new DBRef("accounts", new ObjectId(destinationId)))
+                .amount(new BigDecimal("10.00"))
+                .sourceSequence(3L)
+                .destinationSequence(7L)
+                .build()));
+        when(accountService.findAccountById(sourceId)).thenReturn(entity(sourceId, "1111111111", "c1", "90.00"));
+        when(accountService.findAccountById(destinationId)).thenReturn(entity(destinationId, "2222222222", "c2", "60.00"));
+
+        hub.subscribeAccount(destinationId);
+        // A transferência local chega também pelo change stream: o evento em processo é ignorado
+        hub.on(transfer("t1", change(sourceId, "c1", "90.00", 3L), change(destinationId, "c2", "60.00", 7L)));
+        hub.on(DataChangedEvent.of("transactions", "t1", Set.of(sourceId, destinationId)));
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.sent.size() == 2);
+        Thread.sleep(50);
+        assertEquals(2, emitter.sent.size());
+        assertEquals(Money.of(new BigDecimal("60.00")), emitter.sent.get(1).getBalance());
+        assertEquals(7L, emitter.sent.get(1).getSequence());
+        assertEquals("1111111111", emitter.sent.get(1).getTransaction().getSourceAccountNumber());
+    }
+
+    @Test
+    void changeStream_TransactionOfUnwatchedAccounts_IsNotLoaded() {
+        hub.shutdown();
+        hub = hub(4, 10, true);
+
+        hub.on(DataChangedEvent.of("transactions", "t1", Set.of("a1", "a2")));
+
+        verifyNoInteractions(ledgerStore, accountService);
+    }
+
+    @Test
+    void subscribeAccount_UnknownAccount_ReleasesSubscription() {
+        when(accountService.getAccountById("999")).thenThrow(new ResourceNotFoundException("Conta não encontrada com ID: 999"));
+
+        assertThrows(ResourceNotFoundException.class, () -> hub.subscribeAccount("999"));
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    private AccountFeedHub hub(int bufferSize, int maxSubscribers) {
+        return hub(bufferSize, maxSubscribers, false);
+    }
+
+    private AccountFeedHub hub(int bufferSize, int maxSubscribers, boolean fromChangeStream) {
+        return new AccountFeedHub(accountService, ledgerStore, new TransactionMapper(), meterRegistry, fromChangeStream,
+                bufferSize, maxSubscribers, 60_000, 50, 1) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter(blockSends);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private static TransferCompletedEvent transfer(String id, BalanceChange source, BalanceChange destination) {
+        return TransferCompletedEvent.of(TransactionDTO.builder()
+                .id(id)
+                .sourceAccountId(source.accountId())
+                .destinationAccountId(destination.accountId())
+                .amount(new BigDecimal("10.00"))
+                .build(), source, destination);
+    }
+
+    private static BalanceChange change(String accountId, String clientId, String balance, Long sequence) {
+        return new BalanceChange(accountId, "n-" + accountId, clientId, Money.of(new BigDecimal(balance)), sequence);
+    }
+
+    private static Account entity(String id, String accountNumber, String clientId, String balance) {
+        return Account.builder()
+                .id(id)
+                .accountNumber(accountNumber)
+                .client(Client.builder().id(clientId).build())
+                .balance(new BigDecimal(balance))
+                .build();
+    }
+
+    private static AccountDTO account(String id, String accountNumber, String balance) {
+        return AccountDTO.builder().id(id).accountNumber(accountNumber).balance(new BigDecimal(balance)).build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condição não atingida em 5s");
+            Thread.sleep(10);
+        }
+    }
+
+    // Guarda os dados enviados; com blockSends, o envio fica preso como em um cliente que não lê o socket
+    private class RecordingEmitter extends SseEmitter {
+
+        private final List<AccountActivityDTO> sent = new CopyOnWriteArrayList<>();
+        private final boolean blocking;
+        private volatile boolean sending;
+        private volatile boolean completed;
+
+        private RecordingEmitter(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending = true;
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            List<AccountActivityDTO> data = new ArrayList<>();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof AccountActivityDTO activity) {
+                    data.add(activity);
+                }
+            }
+            sent.addAll(data);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
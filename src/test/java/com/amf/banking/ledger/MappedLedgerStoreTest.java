@@ -0,0 +1,250 @@
+package com.amf.banking.ledger;
+
+import com.amf.banking.exception.TransferRejectedException;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.TransactionType;
+import com.amf.banking.model.reactive.TransactionDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLedgerStoreTest {
+
+    private static final String SOURCE_ID = "65a000000000000000000001";
+    private static final String DESTINATION_ID = "65a000000000000000000002";
+    private static final String OTHER_ID = "65a000000000000000000003";
+
+    @TempDir
+    Path directory;
+
+    private MappedLedgerStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void append_AssignsSequentialIdsAndReadsBack() throws IOException {
+        store = new MappedLedgerStore(directory, 4, true);
+
+        Transaction first = store.append(transfer(SOURCE_ID, DESTINATION_ID, "10.50", "Aluguel"));
+        Transaction second = store.append(transfer(DESTINATION_ID, SOURCE_ID, "1.00", null));
+
+        assertEquals("000000000000000000000000", first.getId());
+        assertEquals("000000000000000000000001", second.getId());
+        assertNotNull(first.getTransactionDate());
+
+        TransactionDocument stored = store.findById(first.getId()).orElseThrow();
+        assertEquals(SOURCE_ID, stored.getSourceAccount().getId().toString());
+        assertEquals(DESTINATION_ID, stored.getDestinationAccount().getId().toString());
+        assertEquals(new BigDecimal("10.50"), stored.getAmount());
+        assertEquals(TransactionType.TRANSFERENCIA, stored.getTransactionType());
+        assertEquals("Aluguel", stored.getDescription());
+        assertEquals(first.getTransactionDate(), stored.getTransactionDate());
+        assertNull(store.findById(second.getId()).orElseThrow().getDescription());
+
+        assertTrue(store.findById("65a000000000000000000001").isEmpty());
+        assertTrue(store.findById("000000000000000000000099").isEmpty());
+        assertEquals(2, store.findAll().size());
+    }
+
+    @Test
+    void findStatement_UsesAccountIndexAndDateRange() throws IOException {
+        store = new MappedLedgerStore(directory, 4, true);
+        Transaction first = store.append(transfer(SOURCE_ID, DESTINATION_ID, "1.00", null));
+        store.append(transfer(DESTINATION_ID, OTHER_ID, "2.00", null));
+        Transaction third = store.append(transfer(OTHER_ID, SOURCE_ID, "3.00", null));
+
+        assertEquals(List.of(first.getId(), third.getId()), ids(store.findStatement(SOURCE_ID, null, null)));
+
+        LocalDateTime after = third.getTransactionDate();
+        assertEquals(List.of(third.getId()), ids(store.findStatement(SOURCE_ID, after, after.plusDays(1))));
+        assertTrue(store.findStatement(SOURCE_ID, after.minusDays(2), after.minusDays(1)).isEmpty());
+        assertTrue(store.findStatement("65a000000000000000000099", null, null).isEmpty());
+        assertTrue(store.findStatement("id-invalido", null, null).isEmpty());
+    }
+
+    @Test
+    void forEachPage_WalksLedgerInSequenceOrder() throws IOException {
+        store = new MappedLedgerStore(directory, 4, true);
+        for (int i = 0; i < 5; i++) {
+            store.append(transfer(SOURCE_ID, DESTINATION_ID, "1.00", null));
+        }
+
+        List<List<String>> pages = new ArrayList<>();
+        store.forEachPage(2, page -> pages.add(ids(page)));
+
+        assertEquals(List.of(
+                List.of("000000000000000000000000", "000000000000000000000001"),
+                List.of("000000000000000000000002", "000000000000000000000003"),
+                List.of("000000000000000000000004")), pages);
+    }
+
+    @Test
+    void reopen_ReplaysAllSegmentsAndRebuildsIndexes() throws IOException {
+        store = new MappedLedgerStore(directory, 4, true);
+        for (int i = 0; i < 10; i++) {
+            store.append(transfer(i % 2 == 0 ? SOURCE_ID : OTHER_ID, DESTINATION_ID, "1.00", "Transferência " + i));
+        }
+        store.close();
+
+        store = new MappedLedgerStore(directory, 4, true);
+
+        assertEquals(10, store.size());
+        assertEquals(5, store.findStatement(SOURCE_ID, null, null).size());
+        assertEquals(10, store.findStatement(DESTINATION_ID, null, null).size());
+        assertEquals("Transferência 9", store.findById(LedgerRecord.id(9)).orElseThrow().getDescription());
+        assertEquals(LedgerRecord.id(10), store.append(transfer(SOURCE_ID, DESTINATION_ID, "1.00", null)).getId());
+    }
+
+    @Test
+    void reopen_TornRecordEndsReplayAndTailIsReused() throws IOException {
+        store = new MappedLedgerStore(directory, 8, true);
+        for (int i = 0; i < 3; i++) {
+            store.append(transfer(SOURCE_ID, DESTINATION_ID, "1.00", null));
+        }
+        store.close();
+
+        // Simula uma escrita interrompida no meio do segundo registro
+        try (RandomAccessFile file = new RandomAccessFile(LedgerSegment.file(directory, 0).toFile(), "rw")) {
+            file.seek(LedgerRecord.SIZE + 50);
+            file.write(new byte[]{1, 2, 3, 4});
+        }
+
+        store = new MappedLedgerStore(directory, 8, true);
+
+        assertEquals(1, store.size());
+        assertTrue(store.findById(LedgerRecord.id(2)).isEmpty());
+        assertEquals(LedgerRecord.id(1), store.append(transfer(SOURCE_ID, DESTINATION_ID, "1.00", null)).getId());
+        assertEquals(2, store.findStatement(SOURCE_ID, null, null).size());
+    }
+
+    @Test
+    void findChanges_ReturnsMovementsAfterSequenceAcrossReopen() throws IOException {
+        store = new MappedLedgerStore(directory, 4, true);
+        for (long sequence = 1; sequence <= 5; sequence++) {
+            Transaction transaction = transfer(SOURCE_ID, DESTINATION_ID, "1.00", null);
+            transaction.setSourceSequence(sequence);
+            transaction.setDestinationSequence(sequence + 10);
+            store.append(transaction);
+        }
+        store.close();
+
+        store = new MappedLedgerStore(directory, 4, true);
+
+        List<TransactionDocument> changes = store.findChanges(SOURCE_ID, 2, 2);
+        assertEquals(List.of(3L, 4L), changes.stream().map(change -> change.sequenceOf(SOURCE_ID)).toList());
+        assertEquals(14L, changes.get(1).getDestinationSequence());
+        assertEquals(5, store.findChanges(DESTINATION_ID, 0, 10).size());
+        assertTrue(store.findChanges(SOURCE_ID, 5, 10).isEmpty());
+        assertTrue(store.findChanges(OTHER_ID, 0, 10).isEmpty());
+    }
+
+    @Test
+    void findChanges_OutOfOrderSequences_ReturnsPageInSequenceOrder() throws IOException {
+        store = new MappedLedgerStore(directory, 128, true);
+        // Pares trocados, como appends concorrentes que reservaram a sequência em outra ordem
+        for (long pair = 0; pair < 250; pair++) {
+            for (long sequence : new long[]{pair * 2 + 2, pair * 2 + 1}) {
+                Transaction transaction = transfer(SOURCE_ID, DESTINATION_ID, "1.00", null);
+                transaction.setSourceSequence(sequence);
+                transaction.setDestinationSequence(sequence);
+                store.append(transaction);
+            }
+        }
+
+        assertEquals(List.of(301L, 302L, 303L, 304L, 305L),
+                store.findChanges(SOURCE_ID, 300, 5).stream().map(change -> change.sequenceOf(SOURCE_ID)).toList());
+        assertEquals(List.of(1L, 2L, 3L),
+                store.findChanges(SOURCE_ID, 0, 3).stream().map(change -> change.sequenceOf(SOURCE_ID)).toList());
+        assertEquals(List.of(500L),
+                store.findChanges(SOURCE_ID, 499, 10).stream().map(change -> change.sequenceOf(SOURCE_ID)).toList());
+    }
+
+    @Test
+    void concurrentAppends_AreAllIndexedWithUniqueSequences() throws Exception {
+        store = new MappedLedgerStore(directory, 256, true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        store.append(transfer(SOURCE_ID, DESTINATION_ID, "0.01", null));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2000, store.size());
+        List<String> statement = ids(store.findStatement(SOURCE_ID, null, null));
+        assertEquals(2000, statement.stream().distinct().count());
+        assertEquals(statement.stream().sorted().toList(), statement);
+    }
+
+    @Test
+    void fsyncFailure_HidesUnsyncedRecordAndRefusesLaterAppends() throws IOException {
+        store = new MappedLedgerStore(directory, 4, true) {
+            @Override
+            void force(long from, long to) {
+                throw new UncheckedIOException(new IOException("disco cheio"));
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> store.append(transfer(SOURCE_ID, DESTINATION_ID, "1.00", null)));
+
+        assertEquals(0, store.size());
+        assertTrue(store.findStatement(SOURCE_ID, null, null).isEmpty());
+        assertTrue(store.findById(LedgerRecord.id(0)).isEmpty());
+        IllegalStateException refused = assertThrows(IllegalStateException.class,
+                () -> store.append(transfer(SOURCE_ID, DESTINATION_ID, "2.00", null)));
+        assertEquals("Ledger indisponível após falha no fsync", refused.getMessage());
+    }
+
+    @Test
+    void validate_DescriptionLongerThanRecord_IsRejected() throws IOException {
+        store = new MappedLedgerStore(directory, 4, true);
+
+        Transaction transaction = transfer(SOURCE_ID, DESTINATION_ID, "1.00", "é".repeat(LedgerRecord.MAX_DESCRIPTION_BYTES));
+
+        assertThrows(TransferRejectedException.class, () -> store.validate(transaction));
+        assertEquals(0, store.size());
+    }
+
+    private static Transaction transfer(String sourceId, String destinationId, String amount, String description) {
+        return Transaction.builder()
+                .sourceAccount(Account.builder().id(sourceId).build())
+                .destinationAccount(Account.builder().id(destinationId).build())
+                .amount(new BigDecimal(amount))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .description(description)
+                .build();
+    }
+
+    private static List<String> ids(List<TransactionDocument> transactions) {
+        return transactions.stream().map(TransactionDocument::getId).toList();
+    }
+}
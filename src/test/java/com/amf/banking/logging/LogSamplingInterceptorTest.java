@@ -0,0 +1,75 @@
+package com.amf.banking.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.amf.banking.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplingInterceptorTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final SampledLogTurboFilter turboFilter = new SampledLogTurboFilter();
+    private final LogSamplingInterceptor interceptor = new LogSamplingInterceptor(
+            new RateLimiter("log-sampling", true, 1, 0.001, 100, new SimpleMeterRegistry()));
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void preHandle_SamplesPerEndpoint() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request("POST", "/api/v1/transactions"), response, null);
+        assertEquals("POST /api/v1/transactions", MDC.get(LogSamplingInterceptor.ENDPOINT_KEY));
+        assertEquals("true", MDC.get(LogSamplingInterceptor.SAMPLED_KEY));
+
+        interceptor.preHandle(request("POST", "/api/v1/transactions"), response, null);
+        assertEquals("false", MDC.get(LogSamplingInterceptor.SAMPLED_KEY));
+
+        // Outro endpoint tem a própria cota
+        interceptor.preHandle(request("GET", "/api/v1/accounts/{id}"), response, null);
+        assertEquals("true", MDC.get(LogSamplingInterceptor.SAMPLED_KEY));
+
+        interceptor.afterCompletion(null, response, null, null);
+        assertNull(MDC.get(LogSamplingInterceptor.ENDPOINT_KEY));
+        assertNull(MDC.get(LogSamplingInterceptor.SAMPLED_KEY));
+    }
+
+    @Test
+    void turboFilter_DropsOnlyApplicationInfoOutsideSample() {
+        MDC.put(LogSamplingInterceptor.SAMPLED_KEY, "false");
+
+        assertEquals(FilterReply.DENY, decide("com.amf.banking.service.TransactionService", Level.INFO));
+        assertEquals(FilterReply.DENY, decide("com.amf.banking.service.TransactionService", Level.DEBUG));
+        assertEquals(FilterReply.NEUTRAL, decide("com.amf.banking.service.TransactionService", Level.WARN));
+        assertEquals(FilterReply.NEUTRAL, decide("org.springframework.web.servlet.DispatcherServlet", Level.INFO));
+
+        MDC.put(LogSamplingInterceptor.SAMPLED_KEY, "true");
+        assertEquals(FilterReply.NEUTRAL, decide("com.amf.banking.service.TransactionService", Level.INFO));
+
+        // Fora de requisição (jobs agendados, views Vaadin)
+        MDC.clear();
+        assertEquals(FilterReply.NEUTRAL, decide("com.amf.banking.service.ClientDeletionJobProcessor", Level.INFO));
+    }
+
+    private FilterReply decide(String loggerName, Level level) {
+        return turboFilter.decide(null, loggerContext.getLogger(loggerName), level, "message", null, null);
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
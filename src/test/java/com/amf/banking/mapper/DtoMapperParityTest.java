@@ -0,0 +1,133 @@
+package com.amf.banking.mapper;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Client;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.AccountType;
+import com.amf.banking.model.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Garante que os mappers escritos à mão produzem a mesma saída da configuração ModelMapper que substituíram
+class DtoMapperParityTest {
+
+    private ModelMapper modelMapper;
+
+    private final ClientMapper clientMapper = new ClientMapper();
+    private final AccountMapper accountMapper = new AccountMapper();
+    private final TransactionMapper transactionMapper = new TransactionMapper();
+
+    private Client client;
+    private Account sourceAccount;
+    private Account destinationAccount;
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true);
+
+        client = Client.builder()
+                .id("c1")
+                .fullName("João da Silva")
+                .cpf("12345678901")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .createdAt(LocalDateTime.of(2024, 1, 10, 9, 30))
+                .updatedAt(LocalDateTime.of(2024, 2, 10, 9, 30))
+                .build();
+
+        sourceAccount = Account.builder()
+                .id("a1")
+                .accountNumber("1234567890")
+                .client(client)
+                .accountType(AccountType.CORRENTE)
+                .balance(new BigDecimal("1000.00"))
+                .status(AccountStatus.ATIVA)
+                .createdAt(LocalDateTime.of(2024, 1, 11, 10, 0))
+                .updatedAt(LocalDateTime.of(2024, 3, 1, 8, 15))
+                .build();
+
+        destinationAccount = Account.builder()
+                .id("a2")
+                .accountNumber("0987654321")
+                .client(client)
+                .accountType(AccountType.POUPANCA)
+                .balance(new BigDecimal("500.00"))
+                .build();
+
+        transaction = Transaction.builder()
+                .id("t1")
+                .sourceAccount(sourceAccount)
+                .destinationAccount(destinationAccount)
+                .amount(new BigDecimal("150.75"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .transactionDate(LocalDateTime.of(2024, 3, 1, 8, 15, 42))
+                .description("Aluguel")
+                .build();
+    }
+
+    @Test
+    void clientToDTO_MatchesModelMapper() {
+        assertEquals(modelMapper.map(client, ClientDTO.class), clientMapper.toDTO(client));
+    }
+
+    @Test
+    void clientDTOToEntity_MatchesModelMapper() {
+        ClientDTO dto = ClientDTO.builder()
+                .fullName("Maria Souza")
+                .cpf("10987654321")
+                .birthDate(LocalDate.of(1985, 5, 20))
+                .build();
+
+        assertEquals(modelMapper.map(dto, Client.class), clientMapper.toEntity(dto));
+    }
+
+    @Test
+    void accountToDTO_MatchesModelMapper() {
+        assertEquals(modelMapperAccountDTO(sourceAccount), accountMapper.toDTO(sourceAccount));
+        assertEquals(modelMapperAccountDTO(destinationAccount), accountMapper.toDTO(destinationAccount));
+    }
+
+    @Test
+    void accountToDTO_WithoutClient_LeavesClientFieldsEmpty() {
+        sourceAccount.setClient(null);
+
+        AccountDTO dto = accountMapper.toDTO(sourceAccount);
+
+        assertNull(dto.getClientId());
+        assertNull(dto.getClientName());
+        assertEquals("1234567890", dto.getAccountNumber());
+    }
+
+    @Test
+    void transactionToDTO_MatchesModelMapper() {
+        TransactionDTO expected = modelMapper.map(transaction, TransactionDTO.class);
+        expected.setSourceAccountId(transaction.getSourceAccount().getId());
+        expected.setSourceAccountNumber(transaction.getSourceAccount().getAccountNumber());
+        expected.setDestinationAccountId(transaction.getDestinationAccount().getId());
+        expected.setDestinationAccountNumber(transaction.getDestinationAccount().getAccountNumber());
+
+        assertEquals(expected, transactionMapper.toDTO(transaction));
+    }
+
+    private AccountDTO modelMapperAccountDTO(Account account) {
+        AccountDTO dto = modelMapper.map(account, AccountDTO.class);
+        dto.setClientId(account.getClient().getId());
+        dto.setClientName(account.getClient().getFullName());
+        return dto;
+    }
+}
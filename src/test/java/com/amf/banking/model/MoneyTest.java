@@ -0,0 +1,90 @@
+package com.amf.banking.model;
+
+import com.amf.banking.exception.InvalidStoredAmountException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void toCents_ConvertsExactly() {
+        assertEquals(10_000, Money.toCents(new BigDecimal("100")));
+        assertEquals(10_000, Money.toCents(new BigDecimal("100.0")));
+        assertEquals(15_075, Money.toCents(new BigDecimal("150.75")));
+        assertEquals(1, Money.toCents(new BigDecimal("0.01")));
+        assertEquals(-250, Money.toCents(new BigDecimal("-2.50")));
+    }
+
+    @Test
+    void toCents_AcceptsTrailingZerosBeyondTwoDecimals() {
+        assertEquals(1_050, Money.toCents(new BigDecimal("10.5000")));
+    }
+
+    @Test
+    void toCents_MoreThanTwoDecimals_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> Money.toCents(new BigDecimal("10.001")));
+    }
+
+    @Test
+    void toCents_OutOfRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> Money.toCents(new BigDecimal("1E+20")));
+    }
+
+    @Test
+    void storedToCents_ConvertsExactly() {
+        assertEquals(1_050, Money.storedToCents(new BigDecimal("10.5")));
+        assertEquals(1_050, Money.storedToCents(new BigDecimal("10.5000")));
+    }
+
+    @Test
+    void storedToCents_MoreThanTwoDecimals_IsRejectedInsteadOfRounded() {
+        assertThrows(InvalidStoredAmountException.class, () -> Money.storedToCents(new BigDecimal("10.005")));
+        assertThrows(InvalidStoredAmountException.class, () -> Money.storedToCents(new BigDecimal("-12.3449")));
+    }
+
+    @Test
+    void storedToCents_MissingOrOutOfRange_ThrowsInvalidStoredAmount() {
+        assertThrows(InvalidStoredAmountException.class, () -> Money.storedToCents(null));
+        assertThrows(InvalidStoredAmountException.class, () -> Money.storedToCents(new BigDecimal("1E+20")));
+    }
+
+    @Test
+    void toBigDecimal_AlwaysUsesTwoDecimals() {
+        assertEquals(new BigDecimal("900.00"), Money.toBigDecimal(90_000));
+        assertEquals(new BigDecimal("0.00"), Money.toBigDecimal(0));
+    }
+
+    @Test
+    void arithmetic_DetectsOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Money.subtract(Long.MIN_VALUE, 1));
+    }
+
+    @Test
+    void value_ArithmeticAndComparison() {
+        Money balance = Money.of(new BigDecimal("100.50"));
+
+        assertEquals(Money.ofCents(9_050), balance.minus(Money.ofCents(1_000)));
+        assertEquals(Money.ofCents(10_051), balance.plus(Money.ofCents(1)));
+        assertTrue(balance.negate().isNegative());
+        assertTrue(Money.ZERO.isLessThan(balance));
+        assertSame(Money.ZERO, Money.ofCents(0));
+        assertEquals(new BigDecimal("100.50"), balance.toBigDecimal());
+        assertEquals("100.50", balance.toString());
+    }
+
+    @Test
+    void value_DetectsOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MIN_VALUE).negate());
+    }
+
+    @Test
+    void value_SerializesAsNumber() throws Exception {
+        assertEquals("12.30", new ObjectMapper().writeValueAsString(Money.ofCents(1_230)));
+    }
+}
@@ -0,0 +1,130 @@
+package com.amf.banking.profiling;
+
+import com.amf.banking.dto.JfrRecordingDTO;
+import com.amf.banking.exception.BusinessException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecorderTest {
+
+    private final JfrRecorder recorder = new JfrRecorder(600, 1, 2);
+
+    @AfterEach
+    void tearDown() {
+        recorder.list().forEach(recording -> recorder.delete(recording.getId()));
+    }
+
+    @Test
+    void recording_CapturesCustomEvents() throws Exception {
+        JfrRecordingDTO started = recorder.start(60, "default");
+        assertEquals("RUNNING", started.getState());
+
+        TransferEvent transfer = new TransferEvent();
+        transfer.begin();
+        transfer.setSourceAccountId("account1");
+        transfer.setDestinationAccountId("account2");
+        transfer.setAmount(150.25);
+        transfer.setSuccess(true);
+        transfer.commit();
+
+        StatementQueryEvent statement = new StatementQueryEvent();
+        statement.begin();
+        statement.setAccountId("account1");
+        statement.setRowCount(42);
+        statement.commit();
+
+        assertEquals("STOPPED", recorder.stop(started.getId()).getState());
+
+        List<RecordedEvent> events = readEvents(started.getId());
+        RecordedEvent recordedTransfer = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.amf.banking.Transfer"))
+                .findFirst().orElseThrow();
+        assertEquals("account1", recordedTransfer.getString("sourceAccountId"));
+        assertEquals(150.25, recordedTransfer.getDouble("amount"));
+        assertTrue(recordedTransfer.getBoolean("success"));
+
+        RecordedEvent recordedStatement = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.amf.banking.StatementQuery"))
+                .findFirst().orElseThrow();
+        assertEquals(42, recordedStatement.getInt("rowCount"));
+    }
+
+    @Test
+    void start_RejectsInvalidDurationSettingsAndConcurrentRecordings() {
+        assertThrows(BusinessException.class, () -> recorder.start(0, "profile"));
+        assertThrows(BusinessException.class, () -> recorder.start(601, "profile"));
+        assertThrows(BusinessException.class, () -> recorder.start(60, "/etc/passwd"));
+
+        recorder.start(60, "profile");
+        assertThrows(BusinessException.class, () -> recorder.start(60, "profile"));
+    }
+
+    @Test
+    void concurrentStopDownloadAndDelete_FailOnlyWithNotFound() throws Exception {
+        long id = recorder.start(60, "default").getId();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Object>> operations = List.of(
+                    () -> recorder.stop(id),
+                    () -> {
+                        try (InputStream dump = recorder.download(id)) {
+                            return dump.readAllBytes().length;
+                        }
+                    },
+                    () -> {
+                        recorder.delete(id);
+                        return null;
+                    },
+                    recorder::list);
+            for (Future<Object> result : executor.invokeAll(operations)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(recorder.list().isEmpty());
+    }
+
+    @Test
+    void start_EvictsOldestFinishedRecordings() {
+        long first = recorder.start(60, "default").getId();
+        recorder.stop(first);
+        long second = recorder.start(60, "default").getId();
+        recorder.stop(second);
+        recorder.start(60, "default");
+
+        assertEquals(2, recorder.list().size());
+        assertThrows(ResourceNotFoundException.class, () -> recorder.stop(first));
+    }
+
+    private List<RecordedEvent> readEvents(long id) throws Exception {
+        Path file = Files.createTempFile("jfr-test", ".jfr");
+        try (InputStream in = recorder.download(id)) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.amf.banking.projection;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.ProjectionRebuildDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.ledger.RepositoryLedgerStore;
+import com.amf.banking.mapper.AccountMapper;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Client;
+import com.amf.banking.model.Money;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.AccountType;
+import com.amf.banking.model.enums.TransactionType;
+import com.amf.banking.repository.inmemory.InMemoryAccountRepository;
+import com.amf.banking.repository.inmemory.InMemoryClientPortfolioRepository;
+import com.amf.banking.repository.inmemory.InMemoryClientRepository;
+import com.amf.banking.repository.inmemory.InMemoryStatementRowRepository;
+import com.amf.banking.repository.inmemory.InMemoryTransactionRepository;
+import com.amf.banking.model.readmodel.StatementRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadModelProjectorTest {
+
+    // Falha as próximas N gravações de linhas do extrato, como um MongoDB indisponível por alguns instantes
+    private final AtomicInteger failingSaves = new AtomicInteger();
+    private final InMemoryStatementRowRepository statementRowRepository = new InMemoryStatementRowRepository() {
+        @Override
+        public <S extends StatementRow> List<S> saveAll(Iterable<S> rows) {
+            if (failingSaves.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+                throw new DataAccessResourceFailureException("MongoDB indisponível");
+            }
+            return super.saveAll(rows);
+        }
+    };
+    private final InMemoryClientPortfolioRepository clientPortfolioRepository = new InMemoryClientPortfolioRepository();
+    private final InMemoryClientRepository clientRepository = new InMemoryClientRepository();
+    private final InMemoryAccountRepository accountRepository = new InMemoryAccountRepository();
+    private final InMemoryTransactionRepository transactionRepository = new InMemoryTransactionRepository();
+    private final TransactionMapper transactionMapper = new TransactionMapper();
+    private final AccountMapper accountMapper = new AccountMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ReadModel readModel = new ReadModel(statementRowRepository, clientPortfolioRepository,
+            transactionMapper, accountMapper, true);
+    private ReadModelProjector projector;
+
+    private Client ana;
+    private Client bruno;
+    private Account source;
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        projector = new ReadModelProjector(statementRowRepository, clientPortfolioRepository, clientRepository,
+                accountRepository, new RepositoryLedgerStore(transactionRepository), transactionMapper, accountMapper,
+                meterRegistry, 100, 3, 1);
+
+        ana = clientRepository.save(Client.builder().fullName("Ana Souza").cpf("52998224725").build());
+        bruno = clientRepository.save(Client.builder().fullName("Bruno Lima").cpf("11144477735").build());
+        source = accountRepository.save(account(ana, "1234567890", "900.00"));
+        destination = accountRepository.save(account(bruno, "0987654321", "600.00"));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        projector.shutdown();
+    }
+
+    @Test
+    void transferCompleted_ProjectsStatementRowsAndPortfolios() throws Exception {
+        TransactionDTO transfer = transfer("t1", LocalDateTime.of(2024, 3, 1, 10, 0));
+
+        projector.on(TransferCompletedEvent.of(transfer, change(source), change(destination)));
+        projector.awaitIdle();
+
+        assertEquals(List.of(transfer), readModel.statement(source.getId(), null, null));
+        assertEquals(List.of(transfer), readModel.statement(destination.getId(),
+                LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 2, 0, 0)));
+        assertEquals(List.of(), readModel.statement(source.getId(),
+                LocalDateTime.of(2024, 3, 2, 0, 0), LocalDateTime.of(2024, 3, 3, 0, 0)));
+
+        AccountDTO anaAccount = readModel.accountsOfClient(ana.getId()).orElseThrow().get(0);
+        assertEquals("1234567890", anaAccount.getAccountNumber());
+        assertEquals("Ana Souza", anaAccount.getClientName());
+        assertEquals(new BigDecimal("900.00"), anaAccount.getBalance());
+        assertEquals(2, readModel.allAccounts().size());
+
+        assertEquals(1, meterRegistry.get("banking.projection.lag").tag("projection", "statement").timer().count());
+        assertEquals(2, meterRegistry.get("banking.projection.lag").tag("projection", "portfolio").timer().count());
+    }
+
+    @Test
+    void transferCompleted_ReappliedEventDoesNotDuplicateRows() throws Exception {
+        TransferCompletedEvent event = TransferCompletedEvent.of(transfer("t1", LocalDateTime.now()), change(source), change(destination));
+
+        projector.on(event);
+        projector.on(event);
+        projector.awaitIdle();
+
+        assertEquals(2, statementRowRepository.count());
+        assertEquals(1, readModel.statement(source.getId(), null, null).size());
+    }
+
+    @Test
+    void portfolioChanged_ReflectsClosedAccountsAndRemovedClients() throws Exception {
+        projector.on(PortfolioChangedEvent.of(ana.getId()));
+        projector.awaitIdle();
+        assertEquals(1, readModel.accountsOfClient(ana.getId()).orElseThrow().size());
+
+        source.setStatus(AccountStatus.ENCERRADA);
+        accountRepository.save(source);
+        projector.on(PortfolioChangedEvent.of(ana.getId()));
+        projector.awaitIdle();
+        assertEquals(List.of(), readModel.accountsOfClient(ana.getId()).orElseThrow());
+
+        clientRepository.deleteById(ana.getId());
+        projector.on(PortfolioChangedEvent.of(ana.getId()));
+        projector.awaitIdle();
+        assertTrue(readModel.accountsOfClient(ana.getId()).isEmpty());
+    }
+
+    @Test
+    void transferCompleted_RetriesFailedProjection() throws Exception {
+        failingSaves.set(2);
+        TransactionDTO transfer = transfer("t1", LocalDateTime.now());
+
+        projector.on(TransferCompletedEvent.of(transfer, change(source), change(destination)));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (statementRowRepository.count() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(List.of(transfer), readModel.statement(source.getId(), null, null));
+        assertEquals(2.0, meterRegistry.get("banking.projection.failures").counter().count());
+        assertFalse(projector.isDirty());
+    }
+
+    @Test
+    void transferCompleted_MarksDirtyAfterLastAttemptAndRebuildClearsIt() throws Exception {
+        failingSaves.set(3);
+
+        projector.on(TransferCompletedEvent.of(transfer("t1", LocalDateTime.now()), change(source), change(destination)));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!projector.isDirty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(projector.isDirty());
+        assertEquals(1.0, meterRegistry.get("banking.projection.dirty").gauge().value());
+
+        projector.rebuild();
+        assertFalse(projector.isDirty());
+    }
+
+    @Test
+    void startup_RebuildsEventsLostBeforeRestartEvenWithRowsPresent() throws Exception {
+        // Uma transação projetada e outra cujo evento estava na fila quando o processo caiu
+        Transaction projected = transactionRepository.save(Transaction.builder()
+                .sourceAccount(source)
+                .destinationAccount(destination)
+                .amount(new BigDecimal("10.00"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .build());
+        statementRowRepository.save(transactionMapper.toStatementRow(
+                transfer(projected.getId(), projected.getTransactionDate()), source.getId()));
+        Transaction lost = transactionRepository.save(Transaction.builder()
+                .sourceAccount(source)
+                .destinationAccount(destination)
+                .amount(new BigDecimal("20.00"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .build());
+
+        projector.rebuildOnStartup();
+        projector.awaitIdle();
+
+        assertEquals(4, statementRowRepository.count());
+        assertTrue(readModel.statement(destination.getId(), null, null).stream()
+                .anyMatch(row -> lost.getId().equals(row.getId())));
+        assertFalse(projector.isDirty());
+    }
+
+    @Test
+    void rebuild_ReplacesStatementRowsAndDropsStaleOnes() {
+        statementRowRepository.save(transactionMapper.toStatementRow(transfer("antiga", LocalDateTime.now()), source.getId()));
+        transactionRepository.save(Transaction.builder()
+                .sourceAccount(source)
+                .destinationAccount(destination)
+                .amount(new BigDecimal("10.00"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .build());
+
+        ProjectionRebuildDTO result = projector.rebuild();
+
+        assertEquals(2, result.getStatementRows());
+        assertEquals(2, statementRowRepository.count());
+        assertTrue(readModel.statement(source.getId(), null, null).stream().noneMatch(row -> "antiga".equals(row.getId())));
+    }
+
+    @Test
+    void rebuild_ReplaysLedgerAndAccounts() {
+        for (int i = 0; i < 3; i++) {
+            transactionRepository.save(Transaction.builder()
+                    .sourceAccount(source)
+                    .destinationAccount(destination)
+                    .amount(new BigDecimal("10.00"))
+                    .transactionType(TransactionType.TRANSFERENCIA)
+                    .description("Transferência " + i)
+                    .build());
+        }
+
+        ProjectionRebuildDTO result = projector.rebuild();
+
+        assertEquals(6, result.getStatementRows());
+        assertEquals(2, result.getPortfolios());
+        List<TransactionDTO> statement = readModel.statement(destination.getId(), null, null);
+        assertEquals(3, statement.size());
+        assertEquals("1234567890", statement.get(0).getSourceAccountNumber());
+        assertEquals("0987654321", statement.get(0).getDestinationAccountNumber());
+        assertEquals("Bruno Lima", readModel.accountsOfClient(bruno.getId()).orElseThrow().get(0).getClientName());
+    }
+
+    private TransactionDTO transfer(String id, LocalDateTime date) {
+        return TransactionDTO.builder()
+                .id(id)
+                .sourceAccountId(source.getId())
+                .sourceAccountNumber(source.getAccountNumber())
+                .destinationAccountId(destination.getId())
+                .destinationAccountNumber(destination.getAccountNumber())
+                .amount(new BigDecimal("100.00"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .transactionDate(date)
+                .description("Aluguel")
+                .build();
+    }
+
+    private static BalanceChange change(Account account) {
+        return new BalanceChange(account.getId(), account.getAccountNumber(), account.getClient().getId(), Money.ofStored(account.getBalance()), null);
+    }
+
+    private static Account account(Client client, String accountNumber, String balance) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .client(client)
+                .accountType(AccountType.CORRENTE)
+                .balance(new BigDecimal(balance))
+                .status(AccountStatus.ATIVA)
+                .build();
+    }
+}
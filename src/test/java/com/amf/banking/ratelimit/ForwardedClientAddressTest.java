@@ -0,0 +1,52 @@
+package com.amf.banking.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Passa pelo Tomcat de verdade: o X-Forwarded-For só vale porque a conexão vem de 127.0.0.1, um proxy confiável
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.admission.enabled=false",
+        "banking.rate-limit.client.capacity=1",
+        "banking.rate-limit.client.refill-per-second=0.001"})
+@ActiveProfiles("inmemory")
+class ForwardedClientAddressTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void clientsBehindTheBalancerGetTheirOwnBucket() {
+        assertEquals(400, createClient("203.0.113.10"));
+        assertEquals(429, createClient("203.0.113.10"));
+
+        assertEquals(400, createClient("203.0.113.20"));
+    }
+
+    @Test
+    void readsAreNotLimitedPerClient() {
+        for (int i = 0; i < 3; i++) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("X-Forwarded-For", "203.0.113.30");
+            assertEquals(200, restTemplate.exchange("/api/v1/accounts", HttpMethod.GET,
+                    new HttpEntity<>(headers), String.class).getStatusCode().value());
+        }
+    }
+
+    // Corpo inválido: a requisição consome o balde e para na validação
+    private int createClient(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        return restTemplate.postForEntity("/api/v1/clients", new HttpEntity<>("{}", headers), String.class)
+                .getStatusCode().value();
+    }
+}
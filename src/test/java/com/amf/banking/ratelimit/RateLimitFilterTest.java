@@ -0,0 +1,101 @@
+package com.amf.banking.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Bulkhead readBulkhead;
+    private Bulkhead writeBulkhead;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimiter clientRateLimiter = new RateLimiter("api-client", true, 2, 1, 100, meterRegistry);
+        readBulkhead = new Bulkhead("read", 1, Duration.ZERO, meterRegistry);
+        writeBulkhead = new Bulkhead("write", 1, Duration.ZERO, meterRegistry);
+        filter = new RateLimitFilter(clientRateLimiter, readBulkhead, writeBulkhead,
+                new ObjectMapper().registerModule(new JavaTimeModule()), Set.of("integrador-a", "integrador-b"));
+    }
+
+    @Test
+    void rejectsClientOverItsBucketWith429AndRetryAfter() throws Exception {
+        assertEquals(200, perform(transfer("integrador-a")).getStatus());
+        assertEquals(200, perform(transfer("integrador-a")).getStatus());
+
+        MockHttpServletResponse rejected = perform(transfer("integrador-a"));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Limite de requisições excedido"));
+
+        // Outro cliente tem o próprio balde
+        assertEquals(200, perform(transfer("integrador-b")).getStatus());
+    }
+
+    @Test
+    void ignoresUntrustedClientIdAndLimitsByRemoteAddress() throws Exception {
+        assertEquals(200, perform(transfer("aleatorio-1")).getStatus());
+        assertEquals(200, perform(transfer("aleatorio-2")).getStatus());
+
+        // Trocar o cabeçalho não abre um balde novo: vale o endereço de origem
+        assertEquals(429, perform(transfer("aleatorio-3")).getStatus());
+        assertEquals(200, perform(transfer("integrador-a")).getStatus());
+    }
+
+    @Test
+    void limitsOnlyWritesAndTransfers() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, perform(new MockHttpServletRequest("GET", "/api/v1/accounts/1/balance")).getStatus());
+        }
+
+        // As leituras não consumiram o balde do endereço
+        assertEquals(200, perform(transfer("aleatorio")).getStatus());
+        assertEquals(200, perform(new MockHttpServletRequest("POST", "/api/v1/clients")).getStatus());
+        assertEquals(429, perform(transfer("aleatorio")).getStatus());
+    }
+
+    @Test
+    void rejectsWhenBulkheadIsFullAndKeepsReadsIsolated() throws Exception {
+        assertTrue(writeBulkhead.tryAcquire());
+
+        MockHttpServletResponse rejected = perform(transfer("integrador-a"));
+        assertEquals(429, rejected.getStatus());
+        assertEquals(1.0, meterRegistry.get("banking.bulkhead.calls")
+                .tag("bulkhead", "write").tag("outcome", "rejected").counter().count());
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/v1/accounts/1/balance");
+        assertEquals(200, perform(read).getStatus());
+    }
+
+    @Test
+    void releasesBulkheadPermitAfterRequest() throws Exception {
+        perform(transfer("integrador-a"));
+
+        assertEquals(0, writeBulkhead.getActiveCalls());
+    }
+
+    private MockHttpServletRequest transfer(String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/transactions");
+        request.addHeader(RateLimitFilter.CLIENT_ID_HEADER, clientId);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
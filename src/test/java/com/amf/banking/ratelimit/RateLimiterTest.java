@@ -0,0 +1,126 @@
+package com.amf.banking.ratelimit;
+
+import com.amf.banking.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void tryAcquire_AllowsBurstThenRefillsAtRate() {
+        RateLimiter limiter = limiter(3, 2, 100);
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+        long wait = limiter.tryAcquire("client");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.tryAcquire("client") > 0);
+    }
+
+    @Test
+    void tryAcquire_KeysAreIndependent() {
+        RateLimiter limiter = limiter(1, 1, 100);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void acquire_ThrowsWithRetryAfterRoundedUp() {
+        RateLimiter limiter = limiter(1, 0.5, 100);
+        limiter.acquire("account");
+
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class, () -> limiter.acquire("account"));
+        assertEquals("source-account", ex.getLimiter());
+        assertEquals(2, ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    void tryAcquire_RecordsOutcomeMetrics() {
+        RateLimiter limiter = limiter(1, 1, 100);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+
+        assertEquals(1.0, meterRegistry.get("banking.ratelimit.requests")
+                .tag("limiter", "source-account").tag("outcome", "allowed").counter().count());
+        assertEquals(1.0, meterRegistry.get("banking.ratelimit.requests")
+                .tag("limiter", "source-account").tag("outcome", "rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("banking.ratelimit.keys").gauge().value());
+    }
+
+    @Test
+    void tryAcquire_EvictsFullBucketsWhenKeyLimitReached() {
+        RateLimiter limiter = limiter(1, 10, 2);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.tryAcquire("c");
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_DisabledAlwaysAllows() {
+        RateLimiter limiter = new RateLimiter("source-account", false, 1, 1, 100, meterRegistry, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("a"));
+        }
+    }
+
+    @Test
+    void tryAcquire_ConcurrentCallersNeverExceedCapacity() throws Exception {
+        RateLimiter limiter = limiter(100, 1, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire("hot") == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(100, allowed.get());
+    }
+
+    private RateLimiter limiter(long capacity, double refillPerSecond, int maxKeys) {
+        return new RateLimiter("source-account", true, capacity, refillPerSecond, maxKeys, meterRegistry, clock::get);
+    }
+}
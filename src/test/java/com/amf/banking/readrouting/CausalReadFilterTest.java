@@ -0,0 +1,114 @@
+package com.amf.banking.readrouting;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CausalReadFilterTest {
+
+    private MongoDatabaseFactory mongoDatabaseFactory;
+    private CausalReadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        mongoDatabaseFactory = mock(MongoDatabaseFactory.class);
+        filter = new CausalReadFilter(mongoDatabaseFactory);
+    }
+
+    @Test
+    void bindsCausalSessionDuringRequestAndClosesIt() throws Exception {
+        ClientSession session = mock(ClientSession.class);
+        when(mongoDatabaseFactory.getSession(any(ClientSessionOptions.class))).thenReturn(session);
+        ClientSession[] seen = new ClientSession[1];
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/accounts/1"), new MockHttpServletResponse(),
+                (request, response) -> seen[0] = ReadRouting.currentSession());
+
+        assertSame(session, seen[0]);
+        assertNull(ReadRouting.currentSession());
+        verify(mongoDatabaseFactory).getSession(argThat(ClientSessionOptions::isCausallyConsistent));
+        verify(session).close();
+    }
+
+    @Test
+    void readAfterWriteStartsFromLastWriteOfThisNode() throws Exception {
+        BsonTimestamp written = new BsonTimestamp(1700000000, 3);
+        ClientSession writeSession = mock(ClientSession.class);
+        ClientSession readSession = mock(ClientSession.class);
+        when(writeSession.getOperationTime()).thenReturn(written);
+        when(mongoDatabaseFactory.getSession(any(ClientSessionOptions.class))).thenReturn(writeSession, readSession);
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/transactions/transfer"),
+                new MockHttpServletResponse(), (request, response) -> { });
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/accounts/1/balance"),
+                new MockHttpServletResponse(), (request, response) -> { });
+
+        verify(readSession).advanceOperationTime(written);
+    }
+
+    @Test
+    void readAfterHeaderAdvancesSession() throws Exception {
+        BsonTimestamp otherNode = new BsonTimestamp(1700000100, 1);
+        ClientSession session = mock(ClientSession.class);
+        when(mongoDatabaseFactory.getSession(any(ClientSessionOptions.class))).thenReturn(session);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts/1/balance");
+        request.addHeader(CausalReadFilter.READ_AFTER_HEADER, String.valueOf(otherNode.getValue()));
+
+        boolean[] ownRead = new boolean[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> ownRead[0] = ReadRouting.requiresOwnRead());
+
+        verify(session).advanceOperationTime(otherNode);
+        assertTrue(ownRead[0]);
+        assertFalse(ReadRouting.requiresOwnRead());
+    }
+
+    @Test
+    void readWithoutHeaderOnPrimaryMayShareResults() throws Exception {
+        when(mongoDatabaseFactory.getSession(any(ClientSessionOptions.class))).thenReturn(mock(ClientSession.class));
+        boolean[] ownRead = new boolean[2];
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/accounts/1"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    ownRead[0] = ReadRouting.requiresOwnRead();
+                    ReadRouting.target(ReadRouting.Target.SECONDARY);
+                    ownRead[1] = ReadRouting.requiresOwnRead();
+                });
+
+        assertFalse(ownRead[0]);
+        assertTrue(ownRead[1]);
+    }
+
+    @Test
+    void eventStreamDoesNotHoldSession() throws Exception {
+        boolean[] called = new boolean[1];
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/clients/1/feed"), new MockHttpServletResponse(),
+                (req, res) -> called[0] = ReadRouting.currentSession() == null);
+
+        assertTrue(called[0]);
+        verify(mongoDatabaseFactory, never()).getSession(any(ClientSessionOptions.class));
+    }
+
+    @Test
+    void invalidReadAfterHeaderIsIgnored() throws Exception {
+        ClientSession session = mock(ClientSession.class);
+        when(mongoDatabaseFactory.getSession(any(ClientSessionOptions.class))).thenReturn(session);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts/1/balance");
+        request.addHeader(CausalReadFilter.READ_AFTER_HEADER, "abc");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        verify(session, never()).advanceOperationTime(any());
+        verify(session).close();
+    }
+}
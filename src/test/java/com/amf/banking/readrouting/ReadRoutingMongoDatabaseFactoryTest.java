@@ -0,0 +1,70 @@
+package com.amf.banking.readrouting;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReadRoutingMongoDatabaseFactoryTest {
+
+    private final ReadPreference secondaries = ReadPreference.valueOf("secondaryPreferred", List.of(), 90, TimeUnit.SECONDS);
+
+    private MongoDatabase database;
+    private MongoDatabase secondaryDatabase;
+    private ReadRoutingMongoDatabaseFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        MongoClient mongoClient = mock(MongoClient.class);
+        database = mock(MongoDatabase.class);
+        secondaryDatabase = mock(MongoDatabase.class);
+        when(mongoClient.getDatabase("banking")).thenReturn(database);
+        when(database.withReadPreference(secondaries)).thenReturn(secondaryDatabase);
+        when(secondaryDatabase.withReadConcern(ReadConcern.MAJORITY)).thenReturn(mock(MongoDatabase.class));
+        factory = new ReadRoutingMongoDatabaseFactory(new SimpleMongoClientDatabaseFactory(mongoClient, "banking"), secondaries);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.unbind();
+    }
+
+    @Test
+    void withoutRequestSessionUsesPlainDatabase() {
+        assertSame(database, factory.getMongoDatabase());
+        verify(database, never()).withReadPreference(any());
+    }
+
+    @Test
+    void writesUseRequestSessionOnPrimary() {
+        ReadRouting.bind(mock(ClientSession.class), false);
+
+        MongoDatabase routed = factory.getMongoDatabase();
+
+        assertNotSame(database, routed);
+        verify(database, never()).withReadPreference(any());
+    }
+
+    @Test
+    void readOnlyCallsUseSecondariesWithMajorityReadConcern() {
+        ReadRouting.bind(mock(ClientSession.class), false);
+        ReadRouting.target(ReadRouting.Target.SECONDARY);
+
+        factory.getMongoDatabase();
+
+        verify(database).withReadPreference(secondaries);
+        verify(secondaryDatabase).withReadConcern(ReadConcern.MAJORITY);
+    }
+}
@@ -0,0 +1,100 @@
+package com.amf.banking.readrouting;
+
+import com.amf.banking.concurrent.SingleFlight;
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.mapper.ClientMapper;
+import com.amf.banking.model.Client;
+import com.amf.banking.repository.ClientDeletionJobRepository;
+import com.amf.banking.repository.ClientRepository;
+import com.amf.banking.service.ClientService;
+import com.mongodb.client.ClientSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SecondaryReadAspectTest {
+
+    private final List<Boolean> routedToSecondary = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private ClientService clientService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ClientRepository clientRepository = mock(ClientRepository.class);
+        when(clientRepository.findById("1")).thenAnswer(invocation -> {
+            routedToSecondary.add(ReadRouting.onSecondary());
+            return Optional.of(Client.builder().id("1").fullName("Ana").cpf("12345678909").build());
+        });
+        when(clientRepository.existsByCpf(any())).thenAnswer(invocation -> {
+            routedToSecondary.add(ReadRouting.onSecondary());
+            return false;
+        });
+        when(clientRepository.save(any(Client.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ClientService target = new ClientService(clientRepository, mock(ClientDeletionJobRepository.class),
+                new ClientMapper(), new SingleFlight<String, ClientDTO>("client", Duration.ZERO, 10, meterRegistry),
+                mock(ApplicationEventPublisher.class));
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SecondaryReadAspect(meterRegistry));
+        clientService = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.unbind();
+    }
+
+    @Test
+    void readOnlyMethodsGoToSecondaryInsideApiRequest() {
+        ReadRouting.bind(mock(ClientSession.class), false);
+
+        clientService.getClientById("1");
+
+        assertEquals(List.of(true), routedToSecondary);
+        assertNull(ReadRouting.target());
+        assertEquals(1, meterRegistry.get("banking.read-routing.secondary-reads").counter().count());
+    }
+
+    @Test
+    void writeMethodsStayOnPrimary() {
+        ReadRouting.bind(mock(ClientSession.class), false);
+
+        clientService.createClient(ClientDTO.builder().fullName("Ana").cpf("12345678909").build());
+
+        assertEquals(List.of(false), routedToSecondary);
+        assertEquals(0, meterRegistry.get("banking.read-routing.secondary-reads").counter().count());
+    }
+
+    @Test
+    void readsNestedInWriteKeepOuterDecision() {
+        ReadRouting.bind(mock(ClientSession.class), false);
+        ReadRouting.target(ReadRouting.Target.PRIMARY);
+
+        clientService.getClientById("1");
+
+        assertEquals(List.of(false), routedToSecondary);
+        assertEquals(ReadRouting.Target.PRIMARY, ReadRouting.target());
+    }
+
+    @Test
+    void callsOutsideApiRequestStayOnPrimary() {
+        clientService.getClientById("1");
+
+        assertEquals(List.of(false), routedToSecondary);
+        assertEquals(0, meterRegistry.get("banking.read-routing.secondary-reads").counter().count());
+    }
+}
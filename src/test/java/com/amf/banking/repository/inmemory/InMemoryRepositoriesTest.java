@@ -0,0 +1,192 @@
+package com.amf.banking.repository.inmemory;
+
+import com.amf.banking.model.Account;
+import com.amf.banking.model.Client;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.TransactionType;
+import com.amf.banking.model.reactive.TransactionDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRepositoriesTest {
+
+    private final InMemoryClientRepository clientRepository = new InMemoryClientRepository();
+    private final InMemoryAccountRepository accountRepository = new InMemoryAccountRepository();
+    private final InMemoryTransactionRepository transactionRepository = new InMemoryTransactionRepository();
+
+    @Test
+    void save_AssignsObjectIdAndAuditDates() {
+        Client client = clientRepository.save(client("João Silva", "12345678901"));
+
+        assertEquals(24, client.getId().length());
+        assertNotNull(client.getCreatedAt());
+        assertNotNull(client.getUpdatedAt());
+    }
+
+    @Test
+    void cpfIndex_FollowsInPlaceUpdate() {
+        Client client = clientRepository.save(client("João Silva", "12345678901"));
+
+        // Mesmo fluxo de ClientService.updateClient: altera a instância lida e salva de novo
+        Client loaded = clientRepository.findById(client.getId()).orElseThrow();
+        loaded.setCpf("98765432100");
+        clientRepository.save(loaded);
+
+        assertFalse(clientRepository.existsByCpf("12345678901"));
+        assertEquals(client.getId(), clientRepository.findByCpf("98765432100").orElseThrow().getId());
+    }
+
+    @Test
+    void reads_ReturnCopiesSoUnsavedChangesDoNotLeak() {
+        Client owner = clientRepository.save(client("João Silva", "12345678901"));
+        Account account = accountRepository.save(account(owner, "1234567890"));
+
+        // Como em uma transferência que falha depois de alterar o saldo em memória
+        account.setBalance(new BigDecimal("0.00"));
+        accountRepository.findById(account.getId()).orElseThrow().setBalance(new BigDecimal("1.00"));
+        accountRepository.findByClientId(owner.getId()).get(0).setBalance(new BigDecimal("2.00"));
+
+        assertEquals(new BigDecimal("100.00"), accountRepository.findById(account.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void findAll_ByExample_MatchesNonNullProbeProperties() {
+        clientRepository.save(client("João Silva", "12345678901"));
+        Client maria = clientRepository.save(client("Maria Souza", "98765432100"));
+        clientRepository.save(client("Maria Souza", "11122233344"));
+
+        List<Client> byName = clientRepository.findAll(Example.of(Client.builder().fullName("Maria Souza").build()),
+                Sort.by("cpf"));
+
+        assertEquals(List.of("11122233344", "98765432100"), byName.stream().map(Client::getCpf).toList());
+        assertEquals(maria.getId(), clientRepository.findOne(Example.of(client("Maria Souza", "98765432100")))
+                .orElseThrow().getId());
+        assertEquals(2L, clientRepository.<Client, Long>findBy(Example.of(Client.builder().fullName("Maria Souza").build()),
+                FluentQuery.FetchableFluentQuery::count));
+        assertFalse(clientRepository.exists(Example.of(client("Outro", "12345678901"))));
+    }
+
+    @Test
+    void save_DuplicateUniqueKey_ThrowsDuplicateKeyException() {
+        clientRepository.save(client("João Silva", "12345678901"));
+        Client owner = clientRepository.save(client("Maria Souza", "98765432100"));
+        accountRepository.save(account(owner, "1234567890"));
+
+        assertThrows(DuplicateKeyException.class, () -> clientRepository.save(client("Outro", "12345678901")));
+        assertThrows(DuplicateKeyException.class, () -> accountRepository.save(account(owner, "1234567890")));
+    }
+
+    @Test
+    void clientIdIndex_ExcludesClosedAccountsAndDeletedDocuments() {
+        Client owner = clientRepository.save(client("João Silva", "12345678901"));
+        Account open = accountRepository.save(account(owner, "1111111111"));
+        Account closed = account(owner, "2222222222");
+        closed.setStatus(AccountStatus.ENCERRADA);
+        accountRepository.save(closed);
+        Account deleted = accountRepository.save(account(owner, "3333333333"));
+        accountRepository.delete(deleted);
+
+        assertEquals(List.of(open.getId()), accountRepository
+                .findByClientIdAndStatusNot(owner.getId(), AccountStatus.ENCERRADA).stream().map(Account::getId).toList());
+        assertTrue(accountRepository.findByAccountNumber("3333333333").isEmpty());
+    }
+
+    @Test
+    void closeAccounts_ChangesOnlyStatusAndClosedAt() {
+        Client owner = clientRepository.save(client("João Silva", "12345678901"));
+        Account account = account(owner, "1111111111");
+        account.setBalance(new BigDecimal("42.00"));
+        accountRepository.save(account);
+        LocalDateTime closedAt = LocalDateTime.now();
+
+        assertEquals(1, accountRepository.closeAccounts(List.of(account.getId()), closedAt));
+        assertEquals(0, accountRepository.closeAccounts(List.of(account.getId()), closedAt));
+
+        Account stored = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(AccountStatus.ENCERRADA, stored.getStatus());
+        assertEquals(closedAt, stored.getClosedAt());
+        assertEquals(new BigDecimal("42.00"), stored.getBalance());
+    }
+
+    @Test
+    void statement_UsesAccountAndDateIndexInChronologicalOrder() {
+        Client owner = clientRepository.save(client("João Silva", "12345678901"));
+        Account source = accountRepository.save(account(owner, "1111111111"));
+        Account destination = accountRepository.save(account(owner, "2222222222"));
+        Account other = accountRepository.save(account(owner, "3333333333"));
+
+        Transaction first = transactionRepository.save(transfer(source, destination));
+        Transaction second = transactionRepository.save(transfer(destination, source));
+        transactionRepository.save(transfer(destination, other));
+
+        List<TransactionDocument> statement = transactionRepository.findStatement(source.getId(), null, null);
+        assertEquals(List.of(first.getId(), second.getId()), statement.stream().map(TransactionDocument::getId).toList());
+        assertEquals(source.getId(), statement.get(0).getSourceAccount().getId().toString());
+
+        LocalDateTime at = first.getTransactionDate();
+        assertEquals(1, transactionRepository.findStatement(other.getId(), at, at.plusDays(1)).size());
+        assertTrue(transactionRepository.findStatement(source.getId(), at.minusDays(2), at.minusDays(1)).isEmpty());
+        assertTrue(transactionRepository.findStatement("id-invalido", null, null).isEmpty());
+    }
+
+    @Test
+    void searchByTokenPrefixes_SortsAndSlices() {
+        Client joao = client("João Silva", "12345678901");
+        joao.setSearchTokens(List.of("joao", "silva"));
+        Client joana = client("Joana Silveira", "98765432100");
+        joana.setSearchTokens(List.of("joana", "silveira"));
+        Client maria = client("Maria Souza", "11122233344");
+        maria.setSearchTokens(List.of("maria", "souza"));
+        clientRepository.saveAll(List.of(joao, joana, maria));
+
+        Slice<Client> page = clientRepository.searchByTokenPrefixes(List.of("jo", "sil"),
+                PageRequest.of(0, 1, Sort.by("fullName")));
+
+        assertEquals(List.of("Joana Silveira"), page.getContent().stream().map(Client::getFullName).toList());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void findAllBy_SlicesWithoutCount() {
+        clientRepository.saveAll(List.of(client("Maria Souza", "11122233344"), client("Ana Lima", "98765432100")));
+
+        Slice<Client> page = clientRepository.findAllBy(PageRequest.of(0, 1, Sort.by("fullName")));
+
+        assertEquals(List.of("Ana Lima"), page.getContent().stream().map(Client::getFullName).toList());
+        assertTrue(page.hasNext());
+    }
+
+    private static Client client(String fullName, String cpf) {
+        return Client.builder().fullName(fullName).cpf(cpf).build();
+    }
+
+    private static Account account(Client client, String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .client(client)
+                .balance(new BigDecimal("100.00"))
+                .status(AccountStatus.ATIVA)
+                .build();
+    }
+
+    private static Transaction transfer(Account source, Account destination) {
+        return Transaction.builder()
+                .sourceAccount(source)
+                .destinationAccount(destination)
+                .amount(new BigDecimal("10.00"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .build();
+    }
+}
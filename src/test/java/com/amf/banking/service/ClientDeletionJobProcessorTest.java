@@ -0,0 +1,178 @@
+package com.amf.banking.service;
+
+import com.amf.banking.concurrent.SingleFlight;
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.model.Account;
+import com.amf.banking.model.ClientDeletionJob;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.DeletionJobStatus;
+import com.amf.banking.repository.AccountRepository;
+import com.amf.banking.repository.ClientDeletionJobRepository;
+import com.amf.banking.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClientDeletionJobProcessorTest {
+
+    @Mock
+    private ClientDeletionJobRepository clientDeletionJobRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SingleFlight<String, AccountDTO> accountReads;
+
+    private ClientDeletionJobProcessor processor;
+
+    private ClientDeletionJob job;
+
+    @BeforeEach
+    void setUp() {
+        processor = new ClientDeletionJobProcessor(
+                clientDeletionJobRepository, accountRepository, clientRepository, accountReads, eventPublisher,
+                2, 0, 3, 1000, 60_000);
+
+        job = ClientDeletionJob.builder()
+                .id("job1")
+                .clientId("client1")
+                .status(DeletionJobStatus.EM_ANDAMENTO)
+                .owner("other")
+                .build();
+
+        lenient().when(clientDeletionJobRepository.saveClaimed(any(ClientDeletionJob.class), anyString())).thenReturn(true);
+    }
+
+    @Test
+    void process_ClosesAccountsInBatchesThenDeletesClient() {
+        Account first = Account.builder().id("1").status(AccountStatus.ATIVA).build();
+        Account second = Account.builder().id("2").status(AccountStatus.ATIVA).build();
+        Account third = Account.builder().id("3").build();
+
+        when(accountRepository.findByClientIdAndStatusNot(eq("client1"), eq(AccountStatus.ENCERRADA), any(Pageable.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third))
+                .thenReturn(List.of());
+        when(accountRepository.closeAccounts(eq(List.of("1", "2")), any())).thenReturn(2L);
+        when(accountRepository.closeAccounts(eq(List.of("3")), any())).thenReturn(1L);
+
+        processor.process(job);
+
+        // Só status e closedAt: nada de regravar as contas carregadas no lote
+        verify(accountRepository, never()).saveAll(anyList());
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountReads).invalidate("1");
+        verify(accountReads).invalidate("2");
+        verify(accountReads).invalidate("3");
+        verify(clientRepository, times(1)).deleteById("client1");
+        assertEquals(DeletionJobStatus.CONCLUIDA, job.getStatus());
+        assertEquals(3, job.getAccountsClosed());
+        assertNull(job.getOwner());
+        assertNull(job.getLeaseUntil());
+        verify(clientDeletionJobRepository, never()).save(any(ClientDeletionJob.class));
+    }
+
+    @Test
+    void process_LeaseLost_StopsWithoutDeletingClient() {
+        when(accountRepository.findByClientIdAndStatusNot(eq("client1"), eq(AccountStatus.ENCERRADA), any(Pageable.class)))
+                .thenReturn(List.of(Account.builder().id("1").build()));
+        when(accountRepository.closeAccounts(eq(List.of("1")), any())).thenReturn(1L);
+        when(clientDeletionJobRepository.saveClaimed(any(ClientDeletionJob.class), anyString())).thenReturn(false);
+
+        processor.process(job);
+
+        verify(accountRepository, times(1)).closeAccounts(any(), any());
+        verify(clientDeletionJobRepository, times(1)).saveClaimed(any(ClientDeletionJob.class), anyString());
+        verify(clientRepository, never()).deleteById(anyString());
+        assertEquals(DeletionJobStatus.EM_ANDAMENTO, job.getStatus());
+    }
+
+    @Test
+    void process_RepositoryFailure_SchedulesRetry() {
+        when(accountRepository.findByClientIdAndStatusNot(eq("client1"), eq(AccountStatus.ENCERRADA), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("timeout"));
+
+        processor.process(job);
+
+        assertEquals(DeletionJobStatus.FALHOU, job.getStatus());
+        assertEquals("timeout", job.getLastError());
+        assertEquals(1, job.getAttempts());
+        assertNotNull(job.getNextAttemptAt());
+        verify(clientRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void process_LastAttemptFails_StopsRetrying() {
+        job.setAttempts(2);
+        when(accountRepository.findByClientIdAndStatusNot(eq("client1"), eq(AccountStatus.ENCERRADA), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("timeout"));
+
+        processor.process(job);
+
+        assertEquals(DeletionJobStatus.FALHOU, job.getStatus());
+        assertEquals(3, job.getAttempts());
+        assertNull(job.getNextAttemptAt());
+    }
+
+    @Test
+    void processPendingJobs_ProcessesClaimedJobsUntilNoneLeft() {
+        ClientDeletionJob second = ClientDeletionJob.builder()
+                .id("job2")
+                .clientId("client2")
+                .status(DeletionJobStatus.EM_ANDAMENTO)
+                .accountsClosed(5)
+                .build();
+        when(clientDeletionJobRepository.claimNext(anyString(), any(), any()))
+                .thenReturn(Optional.of(job))
+                .thenReturn(Optional.of(second))
+                .thenReturn(Optional.empty());
+        when(accountRepository.findByClientIdAndStatusNot(anyString(), eq(AccountStatus.ENCERRADA), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        processor.processPendingJobs();
+
+        verify(clientRepository, times(1)).deleteById("client1");
+        verify(clientRepository, times(1)).deleteById("client2");
+        assertEquals(DeletionJobStatus.CONCLUIDA, second.getStatus());
+        assertEquals(5, second.getAccountsClosed());
+    }
+
+    @Test
+    void processPendingJobs_ClaimsWithOneOwnerAndLease() {
+        when(clientDeletionJobRepository.claimNext(anyString(), any(), any())).thenReturn(Optional.empty());
+
+        processor.processPendingJobs();
+        processor.processPendingJobs();
+
+        ArgumentCaptor<String> owners = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(clientDeletionJobRepository, times(2)).claimNext(owners.capture(), now.capture(), leaseUntil.capture());
+        assertEquals(owners.getAllValues().get(0), owners.getAllValues().get(1));
+        assertEquals(Duration.ofMillis(60_000), Duration.between(now.getValue(), leaseUntil.getValue()));
+    }
+}
@@ -1,24 +1,42 @@
 package com.amf.banking.service;
 
+import com.amf.banking.concurrent.SingleFlight;
 import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.dto.ClientDeletionJobDTO;
+import com.amf.banking.dto.PageDTO;
 import com.amf.banking.exception.BusinessException;
 import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.mapper.ClientMapper;
 import com.amf.banking.model.Client;
+import com.amf.banking.model.ClientDeletionJob;
+import com.amf.banking.model.enums.DeletionJobStatus;
+import com.amf.banking.repository.ClientDeletionJobRepository;
 import com.amf.banking.repository.ClientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,7 +46,17 @@ class ClientServiceTest {
     private ClientRepository clientRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private ClientDeletionJobRepository clientDeletionJobRepository;
+
+    @Spy
+    private ClientMapper clientMapper = new ClientMapper();
+
+    @Spy
+    private SingleFlight<String, ClientDTO> clientReads =
+            new SingleFlight<>("client", Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ClientService clientService;
@@ -55,15 +83,17 @@ class ClientServiceTest {
     @Test
     void createClient_Success() {
         when(clientRepository.existsByCpf(anyString())).thenReturn(false);
-        when(modelMapper.map(clientDTO, Client.class)).thenReturn(client);
         when(clientRepository.save(any(Client.class))).thenReturn(client);
-        when(modelMapper.map(client, ClientDTO.class)).thenReturn(clientDTO);
 
         ClientDTO result = clientService.createClient(clientDTO);
 
         assertNotNull(result);
+        assertEquals("1", result.getId());
         assertEquals(clientDTO.getFullName(), result.getFullName());
-        verify(clientRepository, times(1)).save(any(Client.class));
+
+        ArgumentCaptor<Client> saved = ArgumentCaptor.forClass(Client.class);
+        verify(clientRepository, times(1)).save(saved.capture());
+        assertEquals(List.of("joao", "silva"), saved.getValue().getSearchTokens());
     }
 
     @Test
@@ -77,7 +107,6 @@ class ClientServiceTest {
     @Test
     void getClientById_Success() {
         when(clientRepository.findById(anyString())).thenReturn(Optional.of(client));
-        when(modelMapper.map(client, ClientDTO.class)).thenReturn(clientDTO);
 
         ClientDTO result = clientService.getClientById("1");
 
@@ -93,12 +122,138 @@ class ClientServiceTest {
     }
 
     @Test
-    void deleteClient_Success() {
+    void getClientById_RepeatedWithinWindow_QueriesOnce() {
+        when(clientRepository.findById("1")).thenReturn(Optional.of(client));
+
+        ClientDTO first = clientService.getClientById("1");
+        ClientDTO second = clientService.getClientById("1");
+
+        assertSame(first, second);
+        verify(clientRepository, times(1)).findById("1");
+    }
+
+    @Test
+    void updateClient_InvalidatesCoalescedRead() {
+        ClientDTO updated = ClientDTO.builder()
+                .fullName("João Souza")
+                .cpf("12345678901")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .build();
+        when(clientRepository.findById("1")).thenReturn(Optional.of(client));
+        when(clientRepository.save(any(Client.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        clientService.getClientById("1");
+        clientService.updateClient("1", updated);
+        ClientDTO result = clientService.getClientById("1");
+
+        assertEquals("João Souza", result.getFullName());
+        verify(clientRepository, times(3)).findById("1");
+    }
+
+    @Test
+    void searchClients_NormalizesQueryIntoTokenPrefixes() {
+        when(clientRepository.searchByTokenPrefixes(eq(List.of("joao", "si")), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(client)));
+
+        PageDTO<ClientDTO> result = clientService.searchClients("  JOÃO Si ", 0, 20);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        verify(clientRepository).searchByTokenPrefixes(eq(List.of("joao", "si")), eq(PageRequest.of(0, 20)));
+        verify(clientRepository, never()).findAllBy(any(Pageable.class));
+    }
+
+    @Test
+    void searchClients_EmptyQuery_ListsSliceByNameWithoutCount() {
+        when(clientRepository.findAllBy(PageRequest.of(1, 20, Sort.by("fullName"))))
+                .thenReturn(new SliceImpl<>(List.of(client), PageRequest.of(1, 20), true));
+
+        PageDTO<ClientDTO> result = clientService.searchClients("  ", 1, 20);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        verify(clientRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void searchClients_InvalidPageSize_ThrowsException() {
+        assertThrows(BusinessException.class, () -> clientService.searchClients("joao", 0, 500));
+        verify(clientRepository, never()).searchByTokenPrefixes(any(), any(Pageable.class));
+    }
+
+    @Test
+    void deleteClient_SchedulesDeletionJob() {
+        when(clientRepository.existsById(anyString())).thenReturn(true);
+        when(clientDeletionJobRepository.findFirstByClientIdAndStatusIn(eq("1"), any())).thenReturn(Optional.empty());
+        when(clientDeletionJobRepository.save(any(ClientDeletionJob.class))).thenAnswer(invocation -> {
+            ClientDeletionJob job = invocation.getArgument(0);
+            job.setId("job1");
+            return job;
+        });
+
+        ClientDeletionJobDTO result = clientService.deleteClient("1");
+
+        assertEquals("job1", result.getId());
+        assertEquals(DeletionJobStatus.PENDENTE, result.getStatus());
+        verify(clientRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void deleteClient_ConcurrentRequestCreatedJob_ReturnsIt() {
+        ClientDeletionJob created = ClientDeletionJob.builder()
+                .id("job1")
+                .clientId("1")
+                .status(DeletionJobStatus.PENDENTE)
+                .build();
         when(clientRepository.existsById(anyString())).thenReturn(true);
+        when(clientDeletionJobRepository.findFirstByClientIdAndStatusIn(eq("1"), any()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(created));
+        when(clientDeletionJobRepository.save(any(ClientDeletionJob.class)))
+                .thenThrow(new DuplicateKeyException("Já existe um job de exclusão ativo para o cliente 1"));
 
-        clientService.deleteClient("1");
+        ClientDeletionJobDTO result = clientService.deleteClient("1");
 
-        verify(clientRepository, times(1)).deleteById("1");
+        assertEquals("job1", result.getId());
+        assertEquals(DeletionJobStatus.PENDENTE, result.getStatus());
+    }
+
+    @Test
+    void deleteClient_FailedJob_IsResubmitted() {
+        ClientDeletionJob failedJob = ClientDeletionJob.builder()
+                .id("job1")
+                .clientId("1")
+                .status(DeletionJobStatus.FALHOU)
+                .attempts(5)
+                .lastError("timeout")
+                .build();
+        when(clientRepository.existsById(anyString())).thenReturn(true);
+        when(clientDeletionJobRepository.findFirstByClientIdAndStatusIn(eq("1"), any())).thenReturn(Optional.of(failedJob));
+        when(clientDeletionJobRepository.save(any(ClientDeletionJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ClientDeletionJobDTO result = clientService.deleteClient("1");
+
+        assertEquals("job1", result.getId());
+        assertEquals(DeletionJobStatus.PENDENTE, result.getStatus());
+        assertEquals(0, result.getAttempts());
+    }
+
+    @Test
+    void deleteClient_JobAlreadyRunning_ReturnsExistingJob() {
+        ClientDeletionJob runningJob = ClientDeletionJob.builder()
+                .id("job1")
+                .clientId("1")
+                .status(DeletionJobStatus.EM_ANDAMENTO)
+                .accountsClosed(10)
+                .build();
+        when(clientRepository.existsById(anyString())).thenReturn(true);
+        when(clientDeletionJobRepository.findFirstByClientIdAndStatusIn(eq("1"), any())).thenReturn(Optional.of(runningJob));
+
+        ClientDeletionJobDTO result = clientService.deleteClient("1");
+
+        assertEquals("job1", result.getId());
+        assertEquals(10, result.getAccountsClosed());
+        verify(clientDeletionJobRepository, never()).save(any(ClientDeletionJob.class));
     }
 
     @Test
@@ -106,6 +261,6 @@ class ClientServiceTest {
         when(clientRepository.existsById(anyString())).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, () -> clientService.deleteClient("1"));
-        verify(clientRepository, never()).deleteById(anyString());
+        verify(clientDeletionJobRepository, never()).save(any(ClientDeletionJob.class));
     }
 }
@@ -0,0 +1,363 @@
+package com.amf.banking.service;
+
+import com.amf.banking.concurrent.SingleFlight;
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.exception.BusinessException;
+import com.amf.banking.exception.ConcurrentUpdateException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.metrics.TransferMetrics;
+import com.amf.banking.model.enums.AccountStatus;
+import com.amf.banking.model.enums.AccountType;
+import com.amf.banking.model.enums.TransactionType;
+import com.amf.banking.model.reactive.AccountDocument;
+import com.amf.banking.model.reactive.TransactionDocument;
+import com.amf.banking.ratelimit.RateLimiter;
+import com.amf.banking.repository.AccountSequenceRepository;
+import com.amf.banking.repository.reactive.ReactiveAccountRepository;
+import com.amf.banking.repository.reactive.ReactiveTransactionRepository;
+import com.mongodb.DBRef;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionServiceTest {
+
+    private static final String SOURCE_ID = new ObjectId().toHexString();
+    private static final String DESTINATION_ID = new ObjectId().toHexString();
+    private static final String OTHER_ID = new ObjectId().toHexString();
+
+    @Mock
+    private ReactiveTransactionRepository transactionRepository;
+
+    @Mock
+    private ReactiveAccountRepository accountRepository;
+
+    @Mock
+    private ReactiveAccountService accountService;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Spy
+    private TransactionMapper transactionMapper = new TransactionMapper();
+
+    @Mock
+    private RateLimiter sourceAccountRateLimiter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(meterRegistry);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SingleFlight<String, AccountDTO> accountReads;
+
+    @InjectMocks
+    private ReactiveTransactionService transactionService;
+
+    private AccountDocument sourceAccount;
+    private AccountDocument destinationAccount;
+    private TransactionDTO transactionDTO;
+
+    @BeforeEach
+    void setUp() {
+        sourceAccount = account(SOURCE_ID, "1234567890", "1000.00");
+        destinationAccount = account(DESTINATION_ID, "0987654321", "500.00");
+
+        transactionDTO = TransactionDTO.builder()
+                .sourceAccountId(SOURCE_ID)
+                .destinationAccountId(DESTINATION_ID)
+                .amount(new BigDecimal("100.00"))
+                .description("Teste de transferência")
+                .build();
+    }
+
+    @Test
+    void createTransfer_Success() {
+        when(accountService.findAccountById(SOURCE_ID)).thenReturn(Mono.just(sourceAccount));
+        when(accountService.findAccountById(DESTINATION_ID)).thenReturn(Mono.just(destinationAccount));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AccountDocument.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(AccountSequenceRepository.COLLECTION)))
+                .thenReturn(Mono.just(new Document("value", 7L)))
+                .thenReturn(Mono.just(new Document("value", 3L)));
+        when(transactionRepository.save(any(TransactionDocument.class)))
+                .thenAnswer(invocation -> {
+                    TransactionDocument saved = invocation.getArgument(0);
+                    saved.setId("tx1");
+                    return Mono.just(saved);
+                });
+
+        StepVerifier.create(transactionService.createTransfer(transactionDTO))
+                .assertNext(result -> {
+                    assertEquals("tx1", result.getId());
+                    assertEquals(new BigDecimal("100.00"), result.getAmount());
+                    assertEquals("1234567890", result.getSourceAccountNumber());
+                    assertEquals("0987654321", result.getDestinationAccountNumber());
+                    assertEquals(TransactionType.TRANSFERENCIA, result.getTransactionType());
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(queries.capture(), updates.capture(), eq(AccountDocument.class));
+        assertEquals(new BigDecimal("1000.00"), queries.getAllValues().get(0).getQueryObject().get("balance"));
+        assertEquals(new BigDecimal("900.00"), updates.getAllValues().get(0).getUpdateObject().get("$set", Document.class).get("balance"));
+        assertEquals(new BigDecimal("500.00"), queries.getAllValues().get(1).getQueryObject().get("balance"));
+        assertEquals(new BigDecimal("600.00"), updates.getAllValues().get(1).getUpdateObject().get("$set", Document.class).get("balance"));
+        verify(accountReads).invalidate(SOURCE_ID);
+        verify(accountReads).invalidate(DESTINATION_ID);
+
+        ArgumentCaptor<TransactionDocument> saved = ArgumentCaptor.forClass(TransactionDocument.class);
+        verify(transactionRepository).save(saved.capture());
+        assertEquals(7L, saved.getValue().getSourceSequence());
+        assertEquals(3L, saved.getValue().getDestinationSequence());
+    }
+
+    @Test
+    void createTransfer_SourceBalanceChangedConcurrently() {
+        stubTransfer();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AccountDocument.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)));
+
+        StepVerifier.create(transactionService.createTransfer(transactionDTO))
+                .expectError(ConcurrentUpdateException.class)
+                .verify();
+
+        ArgumentCaptor<Update> voided = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), voided.capture(), eq(AccountSequenceRepository.COLLECTION));
+        assertEquals(List.of(new Document("$addToSet", new Document("voided", 7L)), new Document("$addToSet", new Document("voided", 3L))),
+                voided.getAllValues().stream().map(Update::getUpdateObject).toList());
+        assertEquals(1.0, transfers("failure", "conflito_concorrente"));
+        verify(transactionRepository, never()).save(any(TransactionDocument.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createTransfer_DestinationBalanceChangedConcurrently_RestoresSource() {
+        stubTransfer();
+        // A origem mudou de novo depois do débito: a devolução soma ao saldo atual, não ao gravado pela transferência
+        when(accountRepository.findById(SOURCE_ID)).thenReturn(Mono.just(account(SOURCE_ID, "1234567890", "850.00")));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AccountDocument.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        StepVerifier.create(transactionService.createTransfer(transactionDTO))
+                .expectError(ConcurrentUpdateException.class)
+                .verify();
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(3)).updateFirst(queries.capture(), updates.capture(), eq(AccountDocument.class));
+        assertEquals(SOURCE_ID, queries.getAllValues().get(2).getQueryObject().get("id"));
+        assertEquals(new BigDecimal("850.00"), queries.getAllValues().get(2).getQueryObject().get("balance"));
+        assertEquals(new BigDecimal("950.00"), updates.getAllValues().get(2).getUpdateObject().get("$set", Document.class).get("balance"));
+        verify(transactionRepository, never()).save(any(TransactionDocument.class));
+    }
+
+    @Test
+    void createTransfer_CompensationConflict_RetriesWithFreshBalance() {
+        stubTransfer();
+        when(accountRepository.findById(SOURCE_ID))
+                .thenReturn(Mono.just(account(SOURCE_ID, "1234567890", "900.00")))
+                .thenReturn(Mono.just(account(SOURCE_ID, "1234567890", "880.00")));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AccountDocument.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        StepVerifier.create(transactionService.createTransfer(transactionDTO))
+                .expectErrorMatches(error -> error instanceof ConcurrentUpdateException && error.getSuppressed().length == 0)
+                .verify();
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(4)).updateFirst(any(Query.class), updates.capture(), eq(AccountDocument.class));
+        assertEquals(new BigDecimal("980.00"), updates.getAllValues().get(3).getUpdateObject().get("$set", Document.class).get("balance"));
+    }
+
+    @Test
+    void createTransfer_CompensationFails_KeepsOriginalError() {
+        stubTransfer();
+        IllegalStateException unavailable = new IllegalStateException("MongoDB indisponível");
+        when(accountRepository.findById(SOURCE_ID)).thenReturn(Mono.error(unavailable));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AccountDocument.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)));
+
+        StepVerifier.create(transactionService.createTransfer(transactionDTO))
+                .expectErrorMatches(error -> error instanceof ConcurrentUpdateException
+                        && List.of(error.getSuppressed()).equals(List.of(unavailable)))
+                .verify();
+
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), any(Update.class), eq(AccountSequenceRepository.COLLECTION));
+    }
+
+    @Test
+    void createTransfer_TransactionSaveFails_RestoresBothBalances() {
+        stubTransfer();
+        IllegalStateException saveFailure = new IllegalStateException("Falha ao gravar a transação");
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AccountDocument.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(transactionRepository.save(any(TransactionDocument.class))).thenReturn(Mono.error(saveFailure));
+        when(accountRepository.findById(DESTINATION_ID)).thenReturn(Mono.just(account(DESTINATION_ID, "0987654321", "600.00")));
+        when(accountRepository.findById(SOURCE_ID)).thenReturn(Mono.just(account(SOURCE_ID, "1234567890", "900.00")));
+
+        StepVerifier.create(transactionService.createTransfer(transactionDTO))
+                .expectErrorMatches(error -> error == saveFailure)
+                .verify();
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(4)).updateFirst(queries.capture(), updates.capture(), eq(AccountDocument.class));
+        assertEquals(DESTINATION_ID, queries.getAllValues().get(2).getQueryObject().get("id"));
+        assertEquals(new BigDecimal("500.00"), updates.getAllValues().get(2).getUpdateObject().get("$set", Document.class).get("balance"));
+        assertEquals(SOURCE_ID, queries.getAllValues().get(3).getQueryObject().get("id"));
+        assertEquals(new BigDecimal("1000.00"), updates.getAllValues().get(3).getUpdateObject().get("$set", Document.class).get("balance"));
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), any(Update.class), eq(AccountSequenceRepository.COLLECTION));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createTransfer_InsufficientBalance() {
+        transactionDTO.setAmount(new BigDecimal("2000.00"));
+        when(accountService.findAccountById(SOURCE_ID)).thenReturn(Mono.just(sourceAccount));
+        when(accountService.findAccountById(DESTINATION_ID)).thenReturn(Mono.just(destinationAccount));
+
+        StepVerifier.create(transactionService.createTransfer(transactionDTO))
+                .expectErrorMatches(error -> error instanceof BusinessException
+                        && error.getMessage().equals("Saldo insuficiente na conta origem"))
+                .verify();
+
+        verifyNoInteractions(mongoTemplate);
+        verify(transactionRepository, never()).save(any(TransactionDocument.class));
+    }
+
+    @Test
+    void createTransfer_ClosedDestination() {
+        destinationAccount.setStatus(AccountStatus.ENCERRADA);
+        when(accountService.findAccountById(SOURCE_ID)).thenReturn(Mono.just(sourceAccount));
+        when(accountService.findAccountById(DESTINATION_ID)).thenReturn(Mono.just(destinationAccount));
+
+        StepVerifier.create(transactionService.createTransfer(transactionDTO))
+                .expectErrorMessage("Conta destino está encerrada")
+                .verify();
+
+        assertEquals(1.0, transfers("failure", "conta_encerrada"));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void createTransfer_InvalidAmount() {
+        transactionDTO.setAmount(BigDecimal.ZERO);
+
+        StepVerifier.create(transactionService.createTransfer(transactionDTO))
+                .expectError(BusinessException.class)
+                .verify();
+
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void getAccountTransactions_ResolvesAccountNumbersInBatch() {
+        when(accountService.findAccountById(SOURCE_ID)).thenReturn(Mono.just(sourceAccount));
+        when(transactionRepository.findByAccountId(new ObjectId(SOURCE_ID))).thenReturn(Flux.just(
+                transaction("t1", SOURCE_ID, DESTINATION_ID),
+                transaction("t2", OTHER_ID, SOURCE_ID),
+                transaction("t3", SOURCE_ID, DESTINATION_ID)));
+        when(accountRepository.findAllById(Set.of(DESTINATION_ID, OTHER_ID))).thenReturn(Flux.just(
+                destinationAccount, account(OTHER_ID, "1111111111", "0.00")));
+
+        StepVerifier.create(transactionService.getAccountTransactions(SOURCE_ID, null, null))
+                .assertNext(dto -> assertEquals(List.of("t1", "1234567890", "0987654321"),
+                        List.of(dto.getId(), dto.getSourceAccountNumber(), dto.getDestinationAccountNumber())))
+                .assertNext(dto -> assertEquals(List.of("t2", "1111111111", "1234567890"),
+                        List.of(dto.getId(), dto.getSourceAccountNumber(), dto.getDestinationAccountNumber())))
+                .assertNext(dto -> assertEquals("t3", dto.getId()))
+                .verifyComplete();
+
+        verify(accountRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void getAccountTransactions_AccountNotFound() {
+        when(accountService.findAccountById("999"))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Conta não encontrada com ID: 999")));
+
+        StepVerifier.create(transactionService.getAccountTransactions("999", null, null))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    private void stubTransfer() {
+        when(accountService.findAccountById(SOURCE_ID)).thenReturn(Mono.just(sourceAccount));
+        when(accountService.findAccountById(DESTINATION_ID)).thenReturn(Mono.just(destinationAccount));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(AccountSequenceRepository.COLLECTION)))
+                .thenReturn(Mono.just(new Document("value", 7L)))
+                .thenReturn(Mono.just(new Document("value", 3L)));
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(AccountSequenceRepository.COLLECTION)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+    }
+
+    private static AccountDocument account(String id, String number, String balance) {
+        return AccountDocument.builder()
+                .id(id)
+                .accountNumber(number)
+                .accountType(AccountType.CORRENTE)
+                .balance(new BigDecimal(balance))
+                .status(AccountStatus.ATIVA)
+                .build();
+    }
+
+    private static TransactionDocument transaction(String id, String sourceId, String destinationId) {
+        return TransactionDocument.builder()
+                .id(id)
+                .sourceAccount(new DBRef("accounts", new ObjectId(sourceId)))
+                .destinationAccount(new DBRef("accounts", new ObjectId(destinationId)))
+                .amount(new BigDecimal("10.00"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .build();
+    }
+
+    private double transfers(String outcome, String reason) {
+        return meterRegistry.get("banking.transfers").tag("outcome", outcome).tag("reason", reason).counter().count();
+    }
+}
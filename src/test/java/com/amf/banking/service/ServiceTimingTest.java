@@ -0,0 +1,60 @@
+package com.amf.banking.service;
+
+import com.amf.banking.concurrent.SingleFlight;
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.mapper.ClientMapper;
+import com.amf.banking.model.Client;
+import com.amf.banking.repository.ClientDeletionJobRepository;
+import com.amf.banking.repository.ClientRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Garante que @Observed na classe cobre os métodos públicos, com as tags de classe, método e erro
+class ServiceTimingTest {
+
+    @Test
+    void publicMethodsAreTimedWithClassAndMethodTags() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        ClientRepository clientRepository = mock(ClientRepository.class);
+        when(clientRepository.findById("1")).thenReturn(Optional.of(Client.builder().id("1").fullName("Ana").build()));
+        when(clientRepository.findById("2")).thenReturn(Optional.empty());
+
+        ClientService target = new ClientService(clientRepository, mock(ClientDeletionJobRepository.class),
+                new ClientMapper(), new SingleFlight<String, ClientDTO>("client", Duration.ZERO, 10, meterRegistry),
+                mock(ApplicationEventPublisher.class));
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ObservedAspect(observationRegistry));
+        ClientService clientService = factory.getProxy();
+
+        clientService.getClientById("1");
+        assertThrows(ResourceNotFoundException.class, () -> clientService.getClientById("2"));
+
+        Timer ok = meterRegistry.get("banking.service")
+                .tag("class", ClientService.class.getName())
+                .tag("method", "getClientById")
+                .tag("error", "none")
+                .timer();
+        Timer failed = meterRegistry.get("banking.service")
+                .tag("method", "getClientById")
+                .tag("error", "ResourceNotFoundException")
+                .timer();
+        assertEquals(1, ok.count());
+        assertEquals(1, failed.count());
+    }
+}
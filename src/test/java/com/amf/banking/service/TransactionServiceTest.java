@@ -1,39 +1,87 @@
 package com.amf.banking.service;
 
+import com.amf.banking.balance.BalanceJournal;
+import com.amf.banking.balance.TransferPostings;
+import com.amf.banking.dto.TransactionChangesDTO;
 import com.amf.banking.dto.TransactionDTO;
 import com.amf.banking.exception.BusinessException;
+import com.amf.banking.exception.ConcurrentUpdateException;
+import com.amf.banking.exception.InvalidStoredAmountException;
+import com.amf.banking.exception.RateLimitExceededException;
+import com.amf.banking.exception.ResourceNotFoundException;
+import com.amf.banking.exception.TransferRejectedException;
+import com.amf.banking.ledger.LedgerStore;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.metrics.TransferMetrics;
 import com.amf.banking.model.Account;
 import com.amf.banking.model.Client;
+import com.amf.banking.model.Money;
 import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.AccountStatus;
 import com.amf.banking.model.enums.AccountType;
 import com.amf.banking.model.enums.TransactionType;
-import com.amf.banking.repository.TransactionRepository;
+import com.amf.banking.model.enums.TransferFailureReason;
+import com.amf.banking.model.reactive.TransactionDocument;
+import com.amf.banking.projection.ReadModel;
+import com.amf.banking.projection.TransferCompletedEvent;
+import com.amf.banking.ratelimit.RateLimiter;
+import com.mongodb.DBRef;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private LedgerStore ledgerStore;
+
+    @Mock
+    private BalanceJournal balanceJournal;
 
     @Mock
     private AccountService accountService;
 
+    @Spy
+    private TransactionMapper transactionMapper = new TransactionMapper();
+
+    @Mock
+    private RateLimiter sourceAccountRateLimiter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(meterRegistry);
+
+    @Mock
+    private ObservationRegistry observationRegistry;
+
     @Mock
-    private ModelMapper modelMapper;
+    private ReadModel readModel;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private TransactionService transactionService;
@@ -90,17 +138,130 @@ class TransactionServiceTest {
     void createTransfer_Success() {
         when(accountService.findAccountById("1")).thenReturn(sourceAccount);
         when(accountService.findAccountById("2")).thenReturn(destinationAccount);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
-        when(modelMapper.map(transaction, TransactionDTO.class)).thenReturn(transactionDTO);
+        when(accountService.nextMovementSequence("1")).thenReturn(8L);
+        when(accountService.nextMovementSequence("2")).thenReturn(3L);
+        when(ledgerStore.append(any(Transaction.class))).thenReturn(transaction);
 
         TransactionDTO result = transactionService.createTransfer(transactionDTO);
 
         assertNotNull(result);
+        assertEquals("1", result.getSourceAccountId());
+        assertEquals("0987654321", result.getDestinationAccountNumber());
         assertEquals(new BigDecimal("900.00"), sourceAccount.getBalance());
         assertEquals(new BigDecimal("600.00"), destinationAccount.getBalance());
-        verify(accountService, times(1)).saveAccount(sourceAccount);
-        verify(accountService, times(1)).saveAccount(destinationAccount);
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(accountService).compareAndSetBalance(sourceAccount, new BigDecimal("1000.00"));
+        verify(accountService).compareAndSetBalance(destinationAccount, new BigDecimal("500.00"));
+        verify(accountService, never()).saveAccount(any());
+        ArgumentCaptor<Transaction> appended = ArgumentCaptor.forClass(Transaction.class);
+        verify(ledgerStore, times(1)).append(appended.capture());
+        assertEquals(8L, appended.getValue().getSourceSequence());
+        assertEquals(3L, appended.getValue().getDestinationSequence());
+        verify(balanceJournal).reserveTransfer(sourceAccount, 100_000, destinationAccount, 50_000, 10_000);
+        verify(balanceJournal).transferred(any(), eq(transaction));
+        ArgumentCaptor<TransferCompletedEvent> published = ArgumentCaptor.forClass(TransferCompletedEvent.class);
+        verify(eventPublisher).publishEvent(published.capture());
+        assertEquals(result, published.getValue().transaction());
+        assertEquals(Set.of("1"), published.getValue().clientIds());
+        assertEquals(Money.ofCents(90_000), published.getValue().source().balance());
+        assertEquals(Money.ofCents(60_000), published.getValue().destination().balance());
+        assertEquals(1.0, transfers("success", "none"));
+    }
+
+    @Test
+    void createTransfer_BalanceVersionConflict_WritesNothing() {
+        when(accountService.findAccountById("1")).thenReturn(sourceAccount);
+        when(accountService.findAccountById("2")).thenReturn(destinationAccount);
+        when(balanceJournal.reserveTransfer(sourceAccount, 100_000, destinationAccount, 50_000, 10_000))
+                .thenThrow(new ConcurrentUpdateException("Saldo da conta alterado por outra transferência; tente novamente"));
+
+        assertThrows(ConcurrentUpdateException.class, () -> transactionService.createTransfer(transactionDTO));
+
+        verify(accountService, never()).nextMovementSequence(any());
+        verify(ledgerStore, never()).append(any(Transaction.class));
+        verify(accountService, never()).compareAndSetBalance(any(), any());
+        assertEquals(1.0, transfers("failure", "conflito_concorrente"));
+    }
+
+    @Test
+    void createTransfer_StoredBalanceWithExtraDecimals_IsRejectedWithoutWriting() {
+        sourceAccount.setBalance(new BigDecimal("1000.005"));
+        when(accountService.findAccountById("1")).thenReturn(sourceAccount);
+        when(accountService.findAccountById("2")).thenReturn(destinationAccount);
+
+        assertThrows(InvalidStoredAmountException.class, () -> transactionService.createTransfer(transactionDTO));
+
+        assertEquals(new BigDecimal("1000.005"), sourceAccount.getBalance());
+        verify(accountService, never()).compareAndSetBalance(any(), any());
+        verify(ledgerStore, never()).append(any());
+        assertEquals(1.0, transfers("failure", "valor_gravado_invalido"));
+    }
+
+    @Test
+    void createTransfer_AmountWithExtraDecimals_ThrowsException() {
+        transactionDTO.setAmount(new BigDecimal("10.001"));
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransfer(transactionDTO));
+        verify(ledgerStore, never()).append(any());
+    }
+
+    @Test
+    void createTransfer_LedgerFailure_ReleasesBalancePostings() {
+        TransferPostings postings = new TransferPostings(List.of(), List.of());
+        when(accountService.findAccountById("1")).thenReturn(sourceAccount);
+        when(accountService.findAccountById("2")).thenReturn(destinationAccount);
+        when(balanceJournal.reserveTransfer(sourceAccount, 100_000, destinationAccount, 50_000, 10_000)).thenReturn(postings);
+        when(accountService.nextMovementSequence("1")).thenReturn(8L);
+        when(accountService.nextMovementSequence("2")).thenReturn(3L);
+        when(ledgerStore.append(any(Transaction.class))).thenThrow(new IllegalStateException("Ledger fechado"));
+
+        assertThrows(IllegalStateException.class, () -> transactionService.createTransfer(transactionDTO));
+
+        verify(accountService).voidMovementSequence("1", 8L);
+        verify(accountService).voidMovementSequence("2", 3L);
+        verify(balanceJournal).release(postings);
+        verify(balanceJournal, never()).transferred(any(), any());
+        verify(accountService).addToBalance("2", -10_000);
+        verify(accountService).addToBalance("1", 10_000);
+        assertEquals(new BigDecimal("1000.00"), sourceAccount.getBalance());
+    }
+
+    @Test
+    void createTransfer_DestinationChangedConcurrently_RestoresSourceAndReturnsConflict() {
+        TransferPostings postings = new TransferPostings(List.of(), List.of());
+        when(accountService.findAccountById("1")).thenReturn(sourceAccount);
+        when(accountService.findAccountById("2")).thenReturn(destinationAccount);
+        when(balanceJournal.reserveTransfer(sourceAccount, 100_000, destinationAccount, 50_000, 10_000)).thenReturn(postings);
+        when(accountService.nextMovementSequence("1")).thenReturn(8L);
+        when(accountService.nextMovementSequence("2")).thenReturn(3L);
+        lenient().doThrow(new ConcurrentUpdateException("Saldo da conta alterado por outra operação; tente novamente"))
+                .when(accountService).compareAndSetBalance(destinationAccount, new BigDecimal("500.00"));
+
+        assertThrows(ConcurrentUpdateException.class, () -> transactionService.createTransfer(transactionDTO));
+
+        verify(accountService).addToBalance("1", 10_000);
+        verify(accountService, never()).addToBalance(eq("2"), anyLong());
+        verify(ledgerStore, never()).append(any(Transaction.class));
+        verify(accountService).voidMovementSequence("1", 8L);
+        verify(accountService).voidMovementSequence("2", 3L);
+        verify(balanceJournal).release(postings);
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(1.0, transfers("failure", "conflito_concorrente"));
+    }
+
+    @Test
+    void createTransfer_CompensationFails_KeepsOriginalError() {
+        when(accountService.findAccountById("1")).thenReturn(sourceAccount);
+        when(accountService.findAccountById("2")).thenReturn(destinationAccount);
+        ConcurrentUpdateException conflict = new ConcurrentUpdateException("Saldo da conta alterado por outra operação; tente novamente");
+        lenient().doThrow(conflict).when(accountService).compareAndSetBalance(destinationAccount, new BigDecimal("500.00"));
+        IllegalStateException compensationFailure = new IllegalStateException("MongoDB indisponível");
+        doThrow(compensationFailure).when(accountService).addToBalance("1", 10_000);
+
+        ConcurrentUpdateException thrown = assertThrows(ConcurrentUpdateException.class,
+                () -> transactionService.createTransfer(transactionDTO));
+
+        assertSame(conflict, thrown);
+        assertArrayEquals(new Throwable[]{compensationFailure}, thrown.getSuppressed());
     }
 
     @Test
@@ -111,7 +272,8 @@ class TransactionServiceTest {
         when(accountService.findAccountById("2")).thenReturn(destinationAccount);
 
         assertThrows(BusinessException.class, () -> transactionService.createTransfer(transactionDTO));
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(ledgerStore, never()).append(any(Transaction.class));
+        assertEquals(1.0, transfers("failure", "saldo_insuficiente"));
     }
 
     @Test
@@ -121,7 +283,42 @@ class TransactionServiceTest {
         when(accountService.findAccountById("1")).thenReturn(sourceAccount);
 
         assertThrows(BusinessException.class, () -> transactionService.createTransfer(transactionDTO));
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(ledgerStore, never()).append(any(Transaction.class));
+    }
+
+    @Test
+    void createTransfer_ClosedDestinationAccount_ThrowsException() {
+        destinationAccount.setStatus(AccountStatus.ENCERRADA);
+
+        when(accountService.findAccountById("1")).thenReturn(sourceAccount);
+        when(accountService.findAccountById("2")).thenReturn(destinationAccount);
+
+        assertThrows(BusinessException.class, () -> transactionService.createTransfer(transactionDTO));
+        verify(accountService, never()).saveAccount(any(Account.class));
+        verify(ledgerStore, never()).append(any(Transaction.class));
+    }
+
+    @Test
+    void createTransfer_LedgerRejectsTransaction_KeepsBalances() {
+        when(accountService.findAccountById("1")).thenReturn(sourceAccount);
+        when(accountService.findAccountById("2")).thenReturn(destinationAccount);
+        doThrow(new TransferRejectedException(TransferFailureReason.DESCRICAO_INVALIDA, "Descrição muito longa"))
+                .when(ledgerStore).validate(any(Transaction.class));
+
+        assertThrows(TransferRejectedException.class, () -> transactionService.createTransfer(transactionDTO));
+        assertEquals(new BigDecimal("1000.00"), sourceAccount.getBalance());
+        verify(accountService, never()).saveAccount(any(Account.class));
+        verify(ledgerStore, never()).append(any(Transaction.class));
+        assertEquals(1.0, transfers("failure", "descricao_invalida"));
+    }
+
+    @Test
+    void createTransfer_AmountWithMoreThanTwoDecimals_ThrowsException() {
+        transactionDTO.setAmount(new BigDecimal("10.005"));
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransfer(transactionDTO));
+        verify(ledgerStore, never()).append(any(Transaction.class));
+        assertEquals(1.0, transfers("failure", "valor_invalido"));
     }
 
     @Test
@@ -129,6 +326,207 @@ class TransactionServiceTest {
         transactionDTO.setAmount(BigDecimal.ZERO);
 
         assertThrows(BusinessException.class, () -> transactionService.createTransfer(transactionDTO));
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(ledgerStore, never()).append(any(Transaction.class));
+    }
+
+    @Test
+    void createTransfer_SourceAccountRateLimited_ThrowsException() {
+        doThrow(new RateLimitExceededException("Limite de requisições excedido", "source-account", 1_500_000_000L))
+                .when(sourceAccountRateLimiter).acquire("1");
+
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> transactionService.createTransfer(transactionDTO));
+        assertEquals(2, ex.getRetryAfterSeconds());
+        assertEquals(1.0, transfers("failure", "limite_excedido"));
+        verify(accountService, never()).findAccountById(any());
+        verify(ledgerStore, never()).append(any(Transaction.class));
+    }
+
+    @Test
+    void getAccountTransactions_ResolvesAccountNumbersInOneLookup() {
+        String sourceId = "65a000000000000000000001";
+        String destinationId = "65a000000000000000000002";
+        when(ledgerStore.findStatement(sourceId, null, null)).thenReturn(List.of(
+                statementEntry("t1", sourceId, destinationId),
+                statementEntry("t2", destinationId, sourceId)));
+        when(accountService.findAccountNumbers(Set.of(sourceId, destinationId)))
+                .thenReturn(Map.of(sourceId, "1234567890", destinationId, "0987654321"));
+
+        List<TransactionDTO> result = transactionService.getAccountTransactions(sourceId, null, null);
+
+        assertEquals(List.of("t1", "t2"), result.stream().map(TransactionDTO::getId).toList());
+        assertEquals("0987654321", result.get(0).getDestinationAccountNumber());
+        assertEquals("1234567890", result.get(1).getDestinationAccountNumber());
+        verify(accountService, times(1)).findAccountNumbers(any());
+        verify(accountService, never()).findAccountById(any());
+    }
+
+    @Test
+    void getAccountTransactions_AccountNotFound_ThrowsException() {
+        when(ledgerStore.findStatement("999", null, null)).thenReturn(List.of());
+        when(accountService.findAccountNumbers(Set.of("999"))).thenReturn(Map.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.getAccountTransactions("999", null, null));
+    }
+
+    @Test
+    void getAccountTransactions_EventSourced_AddsRunningBalance() {
+        String sourceId = "65a000000000000000000001";
+        String destinationId = "65a000000000000000000002";
+        when(ledgerStore.findStatement(sourceId, null, null)).thenReturn(List.of(
+                statementEntry("t1", sourceId, destinationId),
+                statementEntry("t2", destinationId, sourceId)));
+        when(accountService.findAccountNumbers(Set.of(sourceId, destinationId)))
+                .thenReturn(Map.of(sourceId, "1234567890", destinationId, "0987654321"));
+        when(balanceJournal.isEnabled()).thenReturn(true);
+        when(balanceJournal.balancesAfter(sourceId, null, null))
+                .thenReturn(Map.of("t1", new BigDecimal("90.00"), "t2", new BigDecimal("100.00")));
+
+        List<TransactionDTO> result = transactionService.getAccountTransactions(sourceId, null, null);
+
+        assertEquals(List.of(new BigDecimal("90.00"), new BigDecimal("100.00")),
+                result.stream().map(TransactionDTO::getBalanceAfter).toList());
+    }
+
+    @Test
+    void getAccountTransactions_ReadModelEnabled_ReadsProjection() {
+        TransactionDTO row = TransactionDTO.builder().id("t1").sourceAccountId("1").destinationAccountId("2").build();
+        when(readModel.isEnabled()).thenReturn(true);
+        when(readModel.statement("1", null, null)).thenReturn(List.of(row));
+
+        assertEquals(List.of(row), transactionService.getAccountTransactions("1", null, null));
+        verify(ledgerStore, never()).findStatement(any(), any(), any());
+        verify(accountService, never()).findAccountNumbers(any());
+    }
+
+    @Test
+    void getAccountTransactions_ReadModelEmpty_ChecksAccountExists() {
+        when(readModel.isEnabled()).thenReturn(true);
+        when(readModel.statement("999", null, null)).thenReturn(List.of());
+        when(accountService.findAccountById("999")).thenThrow(new ResourceNotFoundException("Conta não encontrada com ID: 999"));
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.getAccountTransactions("999", null, null));
+    }
+
+    @Test
+    void getAccountChanges_ReturnsMovementsAfterCursor() {
+        String sourceId = "65a000000000000000000001";
+        String destinationId = "65a000000000000000000002";
+        LocalDateTime now = LocalDateTime.now();
+        when(ledgerStore.findChanges(sourceId, 4, 3)).thenReturn(List.of(
+                change("t5", sourceId, destinationId, 5, 1, now),
+                change("t6", destinationId, sourceId, 2, 6, now),
+                change("t7", sourceId, destinationId, 7, 3, now)));
+        when(accountService.findAccountNumbers(Set.of(sourceId, destinationId)))
+                .thenReturn(Map.of(sourceId, "1234567890", destinationId, "0987654321"));
+
+        TransactionChangesDTO result = transactionService.getAccountChanges(sourceId, 4, 2);
+
+        assertEquals(List.of("t5", "t6"), result.getChanges().stream().map(TransactionDTO::getId).toList());
+        assertEquals(List.of(5L, 6L), result.getChanges().stream().map(TransactionDTO::getSequence).toList());
+        assertEquals(6, result.getNextSinceSeq());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void getAccountChanges_RecentGap_StopsBeforeIt() {
+        String sourceId = "65a000000000000000000001";
+        String destinationId = "65a000000000000000000002";
+        when(ledgerStore.findChanges(sourceId, 0, 101)).thenReturn(List.of(
+                change("t1", sourceId, destinationId, 1, 1, LocalDateTime.now()),
+                change("t3", sourceId, destinationId, 3, 2, LocalDateTime.now().minusMinutes(1))));
+        when(accountService.findVoidedSequences(sourceId)).thenReturn(Set.of());
+        when(accountService.findAccountNumbers(Set.of(sourceId, destinationId)))
+                .thenReturn(Map.of(sourceId, "1234567890", destinationId, "0987654321"));
+
+        TransactionChangesDTO result = transactionService.getAccountChanges(sourceId, 0, 100);
+
+        assertEquals(List.of("t1"), result.getChanges().stream().map(TransactionDTO::getId).toList());
+        assertEquals(1, result.getNextSinceSeq());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getAccountChanges_VoidedGap_SkipsIt() {
+        String sourceId = "65a000000000000000000001";
+        String destinationId = "65a000000000000000000002";
+        LocalDateTime now = LocalDateTime.now();
+        when(ledgerStore.findChanges(sourceId, 0, 101)).thenReturn(List.of(
+                change("t1", sourceId, destinationId, 1, 1, now),
+                change("t4", sourceId, destinationId, 4, 2, now)));
+        when(accountService.findVoidedSequences(sourceId)).thenReturn(Set.of(2L, 3L));
+        when(accountService.findAccountNumbers(Set.of(sourceId, destinationId)))
+                .thenReturn(Map.of(sourceId, "1234567890", destinationId, "0987654321"));
+
+        TransactionChangesDTO result = transactionService.getAccountChanges(sourceId, 0, 100);
+
+        assertEquals(List.of("t1", "t4"), result.getChanges().stream().map(TransactionDTO::getId).toList());
+        assertEquals(4, result.getNextSinceSeq());
+    }
+
+    @Test
+    void getAccountChanges_PartiallyVoidedGap_StopsBeforeIt() {
+        String sourceId = "65a000000000000000000001";
+        String destinationId = "65a000000000000000000002";
+        LocalDateTime now = LocalDateTime.now();
+        when(ledgerStore.findChanges(sourceId, 0, 101)).thenReturn(List.of(
+                change("t1", sourceId, destinationId, 1, 1, now),
+                change("t4", sourceId, destinationId, 4, 2, now)));
+        when(accountService.findVoidedSequences(sourceId)).thenReturn(Set.of(2L));
+        when(accountService.findAccountNumbers(Set.of(sourceId, destinationId)))
+                .thenReturn(Map.of(sourceId, "1234567890", destinationId, "0987654321"));
+
+        TransactionChangesDTO result = transactionService.getAccountChanges(sourceId, 0, 100);
+
+        assertEquals(List.of("t1"), result.getChanges().stream().map(TransactionDTO::getId).toList());
+        assertEquals(1, result.getNextSinceSeq());
+    }
+
+    @Test
+    void getAccountChanges_AbandonedGap_SkipsIt() {
+        String sourceId = "65a000000000000000000001";
+        String destinationId = "65a000000000000000000002";
+        LocalDateTime past = LocalDateTime.now().minusMinutes(11);
+        when(ledgerStore.findChanges(sourceId, 0, 101)).thenReturn(List.of(
+                change("t1", sourceId, destinationId, 1, 1, past),
+                change("t3", sourceId, destinationId, 3, 2, past)));
+        when(accountService.findVoidedSequences(sourceId)).thenReturn(Set.of());
+        when(accountService.findAccountNumbers(Set.of(sourceId, destinationId)))
+                .thenReturn(Map.of(sourceId, "1234567890", destinationId, "0987654321"));
+
+        TransactionChangesDTO result = transactionService.getAccountChanges(sourceId, 0, 100);
+
+        assertEquals(List.of("t1", "t3"), result.getChanges().stream().map(TransactionDTO::getId).toList());
+        assertEquals(3, result.getNextSinceSeq());
+    }
+
+    @Test
+    void getAccountChanges_InvalidLimit_ThrowsException() {
+        assertThrows(BusinessException.class, () -> transactionService.getAccountChanges("1", 0, 0));
+        assertThrows(BusinessException.class, () -> transactionService.getAccountChanges("1", -1, 10));
+        verify(ledgerStore, never()).findChanges(any(), anyLong(), anyInt());
+    }
+
+    private static TransactionDocument change(String id, String sourceId, String destinationId,
+                                              long sourceSequence, long destinationSequence, LocalDateTime date) {
+        TransactionDocument document = statementEntry(id, sourceId, destinationId);
+        document.setSourceSequence(sourceSequence);
+        document.setDestinationSequence(destinationSequence);
+        document.setTransactionDate(date);
+        return document;
+    }
+
+    private static TransactionDocument statementEntry(String id, String sourceId, String destinationId) {
+        return TransactionDocument.builder()
+                .id(id)
+                .sourceAccount(new DBRef("accounts", new ObjectId(sourceId)))
+                .destinationAccount(new DBRef("accounts", new ObjectId(destinationId)))
+                .amount(new BigDecimal("10.00"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .build();
+    }
+
+    private double transfers(String outcome, String reason) {
+        return meterRegistry.get("banking.transfers").tag("outcome", outcome).tag("reason", reason).counter().count();
     }
 }
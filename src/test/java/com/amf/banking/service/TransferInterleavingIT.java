@@ -0,0 +1,135 @@
+package com.amf.banking.service;
+
+import com.amf.banking.dto.AccountDTO;
+import com.amf.banking.dto.ClientDTO;
+import com.amf.banking.dto.TransactionDTO;
+import com.amf.banking.exception.ConcurrentUpdateException;
+import com.amf.banking.ledger.LedgerStore;
+import com.amf.banking.model.Transaction;
+import com.amf.banking.model.enums.AccountType;
+import com.amf.banking.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+// v1 e v2 gravando o saldo da mesma conta: a escrita que leu um saldo já alterado termina em 409, sem sobrescrever
+@SpringBootTest(properties = {"banking.rate-limit.enabled=false", "banking.admission.enabled=false"})
+@Testcontainers(disabledWithoutDocker = true)
+class TransferInterleavingIT {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @SpyBean
+    private LedgerStore ledgerStore;
+
+    private String sourceId;
+    private String destinationId;
+    private String otherId;
+    private BigDecimal openingBalance;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+
+        ClientDTO client = clientService.createClient(ClientDTO.builder()
+                .fullName("João da Silva")
+                .cpf("12345678901")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .build());
+        sourceId = accountService.createAccount(account(client)).getId();
+        destinationId = accountService.createAccount(account(client)).getId();
+        otherId = accountService.createAccount(account(client)).getId();
+        openingBalance = accountService.findAccountById(sourceId).getBalance();
+    }
+
+    @Test
+    void v2TransferBetweenV1ReadAndWrite_V1ReturnsConflictAndKeepsV2Debit() {
+        // validate() roda depois que a v1 leu os saldos e antes de gravá-los
+        AtomicBoolean interleaved = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (interleaved.compareAndSet(false, true)) {
+                reactiveTransactionService.createTransfer(transfer(sourceId, otherId, openingBalance)).block();
+            }
+            return invocation.callRealMethod();
+        }).when(ledgerStore).validate(any(Transaction.class));
+
+        assertThrows(ConcurrentUpdateException.class,
+                () -> transactionService.createTransfer(transfer(sourceId, destinationId, openingBalance)));
+
+        // Só a transferência v2 aconteceu: a origem não fica negativa nem o débito dela é desfeito
+        assertEquals(0, BigDecimal.ZERO.compareTo(accountService.findAccountById(sourceId).getBalance()));
+        assertEquals(0, openingBalance.compareTo(accountService.findAccountById(destinationId).getBalance()));
+        assertEquals(0, openingBalance.add(openingBalance).compareTo(accountService.findAccountById(otherId).getBalance()));
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void v1TransferBetweenV1ReadAndWrite_SecondWriterReturnsConflict() {
+        AtomicBoolean interleaved = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (interleaved.compareAndSet(false, true)) {
+                transactionService.createTransfer(transfer(sourceId, otherId, openingBalance));
+            }
+            return invocation.callRealMethod();
+        }).when(ledgerStore).validate(any(Transaction.class));
+
+        assertThrows(ConcurrentUpdateException.class,
+                () -> transactionService.createTransfer(transfer(sourceId, destinationId, openingBalance)));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(accountService.findAccountById(sourceId).getBalance()));
+        assertEquals(0, openingBalance.compareTo(accountService.findAccountById(destinationId).getBalance()));
+        assertEquals(1, transactionRepository.count());
+    }
+
+    private static AccountDTO account(ClientDTO client) {
+        return AccountDTO.builder()
+                .clientId(client.getId())
+                .accountType(AccountType.CORRENTE)
+                .build();
+    }
+
+    private static TransactionDTO transfer(String sourceAccountId, String destinationAccountId, BigDecimal amount) {
+        return TransactionDTO.builder()
+                .sourceAccountId(sourceAccountId)
+                .destinationAccountId(destinationAccountId)
+                .amount(amount)
+                .description("Concorrência")
+                .build();
+    }
+}
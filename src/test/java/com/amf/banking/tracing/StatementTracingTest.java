@@ -0,0 +1,137 @@
+package com.amf.banking.tracing;
+
+import com.amf.banking.balance.BalanceJournal;
+import com.amf.banking.ledger.LedgerStore;
+import com.amf.banking.mapper.TransactionMapper;
+import com.amf.banking.metrics.TransferMetrics;
+import com.amf.banking.model.enums.TransactionType;
+import com.amf.banking.model.reactive.TransactionDocument;
+import com.amf.banking.projection.ReadModel;
+import com.amf.banking.ratelimit.RateLimiter;
+import com.amf.banking.service.AccountService;
+import com.amf.banking.service.TransactionService;
+import com.mongodb.DBRef;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Spans do @Observed dos serviços exportados para um coletor em memória, com e sem amostragem
+class StatementTracingTest {
+
+    private static final String ACCOUNT_ID = "65a000000000000000000001";
+    private static final String OTHER_ID = "65a000000000000000000002";
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void statement_SpanCarriesAccountIdAndRowCount() {
+        TransactionService transactionService = tracedService(Sampler.alwaysOn());
+
+        transactionService.getAccountTransactions(ACCOUNT_ID, null, null);
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        assertEquals(1, spans.size());
+        SpanData span = spans.get(0);
+        assertEquals("transaction-service#get-account-transactions", span.getName());
+        assertEquals(ACCOUNT_ID, span.getAttributes().get(AttributeKey.stringKey("account.id")));
+        assertEquals("2", span.getAttributes().get(AttributeKey.stringKey("statement.rows")));
+    }
+
+    @Test
+    void statement_SamplingOff_ExportsNothing() {
+        TransactionService transactionService = tracedService(Sampler.alwaysOff());
+
+        assertEquals(2, transactionService.getAccountTransactions(ACCOUNT_ID, null, null).size());
+
+        assertTrue(exporter.getFinishedSpanItems().isEmpty());
+    }
+
+    @Test
+    void fileExporter_WritesOneJsonLinePerSpan() throws Exception {
+        TransactionService transactionService = tracedService(Sampler.alwaysOn());
+        transactionService.getAccountTransactions(ACCOUNT_ID, null, null);
+
+        Path file = Files.createTempFile("spans", ".jsonl");
+        try {
+            FileSpanExporter fileExporter = new FileSpanExporter(file);
+            assertTrue(fileExporter.export(exporter.getFinishedSpanItems()).isSuccess());
+            fileExporter.shutdown();
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(1, lines.size());
+            assertTrue(lines.get(0).contains("\"name\":\"transaction-service#get-account-transactions\""));
+            assertTrue(lines.get(0).contains("\"statement.rows\":\"2\""));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private TransactionService tracedService(Sampler sampler) {
+        tracerProvider = SdkTracerProvider.builder()
+                .setSampler(sampler)
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+        OtelTracer tracer = new OtelTracer(tracerProvider.get("test"), currentTraceContext, event -> { },
+                new OtelBaggageManager(currentTraceContext, List.of(), List.of()));
+
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+
+        LedgerStore ledgerStore = mock(LedgerStore.class);
+        AccountService accountService = mock(AccountService.class);
+        when(ledgerStore.findStatement(ACCOUNT_ID, null, null)).thenReturn(List.of(
+                entry("t1", ACCOUNT_ID, OTHER_ID), entry("t2", OTHER_ID, ACCOUNT_ID)));
+        when(accountService.findAccountNumbers(Set.of(ACCOUNT_ID, OTHER_ID)))
+                .thenReturn(Map.of(ACCOUNT_ID, "1234567890", OTHER_ID, "0987654321"));
+
+        TransactionService target = new TransactionService(ledgerStore, mock(BalanceJournal.class), accountService,
+                new TransactionMapper(), mock(RateLimiter.class), new TransferMetrics(new SimpleMeterRegistry()),
+                observationRegistry, mock(ReadModel.class), mock(ApplicationEventPublisher.class));
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ObservedAspect(observationRegistry));
+        return factory.getProxy();
+    }
+
+    private static TransactionDocument entry(String id, String sourceId, String destinationId) {
+        return TransactionDocument.builder()
+                .id(id)
+                .sourceAccount(new DBRef("accounts", new ObjectId(sourceId)))
+                .destinationAccount(new DBRef("accounts", new ObjectId(destinationId)))
+                .amount(new BigDecimal("10.00"))
+                .transactionType(TransactionType.TRANSFERENCIA)
+                .build();
+    }
+}